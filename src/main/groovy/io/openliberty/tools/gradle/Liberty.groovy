@@ -21,6 +21,7 @@ import io.openliberty.tools.gradle.extensions.DeployExtension
 import io.openliberty.tools.gradle.extensions.LibertyExtension
 import io.openliberty.tools.gradle.extensions.ServerExtension
 import io.openliberty.tools.gradle.extensions.arquillian.ArquillianExtension
+import io.openliberty.tools.gradle.model.LibertyProjectModelBuilder
 import io.openliberty.tools.gradle.utils.GradleUtils
 
 import org.gradle.api.artifacts.Dependency
@@ -28,16 +29,26 @@ import org.gradle.api.artifacts.ProjectDependency
 import org.gradle.api.execution.TaskExecutionGraph
 import org.gradle.api.GradleException
 import org.gradle.api.tasks.testing.Test
+import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry
 import org.gradle.util.GradleVersion
 
 import java.util.Properties
 import java.text.MessageFormat
 
+import javax.inject.Inject
+
 class Liberty implements Plugin<Project> {
 
     final String JST_WEB_FACET_VERSION = '3.0'
     final String JST_EAR_FACET_VERSION = '6.0'
 
+    private final ToolingModelBuilderRegistry toolingModelBuilderRegistry
+
+    @Inject
+    Liberty(ToolingModelBuilderRegistry toolingModelBuilderRegistry) {
+        this.toolingModelBuilderRegistry = toolingModelBuilderRegistry
+    }
+
     void apply(Project project) {
         project.extensions.create('liberty', LibertyExtension)
         project.extensions.create('arquillianConfiguration', ArquillianExtension)
@@ -53,18 +64,20 @@ class Liberty implements Plugin<Project> {
 
         //Used to set project facets in Eclipse
         project.pluginManager.apply('eclipse-wtp')
-        project.tasks.getByName('eclipseWtpFacet').finalizedBy 'libertyCreate'
+        project.tasks.named('eclipseWtpFacet').configure { Task task ->
+            task.finalizedBy 'libertyCreate'
+        }
 
         new LibertyTaskFactory(project).createTasks()
 
+        // Used by dev mode to read the Liberty configuration after a build file change
+        toolingModelBuilderRegistry.register(new LibertyProjectModelBuilder())
+
         //Create expected server extension from liberty extension data
         project.afterEvaluate {
             setEclipseFacets(project)
             new LibertyTasks(project).applyTasks()
 
-            //Checking serverEnv files for server properties
-            Liberty.checkEtcServerEnvProperties(project)
-
             setEclipseClasspath(project)
             setDevProperties(project)
         }
@@ -80,7 +93,7 @@ class Liberty implements Plugin<Project> {
             "microshed_https_port",
             "wlp.user.dir"
         ];
-        project.tasks.withType(Test) { testTask ->
+        project.tasks.withType(Test).configureEach { Test testTask ->
             propagatedSystemProperties.each { propertyKey ->
                 def propertyValue = System.getProperty(propertyKey);
                 if (propertyValue != null) {
@@ -126,7 +139,8 @@ class Liberty implements Plugin<Project> {
 
     protected void setFacetVersion(Project project, String facetName, String version) {
         if(project.plugins.hasPlugin('eclipse-wtp')) {
-            project.tasks.getByName('eclipseWtpFacet').facet.file.whenMerged {
+            // configure the facet model rather than the task, so that the task is only created when needed
+            project.eclipse.wtp.facet.file.whenMerged {
                 def jstFacet = facets.find { it.type.name() == 'installed' && it.name == facetName && Double.parseDouble(it.version) < Double.parseDouble(version) }
                 if (jstFacet != null) {
                     jstFacet.version = version
@@ -156,17 +170,24 @@ class Liberty implements Plugin<Project> {
 
     public static void checkEtcServerEnvProperties(Project project) {
         if (project.liberty.outputDir == null) {
-            Properties envProperties = new Properties()
             //check etc/server.env and set liberty.outputDir
             File serverEnvFile = new File(Liberty.getInstallDir(project), 'etc/server.env')
             if (serverEnvFile.exists()) {
-                serverEnvFile.text = serverEnvFile.text.replace("\\", "/")
-                envProperties.load(new FileInputStream(serverEnvFile))
-                Liberty.setLibertyOutputDir(project, (String) envProperties.get("WLP_OUTPUT_DIR"))
+                Liberty.setLibertyOutputDir(project, readServerEnvOutputDir(serverEnvFile))
             }
         }
     }
 
+    /**
+     * Returns the WLP_OUTPUT_DIR value of a server.env file, or null if it is not set. Backslashes are
+     * read as path separators rather than escape characters, the file itself is not changed.
+     */
+    public static String readServerEnvOutputDir(File serverEnvFile) {
+        Properties envProperties = new Properties()
+        envProperties.load(new StringReader(serverEnvFile.text.replace("\\", "/")))
+        return (String) envProperties.get("WLP_OUTPUT_DIR")
+    }
+
     private static void setLibertyOutputDir(Project project, String envOutputDir){
         if (envOutputDir != null) {
             project.liberty.outputDir = envOutputDir
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corporation 2018, 2021.
+ * (C) Copyright IBM Corporation 2018, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,26 +47,26 @@ class LibertyTaskFactory {
     }
 
     void createTasks() {
-        project.tasks.create('compileJSP', CompileJSPTask)
-        project.tasks.create('installLiberty', InstallLibertyTask)
-        project.tasks.create('libertyRun', RunTask)
-        project.tasks.create('libertyDev', DevTask)
-        project.tasks.create('libertyDevc', DevcTask)
-        project.tasks.create('libertyStatus', StatusTask)
-        project.tasks.create('libertyCreate', CreateTask)
-        project.tasks.create('libertyStart', StartTask)
-        project.tasks.create('libertyStop', StopTask)
-        project.tasks.create('libertyPackage', PackageTask)
-        project.tasks.create('libertyDump', DumpTask)
-        project.tasks.create('libertyJavaDump', JavaDumpTask)
-        project.tasks.create('libertyDebug', DebugTask)
-        project.tasks.create('deploy', DeployTask)
-        project.tasks.create('undeploy', UndeployTask)
-        project.tasks.create('installFeature', InstallFeatureTask)
-        project.tasks.create('generateFeatures', GenerateFeaturesTask)
-        project.tasks.create('prepareFeature', PrepareFeatureTask)
-        project.tasks.create('uninstallFeature', UninstallFeatureTask)
-        project.tasks.create('cleanDirs', CleanTask)
-        project.tasks.create('configureArquillian', ConfigureArquillianTask)
+        project.tasks.register('compileJSP', CompileJSPTask)
+        project.tasks.register('installLiberty', InstallLibertyTask)
+        project.tasks.register('libertyRun', RunTask)
+        project.tasks.register('libertyDev', DevTask)
+        project.tasks.register('libertyDevc', DevcTask)
+        project.tasks.register('libertyStatus', StatusTask)
+        project.tasks.register('libertyCreate', CreateTask)
+        project.tasks.register('libertyStart', StartTask)
+        project.tasks.register('libertyStop', StopTask)
+        project.tasks.register('libertyPackage', PackageTask)
+        project.tasks.register('libertyDump', DumpTask)
+        project.tasks.register('libertyJavaDump', JavaDumpTask)
+        project.tasks.register('libertyDebug', DebugTask)
+        project.tasks.register('deploy', DeployTask)
+        project.tasks.register('undeploy', UndeployTask)
+        project.tasks.register('installFeature', InstallFeatureTask)
+        project.tasks.register('generateFeatures', GenerateFeaturesTask)
+        project.tasks.register('prepareFeature', PrepareFeatureTask)
+        project.tasks.register('uninstallFeature', UninstallFeatureTask)
+        project.tasks.register('cleanDirs', CleanTask)
+        project.tasks.register('configureArquillian', ConfigureArquillianTask)
     }
 }
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corporation 2018, 2023.
+ * (C) Copyright IBM Corporation 2018, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,100 +32,110 @@ public class LibertyTasks {
     }
 
     public void applyTasks() {
-        project.compileJSP {
-            dependsOn 'installLiberty', 'compileJava'
+        // the tasks are registered lazily, so they are only configured when the build needs them
+        def tasks = project.tasks
+        ServerExtension server = project.liberty.server
+        boolean apps = dependsOnApps(server)
+
+        tasks.named('compileJSP').configure { Task task ->
+            task.dependsOn 'installLiberty', 'compileJava'
         }
 
-        project.libertyRun {
-            dependsOn 'libertyCreate'
+        tasks.named('libertyRun').configure { Task task ->
+            task.dependsOn 'libertyCreate'
 
-            if (dependsOnApps(project.liberty.server)) {
-                dependsOn 'deploy'
+            if (apps) {
+                task.dependsOn 'deploy'
             }
         }
 
-        project.libertyStatus {
-            dependsOn 'libertyCreate'
+        tasks.named('libertyStatus').configure { Task task ->
+            task.dependsOn 'libertyCreate'
         }
 
-        project.libertyCreate {
-            dependsOn 'installLiberty'   
+        tasks.named('libertyCreate').configure { Task task ->
+            task.dependsOn 'installLiberty'
             // Run install features if configured
-            finalizedBy 'installFeature'      
+            task.finalizedBy 'installFeature'
         }
 
-        project.libertyStart {
-            dependsOn 'libertyCreate'
+        tasks.named('libertyStart').configure { Task task ->
+            task.dependsOn 'libertyCreate'
 
-            if (dependsOnApps(project.liberty.server)) {
-                dependsOn 'deploy'
+            if (apps) {
+                task.dependsOn 'deploy'
             }
         }
 
-        project.libertyPackage {
-            dependsOn installDependsOn(project.liberty.server)
+        tasks.named('libertyPackage').configure { Task task ->
+            task.dependsOn installDependsOn(server)
         }
 
-        project.undeploy {
-            dependsOn 'libertyStart'
+        tasks.named('undeploy').configure { Task task ->
+            task.dependsOn 'libertyStart'
         }
 
-        project.installFeature {
-            dependsOn 'libertyCreate'
-			if (project.configurations.featuresBom.dependencies) {
-				dependsOn 'prepareFeature'
-			}
+        tasks.named('installFeature').configure { Task task ->
+            task.dependsOn 'libertyCreate'
+            if (project.configurations.featuresBom.dependencies) {
+                task.dependsOn 'prepareFeature'
+            }
         }
 
-        project.cleanDirs {
-            dependsOn 'libertyStop'
+        tasks.named('cleanDirs').configure { Task task ->
+            task.dependsOn 'libertyStop'
         }
 
         // The war, ear and java plugins all apply the base plugin which defines the clean task.
         // This code ensures the libertyStop task is invoked before clean so that a Liberty server is not orphaned.
         if (project.plugins.hasPlugin('base')) {
-            def tasks = project.tasks
-            tasks.getByName('clean').dependsOn 'libertyStop'
+            tasks.named('clean').configure { Task task ->
+                task.dependsOn 'libertyStop'
+            }
         }
-		
-		project.prepareFeature {
-			dependsOn 'installLiberty'		
-		}
 
-        project.deploy {
-            String springBootVersion = AbstractServerTask.findSpringBootVersion(project)
-            if (springBootVersion != null) {
+        tasks.named('prepareFeature').configure { Task task ->
+            task.dependsOn 'installLiberty'
+        }
+
+        tasks.named('deploy').configure { Task task ->
+            // the Spring Boot version is only looked up when the task graph is built
+            task.dependsOn {
+                String springBootVersion = AbstractServerTask.findSpringBootVersion(project)
+                if (springBootVersion == null) {
+                    return []
+                }
                 if (AbstractLibertyTask.isSpringBoot2plus(springBootVersion)) {
-                    dependsOn 'bootJar'
+                    return ['bootJar']
                 } else { //version 1.5.x
-                    dependsOn 'bootRepackage'
+                    return ['bootRepackage']
                 }
             }
-            dependsOn project.tasks.withType(War), 'libertyCreate'
+            task.dependsOn tasks.withType(War), 'libertyCreate'
         }
 
-        project.configureArquillian {
-            dependsOn 'deploy', 'processTestResources'
-            skipIfArquillianXmlExists = project.arquillianConfiguration.skipIfArquillianXmlExists
-            arquillianProperties = project.arquillianConfiguration.arquillianProperties
+        tasks.named('configureArquillian').configure { Task task ->
+            task.dependsOn 'deploy', 'processTestResources'
+            task.skipIfArquillianXmlExists = project.arquillianConfiguration.skipIfArquillianXmlExists
+            task.arquillianProperties = project.arquillianConfiguration.arquillianProperties
         }
 
-        if (!dependsOnApps(project.liberty.server)) {
+        if (!apps) {
             if (project.plugins.hasPlugin('war') || project.plugins.hasPlugin('ear')) {
-                def tasks = project.tasks
-                tasks.getByName('libertyRun').dependsOn 'deploy'
-                tasks.getByName('libertyStart').dependsOn 'deploy'
-                tasks.getByName('libertyPackage').dependsOn 'deploy'
+                ['libertyRun', 'libertyStart', 'libertyPackage'].each { String taskName ->
+                    tasks.named(taskName).configure { Task task ->
+                        task.dependsOn 'deploy'
+                    }
+                }
             }
         }
 
-        checkServerEnvProperties(project.liberty.server)
         //Server objects need to be set per task after the project configuration phase
         setServersForTasks()
     }
 
     private void setServersForTasks(){
-        project.tasks.withType(AbstractServerTask).each { task ->
+        project.tasks.withType(AbstractServerTask).configureEach { AbstractServerTask task ->
             task.server = project.liberty.server
         }
     }
@@ -144,29 +154,4 @@ public class LibertyTasks {
     protected boolean dependsOnApps(ServerExtension server) {
         return ((server.deploy.apps != null && !server.deploy.apps.isEmpty()) || (server.deploy.dropins != null && !server.deploy.dropins.isEmpty()))
     }
-
-    public void checkServerEnvProperties(ServerExtension server) {
-        if (server.outputDir == null) {
-            Properties envProperties = new Properties()
-            //check server.env files and set liberty.server.outputDir
-            if (server.serverEnvFile != null && server.serverEnvFile.exists()) {
-                server.serverEnvFile.text = server.serverEnvFile.text.replace("\\", "/")
-                envProperties.load(new FileInputStream(server.serverEnvFile))
-                setServerOutputDir(server, (String) envProperties.get("WLP_OUTPUT_DIR"))
-            } else if (server.configDirectory != null) {
-                File serverEnvFile = new File(server.configDirectory, 'server.env')
-                if (serverEnvFile != null && serverEnvFile.exists()) {
-                    serverEnvFile.text = serverEnvFile.text.replace("\\", "/")
-                    envProperties.load(new FileInputStream(serverEnvFile))
-                    setServerOutputDir(server, (String) envProperties.get("WLP_OUTPUT_DIR"))
-                }
-            }
-        }
-    }
-
-    private void setServerOutputDir(ServerExtension server, String envOutputDir){
-        if (envOutputDir != null) {
-            server.outputDir = envOutputDir
-        }
-    }
 }
@@ -0,0 +1,214 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+import io.openliberty.tools.gradle.utils.DevTaskHelper
+import org.gradle.api.Project
+import org.gradle.api.Task
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.Dependency
+import org.gradle.api.artifacts.ProjectDependency
+
+/**
+ * Serializable snapshot of the Liberty configuration of a project, built the same way by the tooling
+ * model builder in the Gradle daemon and by dev mode from its own project.
+ */
+class DefaultLibertyProjectModel implements LibertyProjectModel, Serializable {
+
+    private static final long serialVersionUID = 1L
+
+    // values used to install the Liberty runtime, a change requires a 'clean'
+    public static final Set<String> INSTALL_KEYS = Collections.unmodifiableSet(new LinkedHashSet<String>([
+            'installDir', 'baseDir', 'cacheDir', 'outputDir', 'userDir', 'runtime',
+            'install.type', 'install.runtimeUrl', 'install.version', 'install.useOpenLiberty',
+            'dependencies.libertyRuntime']))
+
+    // values written to the server directory, a change requires a server restart
+    public static final Set<String> SERVER_KEYS = Collections.unmodifiableSet(new LinkedHashSet<String>([
+            'server.bootstrapProperties', 'server.bootstrapPropertiesFile', 'server.jvmOptions', 'server.jvmOptionsFile',
+            'server.serverEnvFile', 'server.configDirectory', 'server.env', 'server.var', 'server.defaultVar',
+            'server.mergeServerEnv', 'server.deploy.copyLibsDirectory']))
+
+    // values that select the installed features
+    public static final Set<String> FEATURE_KEYS = Collections.unmodifiableSet(new LinkedHashSet<String>([
+            'server.features.name', 'dependencies.libertyFeature']))
+
+    // values that select the deployed applications
+    public static final Set<String> DEPLOY_KEYS = Collections.unmodifiableSet(new LinkedHashSet<String>([
+            'server.deploy.apps', 'server.deploy.dropins', 'server.looseApplication', 'server.stripVersion']))
+
+    // dev mode options, only read when dev mode starts
+    public static final String DEV_KEY_PREFIX = 'dev.'
+
+    // dependencies used to compile the project
+    public static final Set<String> COMPILE_DEPENDENCY_KEYS = Collections.unmodifiableSet(new LinkedHashSet<String>([
+            'dependencies.api', 'dependencies.implementation', 'dependencies.compileOnly', 'dependencies.providedCompile']))
+
+    private static final List<String> DEPENDENCY_CONFIGURATIONS = ['libertyRuntime', 'libertyFeature', 'api', 'implementation',
+            'compileOnly', 'providedCompile']
+
+    private final String projectPath
+    private final HashMap<String, Map<String, Object>> projectValues
+
+    DefaultLibertyProjectModel(String projectPath, HashMap<String, Map<String, Object>> projectValues) {
+        this.projectPath = projectPath
+        this.projectValues = projectValues
+    }
+
+    @Override
+    String getProjectPath() {
+        return projectPath
+    }
+
+    @Override
+    Map<String, Map<String, Object>> getProjectValues() {
+        return projectValues
+    }
+
+    /**
+     * Creates the model of an evaluated project and of the projects it depends on.
+     */
+    static DefaultLibertyProjectModel create(Project project) {
+        HashMap<String, Map<String, Object>> projectValues = new HashMap<String, Map<String, Object>>()
+        projectValues.put(project.getPath(), createValues(project))
+        for (Project upstreamProject : DevTaskHelper.getAllUpstreamProjects(project)) {
+            projectValues.put(upstreamProject.getPath(), createValues(upstreamProject))
+        }
+        return new DefaultLibertyProjectModel(project.getPath(), projectValues)
+    }
+
+    /**
+     * Returns the configuration values of a single evaluated project. Projects that do not apply the
+     * Liberty plugin only contain their dependencies.
+     */
+    static Map<String, Object> createValues(Project project) {
+        Map<String, Object> values = new TreeMap<String, Object>()
+        def liberty = project.extensions.findByName('liberty')
+        if (liberty != null) {
+            values.put('installDir', normalize(liberty.installDir))
+            values.put('baseDir', normalize(liberty.baseDir))
+            values.put('cacheDir', normalize(liberty.cacheDir))
+            values.put('outputDir', normalize(liberty.outputDir))
+            values.put('userDir', normalize(liberty.userDir))
+            values.put('runtime', normalize(liberty.runtime))
+
+            values.put('install.type', normalize(liberty.install.type))
+            values.put('install.runtimeUrl', normalize(liberty.install.runtimeUrl))
+            values.put('install.version', normalize(liberty.install.version))
+            values.put('install.useOpenLiberty', normalize(liberty.install.useOpenLiberty))
+
+            def server = liberty.server
+            values.put('server.name', normalize(server.name))
+            values.put('server.bootstrapProperties', normalize(server.bootstrapProperties))
+            values.put('server.bootstrapPropertiesFile', normalize(server.bootstrapPropertiesFile))
+            values.put('server.jvmOptions', normalize(server.jvmOptions))
+            values.put('server.jvmOptionsFile', normalize(server.jvmOptionsFile))
+            values.put('server.serverEnvFile', normalize(server.serverEnvFile))
+            // the libertyDev task sets the default config directory when it starts
+            values.put('server.configDirectory', normalize(server.configDirectory != null ? server.configDirectory : new File(project.projectDir, "src/main/liberty/config")))
+            values.put('server.env', normalize(server.env))
+            values.put('server.var', normalize(server.var))
+            values.put('server.defaultVar', normalize(server.defaultVar))
+            values.put('server.mergeServerEnv', normalize(server.mergeServerEnv))
+            values.put('server.looseApplication', normalize(server.looseApplication))
+            values.put('server.stripVersion', normalize(server.stripVersion))
+            values.put('server.features.name', normalize(server.features.name))
+            values.put('server.deploy.apps', normalize(server.deploy.apps))
+            values.put('server.deploy.dropins', normalize(server.deploy.dropins))
+            values.put('server.deploy.copyLibsDirectory', normalize(server.deploy.copyLibsDirectory))
+
+            def dev = liberty.dev
+            values.put('dev.container', normalize(dev.container))
+            values.put('dev.containerfile', normalize(dev.containerfile))
+            values.put('dev.containerBuildContext', normalize(dev.containerBuildContext))
+            values.put('dev.containerRunOpts', normalize(dev.containerRunOpts))
+            values.put('dev.containerBuildTimeout', normalize(dev.containerBuildTimeout))
+            values.put('dev.skipDefaultPorts', normalize(dev.skipDefaultPorts))
+            values.put('dev.keepTempContainerfile', normalize(dev.keepTempContainerfile))
+            values.put('dev.changeOnDemandTestsAction', normalize(dev.changeOnDemandTestsAction))
+            values.put('dev.skipInstallFeature', normalize(dev.skipInstallFeature))
+        }
+
+        for (String configurationName : DEPENDENCY_CONFIGURATIONS) {
+            Configuration configuration = project.configurations.findByName(configurationName)
+            if (configuration != null) {
+                List<String> dependencies = new ArrayList<String>()
+                for (Dependency dependency : configuration.dependencies) {
+                    if (dependency instanceof ProjectDependency) {
+                        dependencies.add("project " + ((ProjectDependency) dependency).getPath())
+                    } else {
+                        dependencies.add(dependency.group + ":" + dependency.name + ":" + dependency.version)
+                    }
+                }
+                values.put('dependencies.' + configurationName, dependencies)
+            }
+        }
+        return values
+    }
+
+    /**
+     * Returns the names of the values that differ between two models of the same project.
+     */
+    static Set<String> getChangedKeys(Map<String, Object> oldValues, Map<String, Object> newValues) {
+        Set<String> keys = new TreeSet<String>()
+        if (oldValues != null) {
+            keys.addAll(oldValues.keySet())
+        }
+        if (newValues != null) {
+            keys.addAll(newValues.keySet())
+        }
+        Set<String> changedKeys = new TreeSet<String>()
+        for (String key : keys) {
+            Object oldValue = oldValues == null ? null : oldValues.get(key)
+            Object newValue = newValues == null ? null : newValues.get(key)
+            if (!Objects.equals(oldValue, newValue)) {
+                changedKeys.add(key)
+            }
+        }
+        return changedKeys
+    }
+
+    // convert build script values such as GStrings, Files, Properties and task objects to comparable serializable values
+    private static Object normalize(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof String) {
+            return value
+        }
+        if (value instanceof Number) {
+            return value.toString()
+        }
+        if (value instanceof File) {
+            return ((File) value).getAbsolutePath()
+        }
+        if (value instanceof Task) {
+            return ((Task) value).getPath()
+        }
+        if (value instanceof Map) {
+            Map<String, String> map = new TreeMap<String, String>()
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), String.valueOf(normalize(entry.getValue())))
+            }
+            return map
+        }
+        if (value instanceof Collection) {
+            List<String> list = new ArrayList<String>()
+            for (Object item : (Collection<?>) value) {
+                list.add(String.valueOf(normalize(item)))
+            }
+            return list
+        }
+        return value.toString()
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+/**
+ * Tooling API model with the Liberty configuration of a project and of every project it depends on.
+ * Dev mode compares two of these models to decide what a build file change requires for each module,
+ * without evaluating the build file in its own JVM.
+ */
+interface LibertyProjectModel {
+
+    /**
+     * @return path of the project the model was built for, for example :app
+     */
+    String getProjectPath()
+
+    /**
+     * Configuration values of the project and of its upstream projects, keyed by project path. The values
+     * of each project are keyed by property name, for example server.jvmOptions or dependencies.libertyFeature,
+     * and are strings, booleans, lists of strings or maps of strings so that they can be compared with equals.
+     * Projects that do not apply the Liberty plugin only contain their dependencies.
+     *
+     * @return the configuration values of each project
+     */
+    Map<String, Map<String, Object>> getProjectValues()
+}
@@ -0,0 +1,49 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+import org.gradle.tooling.BuildAction
+import org.gradle.tooling.BuildController
+import org.gradle.tooling.model.gradle.BasicGradleProject
+
+/**
+ * Tooling API action that configures the build and returns the {@link LibertyProjectModel} values of
+ * a project that is not necessarily the root project, keyed by project path.
+ */
+class LibertyProjectModelAction implements BuildAction<HashMap<String, Map<String, Object>>>, Serializable {
+
+    private static final long serialVersionUID = 1L
+
+    private final String projectPath
+
+    /**
+     * @param projectPath path of the project that applies the Liberty plugin, for example :ear
+     */
+    LibertyProjectModelAction(String projectPath) {
+        this.projectPath = projectPath
+    }
+
+    @Override
+    HashMap<String, Map<String, Object>> execute(BuildController controller) {
+        for (BasicGradleProject project : controller.getBuildModel().getProjects()) {
+            if (project.getPath().equals(projectPath)) {
+                LibertyProjectModel model = controller.getModel(project, LibertyProjectModel.class)
+                return new HashMap<String, Map<String, Object>>(model.getProjectValues())
+            }
+        }
+        throw new IllegalArgumentException("The project " + projectPath + " was not found in the build.")
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+import org.gradle.api.Project
+import org.gradle.tooling.provider.model.ToolingModelBuilder
+
+/**
+ * Builds the {@link LibertyProjectModel} of a project for Tooling API clients such as dev mode.
+ */
+class LibertyProjectModelBuilder implements ToolingModelBuilder {
+
+    @Override
+    boolean canBuild(String modelName) {
+        return modelName.equals(LibertyProjectModel.class.getName())
+    }
+
+    @Override
+    Object buildAll(String modelName, Project project) {
+        return DefaultLibertyProjectModel.create(project)
+    }
+}
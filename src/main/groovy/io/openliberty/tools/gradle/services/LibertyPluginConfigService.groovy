@@ -0,0 +1,167 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.services
+
+import groovy.xml.StreamingMarkupBuilder
+import groovy.xml.XmlNodePrinter
+import groovy.xml.XmlParser
+import io.openliberty.tools.gradle.utils.ConfigDirectorySync
+import org.gradle.api.invocation.Gradle
+import org.gradle.api.provider.Provider
+import org.gradle.api.services.BuildService
+import org.gradle.api.services.BuildServiceParameters
+
+/**
+ * Owns the liberty-plugin-config.xml documents of the projects in a build. Each document is parsed
+ * once, tasks apply their changes to the parsed document, and a document that was changed is written
+ * when the task that changed it finishes, only if its content differs from the file on disk.
+ *
+ * A document is parsed again when the file was changed on disk by another build since it was read,
+ * for example by a dev mode child build.
+ */
+abstract class LibertyPluginConfigService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    public static final String NAME = 'libertyPluginConfig'
+    public static final String FILE_NAME = 'liberty-plugin-config.xml'
+
+    private final Map<File, Document> documents = new HashMap<File, Document>()
+
+    /**
+     * Registers the service for the build, or returns the already registered service.
+     */
+    static Provider<LibertyPluginConfigService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(NAME, LibertyPluginConfigService) {}
+    }
+
+    /**
+     * Returns whether the document exists, either on disk or created during this build.
+     */
+    synchronized boolean exists(File file) {
+        return getDocument(file) != null
+    }
+
+    /**
+     * Returns the root node of the document, or null if it does not exist. The returned node must
+     * only be changed through {@link #update(File, Closure)}.
+     */
+    synchronized Node read(File file) {
+        Document document = getDocument(file)
+        return document == null ? null : document.root
+    }
+
+    /**
+     * Returns the current content of the document, including the changes that are not written yet,
+     * or null if it does not exist.
+     */
+    synchronized String getContent(File file) {
+        Document document = getDocument(file)
+        return document == null ? null : serialize(document.root)
+    }
+
+    /**
+     * Replaces the document with the passed XML content.
+     */
+    synchronized void create(File file, String content) {
+        Document document = new Document()
+        document.root = new XmlParser().parseText(content)
+        document.dirty = true
+        documents.put(file.getAbsoluteFile(), document)
+    }
+
+    /**
+     * Applies a change to the root node of an existing document. The document is written when
+     * {@link #flush(File)} is called, which Liberty tasks do when they finish.
+     */
+    synchronized void update(File file, Closure change) {
+        Document document = getDocument(file)
+        if (document == null) {
+            throw new FileNotFoundException(file.toString())
+        }
+        change.call(document.root)
+        document.dirty = true
+    }
+
+    /**
+     * Writes the document if it was changed.
+     */
+    synchronized void flush(File file) {
+        Document document = documents.get(file.getAbsoluteFile())
+        if (document != null && document.dirty) {
+            write(file.getAbsoluteFile(), document)
+        }
+    }
+
+    // writes the changes of a task that failed before it could write them
+    @Override
+    synchronized void close() {
+        for (Map.Entry<File, Document> entry : documents.entrySet()) {
+            if (entry.getValue().dirty) {
+                write(entry.getKey(), entry.getValue())
+            }
+        }
+        documents.clear()
+    }
+
+    private Document getDocument(File file) {
+        File key = file.getAbsoluteFile()
+        Document document = documents.get(key)
+        if (document != null && (document.dirty || document.isCurrent(key))) {
+            return document
+        }
+        if (!key.isFile()) {
+            documents.remove(key)
+            return null
+        }
+        document = new Document()
+        document.root = new XmlParser().parse(key)
+        document.recordFileState(key)
+        documents.put(key, document)
+        return document
+    }
+
+    private static void write(File file, Document document) {
+        ConfigDirectorySync.writeIfChanged(file, serialize(document.root).getBytes('UTF-8'))
+        document.dirty = false
+        document.recordFileState(file)
+    }
+
+    private static String serialize(Node root) {
+        StringWriter output = new StringWriter()
+        output << new StreamingMarkupBuilder().bind { mkp.xmlDeclaration(encoding: 'UTF-8', version: '1.0' ) }
+        PrintWriter writer = new PrintWriter(output)
+        XmlNodePrinter printer = new XmlNodePrinter( writer )
+        printer.preserveWhitespace = true
+        printer.print( root )
+        writer.flush()
+        return output.toString()
+    }
+
+    private static class Document {
+        Node root
+        boolean dirty = false
+        long lastModified = -1
+        long length = -1
+
+        boolean isCurrent(File file) {
+            return file.lastModified() == lastModified && file.length() == length
+        }
+
+        void recordFileState(File file) {
+            lastModified = file.lastModified()
+            length = file.length()
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.services
+
+import io.openliberty.tools.gradle.utils.MessagesLogTailer
+import org.gradle.api.invocation.Gradle
+import org.gradle.api.provider.Provider
+import org.gradle.api.services.BuildService
+import org.gradle.api.services.BuildServiceParameters
+
+/**
+ * Provides one {@link MessagesLogTailer} per server log file, so that the tasks of a build that wait for
+ * application and server messages read each log only once.
+ */
+abstract class MessagesLogService implements BuildService<BuildServiceParameters.None> {
+
+    public static final String NAME = 'libertyMessagesLogs'
+
+    private final Map<String, MessagesLogTailer> tailers = new HashMap<String, MessagesLogTailer>()
+
+    /**
+     * Registers the service for the build, or returns the already registered service.
+     */
+    static Provider<MessagesLogService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(NAME, MessagesLogService) {}
+    }
+
+    /**
+     * Returns the tailer of the passed messages.log file.
+     */
+    synchronized MessagesLogTailer getTailer(File logFile) {
+        String key = logFile.getCanonicalPath()
+        MessagesLogTailer tailer = tailers.get(key)
+        if (tailer == null) {
+            tailer = new MessagesLogTailer(logFile.getCanonicalFile())
+            tailers.put(key, tailer)
+        }
+        return tailer
+    }
+}
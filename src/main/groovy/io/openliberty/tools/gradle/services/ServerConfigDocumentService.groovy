@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.services
+
+import io.openliberty.tools.common.plugins.config.ServerConfigDocument
+import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.ServerConfigFingerprint
+import org.gradle.api.invocation.Gradle
+import org.gradle.api.logging.Logger
+import org.gradle.api.logging.Logging
+import org.gradle.api.provider.Provider
+import org.gradle.api.services.BuildService
+import org.gradle.api.services.BuildServiceParameters
+
+/**
+ * Caches parsed server configurations, so that the tasks of a build, and the builds that run in the
+ * same Gradle daemon, do not parse the same server.xml and its includes again.
+ *
+ * A cached document is reused as long as none of the files it was parsed from changed their
+ * modification time or size. Those are the server.xml file, the files it includes, the files in
+ * configDropins, and the bootstrap.properties and server.env files that define variables. If an
+ * include location cannot be resolved to a file, the document is not cached.
+ *
+ * The same document is returned to every caller, so callers must only query it. The document is
+ * filled in when it is constructed, and the plugin only calls getLocations, getNames,
+ * getNamelessLocations, findNameForLocation and getSpringBootAppNodeLocation on it, none of which
+ * change it. The returned sets belong to the document and must be copied before they are changed.
+ */
+abstract class ServerConfigDocumentService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    public static final String NAME = 'libertyServerConfigDocuments'
+
+    static final int MAX_CACHED_DOCUMENTS = 32
+    private static final Logger LOGGER = Logging.getLogger(ServerConfigDocumentService)
+
+    // shared by the builds that run in this daemon, as long as the plugin classes are not reloaded
+    private static final Map<String, CachedDocument> CACHE = new LinkedHashMap<String, CachedDocument>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedDocument> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS
+        }
+    }
+
+    private int hits = 0
+    private int misses = 0
+
+    /**
+     * Registers the service for the build, or returns the already registered service.
+     */
+    static Provider<ServerConfigDocumentService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(NAME, ServerConfigDocumentService) {}
+    }
+
+    /**
+     * Returns the parsed server configuration, from the cache if none of its files changed since
+     * it was parsed. The document is shared and must not be changed.
+     */
+    ServerConfigDocument getDocument(File serverXML, File installDir, File userDir, File serverDir, File outputDir) {
+        String key = [serverXML, installDir, userDir, serverDir, outputDir].collect { File file -> file == null ? '' : file.getCanonicalPath() }.join('|')
+        synchronized (CACHE) {
+            CachedDocument cached = CACHE.get(key)
+            if (cached != null && ServerConfigFingerprint.isCurrent(cached.fileStates)) {
+                hits++
+                return cached.document
+            }
+            CACHE.remove(key)
+            misses++
+        }
+
+        // the states are read first, so that a file changed while parsing makes the cached document out of date
+        Map<File, String> fileStates = ServerConfigFingerprint.getConfigFileStates(serverXML, installDir, userDir, serverDir, outputDir)
+        // the cached document can outlive the project, so it must not log through the project
+        ServerConfigDocument document = new ServerConfigDocument(new CommonLogger(LOGGER), serverXML, installDir, userDir, serverDir, outputDir)
+        if (fileStates != null) {
+            synchronized (CACHE) {
+                CACHE.put(key, new CachedDocument(document, fileStates))
+            }
+        }
+        return document
+    }
+
+    /**
+     * Removes every cached document parsed from the passed server.xml file.
+     */
+    void invalidate(File serverXML) {
+        String prefix = serverXML.getCanonicalPath() + '|'
+        synchronized (CACHE) {
+            CACHE.keySet().removeIf { String key -> key.startsWith(prefix) }
+        }
+    }
+
+    @Override
+    void close() {
+        LOGGER.debug("Server configuration documents: " + hits + " reused, " + misses + " parsed.")
+    }
+
+    private static class CachedDocument {
+        final ServerConfigDocument document
+        final Map<File, String> fileStates
+
+        CachedDocument(ServerConfigDocument document, Map<File, String> fileStates) {
+            this.document = document
+            this.fileStates = fileStates
+        }
+    }
+}
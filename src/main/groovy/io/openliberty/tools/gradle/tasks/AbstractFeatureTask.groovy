@@ -24,6 +24,7 @@ import io.openliberty.tools.common.plugins.util.ServerFeatureUtil
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms
 
 import io.openliberty.tools.gradle.utils.ArtifactDownloadUtil
+import io.openliberty.tools.gradle.utils.FeatureResolutionCache
 import org.gradle.api.artifacts.Configuration
 import org.gradle.api.logging.LogLevel
 import org.gradle.api.tasks.Internal
@@ -42,6 +43,8 @@ public class AbstractFeatureTask extends AbstractServerTask {
     private InstallFeatureUtil util;
 
     private ServerFeatureUtil servUtil;
+
+    private FeatureResolutionCache featureResolutionCache;
 	
 	
 	@Internal
@@ -218,6 +221,50 @@ public class AbstractFeatureTask extends AbstractServerTask {
         return result;
     }
 
+    /**
+     * Returns the features and platforms of the server configuration in the passed directory. They are
+     * only resolved again if one of the configuration files changed since the last resolution.
+     */
+    protected FeaturesPlatforms getCachedServerFeatures(ServerFeatureUtil servUtil, File serverDir, Map<String, File> libDirPropFiles) {
+        return openFeatureResolutionCache().getServerFeatures(servUtil, serverDir, libDirPropFiles)
+    }
+
+    /**
+     * Returns the features and platforms of the passed server.xml file, leaving out the excluded
+     * configuration files. The lower case setting must match the one of the passed ServerFeatureUtil.
+     */
+    protected FeaturesPlatforms getCachedServerFeatures(ServerFeatureUtil servUtil, File configDir, File serverXmlFile, Map<String, File> libDirPropFiles,
+            Set<String> excludedFiles, boolean lowerCaseFeatures) {
+        return openFeatureResolutionCache().getServerFeatures(servUtil, configDir, serverXmlFile, libDirPropFiles, excludedFiles, lowerCaseFeatures)
+    }
+
+    private FeatureResolutionCache openFeatureResolutionCache() {
+        if (featureResolutionCache == null) {
+            featureResolutionCache = new FeatureResolutionCache(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-feature-cache.json'), logger)
+        }
+        return featureResolutionCache
+    }
+
+    /**
+     * Returns the features and the platforms, prefixed with platform:, of the server configuration, for
+     * use as a task input.
+     */
+    protected Set<String> collectServerConfigFeatures() {
+        Set<String> result = new TreeSet<String>()
+        File serverDir = serverDirectoryParam != null ? new File(serverDirectoryParam) : getServerDir(project)
+        if (!serverDir.exists()) {
+            return result
+        }
+        FeaturesPlatforms fp = getCachedServerFeatures(getServerFeatureUtil(true, null), serverDir, getLibertyDirectoryPropertyFiles(serverDirectoryParam))
+        if (fp != null) {
+            result.addAll(fp.getFeatures())
+            for (String platform : fp.getPlatforms()) {
+                result.add("platform:" + platform)
+            }
+        }
+        return result
+    }
+
     protected FeaturesPlatforms getSpecifiedFeatures(String containerName) throws PluginExecutionException {
         InstallFeatureUtil util = getInstallFeatureUtil(null, containerName)
         FeaturesPlatforms getServerFeaturesResult = new FeaturesPlatforms()
@@ -234,9 +281,9 @@ public class AbstractFeatureTask extends AbstractServerTask {
 
         // if DevMode provides a server directory parameter use that for finding the server features
         if (serverDirectoryParam != null) {
-            getServerFeaturesResult = util.getServerFeatures(new File(serverDirectoryParam), getLibertyDirectoryPropertyFiles(serverDirectoryParam))
+            getServerFeaturesResult = getCachedServerFeatures(util, new File(serverDirectoryParam), getLibertyDirectoryPropertyFiles(serverDirectoryParam))
         } else if (getServerDir(project).exists()) {
-            getServerFeaturesResult = util.getServerFeatures(getServerDir(project), getLibertyDirectoryPropertyFiles(null))
+            getServerFeaturesResult = getCachedServerFeatures(util, getServerDir(project), getLibertyDirectoryPropertyFiles(null))
         }
 
         Set<String> serverFeatures = getServerFeaturesResult != null ? getServerFeaturesResult.getFeatures() : new HashSet<String>()
@@ -17,14 +17,15 @@ package io.openliberty.tools.gradle.tasks
 
 import io.openliberty.tools.common.plugins.util.VersionUtility
 import io.openliberty.tools.gradle.Liberty
+import io.openliberty.tools.gradle.services.LibertyPluginConfigService
 import org.gradle.api.DefaultTask
 import org.gradle.api.GradleException
 import org.gradle.api.Project
 import org.gradle.api.Task
 import org.gradle.api.artifacts.Dependency
 import org.gradle.api.provider.Property
+import org.gradle.api.provider.Provider
 import org.gradle.api.tasks.Internal
-import groovy.xml.XmlParser
 import org.gradle.api.tasks.Nested
 import org.gradle.api.tasks.Optional
 import org.gradle.jvm.toolchain.JavaLauncher
@@ -51,6 +52,9 @@ abstract class AbstractLibertyTask extends DefaultTask {
     // Cached toolchain javaHome
     private String resolvedToolchainJavaHome = null
 
+    // liberty-plugin-config.xml documents shared by the tasks of the build
+    private final Property<LibertyPluginConfigService> pluginConfigService = project.objects.property(LibertyPluginConfigService)
+
     public JavaLauncher getJavaLauncher() {
         if(!javaLauncher.isPresent()) {
             configureDefaults();
@@ -71,6 +75,30 @@ abstract class AbstractLibertyTask extends DefaultTask {
     // Constructor to configure default toolchain behavior
     AbstractLibertyTask() {
         configureDefaults()
+        Provider<LibertyPluginConfigService> service = LibertyPluginConfigService.register(project.getGradle())
+        pluginConfigService.set(service)
+        usesService(service)
+        // the changes this task made to liberty-plugin-config.xml are written when it finishes, for the tasks that run after it
+        doLast {
+            flushPluginConfig()
+        }
+    }
+
+    @Internal
+    protected LibertyPluginConfigService getPluginConfig() {
+        return pluginConfigService.get()
+    }
+
+    @Internal
+    protected File getPluginConfigFile() {
+        return new File(project.getLayout().getBuildDirectory().getAsFile().get(), LibertyPluginConfigService.FILE_NAME)
+    }
+
+    /**
+     * Writes the changes made to liberty-plugin-config.xml so far, instead of waiting for the task to finish.
+     */
+    protected void flushPluginConfig() {
+        getPluginConfig().flush(getPluginConfigFile())
     }
 
     /**
@@ -99,9 +127,8 @@ abstract class AbstractLibertyTask extends DefaultTask {
 
     protected boolean isInstallDirChanged(Project project) {
 
-        XmlParser pluginXmlParser = new XmlParser()
-        Node libertyPluginConfig = pluginXmlParser.parse(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml'))
-        if (!libertyPluginConfig.getAt('installDirectory').isEmpty()) {
+        Node libertyPluginConfig = getPluginConfig().read(getPluginConfigFile())
+        if (libertyPluginConfig != null && !libertyPluginConfig.getAt('installDirectory').isEmpty()) {
             Node installDirNode = libertyPluginConfig.getAt('installDirectory').get(0)
             File previousInstallDir = new File(installDirNode.text())
             File currentInstallDir = getInstallDir(project)
@@ -285,6 +312,19 @@ abstract class AbstractLibertyTask extends DefaultTask {
         return installProps
     }
 
+    /**
+     * Returns the product id and version of the Liberty installation, or null if there is no valid
+     * installation yet. Used as a task input, so that tasks run again after a different runtime is installed.
+     */
+    protected String readInstalledRuntimeVersion() {
+        try {
+            Properties installProps = getLibertyInstallProperties()
+            return installProps.getProperty(COM_IBM_WEBSPHERE_PRODUCTID_KEY) + ":" + installProps.getProperty(COM_IBM_WEBSPHERE_PRODUCTVERSION_KEY)
+        } catch (GradleException e) {
+            return null
+        }
+    }
+
     /**
      * Get the configured Java launcher from standard toolchain properties.
      * This provides the standard way to access toolchain configuration.
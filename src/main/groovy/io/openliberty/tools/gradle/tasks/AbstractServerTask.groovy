@@ -15,9 +15,6 @@
  */
 package io.openliberty.tools.gradle.tasks
 
-import groovy.xml.StreamingMarkupBuilder
-import groovy.xml.XmlParser
-import groovy.xml.XmlNodePrinter
 import io.openliberty.tools.ant.ServerTask
 import io.openliberty.tools.common.plugins.config.ApplicationXmlDocument
 import io.openliberty.tools.common.plugins.config.ServerConfigDocument
@@ -25,11 +22,15 @@ import io.openliberty.tools.common.plugins.config.ServerConfigXmlDocument
 import io.openliberty.tools.common.plugins.util.DevUtil
 import io.openliberty.tools.common.plugins.util.LibertyPropFilesUtility
 import io.openliberty.tools.common.plugins.util.PluginExecutionException
+import io.openliberty.tools.gradle.Liberty
+import io.openliberty.tools.gradle.services.MessagesLogService
+import io.openliberty.tools.gradle.services.ServerConfigDocumentService
 import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.ConfigDirectorySync
 import io.openliberty.tools.gradle.utils.GradleUtils
+import io.openliberty.tools.gradle.utils.MessagesLogTailer
 import org.apache.commons.io.FileUtils
 import org.apache.commons.io.FilenameUtils
-import org.apache.commons.io.filefilter.FileFilterUtils
 import org.gradle.api.GradleException
 import org.gradle.api.Project
 import org.gradle.api.Task
@@ -37,6 +38,8 @@ import org.gradle.api.artifacts.Configuration
 import org.gradle.api.artifacts.Dependency
 import org.gradle.api.artifacts.ModuleDependency
 import org.gradle.api.artifacts.ProjectDependency
+import org.gradle.api.provider.Property
+import org.gradle.api.provider.Provider
 import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.bundling.War
 import org.gradle.plugins.ear.Ear
@@ -77,8 +80,25 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     protected def server
     protected def springBootBuildTask
 
+    // parsed server configurations shared by the tasks of the build
+    private final Property<ServerConfigDocumentService> serverConfigDocumentService = project.objects.property(ServerConfigDocumentService)
+
+    // messages.log readers shared by the tasks of the build
+    private final Property<MessagesLogService> messagesLogService = project.objects.property(MessagesLogService)
+
     protected boolean isJavaHomeSetForEnvProperties = false
     protected boolean isJavaHomeSetForJvmOptions = false
+    protected boolean serverEnvChecked = false
+
+    AbstractServerTask() {
+        Provider<ServerConfigDocumentService> service = ServerConfigDocumentService.register(project.getGradle())
+        serverConfigDocumentService.set(service)
+        usesService(service)
+
+        Provider<MessagesLogService> logService = MessagesLogService.register(project.getGradle())
+        messagesLogService.set(logService)
+        usesService(logService)
+    }
 
     private enum PropertyType {
         BOOTSTRAP("liberty.server.bootstrapProperties"),
@@ -198,6 +218,7 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     }
 
     protected String getOutputDir(Project project) {
+        checkServerEnvProperties()
         if (server.outputDir != null) {
             return server.outputDir
         } else if (project.liberty.outputDir != null) {
@@ -207,6 +228,32 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
         }
     }
 
+    /**
+     * Sets the server and Liberty output directories from WLP_OUTPUT_DIR in the server.env files when they
+     * are not configured. The files are read once per task, when the task runs, and are never rewritten.
+     */
+    protected void checkServerEnvProperties() {
+        if (serverEnvChecked) {
+            return
+        }
+        serverEnvChecked = true
+        if (server.outputDir == null) {
+            //check server.env files and set liberty.server.outputDir
+            File serverEnvFile = server.serverEnvFile
+            if (serverEnvFile == null || !serverEnvFile.exists()) {
+                serverEnvFile = server.configDirectory == null ? null : new File(server.configDirectory, 'server.env')
+            }
+            if (serverEnvFile != null && serverEnvFile.exists()) {
+                String envOutputDir = Liberty.readServerEnvOutputDir(serverEnvFile)
+                if (envOutputDir != null) {
+                    server.outputDir = envOutputDir
+                }
+            }
+        }
+        //check etc/server.env and set liberty.outputDir
+        Liberty.checkEtcServerEnvProperties(project)
+    }
+
     protected void initializeConfigDirectory() {
         if (server.configDirectory == null) {
             server.configDirectory = new File(project.projectDir, "src/main/liberty/config")
@@ -228,11 +275,15 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     }
     
     protected void copyConfigDirectory() {
+        // only copy the files that changed since the last time, so that the server does not rescan its whole configuration
+        ConfigDirectorySync configDirectorySync = new ConfigDirectorySync(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-config-sync.properties'), logger)
+        Set<String> overwrittenFiles = getOverwrittenConfigFileNames()
+
         //merge default server.env with one in config directory
         File configDirServerEnv = new File(server.configDirectory, "server.env")
         if (configDirServerEnv.exists() && server.mergeServerEnv) {
-            FileFilter fileFilter =   FileFilterUtils.notFileFilter(FileFilterUtils.nameFileFilter("server.env", null))
-            FileUtils.copyDirectory(server.configDirectory, getServerDir(project), fileFilter)
+            overwrittenFiles.add("server.env")
+            configDirectorySync.sync(server.configDirectory, getServerDir(project), getConfigDirectoryFilter(overwrittenFiles))
 
             Properties configDirServerEnvProps = convertServerEnvToProperties(configDirServerEnv)
 
@@ -245,8 +296,39 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
         }
         else {
             // replace entire directory with configured configDirectory 
-            FileUtils.copyDirectory(server.configDirectory, getServerDir(project))
+            configDirectorySync.sync(server.configDirectory, getServerDir(project), getConfigDirectoryFilter(overwrittenFiles))
+        }
+    }
+
+    /**
+     * Returns the names of the files in the configuration directory that are overwritten in the server
+     * directory by inlined configuration or by a configured file, and so do not need to be copied first.
+     */
+    protected Set<String> getOverwrittenConfigFileNames() {
+        Set<String> names = new HashSet<String>()
+        if (server.serverXmlFile != null && server.serverXmlFile.exists()) {
+            names.add("server.xml")
+        }
+        if ((server.jvmOptions != null && !server.jvmOptions.isEmpty()) || !jvmProjectProps.isEmpty()
+                || (server.jvmOptionsFile != null && server.jvmOptionsFile.exists())) {
+            names.add("jvm.options")
+        }
+        if ((server.bootstrapProperties != null && !server.bootstrapProperties.isEmpty()) || !bootstrapProjectProps.isEmpty()
+                || (server.bootstrapPropertiesFile != null && server.bootstrapPropertiesFile.exists())) {
+            names.add("bootstrap.properties")
+        }
+        if (!server.mergeServerEnv && ((server.env != null && !server.env.isEmpty()) || !envProjectProps.isEmpty()
+                || (server.serverEnvFile != null && server.serverEnvFile.exists()))) {
+            names.add("server.env")
         }
+        return names
+    }
+
+    protected FileFilter getConfigDirectoryFilter(Set<String> excludedNames) {
+        File configDirectory = server.configDirectory
+        return { File file ->
+            !(excludedNames.contains(file.getName()) && configDirectory.equals(file.getParentFile()))
+        } as FileFilter
     }
 
     /**
@@ -296,54 +378,58 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
         // serverXmlFile takes precedence over server.xml from configDirectory
         // copy configuration file to server directory if end-user set it.
         if (server.serverXmlFile != null && server.serverXmlFile.exists()) {
-            Files.copy(server.serverXmlFile.toPath(), new File(serverDirectory, "server.xml").toPath(), StandardCopyOption.REPLACE_EXISTING)
+            ConfigDirectorySync.writeIfChanged(new File(serverDirectory, "server.xml"), Files.readAllBytes(server.serverXmlFile.toPath()))
             serverXMLPath = server.serverXmlFile.getCanonicalPath()
         }
 
         // jvmOptions, jvmOptionsFile and jvmProjectProps take precedence over jvm.options from configDirectory
         File optionsFile = new File(serverDirectory, "jvm.options")
-        if (optionsFile.exists() && jvmOptionsPath == null) {
+        boolean inlinedJvmOptions = (server.jvmOptions != null && !server.jvmOptions.isEmpty()) || !jvmProjectProps.isEmpty()
+        boolean configuredJvmOptionsFile = server.jvmOptionsFile != null && server.jvmOptionsFile.exists()
+        if (optionsFile.exists() && jvmOptionsPath == null && !inlinedJvmOptions && !configuredJvmOptionsFile) {
             // if using pre-existing installation, do not delete file
             if (project.liberty.installDir == null) {
                 logger.info(optionsFile.getCanonicalPath() + " file deleted before processing plugin configuration.")
                 optionsFile.delete();
             }
         }
-        if((server.jvmOptions != null && !server.jvmOptions.isEmpty()) || !jvmProjectProps.isEmpty()){
+        if (inlinedJvmOptions) {
             if (jvmOptionsPath != null) {
                 logger.info("The " + jvmOptionsPath + " file is overwritten by inlined configuration.")
             }
             writeJvmOptions(optionsFile, server.jvmOptions, jvmProjectProps)
             jvmOptionsPath = "inlined configuration"
-        } else if (server.jvmOptionsFile != null && server.jvmOptionsFile.exists()) {
+        } else if (configuredJvmOptionsFile) {
             if (jvmOptionsPath != null) {
                 logger.info("The " + jvmOptionsPath + " file is overwritten by the " + server.jvmOptionsFile.getCanonicalPath() + " file.");
             }
-            Files.copy(server.jvmOptionsFile.toPath(), optionsFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+            ConfigDirectorySync.writeIfChanged(optionsFile, Files.readAllBytes(server.jvmOptionsFile.toPath()))
             jvmOptionsPath = server.jvmOptionsFile.getCanonicalPath()
         }
 
         // bootstrapProperties, bootstrapPropertiesFile and bootstrapProjectProps take precedence over 
         // bootstrap.properties from configDirectory
         File bootstrapFile = new File(serverDirectory, "bootstrap.properties")
-        if (bootstrapFile.exists() && bootStrapPropertiesPath == null) {
+        boolean inlinedBootstrapProperties = (server.bootstrapProperties != null && !server.bootstrapProperties.isEmpty()) || !bootstrapProjectProps.isEmpty()
+        boolean configuredBootstrapPropertiesFile = server.bootstrapPropertiesFile != null && server.bootstrapPropertiesFile.exists()
+        if (bootstrapFile.exists() && bootStrapPropertiesPath == null && !inlinedBootstrapProperties && !configuredBootstrapPropertiesFile) {
             // if using pre-existing installation, do not delete file
             if (project.liberty.installDir == null) {
                 logger.info(bootstrapFile.getCanonicalPath() + " file deleted before processing plugin configuration.")
                 bootstrapFile.delete();
             }
         }
-        if((server.bootstrapProperties != null && !server.bootstrapProperties.isEmpty()) || !bootstrapProjectProps.isEmpty()){
+        if (inlinedBootstrapProperties) {
             if (bootStrapPropertiesPath != null) {
                 logger.info("The " + bootStrapPropertiesPath + " file is overwritten by inlined configuration.")
             }
             writeBootstrapProperties(bootstrapFile, server.bootstrapProperties, bootstrapProjectProps)
             bootStrapPropertiesPath = "inlined configuration"
-        } else if (server.bootstrapPropertiesFile != null && server.bootstrapPropertiesFile.exists()) {
+        } else if (configuredBootstrapPropertiesFile) {
             if (bootStrapPropertiesPath != null) {
                 logger.info("The " + bootStrapPropertiesPath + " file is overwritten by the " + server.bootstrapPropertiesFile.getCanonicalPath() + " file.")
             }
-            Files.copy(server.bootstrapPropertiesFile.toPath(), bootstrapFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+            ConfigDirectorySync.writeIfChanged(bootstrapFile, Files.readAllBytes(server.bootstrapPropertiesFile.toPath()))
             bootStrapPropertiesPath = server.bootstrapPropertiesFile.getCanonicalPath()
         }
 
@@ -352,24 +438,22 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
 
         // generate a config file on the server with any Liberty configuration variables specified via project properties
         File pluginVariableConfig = new File(serverDirectory, PLUGIN_VARIABLE_CONFIG_OVERRIDES_XML)
-        if (pluginVariableConfig.exists()) {
-            logger.debug(pluginVariableConfig.getCanonicalPath() + " file deleted before processing plugin configuration.")
-            pluginVariableConfig.delete();
-        }
         if ((server.var != null && !server.var.isEmpty()) || !varProjectProps.isEmpty()) {
             writeConfigDropinsServerVariables(pluginVariableConfig, server.var, varProjectProps, false)
             logger.info("Generate server configuration file " + pluginVariableConfig.getCanonicalPath())
+        } else if (pluginVariableConfig.exists()) {
+            logger.debug(pluginVariableConfig.getCanonicalPath() + " file deleted since no variables are configured.")
+            pluginVariableConfig.delete();
         }
 
         // generate a config file on the server with any Liberty configuration default variables specified via project properties
         pluginVariableConfig = new File(serverDirectory, PLUGIN_VARIABLE_CONFIG_DEFAULTS_XML)
-        if (pluginVariableConfig.exists()) {
-            logger.debug(pluginVariableConfig.getCanonicalPath() + " file deleted before processing plugin configuration.")
-            pluginVariableConfig.delete();
-        }
         if ((server.defaultVar != null && !server.defaultVar.isEmpty()) || !defaultVarProjectProps.isEmpty()) {
             writeConfigDropinsServerVariables(pluginVariableConfig, server.defaultVar, defaultVarProjectProps, true)
             logger.info("Generate server configuration file " + pluginVariableConfig.getCanonicalPath())
+        } else if (pluginVariableConfig.exists()) {
+            logger.debug(pluginVariableConfig.getCanonicalPath() + " file deleted since no default variables are configured.")
+            pluginVariableConfig.delete();
         }
 
         // log info on the configuration files that get used
@@ -389,6 +473,31 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
         writeServerPropertiesToXml(project)
     }
 
+    /**
+     * Returns the server extension values and liberty.server project properties that are written to
+     * the server directory, for use as task inputs.
+     */
+    protected Map<String, String> collectServerSettings() {
+        Map<String, String> settings = new TreeMap<String, String>()
+        settings.put('name', String.valueOf(server.name))
+        settings.put('outputDir', getOutputDir(project))
+        settings.put('template', String.valueOf(server.template))
+        settings.put('noPassword', String.valueOf(server.noPassword))
+        settings.put('mergeServerEnv', String.valueOf(server.mergeServerEnv))
+        settings.put('jvmOptions', String.valueOf(server.jvmOptions))
+        ['bootstrapProperties': server.bootstrapProperties, 'env': server.env, 'var': server.var, 'defaultVar': server.defaultVar].each { String name, Properties props ->
+            props?.each { key, value ->
+                settings.put(name + '.' + key, String.valueOf(value))
+            }
+        }
+        for (Entry<String, ?> entry : project.getProperties().entrySet()) {
+            if (PropertyType.getPropertyType(entry.getKey()) != null) {
+                settings.put(entry.getKey(), String.valueOf(entry.getValue()))
+            }
+        }
+        return settings
+    }
+
     protected void loadLibertyConfigFromProperties() {
         Set<Entry<Object, Object>> entries = project.getProperties().entrySet()
         for (Entry<Object, Object> entry : entries) {
@@ -523,17 +632,32 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
 
     protected ServerConfigDocument getServerConfigDocument(CommonLogger log, File serverXML) throws IOException {
 
-        if (scd == null || !scd.getOriginalServerXMLFile().getCanonicalPath().equals(serverXML.getCanonicalPath())) {
-            try {
-                scd = new ServerConfigDocument(log, serverXML, getInstallDir(project), getUserDir(project), getServerDir(project), new File(getOutputDir(project), server.name));
-            } catch (PluginExecutionException e) {
-                throw new GradleException(e.getMessage());
-            }
+        // the parsed configuration is shared with other tasks until server.xml or one of its includes changes, so it must only be queried
+        try {
+            scd = serverConfigDocumentService.get().getDocument(serverXML, getInstallDir(project), getUserDir(project), getServerDir(project), new File(getOutputDir(project), server.name));
+        } catch (PluginExecutionException e) {
+            throw new GradleException(e.getMessage());
         }
 
         return scd
     }
 
+    /**
+     * Discards the parsed configuration of the server, for changes that may not be detected from the
+     * modification times of its files.
+     */
+    protected void invalidateServerConfigDocument() {
+        scd = null
+        serverConfigDocumentService.get().invalidate(new File(getServerDir(project), 'server.xml'))
+    }
+
+    /**
+     * Returns the reader of the passed messages.log file that is shared by the tasks of the build.
+     */
+    protected MessagesLogTailer getMessagesLogTailer(File logFile) {
+        return messagesLogService.get().getTailer(logFile)
+    }
+
     protected boolean isAppConfiguredInSourceServerXml(String fileName) {
         boolean configured = false;
         File serverConfigFile = new File(getServerDir(project), 'server.xml')
@@ -751,14 +875,6 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     }
 
     protected void writeServerPropertiesToXml(Project project) {
-        XmlParser pluginXmlParser = new XmlParser()
-        Node libertyPluginConfig = pluginXmlParser.parse(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml'))
-        if (libertyPluginConfig.getAt('servers').isEmpty()) {
-            libertyPluginConfig.appendNode('servers')
-        } else {
-            //removes the server nodes from the servers element
-            libertyPluginConfig.getAt('servers')[0].value = ""
-        }
         Node serverNode = new Node(null, 'server')
 
         setServerDirectoryNodes(project, serverNode)
@@ -766,13 +882,15 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
         setApplicationPropertyNodes(project, serverNode)
         setDependencyNodes(project, serverNode)
 
-        libertyPluginConfig.getAt('servers')[0].append(serverNode)
-
-        new File( project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml' ).withWriter('UTF-8') { output ->
-            output << new StreamingMarkupBuilder().bind { mkp.xmlDeclaration(encoding: 'UTF-8', version: '1.0' ) }
-            XmlNodePrinter printer = new XmlNodePrinter( new PrintWriter(output) )
-            printer.preserveWhitespace = true
-            printer.print( libertyPluginConfig )
+        // written when the task finishes, and only if the content changed
+        getPluginConfig().update(getPluginConfigFile()) { Node libertyPluginConfig ->
+            if (libertyPluginConfig.getAt('servers').isEmpty()) {
+                libertyPluginConfig.appendNode('servers')
+            } else {
+                //removes the server nodes from the servers element
+                libertyPluginConfig.getAt('servers')[0].value = ""
+            }
+            libertyPluginConfig.getAt('servers')[0].append(serverNode)
         }
 
         logger.info ("Adding Liberty plugin config info to ${project.getLayout().getBuildDirectory().getAsFile().get()}/liberty-plugin-config.xml.")
@@ -793,21 +911,16 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
             combinedBootstrapProperties = convertedProps
         }
 
-        makeParentDirectory(file)
-        PrintWriter writer = null
-        try {
-            writer = new PrintWriter(file, "UTF-8")
-            writer.println(HEADER)
-            for (Map.Entry<String, String> entry : combinedBootstrapProperties.entrySet()) {
-                writer.print(entry.getKey())
-                writer.print("=")
-                writer.println((entry.getValue() != null) ? entry.getValue().toString().replace("\\", "/") : "")
-            }
-        } finally {
-            if (writer != null) {
-                writer.close()
-            }
+        StringWriter content = new StringWriter()
+        PrintWriter writer = new PrintWriter(content)
+        writer.println(HEADER)
+        for (Map.Entry<String, String> entry : combinedBootstrapProperties.entrySet()) {
+            writer.print(entry.getKey())
+            writer.print("=")
+            writer.println((entry.getValue() != null) ? entry.getValue().toString().replace("\\", "/") : "")
         }
+        writer.close()
+        writeConfigFileIfChanged(file, content.toString())
     }
 
     // Remove any duplicate entries in the passed in List
@@ -831,19 +944,14 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     protected void writeJvmOptions(File file, List<String> options, List<String> projectProperties) throws IOException {
         combinedJvmOptions = mergeJvmOptions(options, projectProperties)
 
-        makeParentDirectory(file)
-        PrintWriter writer = null
-        try {
-            writer = new PrintWriter(file, "UTF-8")
-            writer.println(HEADER)
-            for (String option : combinedJvmOptions) {
-                writer.println(option)
-            }
-        } finally {
-            if (writer != null) {
-                writer.close()
-            }
+        StringWriter content = new StringWriter()
+        PrintWriter writer = new PrintWriter(content)
+        writer.println(HEADER)
+        for (String option : combinedJvmOptions) {
+            writer.println(option)
         }
+        writer.close()
+        writeConfigFileIfChanged(file, content.toString())
     }
 
     protected List<String> mergeJvmOptions(List<String> options, List<String> projectProperties) {
@@ -962,7 +1070,7 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
             if (serverEnvPath != null) {
                 logger.warn("The " + serverEnvPath + " file is overwritten by the " + server.serverEnvFile.getCanonicalPath() + " file.")
             }
-            Files.copy(server.serverEnvFile.toPath(), envFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+            ConfigDirectorySync.writeIfChanged(envFile, Files.readAllBytes(server.serverEnvFile.toPath()))
             return server.serverEnvFile.getCanonicalPath()
         }
     }
@@ -1037,20 +1145,22 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
     }
     
     protected void writeServerEnvProperties(File file, Properties combinedEnvProperties) throws IOException {
-        makeParentDirectory(file)
-        PrintWriter writer = null
-        try {
-            writer = new PrintWriter(file, "UTF-8")
-            writer.println(HEADER)
-            for (Map.Entry<String, String> entry : combinedEnvProperties.entrySet()) {
-                writer.print(entry.getKey())
-                writer.print("=")
-                writer.println((entry.getValue() != null) ? entry.getValue().toString().replace("\\", "/") : "")
-            }
-        } finally {
-            if (writer != null) {
-                writer.close()
-            }
+        StringWriter content = new StringWriter()
+        PrintWriter writer = new PrintWriter(content)
+        writer.println(HEADER)
+        for (Map.Entry<String, String> entry : combinedEnvProperties.entrySet()) {
+            writer.print(entry.getKey())
+            writer.print("=")
+            writer.println((entry.getValue() != null) ? entry.getValue().toString().replace("\\", "/") : "")
+        }
+        writer.close()
+        writeConfigFileIfChanged(file, content.toString())
+    }
+
+    // Leaves the file untouched if it already has this content, so the server does not see a configuration change
+    protected void writeConfigFileIfChanged(File file, String content) throws IOException {
+        if (!ConfigDirectorySync.writeIfChanged(file, content.getBytes("UTF-8"))) {
+            logger.debug("The " + file + " file is unchanged.")
         }
     }
 
@@ -1069,9 +1179,11 @@ abstract class AbstractServerTask extends AbstractLibertyTask {
             configDocument.createVariableWithValue(entry.getKey(), entry.getValue(), isDefaultVar)
         }
 
-        // write XML document to file
+        // write XML document to file, leaving it untouched if it did not change
         makeParentDirectory(file)
-        configDocument.writeXMLDocument(file)
+        File newFile = File.createTempFile(file.getName(), ".tmp", file.getParentFile())
+        configDocument.writeXMLDocument(newFile)
+        ConfigDirectorySync.replaceIfChanged(newFile, file)
 
     }
 
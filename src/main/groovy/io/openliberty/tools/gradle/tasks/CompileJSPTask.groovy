@@ -18,6 +18,16 @@ package io.openliberty.tools.gradle.tasks
 import io.openliberty.tools.ant.jsp.CompileJSPs
 import org.apache.tools.ant.Project
 import org.gradle.api.Task
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Classpath
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.OutputFiles
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
 import org.gradle.api.tasks.TaskAction
 import org.gradle.api.tasks.bundling.War
 import org.gradle.api.logging.LogLevel
@@ -34,26 +44,101 @@ class CompileJSPTask extends AbstractFeatureTask {
         })
     }
 
+    @InputFiles @Optional @PathSensitive(PathSensitivity.RELATIVE)
+    FileCollection getJspSourceFiles() {
+        return findJspTask() == null ? null : project.fileTree(getJspSourceDir())
+    }
+
+    @Classpath @Optional
+    FileCollection getJspClasspath() {
+        return findJspTask()?.classpath
+    }
+
+    @Input
+    Map<String, String> getJspSettings() {
+        Map<String, String> settings = new TreeMap<String, String>()
+        settings.put('jspVersion', String.valueOf(project.liberty.jsp.jspVersion))
+        settings.put('javaSourceVersion', String.valueOf(readJavaSourceVersion()))
+        settings.put('features', String.valueOf(server.features.name))
+        settings.put('libertyFeature', project.configurations.libertyFeature.dependencies.collect { it.name }.sort().join(','))
+        settings.put('serverConfigFeatures', collectServerConfigFeatures().join(','))
+        return settings
+    }
+
+    @Input @Optional
+    String getRuntimeVersion() {
+        return readInstalledRuntimeVersion()
+    }
+
+    @OutputDirectory
+    File getJspCompileDirectory() {
+        return new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'compileJsp')
+    }
+
+    // The compiled JSP classes are written to build/classes/java, which also holds the output directories of the
+    // compileJava task, so the class of each JSP file is declared instead of the directory. A JSP file
+    // a/b/page.jsp is compiled to a/b/_page.class.
+    @OutputFiles
+    FileCollection getCompiledJspFiles() {
+        List<File> classFiles = new ArrayList<File>()
+        if (findJspTask() != null) {
+            File destinationDir = getJspDestinationDir()
+            project.fileTree(getJspSourceDir()) {
+                include '**/*.jsp', '**/*.jspx'
+            }.visit { details ->
+                if (!details.isDirectory()) {
+                    String[] segments = details.getRelativePath().getSegments()
+                    String name = segments[segments.length - 1]
+                    segments[segments.length - 1] = '_' + name.substring(0, name.lastIndexOf('.')) + '.class'
+                    classFiles.add(new File(destinationDir, segments.join('/')))
+                }
+            }
+        }
+        return project.files(classFiles)
+    }
+
     @TaskAction
     protected void compileJSP(){
+        Task task = findJspTask()
+        if (task != null) {
+            perTaskCompileJSP(task)
+        }
+    }
+
+    // Returns the war task of the application whose JSP files are compiled, or null if there is none
+    protected Task findJspTask() {
         if(getPackagingType().equals('war')){
             if ((server.deploy.apps == null || server.deploy.apps.isEmpty()) && (server.deploy.dropins == null || server.deploy.dropins.isEmpty())) {
-                perTaskCompileJSP(project.war)
+                return project.war
             }
             else if (server.deploy.apps != null && !server.deploy.apps.isEmpty()) {
-                perTaskCompileJSP(server.deploy.apps[0])
+                return server.deploy.apps[0]
             }
             else if (server.deploy.dropins != null && !server.deploy.dropins.isEmpty()) {
-                perTaskCompileJSP(server.deploy.dropins[0])
+                return server.deploy.dropins[0]
             }
         }
+        return null
+    }
+
+    @Internal
+    protected File getJspSourceDir() {
+        if (project.plugins.hasPlugin("war")) {
+            return ((War) project.war).getWebAppDirectory().getAsFile().get()
+        }
+        return project.file("src/main/webapp")
+    }
+
+    @Internal
+    protected File getJspDestinationDir() {
+        return new File(project.getLayout().getBuildDirectory().getAsFile().get().getAbsolutePath()+"/classes/java")
     }
 
     protected void perTaskCompileJSP(Task task) throws Exception {
         CompileJSPs compileJsp = new CompileJSPs()
         compileJsp.setInstallDir(getInstallDir(project))
         compileJsp.setTempdir(project.getLayout().getBuildDirectory().getAsFile().get())
-        compileJsp.setDestdir(new File(project.getLayout().getBuildDirectory().getAsFile().get().getAbsolutePath()+"/classes/java"))
+        compileJsp.setDestdir(getJspDestinationDir())
         compileJsp.setTimeout(project.liberty.jsp.jspCompileTimeout)
         // don't delete temporary server dir
         compileJsp.setCleanup(false)
@@ -122,21 +207,29 @@ class CompileJSPTask extends AbstractFeatureTask {
     }
 
     private void setCompileJavaSourceVersion(CompileJSPs compile, Task task) {
+        String source = readJavaSourceVersion()
+        if (source != null) {
+            compile.setSource(source)
+        }
+    }
+
+    // Returns the release of the compileJava task, or the sourceCompatibility of the project
+    protected String readJavaSourceVersion() {
         Task compileTask = project.tasks.getByName('compileJava')
         
         if (compileTask != null) {
             String release = (String) compileTask.getOptions().getRelease().getOrNull()
             if (release != null) {
                 logger.info("Found release from compileJava options: "+release)
-                compile.setSource(release)
-                return
+                return release
             } 
         }
         
         if (project.hasProperty('sourceCompatibility')) {
             logger.info("Found sourceCompatibility")
-            compile.setSource((String) project.getProperties().get('sourceCompatibility'))
+            return (String) project.getProperties().get('sourceCompatibility')
         }
+        return null
     }
 
     private void setJspVersion(CompileJSPs compile, Set<String> installedFeatures) {
@@ -1,5 +1,5 @@
 /**
- * (C) Copyright IBM Corporation 2014, 2025.
+ * (C) Copyright IBM Corporation 2014, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,12 @@ package io.openliberty.tools.gradle.tasks
 
 import io.openliberty.tools.gradle.Liberty
 import org.gradle.api.Project
+import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputDirectory
 import org.gradle.api.tasks.InputFile
 import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFiles
 import org.gradle.api.tasks.TaskAction
-import groovy.xml.XmlParser
 
 class CreateTask extends AbstractServerTask {
 
@@ -69,13 +70,32 @@ class CreateTask extends AbstractServerTask {
 
     @InputFile
     File getPluginConfigXml() {
-        return new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml')
+        return getPluginConfigFile()
+    }
+
+    @Input
+    Map<String, String> getServerSettings() {
+        return collectServerSettings()
+    }
+
+    @Input @Optional
+    String getRuntimeVersion() {
+        return readInstalledRuntimeVersion()
+    }
+
+    // server.env is left out, since it also holds the keystore password generated by the server create command
+    @OutputFiles
+    List<File> getGeneratedConfigFiles() {
+        File serverDir = getServerDir(project)
+        return ['server.xml', 'bootstrap.properties', 'jvm.options', PLUGIN_VARIABLE_CONFIG_OVERRIDES_XML, PLUGIN_VARIABLE_CONFIG_DEFAULTS_XML].collect { String fileName ->
+            new File(serverDir, fileName)
+        }
     }
 
     @TaskAction
     void create() {
-        //Checking etc/server.env for outputDirs
-        Liberty.checkEtcServerEnvProperties(project)
+        //Checking the server.env files for outputDirs
+        checkServerEnvProperties()
         File serverDir = getServerDir(project)
         File serverXmlFile = new File(serverDir, "server.xml")
         if(!serverDir.exists()){
@@ -96,12 +116,11 @@ class CreateTask extends AbstractServerTask {
     }
 
     protected boolean isServerDirChanged(Project project) {
-        if (!project.getLayout().getBuildDirectory().getAsFile().get().exists() || !(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml')).exists()) {
+        Node libertyPluginConfig = getPluginConfig().read(getPluginConfigFile())
+        if (libertyPluginConfig == null) {
             return false
         }
 
-        XmlParser pluginXmlParser = new XmlParser()
-        Node libertyPluginConfig = pluginXmlParser.parse(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml'))
         if (!libertyPluginConfig.getAt('serverDirectory').isEmpty()) {
             File currentDir = getServerDir(project)
             File previousDir = new File(libertyPluginConfig.getAt('serverDirectory')[0].value)
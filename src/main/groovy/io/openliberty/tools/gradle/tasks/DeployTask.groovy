@@ -15,36 +15,41 @@
  */
 package io.openliberty.tools.gradle.tasks
 
-import io.openliberty.tools.ant.ServerTask
 import io.openliberty.tools.common.plugins.config.ApplicationXmlDocument
 import io.openliberty.tools.common.plugins.config.LooseApplication
 import io.openliberty.tools.common.plugins.config.LooseConfigData
 import io.openliberty.tools.common.plugins.config.ServerConfigDocument
 import io.openliberty.tools.common.plugins.util.DevUtil
-import io.openliberty.tools.common.plugins.util.OSUtil
 import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.ConfigDirectorySync
 import io.openliberty.tools.gradle.utils.LooseEarApplication
 import io.openliberty.tools.gradle.utils.LooseWarApplication
+import io.openliberty.tools.gradle.utils.MessagesLogTailer
+import io.openliberty.tools.gradle.utils.ProjectModuleOutputs
 import org.apache.commons.io.FilenameUtils
 import org.gradle.api.GradleException
 import org.gradle.api.Project
 import org.gradle.api.Task
+import org.gradle.api.artifacts.Configuration
 import org.gradle.api.artifacts.Dependency
 import org.gradle.api.artifacts.ExternalModuleDependency
 import org.gradle.api.artifacts.ProjectDependency
 import org.gradle.api.artifacts.ResolvedArtifact
 import org.gradle.api.artifacts.ResolvedDependency
 import org.gradle.api.artifacts.UnknownConfigurationException
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier
 import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.InputFiles
 import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFiles
 import org.gradle.api.tasks.TaskAction
 import org.w3c.dom.Element
 
-import java.nio.file.Files
-import java.nio.file.StandardCopyOption
 import java.text.MessageFormat
-import java.util.regex.Matcher
-import java.util.regex.Pattern
 
 class DeployTask extends AbstractServerTask {
 
@@ -53,16 +58,151 @@ class DeployTask extends AbstractServerTask {
     private static final String LIBS = "libs";
     private static final String BUILD_LIBS = "build/" + LIBS;
 
+    protected boolean springBootChecked = false;
+
+    // names of the installed applications whose start is verified once all applications are installed
+    protected List<String> appsToVerify = new ArrayList<String>();
+
+    // outputs of the project dependencies of each war, by the path of the project of the war
+    private final Map<String, ProjectModuleOutputs> moduleOutputsByProject = new HashMap<String, ProjectModuleOutputs>()
+
     DeployTask() {
         configure({
             description = "Copy applications generated by the Gradle project to a Liberty server's dropins or apps directory."
             group = 'Liberty'
-            project.afterEvaluate {
-                springBootVersion = findSpringBootVersion(project)
-                springBootTask = findSpringBootTask(project, springBootVersion)
-                springBootBuildTask = determineSpringBootBuildTask()
-            }
         })
+        outputs.upToDateWhen {
+            canSkipUnchangedDeploy()
+        }
+    }
+
+    @Input
+    Map<String, String> getDeploySettings() {
+        configureApps(project)
+        Map<String, String> settings = new TreeMap<String, String>()
+        settings.put('serverDirectory', getServerDir(project).getAbsolutePath())
+        settings.put('looseApplication', String.valueOf(server.looseApplication))
+        settings.put('stripVersion', String.valueOf(server.stripVersion))
+        settings.put('copyLibsDirectory', String.valueOf(server.deploy.copyLibsDirectory))
+        settings.put('container', String.valueOf(project.liberty.dev.container))
+        settings.put('apps', describeApplications(server.deploy.apps))
+        settings.put('dropins', describeApplications(server.deploy.dropins))
+        return settings
+    }
+
+    // archives that are copied to the server, the loose application configuration only refers to files by their path
+    @InputFiles
+    FileCollection getApplicationArchives() {
+        configureApps(project)
+        List<File> archives = new ArrayList<File>()
+        for (Object app : collectApplications()) {
+            if (app instanceof File) {
+                archives.add((File) app)
+            } else if (app instanceof Task && !(server.looseApplication && isSupportedLooseAppType(getPackagingType()))) {
+                archives.add(((Task) app).archiveFile.get().getAsFile())
+            }
+        }
+        return project.files(archives)
+    }
+
+    // decides whether the applications need the application configuration dropin
+    @InputFile @Optional
+    File getServerXml() {
+        File serverXml = new File(getServerDir(project), 'server.xml')
+        return serverXml.exists() ? serverXml : null
+    }
+
+    @OutputFiles
+    List<File> getInstalledApplicationFiles() {
+        configureApps(project)
+        List<File> files = new ArrayList<File>()
+        addInstalledApplicationFiles(server.deploy.apps, 'apps', files)
+        addInstalledApplicationFiles(server.deploy.dropins, 'dropins', files)
+        files.add(ApplicationXmlDocument.getApplicationXmlFile(getServerDir(project)))
+        return files
+    }
+
+    /**
+     * Returns whether the previous deployment can be kept when the inputs and installed files did not change.
+     * Spring Boot thin applications, container builds, copied loose application libraries and loose ear
+     * applications, which refer to the outputs of other projects, are always deployed again.
+     */
+    protected boolean canSkipUnchangedDeploy() {
+        findSpringBootTasks()
+        String packagingType = getPackagingType()
+        if ("springboot".equals(packagingType) || springBootVersion != null || project.liberty.dev.container || server.deploy.copyLibsDirectory != null) {
+            return false
+        }
+        if (server.looseApplication && "ear".equals(packagingType)) {
+            return false
+        }
+        for (File file : getInstalledApplicationFiles()) {
+            if (!file.exists() && !file.equals(ApplicationXmlDocument.getApplicationXmlFile(getServerDir(project)))) {
+                return false
+            }
+        }
+        return true
+    }
+
+    // the Spring Boot plugin is looked up when the task is used instead of in afterEvaluate
+    protected void findSpringBootTasks() {
+        if (!springBootChecked) {
+            springBootChecked = true
+            springBootVersion = findSpringBootVersion(project)
+            springBootTask = findSpringBootTask(project, springBootVersion)
+            springBootBuildTask = determineSpringBootBuildTask()
+        }
+    }
+
+    @Override
+    protected void configureApps(Project project) {
+        findSpringBootTasks()
+        super.configureApps(project)
+    }
+
+    private List<Object> collectApplications() {
+        List<Object> apps = new ArrayList<Object>()
+        if (server.deploy.apps != null) {
+            apps.addAll(server.deploy.apps)
+        }
+        if (server.deploy.dropins != null) {
+            apps.addAll(server.deploy.dropins)
+        }
+        return apps
+    }
+
+    private String describeApplications(List<Object> apps) {
+        List<String> descriptions = new ArrayList<String>()
+        if (apps != null) {
+            for (Object app : apps) {
+                if (app instanceof Task) {
+                    Task task = (Task) app
+                    String description = task.getPath() + '=' + getArchiveName(task)
+                    if (server.looseApplication && task.hasProperty('classpath') && task.classpath != null) {
+                        description += task.classpath.getFiles().collect { File file -> file.getAbsolutePath() }.toString()
+                    }
+                    descriptions.add(description)
+                } else {
+                    descriptions.add(String.valueOf(app))
+                }
+            }
+        }
+        return descriptions.toString()
+    }
+
+    private void addInstalledApplicationFiles(List<Object> apps, String appsDir, List<File> files) {
+        if (apps == null) {
+            return
+        }
+        File dir = new File(getServerDir(project), appsDir)
+        for (Object app : apps) {
+            if (app instanceof Task) {
+                boolean loose = server.looseApplication && isSupportedLooseAppType(getPackagingType())
+                files.add(new File(dir, loose ? getLooseConfigFileName((Task) app) : getArchiveName((Task) app)))
+            } else if (app instanceof File) {
+                files.add(new File(dir, ((File) app).getName()))
+            }
+        }
     }
 
     boolean containsTask(List<Task> taskList, String name) {
@@ -74,6 +214,7 @@ class DeployTask extends AbstractServerTask {
         boolean hasSpringBootAppConfigured
 
         configureApps(project)
+        appsToVerify.clear()
         if (server.deploy.apps != null && !server.deploy.apps.isEmpty()) {
             hasSpringBootAppConfigured = server.deploy.apps.find { it.name.equals springBootBuildTask ?. name  }
             createApplicationFolder('apps')
@@ -96,19 +237,21 @@ class DeployTask extends AbstractServerTask {
             installMultipleApps(dropinsLists[0], 'dropins')
             installFileList(dropinsLists[1], 'dropins')
         }
+        verifyAppsStarted()
 
         File libertyConfigDropinsAppXml = ApplicationXmlDocument.getApplicationXmlFile(getServerDir(project))
 
         if (applicationXml.hasChildElements()) {
             logger.warn("At least one application is not defined in the server configuration but the build file indicates it should be installed in the apps folder. Application configuration is being added to the target server configuration dropins folder by the plug-in.")
             applicationXml.writeApplicationXmlDocument(getServerDir(project))
+            invalidateServerConfigDocument()
         } else if (hasConfiguredApp(libertyConfigDropinsAppXml)) {
             logger.warn("At least one application is not defined in the server configuration but the build file indicates it should be installed in the apps folder. Liberty will use additional application configuration added to the the target server configuration dropins folder by the plug-in.")
         } else {
             if (libertyConfigDropinsAppXml.exists()){
                 libertyConfigDropinsAppXml.delete()
                 // force reinitialization of ServerConfigDocument
-                scd = null
+                invalidateServerConfigDocument()
             }
         }
     }
@@ -122,6 +265,7 @@ class DeployTask extends AbstractServerTask {
     protected void installProjectArchive(Task task, String appsDir) {
         String archiveBaseName
         String fileName
+        boolean changed = true
         if("springboot".equals(getPackagingType())) {
             archiveBaseName = springBootTask.getArchiveBaseName().get()
             installSpringBootFeatureIfNeeded()
@@ -131,17 +275,24 @@ class DeployTask extends AbstractServerTask {
         } else {
             archiveBaseName = task.getArchiveBaseName().get()
             fileName = getArchiveName(task)
-            Files.copy(task.archiveFile.get().getAsFile().toPath(), new File(getServerDir(project), "/" + appsDir + "/" + getArchiveName(task)).toPath(), StandardCopyOption.REPLACE_EXISTING)
+            changed = ConfigDirectorySync.copyIfChanged(task.archiveFile.get().getAsFile(), new File(getServerDir(project), "/" + appsDir + "/" + getArchiveName(task)))
             if (project.liberty.dev.container) {
-                File devcDestDir = new File(new File(project.getLayout().getBuildDirectory().getAsFile().get(), DevUtil.DEVC_HIDDEN_FOLDER), appsDir + "/" + getArchiveName(task))
-                devcDestDir.mkdirs();
-                Files.copy(task.archiveFile.get().getAsFile().toPath(),devcDestDir.toPath(), StandardCopyOption.REPLACE_EXISTING)
+                File devcDestFile = new File(new File(project.getLayout().getBuildDirectory().getAsFile().get(), DevUtil.DEVC_HIDDEN_FOLDER), appsDir + "/" + getArchiveName(task))
+                if (devcDestFile.isDirectory()) {
+                    // left by earlier versions, which created a directory in place of the archive
+                    devcDestFile.deleteDir()
+                }
+                ConfigDirectorySync.copyIfChanged(task.archiveFile.get().getAsFile(), devcDestFile)
             }
 
             validateAppConfig(getArchiveName(task), archiveBaseName, appsDir)
         }
         validateAppConfig(fileName, archiveBaseName, appsDir)
-        verifyAppStarted(fileName, appsDir)
+        if (changed) {
+            addAppToVerify(fileName, appsDir)
+        } else {
+            logger.info("The application " + fileName + " is unchanged.")
+        }
     }
 
     protected void validateAppConfig(String fileName, String artifactId, String dir) throws Exception {
@@ -279,7 +430,7 @@ class DeployTask extends AbstractServerTask {
                     // install another copy that is container specific
                     config = new LooseConfigData()
                     installLooseConfigWar(config, task, true)
-                    config.toXmlFile(devcLooseConfigFile)
+                    writeLooseConfigIfChanged(config, devcLooseConfigFile)
                 }
                 break
             case "ear":
@@ -299,11 +450,27 @@ class DeployTask extends AbstractServerTask {
         }
     }
 
+    /**
+     * Installs the loose application configuration, replacing the installed configuration only when it changed so that
+     * Liberty does not restart an unchanged application. The start of an unchanged application is not verified.
+     */
     protected void installAndVerify(LooseConfigData config, File looseConfigFile, String applicationName, String appsDir) {
-        deleteApplication(new File(getServerDir(project), "apps"), looseConfigFile)
-        deleteApplication(new File(getServerDir(project), "dropins"), looseConfigFile)
-        config.toXmlFile(looseConfigFile)
-        verifyAppStarted(applicationName, appsDir)
+        // remove the archive of the application and a copy installed in the other applications folder
+        deleteApplication(new File(getServerDir(project), appsDir.equals("apps") ? "dropins" : "apps"), looseConfigFile)
+        deleteApplication(looseConfigFile.getParentFile(), applicationName)
+        if (writeLooseConfigIfChanged(config, looseConfigFile)) {
+            addAppToVerify(applicationName, appsDir)
+        } else {
+            logger.info("The loose application configuration " + looseConfigFile.getName() + " is unchanged.")
+        }
+    }
+
+    // writes the configuration to a temporary file in the same folder and replaces the installed file if they differ
+    protected boolean writeLooseConfigIfChanged(LooseConfigData config, File looseConfigFile) {
+        makeParentDirectory(looseConfigFile)
+        File newConfigFile = File.createTempFile(looseConfigFile.getName(), ".tmp", looseConfigFile.getParentFile())
+        config.toXmlFile(newConfigFile)
+        return ConfigDirectorySync.replaceIfChanged(newConfigFile, looseConfigFile)
     }
 
     protected void installLooseConfigWar(LooseConfigData config, Task task, boolean container) throws Exception {
@@ -379,35 +546,16 @@ class DeployTask extends AbstractServerTask {
         if (deps != null && !deps.isEmpty()) {
             deps.remove(0)
         }
-        File parentProjectDir = new File(task.getProject().getRootProject().rootDir.getAbsolutePath())
+        ProjectModuleOutputs moduleOutputs = getModuleOutputs(task.getProject())
         for (File dep: deps) {
-            String dependencyProjectName = getProjectPath(parentProjectDir, dep)
-            String projectDependencyString
-            Project siblingProject
-            if (dependencyProjectName != null && !dependencyProjectName.isEmpty()) {
-                projectDependencyString = "project ':" + dependencyProjectName + "'"
-                siblingProject = project.getRootProject().findProject(dependencyProjectName)
-            }
-            boolean isCurrentProject = ((task.getProject().toString()).equals(projectDependencyString))
-            if (!isCurrentProject && siblingProject != null) {
+            ComponentIdentifier component = moduleOutputs?.getComponent(dep)
+            if (component instanceof ProjectComponentIdentifier && ((ProjectComponentIdentifier) component).getProjectPath() != task.getProject().getPath() && moduleOutputs.hasOutputs(component)) {
                 Element archive = looseApp.addArchive(parent, "/WEB-INF/lib/" + dep.getName());
                 //Add sibling project class directories to <archive/> as <dir>
-                siblingProject.sourceSets.main.getOutput().getClassesDirs().each {
+                moduleOutputs.getClassesDirs(component).each {
                     looseApp.getConfig().addDir(archive, it, "/");
                 }
-                Task resourceTask = siblingProject.getTasks().findByPath(":" + projectDependencyString + ":processResources");
-                if (resourceTask != null && resourceTask.getDestinationDir() != null) {
-                    looseApp.addOutputDir(archive, resourceTask.getDestinationDir(), "/");
-                }
-                File resourceDir = siblingProject.sourceSets.main.getOutput().getResourcesDir()
-                File manifestFile = null
-                if (resourceDir.exists() && resourceDir.listFiles().length > 0) {
-                    File metaInfDir = new File(resourceDir, "META-INF")
-                    if (metaInfDir.exists() && metaInfDir.listFiles().length > 0) {
-                        manifestFile = new File(metaInfDir, "MANIFEST.MF")
-                    }
-                }
-                looseApp.addManifestFileWithParent(archive, manifestFile, resourceDir.getParentFile().getCanonicalPath());
+                addSiblingManifestFile(archive, looseApp, moduleOutputs.getResourcesDir(component))
             } else if (FilenameUtils.getExtension(dep.getAbsolutePath()).equalsIgnoreCase("jar")) {
                 addLibrary(parent, looseApp, "/WEB-INF/lib/", dep);
             } else {
@@ -416,6 +564,26 @@ class DeployTask extends AbstractServerTask {
         }
     }
 
+    // the outputs of the sibling projects are resolved once for each war project, from the variants they publish
+    private ProjectModuleOutputs getModuleOutputs(Project warProject) {
+        if (!moduleOutputsByProject.containsKey(warProject.getPath())) {
+            Configuration runtimeClasspath = warProject.configurations.findByName('runtimeClasspath')
+            moduleOutputsByProject.put(warProject.getPath(), runtimeClasspath == null ? null : ProjectModuleOutputs.resolve(runtimeClasspath, warProject.objects, logger))
+        }
+        return moduleOutputsByProject.get(warProject.getPath())
+    }
+
+    private void addSiblingManifestFile(Element archive, LooseApplication looseApp, File resourceDir) {
+        File manifestFile = null
+        if (resourceDir.exists() && resourceDir.listFiles().length > 0) {
+            File metaInfDir = new File(resourceDir, "META-INF")
+            if (metaInfDir.exists() && metaInfDir.listFiles().length > 0) {
+                manifestFile = new File(metaInfDir, "MANIFEST.MF")
+            }
+        }
+        looseApp.addManifestFileWithParent(archive, manifestFile, resourceDir.getParentFile().getCanonicalPath());
+    }
+
     protected void installLooseConfigEar(LooseConfigData config, Task task) throws Exception{
         LooseEarApplication looseEar = new LooseEarApplication(task, config, logger);
         looseEar.addSourceDir();
@@ -643,26 +811,6 @@ class DeployTask extends AbstractServerTask {
         }
     }
 
-    protected String getProjectPath(File parentProjectDir, File dep) {
-        String dependencyPathPortion = dep.getAbsolutePath().replace(parentProjectDir.getAbsolutePath(),"")
-        String projectPath = dep.getAbsolutePath().replace(dependencyPathPortion,"")
-        Pattern pattern
-        if (OSUtil.isWindows()) {
-            pattern = Pattern.compile("\\\\build\\\\.*")
-        } else {
-            pattern = Pattern.compile("/build/.*")
-        }
-        Matcher matcher = pattern.matcher(dependencyPathPortion)
-        projectPath = matcher.replaceAll("")
-
-        //Remove leading slash character from trimmed path
-        if (projectPath.length() > 1) {
-            projectPath = projectPath.substring(1, projectPath.length())
-        }
-        
-        return projectPath
-    }
-
     @Internal
     protected boolean isSupportedType(){
         switch (getPackagingType()) {
@@ -705,12 +853,16 @@ class DeployTask extends AbstractServerTask {
     }
 
     protected void installFromFile(File file, String appsDir) {
-        Files.copy(file.toPath(), new File(getServerDir(project).toString() + '/' + appsDir + '/' + file.name).toPath(), StandardCopyOption.REPLACE_EXISTING)
+        boolean changed = ConfigDirectorySync.copyIfChanged(file, new File(getServerDir(project).toString() + '/' + appsDir + '/' + file.name))
         validateAppConfig(file.name, file.name.take(file.name.lastIndexOf('.')), appsDir)
         if (server.looseApplication) {
             logger.warn('Application ' + file.getName() + ' was installed as a file as specified. To install as a loose application, specify the plugin or task generating the archive. ')
         }
-        verifyAppStarted(file.name, appsDir)
+        if (changed) {
+            addAppToVerify(file.name, appsDir)
+        } else {
+            logger.info("The application " + file.getName() + " is unchanged.")
+        }
     }
 
     protected void installFileList(List<File> appFiles, String appsDir) {
@@ -739,7 +891,11 @@ class DeployTask extends AbstractServerTask {
         }
     }
 
-    protected void verifyAppStarted(String appFile, String appsDir) throws GradleException {
+    /**
+     * Adds an installed application to the applications whose start is verified by {@link #verifyAppsStarted()}.
+     * Nothing is verified when the server is not running.
+     */
+    protected void addAppToVerify(String appFile, String appsDir) throws GradleException {
         if (shouldValidateAppStart()) {
             String appName = appFile.substring(0, appFile.lastIndexOf('.'))
             if (appsDir.equals("apps")) {
@@ -756,21 +912,51 @@ class DeployTask extends AbstractServerTask {
                     logger.warn(e.getLocalizedMessage())
                 } 
             }
+            appsToVerify.add(appName)
+        }
+    }
 
-            long appTimeout = 30 * 1000
-            try {
-                if (server.timeout != null && !server.timeout.isEmpty()) {
-                    appTimeout = Long.valueOf(server.timeout) * 1000
-                }
-            } catch (NumberFormatException nfe) {
-                throw new GradleException("The server.timeout parameter " + server.timeout + " could not be parsed into a long value. Ensure the value is formatted correctly.")
+    /**
+     * Waits for the start messages of all installed applications in a single pass over messages.log. The server timeout applies
+     * to the whole wait rather than to each application, and every application that did not start is reported.
+     */
+    protected void verifyAppsStarted() throws GradleException {
+        if (appsToVerify.isEmpty()) {
+            return
+        }
+
+        long appTimeout = 30 * 1000
+        try {
+            if (server.timeout != null && !server.timeout.isEmpty()) {
+                appTimeout = Long.valueOf(server.timeout) * 1000
             }
-            
-            ServerTask serverTask = createServerTask(project, null) //Using a server task without an opertation to check logs for app start
-            if (serverTask.waitForStringInLog("CWWKZ0001I.*" + appName, appTimeout, new File(new File(getOutputDir(project), server.name), "logs/messages.log")) == null) {
-                throw new GradleException("Failed to deploy the " + appName + " application. The application start message was not found in the log file.")
+        } catch (NumberFormatException nfe) {
+            throw new GradleException("The server.timeout parameter " + server.timeout + " could not be parsed into a long value. Ensure the value is formatted correctly.")
+        }
+
+        File messagesLog = new File(new File(getOutputDir(project), server.name), "logs/messages.log")
+        Map<String, String> startMessages = new LinkedHashMap<String, String>()
+        for (String appName : appsToVerify) {
+            startMessages.put(appName, MessagesLogTailer.APP_STARTED_MESSAGE_CODE + ".*" + appName)
+        }
+        Map<String, Long> foundMessages = getMessagesLogTailer(messagesLog).waitForMessages(startMessages.values(), appTimeout)
+
+        List<String> failedApps = new ArrayList<String>()
+        for (String appName : appsToVerify) {
+            Long appStartTime = foundMessages.get(startMessages.get(appName))
+            if (appStartTime != null) {
+                logger.lifecycle("Application " + appName + " started after " + appStartTime + " ms.")
+            } else {
+                failedApps.add(appName)
             }
         }
+        appsToVerify.clear()
+
+        if (failedApps.size() == 1) {
+            throw new GradleException("Failed to deploy the " + failedApps[0] + " application. The application start message was not found in the log file.")
+        } else if (failedApps.size() > 1) {
+            throw new GradleException("Failed to deploy the " + failedApps.join(", ") + " applications. The application start messages were not found in the log file within " + appTimeout.intdiv(1000) + " seconds.")
+        }
     }
 
     /**
@@ -15,7 +15,6 @@
  */
 package io.openliberty.tools.gradle.tasks
 
-import groovy.xml.XmlParser
 import io.openliberty.tools.ant.ServerTask
 import io.openliberty.tools.common.plugins.util.BinaryScannerUtil
 import io.openliberty.tools.common.plugins.util.DevUtil
@@ -28,11 +27,22 @@ import io.openliberty.tools.common.plugins.util.ProjectModule
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms
 import io.openliberty.tools.common.plugins.util.ServerStatusUtil
+import io.openliberty.tools.gradle.model.DefaultLibertyProjectModel
+import io.openliberty.tools.gradle.model.LibertyProjectModelAction
+import io.openliberty.tools.gradle.utils.ChangeCoalescer
 import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.DevCycleTimer
 import io.openliberty.tools.gradle.utils.DevTaskHelper
+import io.openliberty.tools.gradle.utils.GradleConnectionManager
+import io.openliberty.tools.gradle.utils.IncrementalJavaCompiler
+import io.openliberty.tools.gradle.utils.JdwpClassRedefiner
+import io.openliberty.tools.gradle.utils.StartupTimer
+import io.openliberty.tools.gradle.utils.TestImpactAnalyzer
+import io.openliberty.tools.gradle.utils.TestRunCancellation
 import org.gradle.api.GradleException
+import org.gradle.api.JavaVersion
 import org.gradle.api.Project
-import org.gradle.api.artifacts.Configuration
+import org.gradle.api.Task
 import org.gradle.api.internal.file.DefaultFilePropertyFactory
 import org.gradle.api.logging.LogLevel
 import org.gradle.api.tasks.Input
@@ -41,12 +51,16 @@ import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.Optional
 import org.gradle.api.tasks.SourceSet
 import org.gradle.api.tasks.TaskAction
+import org.gradle.api.tasks.compile.CompileOptions
+import org.gradle.api.tasks.compile.JavaCompile
 import org.gradle.api.tasks.options.Option
-import org.gradle.testfixtures.ProjectBuilder
 import org.gradle.tooling.BuildException
 import org.gradle.tooling.BuildLauncher
+import org.gradle.tooling.CancellationToken
 import org.gradle.tooling.GradleConnector
 import org.gradle.tooling.ProjectConnection
+import org.gradle.tooling.TestExecutionException
+import org.gradle.tooling.TestLauncher
 
 import java.nio.file.Path
 import java.util.Map.Entry
@@ -82,12 +96,14 @@ class DevTask extends AbstractFeatureTask {
     // DevMode uses CLI Arguments if provided, otherwise it uses ServerExtension properties if one exists, fallback to default value if neither are provided.
     private static final int DEFAULT_VERIFY_TIMEOUT = 30;
     private static final int DEFAULT_SERVER_TIMEOUT = 90;
-    private static final double DEFAULT_COMPILE_WAIT = 0.5;
+    private static final double DEFAULT_COMPILE_WAIT = 0.2;
+    private static final double DEFAULT_MAX_COMPILE_WAIT = 5;
     private static final int DEFAULT_DEBUG_PORT = 7777;
     private static final boolean DEFAULT_HOT_TESTS = false;
     private static final boolean  DEFAULT_SKIP_TESTS = false;
     private static final boolean DEFAULT_LIBERTY_DEBUG = true;
     private static final boolean DEFAULT_POLLING_TEST = false;
+    private static final boolean DEFAULT_HOT_SWAP = false;
     private static final boolean DEFAULT_CONTAINER = false;
     private static final boolean DEFAULT_SKIP_DEFAULT_PORTS = false;
     private static final boolean DEFAULT_KEEP_TEMP_CONTAINERFILE = false;
@@ -100,6 +116,12 @@ class DevTask extends AbstractFeatureTask {
     private Integer childDebugPort = null;  // cache
     private static final int DEFAULT_CHILD_DEBUG_PORT = 6006;
 
+    // Tooling API connection reused by all child builds for the lifetime of the dev mode session
+    private GradleConnectionManager gradleConnectionManager = null;
+
+    // module dependency graph of a multi module dev mode session, computed on first use
+    private Map<Project, Set<Project>> upstreamProjectsByProject = null;
+
     protected final String CONTAINER_PROPERTY_ARG = '-P'+CONTAINER_PROPERTY+'=true';
 
     private Boolean changeOnDemandTestsAction;
@@ -151,9 +173,17 @@ class DevTask extends AbstractFeatureTask {
         }
     }
 
+    private Boolean hotSwap;
+
+    // Need to use a string value to allow someone to specify --hotSwap=false
+    @Option(option = 'hotSwap', description = 'If true, replace the classes of the running server through the debug port when only method bodies change, instead of restarting the application. Requires libertyDebug, and is not used with hotTests or generateFeatures. The default value is false.')
+    void setHotSwap(String hotSwap) {
+        this.hotSwap = Boolean.parseBoolean(hotSwap);
+    }
+
     private Double compileWait;
 
-    @Option(option = 'compileWait', description = 'Time in seconds to wait before processing Java changes and deletions. The default value is 0.5 seconds.')
+    @Option(option = 'compileWait', description = 'Minimum time in seconds to wait for Java changes and deletions to settle before processing them. The wait is extended while further changes are detected, up to maxCompileWait. The default value is 0.2 seconds.')
     void setCompileWait(String compileWait) {
         try {
             this.compileWait = Double.valueOf(compileWait);
@@ -163,6 +193,18 @@ class DevTask extends AbstractFeatureTask {
         }
     }
 
+    private Double maxCompileWait;
+
+    @Option(option = 'maxCompileWait', description = 'Maximum time in seconds to wait for a burst of file changes to settle before processing them in one compile cycle. The default value is 5 seconds.')
+    void setMaxCompileWait(String maxCompileWait) {
+        try {
+            this.maxCompileWait = Double.valueOf(maxCompileWait);
+        } catch (NumberFormatException e) {
+            logger.error(String.format("Unexpected value: %s for dev mode option maxCompileWait. maxCompileWait should be a valid number.", maxCompileWait));
+            throw e;
+        }
+    }
+
     private Integer verifyAppStartTimeout;
 
     @Option(option = 'verifyAppStartTimeout', description = 'Maximum time to wait (in seconds) to verify that the application has started or updated before running tests. The default value is 30 seconds.')
@@ -369,11 +411,35 @@ class DevTask extends AbstractFeatureTask {
         Set<String> existingFeatures;
         Set<String> existingPlatforms;
 
-        Set<String> existingLibertyFeatureDependencies;
+        // Liberty configuration values of this project and its upstream modules when the build files were last read, set once dev mode has started
+        Map<String, Map<String, Object>> libertyProjectValues = null;
 
         Map<String, File> libertyDirPropertyFiles = new HashMap<String, File> ();
 
+        // build files of this project and its upstream modules, and their state when their changes were last applied.
+        // DevUtil reports a single build file change through several callbacks, the project model is only read once.
+        private final Set<File> watchedBuildFiles = new LinkedHashSet<File>();
+        private String appliedBuildFileStates = null;
+        private Set<String> appliedModulesToCompile = null;
+
         private ServerTask serverTask = null;
+
+        // batches file changes before each compile cycle, set once dev mode has started
+        ChangeCoalescer changeCoalescer = null;
+
+        // times each dev mode cycle, set once dev mode has started
+        DevCycleTimer devCycleTimer = null;
+
+        // in-process compilers for the main and test source sets, created on first use
+        private IncrementalJavaCompiler mainIncrementalCompiler = null;
+        private IncrementalJavaCompiler testIncrementalCompiler = null;
+
+        // selects the tests affected by each change, created on the first test run
+        private TestImpactAnalyzer testImpactAnalyzer = null;
+
+        // cancels the test run in progress
+        private final TestRunCancellation testRunCancellation;
+
         DevTaskUtil(File buildDir, File installDirectory, File userDirectory, File serverDirectory, File sourceDirectory, File testSourceDirectory,
                     File configDirectory, File projectDirectory, List<File> resourceDirs, boolean changeOnDemandTestsAction,
                     boolean  hotTests, boolean  skipTests, boolean skipInstallFeature, String artifactId, int serverStartTimeout,
@@ -390,21 +456,23 @@ class DevTask extends AbstractFeatureTask {
                     null /* compileOptions not needed since useBuildRecompile is true */, keepTempContainerfile, mavenCacheLocation, projectModuleList /* multi module upstream projects */,
                     projectModuleList.size() > 0 /* recompileDependencies as true for multi module */, packagingType, buildFile, parentBuildGradle /* parent build files */, generateFeatures, null /* compileArtifactPaths */, null /* testArtifactPaths */, webResourceDirs /* webResources */
                 );
+            this.testRunCancellation = new TestRunCancellation(logger);
+            watchedBuildFiles.add(buildFile.getCanonicalFile());
+            for (Map.Entry<String, List<String>> entry : parentBuildGradle.entrySet()) {
+                watchedBuildFiles.add(new File(entry.getKey()));
+                for (String childBuildFile : entry.getValue()) {
+                    watchedBuildFiles.add(new File(childBuildFile));
+                }
+            }
             this.libertyDirPropertyFiles = LibertyPropFilesUtility.getLibertyDirectoryPropertyFiles(new CommonLogger(project), installDirectory, userDirectory, serverDirectory, serverOutputDir);
             ServerFeatureUtil servUtil = getServerFeatureUtil(true, libertyDirPropertyFiles);
-            FeaturesPlatforms fp = servUtil.getServerFeatures(serverDirectory, libertyDirPropertyFiles);
+            FeaturesPlatforms fp = getCachedServerFeatures(servUtil, serverDirectory, libertyDirPropertyFiles);
 
             if (fp != null) {
                 this.existingFeatures = fp.getFeatures()
                 this.existingPlatforms = fp.getPlatforms()
             }
 
-            this.existingLibertyFeatureDependencies = new HashSet<String>();
-
-            project.configurations.getByName('libertyFeature').dependencies.each {
-                dep -> this.existingLibertyFeatureDependencies.add(dep.name)
-            }
-
             setContainerEngine(this)
         }
 
@@ -488,6 +556,8 @@ class DevTask extends AbstractFeatureTask {
             }
 
             copyConfigFiles();
+            // dev mode keeps running, so write the server information for other builds and tools now
+            flushPluginConfig();
 
             if (libertyDebug) {
                 serverTask = createServerTask(project, "debug");
@@ -522,22 +592,20 @@ class DevTask extends AbstractFeatureTask {
         @Override
         public boolean updateArtifactPaths(ProjectModule projectModule, boolean redeployCheck, boolean generateFeatures, ThreadPoolExecutor executor)
                 throws PluginExecutionException {
-            // for multi module, unable to identify the changes made, showing option for user. return true to trigger recompile
-            if (isMultiModuleProject()) {
-                warn("A change was detected in a build file. The libertyDev task could not determine if a server restart is required. To restart server, type 'r' and press Enter.");
+            // return true to trigger a recompile of the module when its dependencies changed
+            Set<String> modulesToCompile = applyBuildFileChanges(generateFeatures);
+            if (modulesToCompile == null) {
                 return true;
             }
-            return false;
+            Project moduleProject = findModuleProject(projectModule.getBuildFile());
+            return moduleProject == null || modulesToCompile.contains(moduleProject.getPath());
         }
 
         @Override
         public boolean updateArtifactPaths(File parentBuildFile) {
-            // for multi module, unable to identify the changes made, showing option for user. return true to trigger recompile
-            if (isMultiModuleProject()) {
-                warn("A change was detected in a build file. The libertyDev task could not determine if a server restart is required. To restart server, type 'r' and press Enter.");
-                return true;
-            }
-            return false;
+            // return true to trigger a recompile of the modules when any of their dependencies changed
+            Set<String> modulesToCompile = applyBuildFileChanges(DevTask.this.generateFeatures);
+            return modulesToCompile == null || !modulesToCompile.isEmpty();
         }
         
         @Override
@@ -552,160 +620,190 @@ class DevTask extends AbstractFeatureTask {
 
         @Override
         protected void resourceModifiedOrCreated(File fileChanged, File resourceParent, File outputDirectory) throws IOException {
+            if (isResourceChangeCoalesced(fileChanged)) {
+                return;
+            }
+            flushHotSwappedClasses();
             copyFile(fileChanged, resourceParent, outputDirectory, null);
+            commitResourceChange(fileChanged);
         }
 
         @Override
         protected void resourceDeleted(File fileChanged, File resourceParent, File outputDirectory) throws IOException {
+            if (isResourceChangeCoalesced(fileChanged)) {
+                return;
+            }
+            flushHotSwappedClasses();
             deleteFile(fileChanged, resourceParent, outputDirectory, null);
+            commitResourceChange(fileChanged);
+        }
+
+        private boolean isResourceChangeCoalesced(File fileChanged) {
+            return changeCoalescer != null && changeCoalescer.isResourceChangeCoalesced(fileChanged);
+        }
+
+        private void commitResourceChange(File fileChanged) {
+            if (changeCoalescer != null) {
+                changeCoalescer.commitResourceChange(fileChanged);
+            }
         }
 
         @Override
         public boolean recompileBuildFile(File buildFile, Set<String> compileArtifactPaths, Set<String> testArtifactPaths, boolean generateFeatures, ThreadPoolExecutor executor) {
-            boolean restartServer = false;
-            boolean installFeatures = false;
-            boolean optimizeGenerateFeatures = false;
-            // for multi module, unable to identify the changes made, showing option for user. return true to trigger recompile
-            if (isMultiModuleProject()) {
-                warn("A change was detected in a build file. The libertyDev task could not determine if a server restart is required. To restart server, type 'r' and press Enter.");
+            boolean alreadyApplied = isBuildFileChangeApplied();
+            Set<String> modulesToCompile = applyBuildFileChanges(generateFeatures);
+            if (modulesToCompile == null) {
+                return false;
+            }
+            if (alreadyApplied) {
+                // the modules were recompiled by the callback that applied the change
                 return true;
             }
-
-            ProjectBuilder builder = ProjectBuilder.builder();
-            Project newProject;
-            try {
-                newProject = builder
-                        .withProjectDir(project.rootDir)
-                        .withGradleUserHomeDir(project.gradle.gradleUserHomeDir)
-                        .withName(project.name)
-                        .build();
-
-                // need this for gradle to evaluate the project
-                // and load the different plugins and extensions
-                newProject.evaluate();
-            } catch (Exception e) {
-                logger.error("Could not parse build.gradle " + e.getMessage());
-                logger.debug('Error parsing build.gradle', e);
-                return false;
+            for (String modulePath : modulesToCompile) {
+                Project moduleProject = project.findProject(modulePath);
+                if (moduleProject != null && moduleProject != project) {
+                    compileModule(moduleProject, false);
+                }
             }
+            return true;
+        }
 
-            // Detect change in installation configuration that requires restart of dev mode. Throw error.
-            if (hasInstallationConfigChanged(newProject, project)) {
-                // Note that a change in some config values requires a 'clean' because the install location is the same, but the
-                // artifact that gets installed would be different. This can happen when using 'libertyRuntime' for example and
-                // only changing the 'version'. The 'installLiberty' task cannot detect that difference today and would report the task as upToDate.
-                // It only detects changes in install location currently. It would not be trivial to detect the other types of changes.
-                logger.error("A change in Liberty runtime installation configuration requires a 'clean'. Stopping dev mode.");
-                util.stopServer();
-                throw new PluginExecutionException("A change in Liberty runtime installation configuration requires a 'clean'. After running the 'clean' task, please run the 'libertyDev' task again for the change to take effect.");
+        private String getBuildFileStates() {
+            StringBuilder states = new StringBuilder();
+            for (File file : watchedBuildFiles) {
+                states.append(file.getPath()).append(':').append(file.lastModified()).append(':').append(file.length()).append('\n');
             }
+            return states.toString();
+        }
 
-            if(hasServerConfigBootstrapPropertiesChanged(newProject, project)) {
-                logger.debug('Bootstrap properties changed');
-                restartServer = true;
-                project.liberty.server.bootstrapProperties = newProject.liberty.server.bootstrapProperties;
-            }
+        private boolean isBuildFileChangeApplied() {
+            return appliedBuildFileStates != null && appliedBuildFileStates.equals(getBuildFileStates());
+        }
 
-            if (hasServerConfigBootstrapPropertiesFileChanged(newProject, project)) {
-                logger.debug('Bootstrap properties file changed');
-                restartServer = true;
-                project.liberty.server.bootstrapPropertiesFile = newProject.liberty.server.bootstrapPropertiesFile;
+        /**
+         * Applies the build file changes once, and returns the result of the first call to the other
+         * callbacks made by DevUtil for the same change.
+         *
+         * @return the paths of the modules with changed dependencies, or null if the build files could not be read
+         */
+        private Set<String> applyBuildFileChanges(boolean generateFeatures) throws PluginExecutionException {
+            String buildFileStates = getBuildFileStates();
+            if (buildFileStates.equals(appliedBuildFileStates)) {
+                logger.debug("The build file changes were already applied.");
+                return appliedModulesToCompile;
             }
-
-            if (hasServerConfigJVMOptionsChanged(newProject, project)) {
-                logger.debug('JVM Options changed');
-                restartServer = true;
-                project.liberty.server.jvmOptions = newProject.liberty.server.jvmOptions;
+            Set<String> modulesToCompile = readBuildFileChanges(generateFeatures);
+            if (modulesToCompile != null) {
+                appliedBuildFileStates = buildFileStates;
+                appliedModulesToCompile = modulesToCompile;
             }
+            return modulesToCompile;
+        }
 
-            if (hasServerConfigJVMOptionsFileChanged(newProject, project)) {
-                logger.debug('JVM Options file changed');
-                restartServer = true;
-                project.liberty.server.jvmOptionsFile = newProject.liberty.server.jvmOptionsFile;
+        /**
+         * Reads the Liberty configuration of this project and its upstream modules from the Gradle daemon
+         * and acts on the values that changed since the last build file change. Only this project can
+         * require a server restart, feature installation or redeploy. Upstream modules are only
+         * recompiled when their dependencies changed.
+         *
+         * @return the paths of the modules with changed dependencies, or null if the build files could not be read
+         */
+        private Set<String> readBuildFileChanges(boolean generateFeatures) throws PluginExecutionException {
+            startDevCycle("build file change", null);
+            cancelStaleTestRun();
+            // the class indexes are rebuilt after the next Gradle compile, which uses the changed build file
+            invalidateIncrementalJavaCompilers();
+            if (changeCoalescer != null) {
+                changeCoalescer.invalidate(ChangeCoalescer.MAIN_SOURCES, ChangeCoalescer.TEST_SOURCES);
             }
-
-            if (hasServerConfigEnvFileChanged(newProject, project)) {
-                logger.debug('Server Env file changed');
-                restartServer = true;
-                project.liberty.server.serverEnvFile = newProject.liberty.server.serverEnvFile;
+            if (testImpactAnalyzer != null) {
+                testImpactAnalyzer.invalidate();
             }
 
-            if (hasServerConfigDirectoryChanged(newProject, project)) {
-                logger.debug('Server config directory changed');
-                restartServer = true;
-                project.liberty.server.configDirectory = newProject.liberty.server.configDirectory;
-                initializeConfigDirectory(); // make sure that the config dir is set if it was null in the new project
+            Map<String, Map<String, Object>> newProjectValues;
+            try {
+                newProjectValues = getGradleConnectionManager().run(new LibertyProjectModelAction(project.getPath()));
+            } catch (Exception e) {
+                logger.error("Could not parse build.gradle " + e.getMessage());
+                logger.debug('Error parsing build.gradle', e);
+                return null;
             }
-
-            if (hasServerConfigEnvChanged(newProject, project)) {
-                logger.debug('Server env changed');
-                restartServer = true;
-                project.liberty.server.env = newProject.liberty.server.env;
+            Map<String, Map<String, Object>> oldProjectValues = libertyProjectValues;
+            if (oldProjectValues == null) {
+                // the build file changed before dev mode finished starting, so compare with the values this project was configured with
+                oldProjectValues = DefaultLibertyProjectModel.create(project).getProjectValues();
             }
+            libertyProjectValues = newProjectValues;
 
-            if (hasServerConfigVarChanged(newProject, project)) {
-                logger.debug('Server var changed');
-                restartServer = true;
-                project.liberty.server.var = newProject.liberty.server.var;
+            Set<String> modulesToCompile = new LinkedHashSet<String>();
+            Set<String> projectPaths = new TreeSet<String>(oldProjectValues.keySet());
+            projectPaths.addAll(newProjectValues.keySet());
+            for (String projectPath : projectPaths) {
+                if (projectPath == project.getPath()) {
+                    continue;
+                }
+                Set<String> changedKeys = DefaultLibertyProjectModel.getChangedKeys(oldProjectValues.get(projectPath), newProjectValues.get(projectPath));
+                if (!changedKeys.disjoint(DefaultLibertyProjectModel.COMPILE_DEPENDENCY_KEYS)) {
+                    logger.lifecycle("The dependencies of module " + projectPath + " changed, recompiling the module and the modules that depend on it.");
+                    modulesToCompile.add(projectPath);
+                } else if (!changedKeys.isEmpty()) {
+                    logger.debug("No action needed for the build file changes of module " + projectPath + ": " + changedKeys);
+                }
             }
 
-            if (hasServerConfigDefaultVarChanged(newProject, project)) {
-                logger.debug('Server default var changed');
-                restartServer = true;
-                project.liberty.server.defaultVar = newProject.liberty.server.defaultVar;
+            Map<String, Object> oldValues = oldProjectValues.get(project.getPath());
+            Map<String, Object> newValues = newProjectValues.get(project.getPath());
+            Set<String> changedKeys = DefaultLibertyProjectModel.getChangedKeys(oldValues, newValues);
+            if (changedKeys.isEmpty()) {
+                logger.debug("No Liberty configuration changes in the build file of " + project.getPath());
+                return modulesToCompile;
             }
+            logger.debug("Changed build file values of " + project.getPath() + ": " + changedKeys);
 
-            if (hasCopyLibsDirectoryChanged(newProject, project)) {
-                logger.debug('copyLibsDirectory changed');
-                restartServer = true;
-                project.liberty.server.deploy.copyLibsDirectory = newProject.liberty.server.deploy.copyLibsDirectory;
+            // Detect change in installation configuration that requires restart of dev mode. Throw error.
+            if (!changedKeys.disjoint(DefaultLibertyProjectModel.INSTALL_KEYS)) {
+                // Note that a change in some config values requires a 'clean' because the install location is the same, but the
+                // artifact that gets installed would be different. This can happen when using 'libertyRuntime' for example and
+                // only changing the 'version'. The 'installLiberty' task cannot detect that difference today and would report the task as upToDate.
+                // It only detects changes in install location currently. It would not be trivial to detect the other types of changes.
+                logger.error("A change in Liberty runtime installation configuration requires a 'clean'. Stopping dev mode.");
+                util.stopServer();
+                throw new PluginExecutionException("A change in Liberty runtime installation configuration requires a 'clean'. After running the 'clean' task, please run the 'libertyDev' task again for the change to take effect.");
             }
 
-            if (hasMergeServerEnvChanged(newProject, project)) {
-                logger.debug('mergeServerEnv changed');
-                restartServer = true;
-                project.liberty.server.mergeServerEnv = newProject.liberty.server.mergeServerEnv;
+            if (changedKeys.any { it.startsWith(DefaultLibertyProjectModel.DEV_KEY_PREFIX) }) {
+                logger.warn("A change to the dev mode configuration in the build file takes effect the next time the 'libertyDev' task is run.");
             }
 
-            // if we don't already need to restart the server
-            // check if we need to install any additional features
-            if (!restartServer) {
-                List<String> oldFeatureNames = project.liberty.server.features.name;
-                List<String> newFeatureNames = newProject.liberty.server.features.name;
+            boolean restartServer = !changedKeys.disjoint(DefaultLibertyProjectModel.SERVER_KEYS);
+            boolean installFeatures = false;
+            boolean optimizeGenerateFeatures = false;
+            boolean redeploy = !changedKeys.disjoint(DefaultLibertyProjectModel.DEPLOY_KEYS);
 
-                if (oldFeatureNames != newFeatureNames) {
+            if (restartServer) {
+                logger.debug('Server configuration changed');
+                updateServerExtension(newValues);
+            } else {
+                // if we don't already need to restart the server
+                // check if we need to install any additional features
+                if (changedKeys.contains('server.features.name')) {
                     logger.debug('Server feature changed');
                     installFeatures = true;
-                    project.liberty.server.features.name = newFeatureNames;
+                    project.liberty.server.features.name = newValues.get('server.features.name');
                 }
 
-                // check if compile dependencies have changed
-                Configuration existingProjectCompileConfiguration = project.configurations.getByName('providedCompile');
-                List<String> existingProjectCompileDependencies = new ArrayList<String>();
-                existingProjectCompileConfiguration.dependencies.each { dep -> existingProjectCompileDependencies.add(dep.group + ":" + dep.name + ":" + dep.version) }
-
-                Configuration newProjectCompileConfiguration = newProject.configurations.getByName('providedCompile');
-                List<String> newProjectCompileDependencies = new ArrayList<String>();
-                newProjectCompileConfiguration.dependencies.each { dep -> newProjectCompileDependencies.add(dep.group + ":" + dep.name + ":" + dep.version) }
-
-                newProjectCompileDependencies.removeAll(existingProjectCompileDependencies);
-                if (!newProjectCompileDependencies.isEmpty()) {
-                    logger.debug("Compile dependencies changed");
-                    optimizeGenerateFeatures = true;
+                // check if compile dependencies have been added
+                for (String key : DefaultLibertyProjectModel.COMPILE_DEPENDENCY_KEYS) {
+                    if (!getAddedValues(oldValues, newValues, key).isEmpty()) {
+                        logger.debug("Compile dependencies changed");
+                        optimizeGenerateFeatures = true;
+                    }
                 }
 
-                Configuration newLibertyFeatureConfiguration = newProject.configurations.getByName('libertyFeature');
-                List<String> newLibertyFeatureDependencies = new ArrayList<String>();
-                newLibertyFeatureConfiguration.dependencies.each { dep -> newLibertyFeatureDependencies.add(dep.name) }
-
-                newLibertyFeatureDependencies.removeAll(existingLibertyFeatureDependencies);
-
-                if (!newLibertyFeatureDependencies.isEmpty()) {
+                if (!getAddedValues(oldValues, newValues, 'dependencies.libertyFeature').isEmpty()) {
                     logger.debug('libertyFeature dependency changed');
                     installFeatures = true;
-                    existingLibertyFeatureDependencies.addAll(newLibertyFeatureDependencies);
                 }
-
             }
             if (optimizeGenerateFeatures && generateFeatures) {
                 logger.debug("Detected a change in the compile dependencies, regenerating features");
@@ -724,7 +822,7 @@ class DevTask extends AbstractFeatureTask {
                 // - deploy app
                 // - start server
                 util.restartServer();
-                return true;
+                return modulesToCompile;
             } else if (installFeatures) {
                 try {
                     libertyInstallFeature();
@@ -735,136 +833,71 @@ class DevTask extends AbstractFeatureTask {
                     }
                 }
             }
-            return true;
-        }
-
-        // Check if BuildException contains InstallFeature feature conflict error message
-        // This method is only meant to be called if generateFeatures == true and Liberty feature dependencies
-        // are detected in the build file
-        private void libertyDependencyWarning(BuildException e) {
-            if (e.getCause() != null && e.getCause().getCause() != null && e.getCause().getCause().getCause() != null) {
-                // PluginExecutionException from installFeature will be 3 layers deep
-                if (e.getCause().getCause().getCause().getMessage().contains(InstallFeatureUtil.CONFLICT_MESSAGE)) {
-                    logger.warn(GEN_FEAT_LIBERTY_DEP_WARNING);
-                }
+            if (redeploy) {
+                logger.debug('Deployment configuration changed');
+                util.redeployApp();
             }
+            return modulesToCompile;
         }
 
-        private boolean hasInstallationConfigChanged(Project newProject, Project oldProject) {
-            // The following project configuration is used for the Liberty installation
-            // liberty extension: installDir, baseDir, cacheDir, outputDir, userDir, runtime
-            // libertyRuntime dependency
-            // liberty->install block: type, runtimeUrl, version, useOpenLiberty
-            if (newProject.liberty.installDir != oldProject.liberty.installDir) {
-                logger.debug('liberty.installDir changed')
-                return true
-            }
-            if (newProject.liberty.baseDir != oldProject.liberty.baseDir) {
-                logger.debug('liberty.baseDir changed')
-                return true
-            }
-            if (newProject.liberty.cacheDir != oldProject.liberty.cacheDir) {
-                logger.debug('liberty.cacheDir changed')
-                return true
-            }
-            if (newProject.liberty.outputDir != oldProject.liberty.outputDir) {
-                logger.debug('liberty.outputDir changed')
-                return true
-            }
-            if (newProject.liberty.userDir != oldProject.liberty.userDir) {
-                logger.debug('liberty.userDir changed')
-                return true
-            }
-            if (newProject.liberty.install.type != oldProject.liberty.install.type) {
-                logger.debug('liberty.install.type changed')
-                return true
-            }
-            if (newProject.liberty.install.runtimeUrl != oldProject.liberty.install.runtimeUrl) {
-                logger.debug('liberty.install.runtimeUrl changed')
-                return true
-            }
-            if (newProject.liberty.install.version != oldProject.liberty.install.version) {
-                logger.debug('liberty.install.version changed')
-                return true
-            }
-            if (newProject.liberty.install.useOpenLiberty != oldProject.liberty.install.useOpenLiberty) {
-                logger.debug('liberty.install.useOpenLiberty changed')
-                return true
-            }
-            if (newProject.liberty.runtime != oldProject.liberty.runtime) {
-                logger.debug('liberty.runtime changed')
-                return true
+        private List<String> getAddedValues(Map<String, Object> oldValues, Map<String, Object> newValues, String key) {
+            List<String> added = new ArrayList<String>();
+            if (newValues != null && newValues.get(key) instanceof List) {
+                added.addAll((List<String>) newValues.get(key));
             }
-            if (newProject.configurations.libertyRuntime != oldProject.configurations.libertyRuntime) {
-                logger.debug('libertyRuntime changed')
-                return true
+            if (oldValues != null && oldValues.get(key) instanceof List) {
+                added.removeAll((List<String>) oldValues.get(key));
             }
-            return false
+            return added;
         }
 
-        private boolean hasServerConfigBootstrapPropertiesChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.bootstrapProperties != oldProject.liberty.server.bootstrapProperties;
+        // copies the new server values from the Liberty project model to the extension used by the server tasks
+        private void updateServerExtension(Map<String, Object> values) {
+            def server = project.liberty.server;
+            server.bootstrapProperties = toProperties(values.get('server.bootstrapProperties'));
+            server.bootstrapPropertiesFile = toFile(values.get('server.bootstrapPropertiesFile'));
+            server.jvmOptions = (List<String>) values.get('server.jvmOptions');
+            server.jvmOptionsFile = toFile(values.get('server.jvmOptionsFile'));
+            server.serverEnvFile = toFile(values.get('server.serverEnvFile'));
+            server.configDirectory = toFile(values.get('server.configDirectory'));
+            initializeConfigDirectory(); // make sure that the config dir is set if it was null in the new project
+            server.env = toProperties(values.get('server.env'));
+            server.var = toProperties(values.get('server.var'));
+            server.defaultVar = toProperties(values.get('server.defaultVar'));
+            server.mergeServerEnv = Boolean.TRUE.equals(values.get('server.mergeServerEnv'));
+            server.deploy.copyLibsDirectory = toFile(values.get('server.deploy.copyLibsDirectory'));
         }
 
-        private boolean hasServerConfigBootstrapPropertiesFileChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.bootstrapPropertiesFile != oldProject.liberty.server.bootstrapPropertiesFile;
-        }
-
-        private boolean hasServerConfigJVMOptionsChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.jvmOptions != oldProject.liberty.server.jvmOptions;
-        }
-
-        private boolean hasServerConfigJVMOptionsFileChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.jvmOptionsFile != oldProject.liberty.server.jvmOptionsFile;
-        }
-
-        private boolean hasServerConfigEnvFileChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.serverEnvFile != oldProject.liberty.server.serverEnvFile;
-        }
-
-        private boolean hasServerConfigDirectoryChanged(Project newProject, Project oldProject) {
-            File newServerConfigDir = newProject.liberty.server.configDirectory;
-            File oldServerConfigDir = oldProject.liberty.server.configDirectory;
-
-            // Since no tasks have been run on the new project the initializeConfigDirectory()
-            // method has not been ran yet, so the file may still be null. But for the old project
-            // this method is guaranteed to have ran at the start of DevMode. So we need to initialize
-            // the config directory on the new project or else it would report that the directory has changed
-            if (newServerConfigDir == null) {
-                newServerConfigDir = new File(newProject.projectDir, "src/main/liberty/config");
+        private Properties toProperties(Object value) {
+            Properties properties = new Properties();
+            if (value instanceof Map) {
+                properties.putAll((Map) value);
             }
-
-            return newServerConfigDir != oldServerConfigDir;
+            return properties;
         }
 
-        private boolean hasServerConfigEnvChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.env != oldProject.liberty.server.env;
+        private File toFile(Object value) {
+            return value == null ? null : new File(value.toString());
         }
 
-        private boolean hasServerConfigVarChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.var != oldProject.liberty.server.var;
-        }
-
-        private boolean hasServerConfigDefaultVarChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.defaultVar != oldProject.liberty.server.defaultVar;
-        }
-
-        private boolean hasMergeServerEnvChanged(Project newProject, Project oldProject) {
-            return newProject.liberty.server.mergeServerEnv != oldProject.liberty.server.mergeServerEnv;
-        }
-
-        private boolean hasCopyLibsDirectoryChanged(Project newProject, Project oldProject) {
-            File newCopyLibsDir = newProject.liberty.server.deploy.copyLibsDirectory;
-            File oldCopyLibsDirDir = oldProject.liberty.server.deploy.copyLibsDirectory;
-
-            return newCopyLibsDir != oldCopyLibsDirDir;
+        // Check if BuildException contains InstallFeature feature conflict error message
+        // This method is only meant to be called if generateFeatures == true and Liberty feature dependencies
+        // are detected in the build file
+        private void libertyDependencyWarning(BuildException e) {
+            if (e.getCause() != null && e.getCause().getCause() != null && e.getCause().getCause().getCause() != null) {
+                // PluginExecutionException from installFeature will be 3 layers deep
+                if (e.getCause().getCause().getCause().getMessage().contains(InstallFeatureUtil.CONFLICT_MESSAGE)) {
+                    logger.warn(GEN_FEAT_LIBERTY_DEP_WARNING);
+                }
+            }
         }
 
-
         @Override
         public void installFeatures(File configFile, File serverDir, boolean generateFeatures) {
+            // a server configuration change can restart the application
+            flushHotSwappedClasses();
             ServerFeatureUtil servUtil = getServerFeatureUtil(true, libertyDirPropertyFiles);
-            FeaturesPlatforms fp = servUtil.getServerFeatures(serverDir, libertyDirPropertyFiles);
+            FeaturesPlatforms fp = getCachedServerFeatures(servUtil, serverDir, libertyDirPropertyFiles);
             Set<String> features = fp == null ? null : fp.getFeatures();
 
             if (features == null) {
@@ -886,8 +919,8 @@ class DevTask extends AbstractFeatureTask {
                 logger.info("Configuration features have been added: " + features);
 
                 // Call the installFeature gradle task using the temporary serverDir directory that DevMode uses
-                ProjectConnection gradleConnection = initGradleProjectConnection();
-                BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+                long featuresStart = System.currentTimeMillis();
+                BuildLauncher gradleBuildLauncher = newBuildLauncher();
 
                 // Exclude libertyCreate from the task dependencies, so that it will not update the server features
                 // before the features are installed.
@@ -908,7 +941,7 @@ class DevTask extends AbstractFeatureTask {
                         libertyDependencyWarning(e);
                     }
                 } finally {
-                    gradleConnection.close();
+                    recordDevCyclePhase(DevCycleTimer.FEATURES, featuresStart);
                 }
             }
         }
@@ -927,7 +960,7 @@ class DevTask extends AbstractFeatureTask {
         @Override
         public void updateExistingFeatures() {
             ServerFeatureUtil servUtil = getServerFeatureUtil(true, libertyDirPropertyFiles);
-            FeaturesPlatforms fp = servUtil.getServerFeatures(getServerDir(project), libertyDirPropertyFiles);
+            FeaturesPlatforms fp = getCachedServerFeatures(servUtil, getServerDir(project), libertyDirPropertyFiles);
 
             this.existingFeatures = fp == null ? new HashSet<String>() : fp.getFeatures();
             this.existingPlatforms = fp == null ? new HashSet<String>() : fp.getPlatforms();
@@ -935,12 +968,28 @@ class DevTask extends AbstractFeatureTask {
 
         @Override
         public boolean compile(File dir) {
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            boolean isMain = dir.equals(sourceDirectory);
+            boolean isTest = dir.equals(testSourceDirectory);
+            cancelStaleTestRun();
+
+            // wait for a burst of changes to settle so that it is compiled in one cycle
+            ChangeCoalescer.Batch batch = null;
+            if (changeCoalescer != null && (isMain || isTest)) {
+                try {
+                    batch = changeCoalescer.awaitQuiet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            startDevCycle(isTest ? "test source change" : (isMain ? "source change" : "resource change"), batch);
+            // test source changes that arrived together with main source changes are compiled in the same cycle
+            boolean mergeTest = isMain && !skipTests && batch != null && batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES) > 0;
+
+            long compileStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
 
             try {
-                boolean isMain = dir.equals(sourceDirectory);
-                boolean isTest = dir.equals(testSourceDirectory);
 
                 if (isMain || isTest) {
                     def launcher = getJavaLauncher();
@@ -962,29 +1011,230 @@ class DevTask extends AbstractFeatureTask {
                     }
                 }
 
-                if (isMain) {
-                    runGradleTask(gradleBuildLauncher, 'compileJava', 'processResources');
+                if (!isMain && !isTest) {
+                    return true;
+                }
+
+                if (getIncrementalJavaCompiler(isTest).compile()) {
+                    if (mergeTest && getIncrementalJavaCompiler(true).compile()) {
+                        changeCoalescer.commit(batch, ChangeCoalescer.TEST_SOURCES);
+                    }
+                    commitCompiledSources(batch, isTest);
+                    return true;
                 }
 
-                if (isTest) {
+                if (isMain && mergeTest) {
+                    try {
+                        runGradleTask(gradleBuildLauncher, 'compileJava', 'processResources', 'compileTestJava', 'processTestResources');
+                        getIncrementalJavaCompiler(true).index();
+                        changeCoalescer.commit(batch, ChangeCoalescer.TEST_SOURCES);
+                    } catch (BuildException e) {
+                        // compile the main sources on their own so that errors in the test sources are not reported against them
+                        logger.debug('Unable to compile the main and test sources together', e);
+                        runGradleTask(newBuildLauncher(), 'compileJava', 'processResources');
+                    }
+                } else if (isMain) {
+                    runGradleTask(gradleBuildLauncher, 'compileJava', 'processResources');
+                } else {
                     runGradleTask(gradleBuildLauncher, 'compileTestJava', 'processTestResources');
                 }
 
+                // record the compiled classes so that the next change can be compiled in-process
+                getIncrementalJavaCompiler(isTest).index();
+                commitCompiledSources(batch, isTest);
                 return true;
             } catch (BuildException e) {
                 // stdout/stderr from the compile task is sent to the terminal
                 // only need to log the actual stacktrace when debugging
                 logger.debug('Unable to compile', e);
+                if (isMain && batch != null && batch.hasChanges(ChangeCoalescer.RESOURCES)) {
+                    // the resource changes of the batch do not depend on the Java sources
+                    try {
+                        runGradleTask(newBuildLauncher(), 'processResources');
+                        changeCoalescer.commit(batch, ChangeCoalescer.RESOURCES, ChangeCoalescer.WEB_RESOURCES);
+                    } catch (BuildException resourcesException) {
+                        logger.debug('Unable to process the resources', resourcesException);
+                    }
+                }
                 return false;
             } finally {
-                gradleConnection.close();
+                if (isMain || isTest) {
+                    recordDevCyclePhase(DevCycleTimer.COMPILE, compileStart);
+                }
+            }
+        }
+
+        private void startDevCycle(String trigger, ChangeCoalescer.Batch batch) {
+            if (devCycleTimer != null) {
+                devCycleTimer.startCycle(trigger, batch == null ? 0 : batch.firstChangeMillis, batch == null ? 0 : batch.waitedMillis);
+            }
+        }
+
+        private void recordDevCyclePhase(String phase, long start) {
+            if (devCycleTimer != null) {
+                devCycleTimer.record(phase, System.currentTimeMillis() - start);
+            }
+        }
+
+        synchronized void closeDevCycleTimer() {
+            if (devCycleTimer != null) {
+                devCycleTimer.close();
+                logger.lifecycle(devCycleTimer.getSummary());
+                devCycleTimer = null;
+            }
+        }
+
+        // the resources and web resources changed in the same batch are processed by the cycle of the main sources
+        private void commitCompiledSources(ChangeCoalescer.Batch batch, boolean isTest) {
+            if (batch == null) {
+                return;
+            }
+            if (isTest) {
+                changeCoalescer.commit(batch, ChangeCoalescer.TEST_SOURCES);
+            } else {
+                changeCoalescer.commit(batch, ChangeCoalescer.MAIN_SOURCES, ChangeCoalescer.RESOURCES, ChangeCoalescer.WEB_RESOURCES);
+            }
+        }
+
+        private TestImpactAnalyzer getTestImpactAnalyzer() {
+            if (testImpactAnalyzer == null) {
+                SourceSet mainSourceSet = project.sourceSets.main;
+                SourceSet testSourceSet = project.sourceSets.test;
+                List<File> mainDirs = new ArrayList<File>(mainSourceSet.output.classesDirs.getFiles());
+                mainDirs.add(mainSourceSet.output.resourcesDir);
+                List<File> testDirs = new ArrayList<File>(testSourceSet.output.classesDirs.getFiles());
+                testDirs.add(testSourceSet.output.resourcesDir);
+                testImpactAnalyzer = new TestImpactAnalyzer(mainDirs, testDirs, logger);
+            }
+            return testImpactAnalyzer;
+        }
+
+        private IncrementalJavaCompiler getIncrementalJavaCompiler(boolean isTest) {
+            if (isTest) {
+                if (testIncrementalCompiler == null) {
+                    testIncrementalCompiler = createIncrementalJavaCompiler(project.sourceSets.test);
+                    testIncrementalCompiler.setUpstreamClassesDirs(project.sourceSets.main.output.classesDirs.getFiles());
+                }
+                return testIncrementalCompiler;
+            }
+            if (mainIncrementalCompiler == null) {
+                mainIncrementalCompiler = createIncrementalJavaCompiler(project.sourceSets.main);
+                if (hotSwap && libertyDebug && !hotTests && !generateFeatures) {
+                    // dev mode starts the server with its debug port listening on the local host
+                    mainIncrementalCompiler.enableHotSwap(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-dev/hotswap'),
+                            new JdwpClassRedefiner('localhost', libertyDebugPort.intValue(), logger));
+                }
+            }
+            return mainIncrementalCompiler;
+        }
+
+        private void flushHotSwappedClasses() {
+            if (mainIncrementalCompiler != null) {
+                mainIncrementalCompiler.flushHotSwappedClasses();
+            }
+        }
+
+        private void invalidateIncrementalJavaCompilers() {
+            if (mainIncrementalCompiler != null) {
+                mainIncrementalCompiler.flushHotSwappedClasses();
+                mainIncrementalCompiler.invalidate();
+            }
+            if (testIncrementalCompiler != null) {
+                testIncrementalCompiler.invalidate();
+            }
+        }
+
+        void closeChangeCoalescer() {
+            if (changeCoalescer != null) {
+                changeCoalescer.close();
+            }
+        }
+
+        void closeIncrementalJavaCompilers() {
+            if (mainIncrementalCompiler != null) {
+                mainIncrementalCompiler.close();
+            }
+            if (testIncrementalCompiler != null) {
+                testIncrementalCompiler.close();
             }
         }
 
         @Override
-        public boolean compile(File dir, ProjectModule project) {
-            // used for multi module scenario, not yet supported in ci.gradle
-            return false;
+        public boolean compile(File dir, ProjectModule projectModule) {
+            // used for multi module scenario, compiles the changed module and every module that depends on it
+            cancelStaleTestRun();
+            Project changedProject = findModuleProject(projectModule.getBuildFile());
+            if (changedProject == null) {
+                logger.debug("Could not find the project of module " + projectModule.getBuildFile());
+                return false;
+            }
+            boolean isTest = changedProject.sourceSets.test.java.srcDirs.contains(dir);
+            startDevCycle("module source change", null);
+            return compileModule(changedProject, isTest);
+        }
+
+        private Project findModuleProject(File buildFile) {
+            for (Project moduleProject : getUpstreamProjectsByProject().keySet()) {
+                if (moduleProject.getBuildFile().getCanonicalFile().equals(buildFile.getCanonicalFile())) {
+                    return moduleProject;
+                }
+            }
+            return null;
+        }
+
+        private boolean compileModule(Project changedProject, boolean isTest) {
+            flushHotSwappedClasses();
+            List<String> tasks = new ArrayList<String>();
+            List<String> compiledProjects = new ArrayList<String>();
+            if (isTest) {
+                addCompileTasks(changedProject, tasks, compiledProjects, 'compileTestJava', 'processTestResources');
+            } else {
+                addCompileTasks(changedProject, tasks, compiledProjects, 'compileJava', 'processResources');
+                for (Project downstreamProject : DevTaskHelper.getDownstreamProjects(changedProject, getUpstreamProjectsByProject())) {
+                    addCompileTasks(downstreamProject, tasks, compiledProjects, 'compileJava', 'processResources');
+                }
+            }
+            if (tasks.isEmpty()) {
+                return true;
+            }
+            List<String> dependentProjects = compiledProjects.findAll { it != changedProject.getPath() };
+            if (!dependentProjects.isEmpty()) {
+                logger.lifecycle("Compiling " + changedProject.getPath() + " and the modules that depend on it: " + dependentProjects);
+            }
+
+            long compileStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
+            // Gradle orders the tasks by project dependencies and runs independent modules at the same time
+            gradleBuildLauncher.addArguments("--parallel");
+            try {
+                runGradleTask(gradleBuildLauncher, tasks as String[]);
+            } catch (BuildException e) {
+                // stdout/stderr from the compile task is sent to the terminal
+                // only need to log the actual stacktrace when debugging
+                logger.debug('Unable to compile module ' + changedProject.getPath(), e);
+                return false;
+            } finally {
+                recordDevCyclePhase(DevCycleTimer.COMPILE, compileStart);
+            }
+            if (!isTest && compiledProjects.contains(project.getPath())) {
+                // classes of this project were compiled by Gradle, so the in-process index is out of date
+                getIncrementalJavaCompiler(false).index();
+            }
+            return true;
+        }
+
+        private void addCompileTasks(Project module, List<String> tasks, List<String> compiledProjects, String... taskNames) {
+            boolean added = false;
+            for (String taskName : taskNames) {
+                Task task = module.tasks.findByName(taskName);
+                if (task != null) {
+                    tasks.add(task.getPath());
+                    added = true;
+                }
+            }
+            if (added) {
+                compiledProjects.add(module.getPath());
+            }
         }
 
         @Override
@@ -995,9 +1245,8 @@ class DevTask extends AbstractFeatureTask {
         @Override
         public void runIntegrationTests(File buildFile) throws PluginExecutionException, PluginScenarioException {
             // buildFile parameter is not used, implemented for multi module projects, which is not supported in Gradle
-
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            // the test task reads the compiled classes from the output directory
+            flushHotSwappedClasses();
 
             ArrayList<String> systemPropertyArgs = new ArrayList<String>();
 
@@ -1022,24 +1271,62 @@ class DevTask extends AbstractFeatureTask {
                 throw new PluginExecutionException("Could not resolve canonical path of the user directory: " + getUserDir(project).getAbsolutePath(), e);
             }
 
-            try {
-                gradleBuildLauncher.withArguments(systemPropertyArgs);
-                // Force tests to run by calling cleanTest first
-                // otherwise tests may be skipped with an UP-TO-DATE message
-                // https://docs.gradle.org/current/userguide/java_testing.html#sec:forcing_java_tests_to_run
-                runGradleTask(gradleBuildLauncher, 'cleanTest', 'test');
-            } catch (BuildException e) {
-                // Gradle throws a build exception if tests fail
-                // catch it and do nothing
-            } finally {
-                gradleConnection.close();
+            Task testTask = project.tasks.findByName('test');
+            Set<String> affectedTests = testTask == null ? null : getTestImpactAnalyzer().getAffectedTests();
+            if (affectedTests != null) {
+                if (affectedTests.isEmpty()) {
+                    logger.lifecycle("No tests are affected by the changes since the last test run. Run the tests again to run all tests.");
+                    return;
+                }
+                logger.lifecycle("Running the " + affectedTests.size() + " test classes affected by the changes since the last test run. Run the tests again to run all tests.");
+                logger.debug("Affected tests: " + affectedTests);
+                TestLauncher testLauncher = newTestLauncher();
+                testRunCancellation.run(testImpactAnalyzer, { CancellationToken token ->
+                    try {
+                        testLauncher.withArguments(systemPropertyArgs);
+                        testLauncher.withCancellationToken(token);
+                        // the test launcher always runs the selected tests, even if the test task is up to date
+                        testLauncher.withTaskAndTestClasses(testTask.getPath(), affectedTests);
+                        runGradleTests(testLauncher);
+                    } catch (BuildException | TestExecutionException e) {
+                        // Gradle throws an exception if tests fail
+                        // catch it and do nothing
+                    }
+                });
+                return;
+            }
+
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
+            testRunCancellation.run(testImpactAnalyzer, { CancellationToken token ->
+                try {
+                    gradleBuildLauncher.withArguments(systemPropertyArgs);
+                    gradleBuildLauncher.withCancellationToken(token);
+                    // Force tests to run by calling cleanTest first
+                    // otherwise tests may be skipped with an UP-TO-DATE message
+                    // https://docs.gradle.org/current/userguide/java_testing.html#sec:forcing_java_tests_to_run
+                    runGradleTask(gradleBuildLauncher, 'cleanTest', 'test');
+                } catch (BuildException e) {
+                    // Gradle throws a build exception if tests fail
+                    // catch it and do nothing
+                }
+            });
+        }
+
+        /**
+         * Cancels the test run in progress when hot tests are enabled, since the change that is about to be
+         * processed makes its results out of date and queues a new test run.
+         */
+        private void cancelStaleTestRun() {
+            if (hotTests && testRunCancellation.cancel()) {
+                logger.lifecycle("Cancelling the running tests since a change was detected. The tests will run again after the change is processed.");
             }
         }
 
         @Override
         public void redeployApp() {
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            flushHotSwappedClasses();
+            long deployStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
 
             try {
                 if (container) {
@@ -1053,14 +1340,14 @@ class DevTask extends AbstractFeatureTask {
             } catch (BuildException e) {
                 throw new PluginExecutionException(e);
             } finally {
-                gradleConnection.close();
+                recordDevCyclePhase(DevCycleTimer.DEPLOY, deployStart);
             }
         }
 
         @Override
         public boolean libertyGenerateFeatures(Collection<String> classes, boolean optimize) {
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            long featuresStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
 
             try {
                 List<String> options = new ArrayList<String>();
@@ -1083,14 +1370,14 @@ class DevTask extends AbstractFeatureTask {
                 }
                 return false;
             } finally {
-                gradleConnection.close();
+                recordDevCyclePhase(DevCycleTimer.FEATURES, featuresStart);
             }
         }
 
         @Override
         public void libertyInstallFeature() {
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            long featuresStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
             try {
                 List<String> options = new ArrayList<String>();
                 if (container) {
@@ -1100,7 +1387,7 @@ class DevTask extends AbstractFeatureTask {
             } catch (BuildException e) {
                 throw new PluginExecutionException(e);
             } finally {
-                gradleConnection.close();
+                recordDevCyclePhase(DevCycleTimer.FEATURES, featuresStart);
             }
         }
 
@@ -1110,8 +1397,8 @@ class DevTask extends AbstractFeatureTask {
         **/
         @Override
         public void libertyDeploy() {
-            ProjectConnection gradleConnection = initGradleProjectConnection();
-            BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+            long restartStart = System.currentTimeMillis();
+            BuildLauncher gradleBuildLauncher = newBuildLauncher();
             try {
                 if (container) {
                     gradleBuildLauncher.addArguments(CONTAINER_PROPERTY_ARG)
@@ -1126,7 +1413,7 @@ class DevTask extends AbstractFeatureTask {
             } catch (BuildException e) {
                 throw new PluginExecutionException(e);
             } finally {
-                gradleConnection.close();
+                recordDevCyclePhase(DevCycleTimer.RESTART, restartStart);
             }
         }
 
@@ -1136,28 +1423,29 @@ class DevTask extends AbstractFeatureTask {
         */      
         @Override
         public void libertyCreate() {
+            long restartStart = System.currentTimeMillis();
+            // the restarted server loads the classes from the output directory
+            flushHotSwappedClasses();
             if (container) {
                 createServerDirectories();
             } else {
                 // need to force liberty-create to re-run
                 // else it will just say up-to-date and skip the task
-                ProjectConnection gradleConnection = initGradleProjectConnection();
-                BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+                BuildLauncher gradleBuildLauncher = newBuildLauncher();
 
-                gradleBuildLauncher.addArguments('--rerun-tasks');
                 addLibertyRuntimeProperties(gradleBuildLauncher);
                 gradleBuildLauncher.addArguments("--exclude-task", "installLiberty");
                 if (skipInstallFeature) {
                     gradleBuildLauncher.addArguments("--exclude-task", "installFeature");
                 }
                 try {
-                    runGradleTask(gradleBuildLauncher, 'libertyCreate');
+                    // only libertyCreate is forced, the tasks it is finalized by use their own up-to-date checks
+                    runGradleTask(gradleBuildLauncher, 'libertyCreate', '--rerun');
                 } catch (BuildException e) {
                     throw new PluginExecutionException(e);
-                } finally {
-                    gradleConnection.close();
                 }
             }
+            recordDevCyclePhase(DevCycleTimer.RESTART, restartStart);
         }
 
         @Override
@@ -1240,6 +1528,10 @@ class DevTask extends AbstractFeatureTask {
             compileWait = DEFAULT_COMPILE_WAIT;
         }
 
+        if (maxCompileWait == null) {
+            maxCompileWait = DEFAULT_MAX_COMPILE_WAIT;
+        }
+
         if (libertyDebugPort == null) {
             libertyDebugPort = DEFAULT_DEBUG_PORT;
         }
@@ -1260,6 +1552,10 @@ class DevTask extends AbstractFeatureTask {
             pollingTest = DEFAULT_POLLING_TEST;
         }
 
+        if (hotSwap == null) {
+            hotSwap = DEFAULT_HOT_SWAP;
+        }
+
         if (generateFeatures == null) {
             generateFeatures = DEFAULT_GENERATE_FEATURES;
         }
@@ -1308,7 +1604,8 @@ class DevTask extends AbstractFeatureTask {
         String artifactId = project.getName();
 
         // create an executor for tests with an additional queue of size 1, so
-        // any further changes detected mid-test will be in the following run
+        // any further changes detected mid-test will be in the following run.
+        // With hot tests, a change also cancels the test run in progress since its results are out of date
         final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
                 new ArrayBlockingQueue<Runnable>(1, true));
 
@@ -1339,8 +1636,8 @@ class DevTask extends AbstractFeatureTask {
             throw new GradleException("Error initializing dev mode.", e)
         }
 
-        ProjectConnection gradleConnection = initGradleProjectConnection();
-        BuildLauncher gradleBuildLauncher = gradleConnection.newBuild();
+        BuildLauncher gradleBuildLauncher = newBuildLauncher();
+        StartupTimer startupTimer = new StartupTimer(logger);
         try {
             /*
             Running the deploy task runs all tasks it depends on:
@@ -1353,37 +1650,11 @@ class DevTask extends AbstractFeatureTask {
                 :classes
                 :war
                 :deploy
-             */
-            if (generateFeatures) {
-                // Optimize generate features on startup
-                runGradleTask(gradleBuildLauncher, 'compileJava', 'processResources'); // ensure class files exist
 
-                String generatedFileCanonicalPath;
-                try {
-                    generatedFileCanonicalPath = new File(configDirectory,
-                            BinaryScannerUtil.GENERATED_FEATURES_FILE_PATH).getCanonicalPath();
-                } catch (IOException e) {
-                    generatedFileCanonicalPath = new File(configDirectory,
-                            BinaryScannerUtil.GENERATED_FEATURES_FILE_PATH).toString();
-                }
-                logger.warn(
-                        "The source configuration directory will be modified. Features will automatically be generated in a new file: "
-                                + generatedFileCanonicalPath);
-                try {
-                    runGenerateFeaturesTask(gradleBuildLauncher, true);
-                } catch (BuildException e) {
-                    Exception pluginEx = getPluginExecutionException(e);
-                    if (pluginEx != null) {
-                        // PluginExecutionException indicates that the binary scanner jar could not be found
-                        logger.error(pluginEx.getMessage() + ".\nDisabling the automatic generation of features.");
-                        generateFeatures = false;
-                    } else if (e.getCause() != null) {
-                        throw new BuildException(e.getCause().getMessage() + " To disable the automatic generation of features, start dev mode with --generateFeatures=false.", e.getCause());
-                    } else {
-                        throw new BuildException("Failed to run the generateFeaturesTask. To disable the automatic generation of features, start dev mode with --generateFeatures=false.", e)
-                    }
-                }
-            }
+            Unless dev mode runs in a container, the runtime is installed, or the server is created, by the
+            same build that compiles the application, so that Gradle runs the tasks of both in one build
+            instead of two builds competing for the daemon.
+             */
             if (!container) {
                 boolean isNewInstallation = true;
                 // Check to see if Liberty was already installed and set flag accordingly.
@@ -1404,13 +1675,15 @@ class DevTask extends AbstractFeatureTask {
                 if (skipInstallFeature) {
                     logger.debug("skipInstallFeature flag is set to true");
                 }
-                
+
+                boolean installLiberty = true;
                 if (!isNewInstallation) {
                     // if the install dir changed or this is the first dev mode run on this project, need to give installLiberty task 
                     // a chance to check validity of installation and update info in liberty plugin config xml file.
                     if (!isInstallDirChanged(project, serverInstallDir)) {
                         logger.info("Skipping installLiberty task for existing installation.")
                         gradleBuildLauncher.addArguments("--exclude-task", "installLiberty"); // skip installing Liberty at startup since it is the same installation as previous dev mode run
+                        installLiberty = false;
                     }
                     if (skipInstallFeature) {
                         logger.info("Skipping installFeature task due to skipInstallFeature configuration.")
@@ -1418,26 +1691,74 @@ class DevTask extends AbstractFeatureTask {
                     }
                 }
                 addLibertyRuntimeProperties(gradleBuildLauncher);
-                runGradleTask(gradleBuildLauncher, 'libertyCreate');
+                boolean installFeatures = !skipInstallFeature || isNewInstallation;
+
+                if (!generateFeatures) {
+                    // the features are known from the server configuration, so the server is created in the build that compiles the application
+                    startupTimer.run('create server and compile', {
+                        runGradleTask(gradleBuildLauncher, 'libertyCreate', 'compileJava', 'processResources');
+                    });
+                } else {
+                    // the generated features are not known until the classes are scanned, so only install the runtime for now
+                    startupTimer.run(installLiberty ? 'install and compile' : 'compile', {
+                        if (installLiberty) {
+                            runGradleTask(gradleBuildLauncher, 'installLiberty', 'compileJava', 'processResources');
+                            gradleBuildLauncher.addArguments("--exclude-task", "installLiberty"); // already installed by this build
+                        } else {
+                            runGradleTask(gradleBuildLauncher, 'compileJava', 'processResources');
+                        }
+                    });
+                    startupTimer.run('generate features', {
+                        generateFeaturesForStartup(gradleBuildLauncher);
+                    });
+                    startupTimer.run('create server', {
+                        runGradleTask(gradleBuildLauncher, 'libertyCreate');
+                    });
+                }
 
-                if (!skipInstallFeature || isNewInstallation) {
-                    // suppress extra install feature warnings (one would have shown up already from the libertyCreate task on the line above)
-                    gradleBuildLauncher.addArguments("-D" + DevUtil.SKIP_BETA_INSTALL_WARNING + "=" + Boolean.TRUE.toString());
-                    runInstallFeatureTask(gradleBuildLauncher, null);
+                if (installFeatures) {
+                    startupTimer.run('install features', {
+                        // suppress extra install feature warnings (one would have shown up already from the libertyCreate task)
+                        gradleBuildLauncher.addArguments("-D" + DevUtil.SKIP_BETA_INSTALL_WARNING + "=" + Boolean.TRUE.toString());
+                        runInstallFeatureTask(gradleBuildLauncher, null);
+                    });
                 }
             } else {
+                if (generateFeatures) {
+                    startupTimer.run('compile', {
+                        runGradleTask(newBuildLauncher(), 'compileJava', 'processResources');
+                    });
+                    startupTimer.run('generate features', {
+                        generateFeaturesForStartup(gradleBuildLauncher);
+                    });
+                }
                 // skip creating the server and installing features and just propagate the option to 'deploy'
                 createServerDirectories();
                 gradleBuildLauncher.addArguments("--exclude-task", "installFeature"); // skip installing features at startup since Containerfile/Dockerfile should have RUN features.sh
                 gradleBuildLauncher.addArguments(CONTAINER_PROPERTY_ARG);
             }
-            runGradleTask(gradleBuildLauncher, 'deploy');
-        } finally {
-            gradleConnection.close();
+            startupTimer.run('deploy', {
+                runGradleTask(gradleBuildLauncher, 'deploy');
+            });
+            startupTimer.logSummary();
+        } catch (Exception e) {
+            // dev mode is not starting, so release the session connection
+            closeGradleConnection();
+            throw e;
         }
 
 
+        util.changeCoalescer = createChangeCoalescer(mainSourceSet, testSourceSet, resourceDirs, webResourceDirs);
+        // this project was configured from the same build files, so it gives the starting values without another build
+        util.libertyProjectValues = DefaultLibertyProjectModel.create(project).getProjectValues();
+        util.devCycleTimer = new DevCycleTimer(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-dev-timings.json'),
+                getMessagesLogTailer(new File(getServerDir(project), 'logs/messages.log')), verifyAppStartTimeout.longValue() * 1000L, logger);
+
         util.addShutdownHook(executor);
+        Runtime.getRuntime().addShutdownHook(new Thread({
+            util.closeDevCycleTimer();
+            closeGradleConnection();
+        } as Runnable));
 
         List<File> propertyFiles = new ArrayList<File>();
         propertyFiles.add(new File(project.gradle.gradleUserHomeDir, "gradle.properties"));
@@ -1472,6 +1793,11 @@ class DevTask extends AbstractFeatureTask {
                 logger.info(e.getMessage());
             }
             return; // enter shutdown hook
+        } finally {
+            util.closeIncrementalJavaCompilers();
+            util.closeChangeCoalescer();
+            util.closeDevCycleTimer();
+            closeGradleConnection();
         }
     }
 
@@ -1531,9 +1857,8 @@ class DevTask extends AbstractFeatureTask {
     }
 
     private boolean isInstallDirChanged(Project project, File currentInstallDir) {
-        if (project.getLayout().getBuildDirectory().getAsFile().get().exists() && new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml').exists()) {
-            XmlParser pluginXmlParser = new XmlParser()
-            Node libertyPluginConfig = pluginXmlParser.parse(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml'))
+        Node libertyPluginConfig = getPluginConfig().read(getPluginConfigFile());
+        if (libertyPluginConfig != null) {
             if (!libertyPluginConfig.getAt('installDirectory').isEmpty()) {
                 Node installDirNode = libertyPluginConfig.getAt('installDirectory').get(0)
                 String installDirValue = installDirNode.text()
@@ -1645,18 +1970,193 @@ class DevTask extends AbstractFeatureTask {
         }
     }
 
+    // Every project of a multi module dev mode session mapped to all of the projects it depends on
+    @Internal
+    synchronized Map<Project, Set<Project>> getUpstreamProjectsByProject() {
+        if (upstreamProjectsByProject == null) {
+            upstreamProjectsByProject = new LinkedHashMap<Project, Set<Project>>();
+            Set<Project> upstreamProjects = DevTaskHelper.getAllUpstreamProjects(project);
+            upstreamProjectsByProject.put(project, upstreamProjects);
+            for (Project upstreamProject : upstreamProjects) {
+                upstreamProjectsByProject.put(upstreamProject, DevTaskHelper.getAllUpstreamProjects(upstreamProject));
+            }
+        }
+        return upstreamProjectsByProject;
+    }
+
+    private ChangeCoalescer createChangeCoalescer(SourceSet mainSourceSet, SourceSet testSourceSet, List<File> resourceDirs, List<Path> webResourceDirs) {
+        ChangeCoalescer changeCoalescer = new ChangeCoalescer((long) (compileWait * 1000L), (long) (maxCompileWait * 1000L), logger);
+        changeCoalescer.watch(ChangeCoalescer.MAIN_SOURCES, mainSourceSet.java.srcDirs);
+        changeCoalescer.watch(ChangeCoalescer.TEST_SOURCES, testSourceSet.java.srcDirs);
+        changeCoalescer.watch(ChangeCoalescer.RESOURCES, resourceDirs);
+        changeCoalescer.watch(ChangeCoalescer.WEB_RESOURCES, webResourceDirs.collect { it.toFile() });
+        // the test sources are not compiled when dev mode starts
+        changeCoalescer.invalidate(ChangeCoalescer.TEST_SOURCES);
+        return changeCoalescer;
+    }
+
+    private IncrementalJavaCompiler createIncrementalJavaCompiler(SourceSet sourceSet) {
+        JavaCompile compileTask = (JavaCompile) project.tasks.getByName(sourceSet.getCompileJavaTaskName());
+        IncrementalJavaCompiler compiler = new IncrementalJavaCompiler(sourceSet.getName(), sourceSet.java.srcDirs.toList(),
+                sourceSet.resources.srcDirs.toList(), compileTask.getDestinationDirectory().getAsFile().get(), logger);
+        try {
+            configureIncrementalJavaCompiler(compiler, compileTask);
+        } catch (Exception e) {
+            compiler.disable("the options of the " + compileTask.getName() + " task could not be determined: " + e.getMessage());
+        }
+        return compiler;
+    }
+
+    // Passes the classpath and options of the compile task to the in-process compiler, or disables it
+    // when the compile task uses something that only the Gradle build can handle
+    private void configureIncrementalJavaCompiler(IncrementalJavaCompiler compiler, JavaCompile compileTask) {
+        CompileOptions compileOptions = compileTask.getOptions();
+        if (compileOptions.getAnnotationProcessorPath() != null && !compileOptions.getAnnotationProcessorPath().isEmpty()) {
+            compiler.disable("annotation processors are configured");
+            return;
+        }
+
+        int currentJavaVersion = Integer.parseInt(JavaVersion.current().getMajorVersion());
+        Integer toolchainVersion = null;
+        if (compileTask.getJavaCompiler().isPresent()) {
+            toolchainVersion = compileTask.getJavaCompiler().get().getMetadata().getLanguageVersion().asInt();
+            if (toolchainVersion > currentJavaVersion) {
+                compiler.disable("the Java toolchain version " + toolchainVersion + " is newer than the Java version " + currentJavaVersion + " running Gradle");
+                return;
+            }
+        }
+
+        List<String> options = new ArrayList<String>();
+        Integer release = compileOptions.getRelease().getOrNull();
+        String sourceVersion = JavaVersion.toVersion(compileTask.getSourceCompatibility()).getMajorVersion();
+        String targetVersion = JavaVersion.toVersion(compileTask.getTargetCompatibility()).getMajorVersion();
+        if (release == null && toolchainVersion != null && toolchainVersion < currentJavaVersion
+                && sourceVersion.equals(toolchainVersion.toString()) && targetVersion.equals(toolchainVersion.toString())) {
+            // compile against the class library of the toolchain rather than the one of the JVM running Gradle
+            release = toolchainVersion;
+        }
+        if (release != null) {
+            options.add("--release");
+            options.add(release.toString());
+        } else {
+            options.add("-source");
+            options.add(compileTask.getSourceCompatibility());
+            options.add("-target");
+            options.add(compileTask.getTargetCompatibility());
+        }
+        if (compileOptions.getEncoding() != null) {
+            options.add("-encoding");
+            options.add(compileOptions.getEncoding());
+        }
+        if (compileOptions.isDebug()) {
+            String debugLevel = compileOptions.getDebugOptions().getDebugLevel();
+            options.add(debugLevel == null ? "-g" : "-g:" + debugLevel);
+        } else {
+            options.add("-g:none");
+        }
+        if (compileOptions.isDeprecation()) {
+            options.add("-deprecation");
+        }
+        if (!compileOptions.isWarnings()) {
+            options.add("-nowarn");
+        }
+        if (compileOptions.getHeaderOutputDirectory().isPresent()) {
+            options.add("-h");
+            options.add(compileOptions.getHeaderOutputDirectory().get().getAsFile().getAbsolutePath());
+        }
+
+        boolean procOptionSet = false;
+        List<String> compilerArgs = compileOptions.getAllCompilerArgs();
+        for (int i = 0; i < compilerArgs.size(); i++) {
+            String arg = compilerArgs.get(i);
+            if (arg in ['-processor', '-processorpath', '--processor-path', '--processor-module-path', '--module-path', '-p', '--module-source-path']
+                    || arg.startsWith('-J') || arg.startsWith('-Xplugin')) {
+                compiler.disable("the compiler argument " + arg + " is used");
+                return;
+            }
+            if (arg in ['-d', '-classpath', '-cp', '--class-path', '-sourcepath', '--source-path']) {
+                i++; // the in-process compiler sets these locations itself
+                continue;
+            }
+            if (arg.startsWith('-proc:')) {
+                procOptionSet = true;
+            }
+            options.add(arg);
+        }
+        if (!procOptionSet) {
+            options.add("-proc:none");
+        }
+
+        compiler.setClasspath(compileTask.getClasspath().getFiles());
+        compiler.setOptions(options);
+    }
+
+    /**
+     * Generates the features of the application at startup, once its classes are compiled.
+     */
+    void generateFeaturesForStartup(BuildLauncher gradleBuildLauncher) {
+        // Optimize generate features on startup
+        String generatedFileCanonicalPath;
+        try {
+            generatedFileCanonicalPath = new File(configDirectory,
+                    BinaryScannerUtil.GENERATED_FEATURES_FILE_PATH).getCanonicalPath();
+        } catch (IOException e) {
+            generatedFileCanonicalPath = new File(configDirectory,
+                    BinaryScannerUtil.GENERATED_FEATURES_FILE_PATH).toString();
+        }
+        logger.warn(
+                "The source configuration directory will be modified. Features will automatically be generated in a new file: "
+                        + generatedFileCanonicalPath);
+        try {
+            runGenerateFeaturesTask(gradleBuildLauncher, true);
+        } catch (BuildException e) {
+            Exception pluginEx = getPluginExecutionException(e);
+            if (pluginEx != null) {
+                // PluginExecutionException indicates that the binary scanner jar could not be found
+                logger.error(pluginEx.getMessage() + ".\nDisabling the automatic generation of features.");
+                generateFeatures = false;
+            } else if (e.getCause() != null) {
+                throw new BuildException(e.getCause().getMessage() + " To disable the automatic generation of features, start dev mode with --generateFeatures=false.", e.getCause());
+            } else {
+                throw new BuildException("Failed to run the generateFeaturesTask. To disable the automatic generation of features, start dev mode with --generateFeatures=false.", e)
+            }
+        }
+    }
+
     ProjectConnection initGradleProjectConnection() {
-        logger.debug("Gradle user home: " + project.gradle.gradleUserHomeDir)
-        return initGradleConnection(project.getRootDir(), project.gradle.gradleUserHomeDir);
+        return getGradleConnectionManager().getConnection();
     }
 
     static ProjectConnection initGradleConnection(File rootDir, File gradleUserHomeDir) {
-        ProjectConnection connection = GradleConnector.newConnector()
-                .forProjectDirectory(rootDir)
-                .useGradleUserHomeDir(gradleUserHomeDir)
-                .connect();
+        return GradleConnectionManager.connect(rootDir, gradleUserHomeDir);
+    }
+
+    /**
+     * The Tooling API connection is shared by every child build launched during the dev mode session
+     * and is only closed when dev mode exits.
+     */
+    @Internal
+    synchronized GradleConnectionManager getGradleConnectionManager() {
+        if (gradleConnectionManager == null) {
+            logger.debug("Gradle user home: " + project.gradle.gradleUserHomeDir)
+            gradleConnectionManager = new GradleConnectionManager(project.getRootDir(), project.gradle.gradleUserHomeDir, logger);
+        }
+        return gradleConnectionManager;
+    }
 
-        return connection;
+    BuildLauncher newBuildLauncher() {
+        return getGradleConnectionManager().newBuild();
+    }
+
+    TestLauncher newTestLauncher() {
+        return getGradleConnectionManager().newTestLauncher();
+    }
+
+    synchronized void closeGradleConnection() {
+        if (gradleConnectionManager != null) {
+            gradleConnectionManager.close();
+            gradleConnectionManager = null;
+        }
     }
 
     void runGradleTask(BuildLauncher buildLauncher, String ... tasks)  {
@@ -1675,7 +2175,17 @@ class DevTask extends AbstractFeatureTask {
             }
             buildLauncher.addArguments("-Dorg.gradle.debug.port=" + Integer.toString(childDebugPort))
         }
-        buildLauncher.run();
+        getGradleConnectionManager().run(buildLauncher);
+    }
+
+    void runGradleTests(TestLauncher testLauncher) {
+        testLauncher
+                .setStandardOutput(System.out)
+                .setStandardError(System.err);
+        if (logger.isEnabled(LogLevel.DEBUG)) {
+            testLauncher.addArguments("--debug");
+        }
+        getGradleConnectionManager().run(testLauncher);
     }
 
     /**
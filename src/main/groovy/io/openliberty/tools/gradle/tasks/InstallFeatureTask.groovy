@@ -20,6 +20,9 @@ import java.util.Set
 
 import org.gradle.api.artifacts.ResolveException
 import org.gradle.api.logging.LogLevel
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFile
 import org.gradle.api.tasks.TaskAction
 import org.gradle.api.tasks.options.Option
 
@@ -31,11 +34,17 @@ import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatfo
 
 class InstallFeatureTask extends AbstractFeatureTask {
 
+    private static final String INSTALLED_FEATURES_STATE_FILE = 'liberty-installed-features.state'
+
     InstallFeatureTask() {
         configure({
             description = 'Install a new feature to the Liberty server'
             group = 'Liberty'
         })
+        // the state file alone does not show whether the runtime was installed again since the last run
+        outputs.upToDateWhen {
+            installedFeaturesUnchanged()
+        }
     }
     
     private String containerName;
@@ -45,6 +54,36 @@ class InstallFeatureTask extends AbstractFeatureTask {
         this.containerName = containerName;
     }
 
+    @Input @Optional
+    String getRuntimeVersion() {
+        return readInstalledRuntimeVersion()
+    }
+
+    @Input
+    Map<String, String> getFeatureSettings() {
+        Map<String, String> settings = new TreeMap<String, String>()
+        settings.put('name', String.valueOf(server.features.name))
+        settings.put('acceptLicense', String.valueOf(server.features.acceptLicense))
+        settings.put('from', String.valueOf(server.features.from))
+        settings.put('to', String.valueOf(server.features.to))
+        settings.put('verify', String.valueOf(server.features.verify))
+        settings.put('keys', String.valueOf(server.keys))
+        settings.put('containerName', String.valueOf(containerName))
+        settings.put('libertyFeature', getDependencyCoordinates('libertyFeature'))
+        settings.put('featuresBom', getDependencyCoordinates('featuresBom'))
+        return settings
+    }
+
+    @Input
+    Set<String> getServerConfigFeatures() {
+        return collectServerConfigFeatures()
+    }
+
+    @OutputFile
+    File getInstalledFeaturesStateFile() {
+        return new File(project.getLayout().getBuildDirectory().getAsFile().get(), INSTALLED_FEATURES_STATE_FILE)
+    }
+
     @TaskAction
     void installFeature() throws PluginExecutionException {
         // If non-container mode, check for Beta version and skip if needed.  Container mode does not need to check since featureUtility will check when it is called.
@@ -86,6 +125,50 @@ class InstallFeatureTask extends AbstractFeatureTask {
 
             util.installFeatures(server.features.acceptLicense, new ArrayList<String>(featuresToInstall), new ArrayList<String>(platformsToInstall))
         }
+        recordInstalledFeatures()
+    }
+
+    // Features installed in a container cannot be checked. Otherwise the features in the installation
+    // must be the ones recorded after the last run, since the runtime may have been installed again since then.
+    protected boolean installedFeaturesUnchanged() {
+        if (containerName != null) {
+            return false
+        }
+        File stateFile = getInstalledFeaturesStateFile()
+        return stateFile.isFile() && stateFile.getText('UTF-8').equals(readInstalledFeaturesState())
+    }
+
+    protected void recordInstalledFeatures() {
+        if (containerName == null) {
+            File stateFile = getInstalledFeaturesStateFile()
+            stateFile.setText(readInstalledFeaturesState(), 'UTF-8')
+        }
+    }
+
+    // the feature manifests of the runtime and the user extension
+    private String readInstalledFeaturesState() {
+        File installDir = getInstallDir(project)
+        List<String> manifests = new ArrayList<String>()
+        for (File featuresDir : [new File(installDir, 'lib/features'), new File(getUserDir(project, installDir), 'extension/lib/features')]) {
+            File[] files = featuresDir.listFiles()
+            if (files != null) {
+                for (File file : files) {
+                    if (file.isFile()) {
+                        manifests.add(file.getAbsolutePath() + ':' + file.length())
+                    }
+                }
+            }
+        }
+        Collections.sort(manifests)
+        return manifests.join('\n')
+    }
+
+    private String getDependencyCoordinates(String configurationName) {
+        List<String> coordinates = new ArrayList<String>()
+        project.configurations.getByName(configurationName).dependencies.each { dep ->
+            coordinates.add(dep.group + ':' + dep.name + ':' + dep.version)
+        }
+        return coordinates.sort().join(',')
     }
 
     private def buildAntParams() {
@@ -16,7 +16,6 @@
 package io.openliberty.tools.gradle.tasks
 
 import groovy.xml.MarkupBuilder
-import groovy.xml.StreamingMarkupBuilder
 import org.gradle.api.GradleException
 import org.gradle.api.Project
 import org.gradle.api.artifacts.Configuration
@@ -28,8 +27,6 @@ import org.gradle.api.tasks.InputFiles
 import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.Optional
 import org.gradle.api.tasks.TaskAction
-import groovy.xml.XmlParser
-import groovy.xml.XmlNodePrinter
 
 import java.util.Map.Entry
 
@@ -48,7 +45,7 @@ class InstallLibertyTask extends AbstractLibertyTask {
         outputs.upToDateWhen {
             // ensure a Liberty installation exists at the install directory
             getInstallDir(project).exists() && new File(getInstallDir(project), 'lib/ws-launch.jar').exists() && 
-            project.getLayout().getBuildDirectory().getAsFile().get().exists() && new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml').exists() &&
+            getPluginConfig().exists(getPluginConfigFile()) &&
             !isInstallDirChanged(project)
         }
     }
@@ -128,9 +125,13 @@ class InstallLibertyTask extends AbstractLibertyTask {
     }
 
     protected void updatePluginXmlFile() {
-        XmlParser pluginXmlParser = new XmlParser()
-        Node libertyPluginConfig = pluginXmlParser.parse(new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml'))
+        getPluginConfig().update(getPluginConfigFile()) { Node libertyPluginConfig ->
+            updatePluginXmlNodes(libertyPluginConfig)
+        }
+        logger.info ("Updating Liberty plugin config info at ${project.getLayout().getBuildDirectory().getAsFile().get()}/liberty-plugin-config.xml.")
+    }
 
+    protected void updatePluginXmlNodes(Node libertyPluginConfig) {
         Node installDirNode = libertyPluginConfig.getAt('installDirectory').isEmpty() ? libertyPluginConfig.appendNode('installDirectory') : libertyPluginConfig.getAt('installDirectory').get(0)
         installDirNode.setValue(getInstallDir(project).toString())
         //logger.info ("Updating liberty-plugin-config.xml installDirectory: " + getInstallDir(project).toString())
@@ -180,16 +181,6 @@ class InstallLibertyTask extends AbstractLibertyTask {
                 assemblyArchive.setValue(project.configurations.libertyRuntime.resolvedConfiguration.resolvedArtifacts.getAt(0).file.toString())
             }
         }
-
-        new File( project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml' ).withWriter('UTF-8') { output ->
-            output << new StreamingMarkupBuilder().bind { mkp.xmlDeclaration(encoding: 'UTF-8', version: '1.0' ) }
-            XmlNodePrinter printer = new XmlNodePrinter( new PrintWriter(output) )
-            printer.preserveWhitespace = true
-            printer.print( libertyPluginConfig )
-        }
-
-        logger.info ("Updating Liberty plugin config info at ${project.getLayout().getBuildDirectory().getAsFile().get()}/liberty-plugin-config.xml.")
-
     }
 
     protected void createPluginXmlFile(boolean isExisting) {
@@ -200,16 +191,16 @@ class InstallLibertyTask extends AbstractLibertyTask {
             }
 
             // if the file already exists, update it instead of replacing it
-            if (new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml').exists()) {
+            if (getPluginConfig().exists(getPluginConfigFile())) {
                 updatePluginXmlFile()
             } else {
-                new File(project.getLayout().getBuildDirectory().getAsFile().get(), 'liberty-plugin-config.xml').withWriter { writer ->
-                    def xmlDoc = new MarkupBuilder(writer)
-                    xmlDoc.mkp.xmlDeclaration(version: "1.0", encoding: "UTF-8")
-                    xmlDoc.'liberty-plugin-config'('version':'2.0') {
-                        outputLibertyPropertiesToXml(xmlDoc, isExisting)
-                    }
+                StringWriter writer = new StringWriter()
+                def xmlDoc = new MarkupBuilder(writer)
+                xmlDoc.mkp.xmlDeclaration(version: "1.0", encoding: "UTF-8")
+                xmlDoc.'liberty-plugin-config'('version':'2.0') {
+                    outputLibertyPropertiesToXml(xmlDoc, isExisting)
                 }
+                getPluginConfig().create(getPluginConfigFile(), writer.toString())
                 logger.info ("Creating Liberty plugin config info to ${project.getLayout().getBuildDirectory().getAsFile().get()}/liberty-plugin-config.xml.")
             }
         }
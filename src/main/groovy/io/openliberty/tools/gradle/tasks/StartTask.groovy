@@ -17,6 +17,7 @@ package io.openliberty.tools.gradle.tasks
 
 import io.openliberty.tools.ant.ServerTask
 import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.MessagesLogTailer
 import io.openliberty.tools.gradle.utils.ServerUtils
 import org.gradle.api.GradleException
 import org.gradle.api.Task
@@ -25,7 +26,7 @@ import org.gradle.api.tasks.TaskAction
 
 class StartTask extends AbstractServerTask {
 
-    protected final String START_APP_MESSAGE_REGEXP = "CWWKZ0001I.*"
+    protected final String START_APP_MESSAGE_REGEXP = MessagesLogTailer.APP_STARTED_MESSAGE_CODE + ".*"
 
     StartTask() {
         configure({
@@ -53,7 +54,7 @@ class StartTask extends AbstractServerTask {
             long timeout = verifyAppStartTimeout * 1000
             long endTime = System.currentTimeMillis() + timeout;
 
-            Set<String> appsToVerify = getAppNamesFromServerXml()
+            Set<String> appsToVerify = getAppNamesFromServerXml() ?: new HashSet<String>()
 
             if (server.deploy.dropins != null && !server.deploy.dropins.isEmpty()) {
                 server.deploy.dropins.each { Object dropinObj ->
@@ -65,16 +66,14 @@ class StartTask extends AbstractServerTask {
                 }
             }
 
-            def verifyAppStartedThreads = appsToVerify.collect { String archiveName ->
-                Thread.start {
-                    String verify = serverTaskStop.waitForStringInLog(START_APP_MESSAGE_REGEXP + archiveName, timeout, serverTaskStop.getLogFile())
-                    if (!verify) {
-                        serverTaskStop.execute()
-                        throw new GradleException("The server has been stopped. Unable to verify if the server was started after ${verifyAppStartTimeout} seconds.")
-                    }
-                }
+            // a single reader of messages.log checks the start messages of all applications
+            List<String> startMessages = appsToVerify.collect { String archiveName -> START_APP_MESSAGE_REGEXP + archiveName }
+            MessagesLogTailer messagesLog = getMessagesLogTailer(serverTaskStop.getLogFile())
+            Map<String, Long> foundMessages = messagesLog.waitForMessages(startMessages, Math.max(endTime - System.currentTimeMillis(), 0))
+            if (!foundMessages.keySet().containsAll(startMessages)) {
+                serverTaskStop.execute()
+                throw new GradleException("The server has been stopped. Unable to verify if the server was started after ${verifyAppStartTimeout} seconds.")
             }
-            verifyAppStartedThreads*.join()
         }
     }
 
@@ -87,7 +86,8 @@ class StartTask extends AbstractServerTask {
             try {
                 getServerConfigDocument(new CommonLogger(project), serverConfigFile);
                 if (scd != null) {
-                    appNames = scd.getNames()
+                    // the document is shared with other tasks, so its set of names is copied
+                    appNames = new HashSet<String>(scd.getNames())
                     appNames += scd.getNamelessLocations().collect { String location ->
                             getNameFromLocation(location)
                         }
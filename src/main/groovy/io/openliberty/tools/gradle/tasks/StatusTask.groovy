@@ -15,11 +15,17 @@
  */
 package io.openliberty.tools.gradle.tasks
 
-
+import io.openliberty.tools.gradle.utils.ServerStatus
+import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.TaskAction
+import org.gradle.api.tasks.options.Option
 
 class StatusTask extends AbstractServerTask {
 
+    protected static final String STATUS_FILE = 'liberty-status.json'
+
+    private boolean probePorts = false
+
     StatusTask() {
         configure({
             description = 'Checks if the Liberty server is running.'
@@ -27,6 +33,16 @@ class StatusTask extends AbstractServerTask {
         })
     }
 
+    @Option(option = 'probePorts', description = 'If this option is enabled, check whether the HTTP and HTTPS ports of the server accept connections. The default value is false.')
+    void setProbePorts(boolean probePorts) {
+        this.probePorts = probePorts
+    }
+
+    @Internal
+    boolean isProbePorts() {
+        return probePorts || Boolean.parseBoolean((String) project.findProperty('liberty.status.probePorts'))
+    }
+
     @TaskAction
     void status() {
         if (isLibertyInstalledAndValid(project)) {
@@ -34,12 +50,34 @@ class StatusTask extends AbstractServerTask {
             if (serverDir.exists()) {
                 File serverXmlFile = new File(serverDir,"server.xml")
                 if (serverXmlFile.exists()) {
-                    def pb = new ProcessBuilder(buildCommand("status"))
-                    addToolchainEnvToProcessBuilder(pb)
-                    def status_process= pb.redirectErrorStream(true).start()
-                    status_process.inputStream.eachLine {
-                        println it
+                    // the toolchain JDK is resolved up front, it is used if the server script has to be run
+                    Map<String, String> toolchainEnv = getToolchainEnvVar()
+                    // the server script is only run when the status cannot be determined from the PID file
+                    ServerStatus status = ServerStatus.check(serverDir, new File(getOutputDir(project), server.name), isProbePorts(), logger)
+                    if (!status.determined) {
+                        status.running = runServerStatusCommand(toolchainEnv)
+                        if (status.running) {
+                            status.probePorts()
+                        }
+                    } else if (status.running) {
+                        if (status.pid != null) {
+                            println "Server ${server.name} is running with process ID ${status.pid}."
+                        } else {
+                            println "Server ${server.name} is running."
+                        }
+                    } else {
+                        println "Server ${server.name} is not running."
                     }
+                    for (ServerStatus.Port port : status.ports) {
+                        if (port.open != null) {
+                            println "The ${port.name} port ${port.port} on ${port.host} is ${port.open ? 'accepting connections' : 'not accepting connections'}."
+                        }
+                    }
+                    logger.debug("Checked the status of server " + server.name + " in " + status.checkMillis + " ms.")
+
+                    File statusFile = new File(project.getLayout().getBuildDirectory().getAsFile().get(), STATUS_FILE)
+                    statusFile.getParentFile().mkdirs()
+                    statusFile.text = status.toJson()
                 } else {
         	        logger.error ('The server status cannot be checked. There is no server.xml file in the server.')
                 }
@@ -51,4 +89,18 @@ class StatusTask extends AbstractServerTask {
         }
     }
 
+    // runs the server status command with the toolchain JDK, and returns whether the server is running
+    protected boolean runServerStatusCommand(Map<String, String> toolchainEnv) {
+        def pb = new ProcessBuilder(buildCommand("status"))
+        if (!toolchainEnv.isEmpty()) {
+            pb.environment().putAll(toolchainEnv)
+        }
+        def status_process = pb.redirectErrorStream(true).start()
+        status_process.inputStream.eachLine {
+            println it
+        }
+        // the command exits with 0 if the server is running
+        return status_process.waitFor() == 0
+    }
+
 }
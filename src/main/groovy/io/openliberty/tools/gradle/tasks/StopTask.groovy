@@ -40,13 +40,17 @@ class StopTask extends AbstractServerTask {
                 File serverXmlFile = new File(serverDir,"server.xml")
                 boolean defaultServerTemplateUsed = copyDefaultServerTemplate(getInstallDir(project),serverDir)
                 if (serverXmlFile.exists()) {
+                    // the PID file is read before the stop command removes it
+                    File serverOutputDir = new File(getOutputDir(project), server.name)
+                    Long serverPid = ServerUtils.readServerPid(serverOutputDir, logger)
+
                     ServerTask serverTaskStop = createServerTask(project, "stop");
                     serverTaskStop.setUseEmbeddedServer(server.embedded)
                     serverTaskStop.execute()
 
-                    if (!ServerUtils.verifyServerFullyStopped(serverDir, logger)) {
+                    if (!ServerUtils.verifyServerFullyStopped(serverOutputDir, serverPid, logger)) {
                         // If normal stop verification fails, try forced cleanup
-                        ServerUtils.forceCleanupServerResources(serverDir, logger)
+                        ServerUtils.forceCleanupServerResources(serverDir, serverPid, logger)
                     }
                 } else {
         	        logger.error ('The server cannot be stopped. There is no server.xml file in the server.')
@@ -1,5 +1,5 @@
 /**
- * (C) Copyright IBM Corporation 2014, 2025.
+ * (C) Copyright IBM Corporation 2014, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,13 +19,12 @@ import org.gradle.api.GradleException
 import org.gradle.api.Task
 import org.gradle.api.tasks.TaskAction
 
-import io.openliberty.tools.ant.ServerTask
-
 import io.openliberty.tools.gradle.utils.CommonLogger
+import io.openliberty.tools.gradle.utils.MessagesLogTailer
 
 class UndeployTask extends AbstractServerTask {
 
-    private static final String STOP_APP_MESSAGE_CODE_REG = "CWWKZ0009I.*"
+    private static final String STOP_APP_MESSAGE_CODE_REG = MessagesLogTailer.APP_STOPPED_MESSAGE_CODE + ".*"
     private static final long APP_STOP_TIMEOUT_DEFAULT = 30 * 1000
 
     protected List<File> appFiles = new ArrayList<File>()
@@ -90,8 +89,8 @@ class UndeployTask extends AbstractServerTask {
 
         //check stop message code
         String stopMessage = STOP_APP_MESSAGE_CODE_REG + appName
-        ServerTask serverTask = createServerTask(project, null) //Using a server task without an opertation to check logs for app undeploy message
-        if (serverTask.waitForStringInLog(stopMessage, appStopTimeout, new File(new File(getOutputDir(project), server.name), "logs/messages.log")) == null) {
+        MessagesLogTailer messagesLog = getMessagesLogTailer(new File(new File(getOutputDir(project), server.name), "logs/messages.log"))
+        if (messagesLog.waitForMessage(stopMessage, appStopTimeout) == null) {
             throw new GradleException("CWWKM2022E: Failed to undeploy application " + file.getPath() + ". The Stop application message cannot be found in console.log.")
         }
     }
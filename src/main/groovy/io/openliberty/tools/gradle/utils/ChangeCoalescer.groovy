@@ -0,0 +1,381 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+import java.nio.file.ClosedWatchServiceException
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds
+import java.nio.file.WatchEvent
+import java.nio.file.WatchKey
+import java.nio.file.WatchService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Batches file changes for dev mode so that a burst of changes, for example from a git checkout,
+ * a refactoring or a code generator, is processed in a single compile cycle.
+ *
+ * Before a cycle starts, {@link #awaitQuiet()} waits on a watch service of the watched directories
+ * until no file has changed for the current quiet window. Every change event seen while waiting
+ * restarts the quiet window and doubles it, starting from the minimum window, and the total wait
+ * never exceeds the maximum window. The watched directories are only scanned once the changes
+ * have settled.
+ */
+class ChangeCoalescer implements Closeable {
+
+    public static final String MAIN_SOURCES = "main"
+    public static final String TEST_SOURCES = "test"
+    public static final String RESOURCES = "resources"
+    public static final String WEB_RESOURCES = "webapp"
+
+    // the caller has usually already waited for the minimum window since the last change it saw,
+    // so this is how long to wait for further changes when nothing else changes
+    private static final long INITIAL_QUIET_MILLIS = 50
+
+    private final long minWindowMillis
+    private final long maxWindowMillis
+    private final Logger logger
+
+    private final Map<String, Collection<File>> watchedDirs = new LinkedHashMap<String, Collection<File>>()
+    private final Map<String, Map<File, String>> baselines = new HashMap<String, Map<File, String>>()
+
+    private WatchService watchService = null
+
+    ChangeCoalescer(long minWindowMillis, long maxWindowMillis, Logger logger) {
+        this.minWindowMillis = minWindowMillis
+        this.maxWindowMillis = Math.max(minWindowMillis, maxWindowMillis)
+        this.logger = logger
+        try {
+            watchService = FileSystems.getDefault().newWatchService()
+        } catch (IOException e) {
+            logger.debug("Could not create a watch service, file changes are processed without waiting for them to settle: " + e.getMessage())
+        }
+    }
+
+    /**
+     * Adds a group of directories to watch and records their current state as the baseline.
+     *
+     * @param name name of the change set, for example {@link #MAIN_SOURCES}
+     * @param dirs directories of the change set
+     */
+    synchronized void watch(String name, Collection<File> dirs) {
+        watchedDirs.put(name, new ArrayList<File>(dirs))
+        baselines.put(name, DevTaskHelper.getFileStates(dirs, null))
+        for (File dir : dirs) {
+            if (dir != null && dir.isDirectory()) {
+                register(dir.toPath())
+            }
+        }
+    }
+
+    /**
+     * Waits until the watched directories stop changing and returns the changes made since the
+     * baselines were last committed.
+     *
+     * @return the batch of changes to process in the next cycle
+     */
+    synchronized Batch awaitQuiet() throws InterruptedException {
+        long start = System.currentTimeMillis()
+        long deadline = start + maxWindowMillis
+        long quietWindow = INITIAL_QUIET_MILLIS
+        long lastChange = start
+        if (watchService != null) {
+            // the events queued before the call are the changes that started this cycle
+            drainEvents()
+            while (true) {
+                long now = System.currentTimeMillis()
+                long wait = Math.min(lastChange + quietWindow, deadline) - now
+                if (wait <= 0) {
+                    break
+                }
+                WatchKey key
+                try {
+                    key = watchService.poll(wait, TimeUnit.MILLISECONDS)
+                } catch (ClosedWatchServiceException e) {
+                    break
+                }
+                if (key == null) {
+                    break
+                }
+                processEvents(key)
+                drainEvents()
+                lastChange = System.currentTimeMillis()
+                quietWindow = Math.min(Math.max(quietWindow * 2, minWindowMillis), maxWindowMillis)
+            }
+        }
+        Map<String, Map<File, String>> current = snapshot()
+
+        Batch batch = new Batch(current, System.currentTimeMillis() - start)
+        for (Map.Entry<String, Map<File, String>> entry : current.entrySet()) {
+            batch.changeCounts.put(entry.getKey(), countChanges(baselines.get(entry.getKey()), entry.getValue()))
+            long firstChange = getFirstChangeMillis(baselines.get(entry.getKey()), entry.getValue())
+            if (firstChange > 0 && (batch.firstChangeMillis == 0 || firstChange < batch.firstChangeMillis)) {
+                batch.firstChangeMillis = firstChange
+            }
+        }
+        if (batch.getTotalChangeCount() > 1) {
+            logger.lifecycle("Processing " + batch.getTotalChangeCount() + " file changes in one cycle " + batch.changeCounts.findAll { it.value > 0 } +
+                    " after waiting " + batch.waitedMillis + " ms for changes to settle.")
+        } else {
+            logger.debug("Processing " + batch.getTotalChangeCount() + " file change(s) after waiting " + batch.waitedMillis + " ms.")
+        }
+        return batch
+    }
+
+    /**
+     * Returns whether files of the named change set changed since its baseline was last committed.
+     * A change set without a baseline is not reported as changed.
+     */
+    synchronized boolean hasChanges(String name) {
+        Map<File, String> baseline = baselines.get(name)
+        Collection<File> dirs = watchedDirs.get(name)
+        return baseline != null && dirs != null && !baseline.equals(DevTaskHelper.getFileStates(dirs, null))
+    }
+
+    /**
+     * Returns whether a file is in one of the directories of the named change set.
+     */
+    synchronized boolean isWatched(String name, File file) {
+        Collection<File> dirs = watchedDirs.get(name)
+        if (dirs != null) {
+            Path path = file.getAbsoluteFile().toPath()
+            for (File dir : dirs) {
+                if (dir != null && path.startsWith(dir.getAbsoluteFile().toPath())) {
+                    return true
+                }
+            }
+        }
+        return false
+    }
+
+    /**
+     * Returns whether the current state of a file of the named change set was already processed,
+     * because it is the state recorded in the baseline.
+     */
+    synchronized boolean isCommitted(String name, File file) {
+        Map<File, String> baseline = baselines.get(name)
+        return baseline != null && Objects.equals(baseline.get(file.getAbsoluteFile()), getFileState(file))
+    }
+
+    /**
+     * Marks the current state of a single file of the named change set as processed.
+     */
+    synchronized void commitFile(String name, File file) {
+        Map<File, String> baseline = baselines.get(name)
+        if (baseline != null) {
+            String state = getFileState(file)
+            if (state == null) {
+                baseline.remove(file.getAbsoluteFile())
+            } else {
+                baseline.put(file.getAbsoluteFile(), state)
+            }
+        }
+    }
+
+    /**
+     * Returns whether a change to a main resource is left to the compile cycle of the Java changes.
+     * Main resource changes made together with main Java changes are copied by the processResources
+     * task of that cycle, so that a save touching both is processed in one cycle.
+     *
+     * @param file the changed resource
+     * @return true if the current state of the resource was already processed by a compile cycle, or
+     *         if main Java changes are pending
+     */
+    synchronized boolean isResourceChangeCoalesced(File file) {
+        if (!isWatched(RESOURCES, file)) {
+            return false
+        }
+        if (isCommitted(RESOURCES, file)) {
+            logger.debug("The change to " + file + " was already processed with the Java changes.")
+            return true
+        }
+        if (hasChanges(MAIN_SOURCES)) {
+            logger.debug("The change to " + file + " is processed with the pending Java changes.")
+            return true
+        }
+        return false
+    }
+
+    /**
+     * Marks the current state of a main resource that was copied on its own as processed.
+     */
+    synchronized void commitResourceChange(File file) {
+        if (isWatched(RESOURCES, file)) {
+            commitFile(RESOURCES, file)
+        }
+    }
+
+    /**
+     * Forgets the baselines of the named change sets, so they are reported as changed by the next
+     * batch. Used when the state of their output is unknown, for example before the first compilation.
+     */
+    synchronized void invalidate(String... names) {
+        for (String name : names) {
+            baselines.remove(name)
+        }
+    }
+
+    /**
+     * Marks the changes of the batch in the named change sets as processed.
+     */
+    synchronized void commit(Batch batch, String... names) {
+        for (String name : names) {
+            Map<File, String> states = batch.states.get(name)
+            if (states != null) {
+                baselines.put(name, new HashMap<File, String>(states))
+            }
+        }
+    }
+
+    @Override
+    synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close()
+            } catch (IOException e) {
+                logger.debug("Error closing the watch service: " + e.getMessage())
+            }
+            watchService = null
+        }
+    }
+
+    private void drainEvents() {
+        WatchKey key
+        while ((key = watchService.poll()) != null) {
+            processEvents(key)
+        }
+    }
+
+    // watches the directories created inside the watched directories, so their files are seen too
+    private void processEvents(WatchKey key) {
+        Path dir = (Path) key.watchable()
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                Path created = dir.resolve((Path) event.context())
+                if (Files.isDirectory(created)) {
+                    register(created)
+                }
+            }
+        }
+        key.reset()
+    }
+
+    private void register(Path dir) {
+        if (watchService == null) {
+            return
+        }
+        try {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE)
+            File[] children = dir.toFile().listFiles()
+            if (children != null) {
+                for (File child : children) {
+                    if (child.isDirectory()) {
+                        register(child.toPath())
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not watch " + dir + " for changes: " + e.getMessage())
+        }
+    }
+
+    private Map<String, Map<File, String>> snapshot() {
+        Map<String, Map<File, String>> states = new HashMap<String, Map<File, String>>()
+        for (Map.Entry<String, Collection<File>> entry : watchedDirs.entrySet()) {
+            states.put(entry.getKey(), DevTaskHelper.getFileStates(entry.getValue(), null))
+        }
+        return states
+    }
+
+    // same format as DevTaskHelper.getFileStates, or null if the file does not exist
+    private static String getFileState(File file) {
+        return file.isFile() ? file.lastModified() + ":" + file.length() : null
+    }
+
+    // returns -1 if there is no baseline to compare with
+    private static int countChanges(Map<File, String> baseline, Map<File, String> states) {
+        if (baseline == null) {
+            return -1
+        }
+        int count = 0
+        for (Map.Entry<File, String> entry : states.entrySet()) {
+            if (!entry.getValue().equals(baseline.get(entry.getKey()))) {
+                count++
+            }
+        }
+        for (File file : baseline.keySet()) {
+            if (!states.containsKey(file)) {
+                count++
+            }
+        }
+        return count
+    }
+
+    // returns the earliest modification time of the changed files, or 0 if unknown
+    private static long getFirstChangeMillis(Map<File, String> baseline, Map<File, String> states) {
+        if (baseline == null) {
+            return 0
+        }
+        long first = 0
+        for (Map.Entry<File, String> entry : states.entrySet()) {
+            if (!entry.getValue().equals(baseline.get(entry.getKey()))) {
+                long modified = Long.parseLong(entry.getValue().substring(0, entry.getValue().indexOf(':')))
+                if (first == 0 || modified < first) {
+                    first = modified
+                }
+            }
+        }
+        return first
+    }
+
+    /**
+     * Changes collected by one call to {@link #awaitQuiet()}.
+     */
+    static class Batch {
+        private final Map<String, Map<File, String>> states
+        final Map<String, Integer> changeCounts = new LinkedHashMap<String, Integer>()
+        final long waitedMillis
+
+        /** Earliest modification time of the changed files, or 0 if unknown */
+        long firstChangeMillis = 0
+
+        Batch(Map<String, Map<File, String>> states, long waitedMillis) {
+            this.states = states
+            this.waitedMillis = waitedMillis
+        }
+
+        /**
+         * Returns whether the named change set has changes, or has never been processed.
+         */
+        boolean hasChanges(String name) {
+            Integer count = changeCounts.get(name)
+            return count != null && count != 0
+        }
+
+        int getTotalChangeCount() {
+            int total = 0
+            for (Integer count : changeCounts.values()) {
+                if (count > 0) {
+                    total += count
+                }
+            }
+            return total
+        }
+    }
+}
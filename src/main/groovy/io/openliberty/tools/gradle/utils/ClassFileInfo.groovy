@@ -0,0 +1,257 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+
+/**
+ * Summary of a compiled class read directly from its class file constant pool. Only the
+ * information needed by dev mode to track dependencies between classes is kept.
+ */
+class ClassFileInfo {
+
+    private static final int ACC_PRIVATE = 0x0002
+    private static final int ACC_STATIC = 0x0008
+    private static final int ACC_FINAL = 0x0010
+    private static final int ACC_INTERFACE = 0x0200
+    private static final int ACC_ABSTRACT = 0x0400
+
+    // matches class references inside field, method, generic signature and annotation descriptors
+    private static final Pattern DESCRIPTOR_CLASS_PATTERN = Pattern.compile('L([^;<>:()\\[\\s]+)[;<]')
+
+    /** Binary name of the class, for example com.example.Outer$Inner */
+    String className
+
+    /** Access flags of the class */
+    int accessFlags
+
+    /** Binary name of the super class, or null for java.lang.Object */
+    String superClassName
+
+    /** Binary names of the directly implemented interfaces */
+    Set<String> interfaceNames = new LinkedHashSet<String>()
+
+    /** Binary names of every class referenced from the constant pool */
+    Set<String> referencedClasses = new HashSet<String>()
+
+    /** Value of the SourceFile attribute, for example Outer.java */
+    String sourceFileName
+
+    /** Whether the class declares non-private compile time constants that javac may inline into other classes */
+    boolean hasInlinableConstants = false
+
+    /**
+     * Access flags, super types, fields and methods of the class. Two versions of a class with the same
+     * structure only differ in their method bodies and constant pools.
+     */
+    String structure
+
+    /**
+     * Returns the source file path relative to a source root, for example com/example/Outer.java,
+     * or null if the class was compiled without source file information.
+     */
+    String getSourceRelativePath() {
+        if (sourceFileName == null) {
+            return null
+        }
+        int lastDot = className.lastIndexOf('.')
+        if (lastDot < 0) {
+            return sourceFileName
+        }
+        return className.substring(0, lastDot).replace('.', '/') + '/' + sourceFileName
+    }
+
+    /**
+     * Returns whether the class can be instantiated, that is whether it is neither an interface nor abstract.
+     */
+    boolean isConcrete() {
+        return (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0
+    }
+
+    /**
+     * Returns the binary name of the top level class that encloses this class, or the class name itself.
+     */
+    String getTopLevelClassName() {
+        int dollar = className.indexOf('$', className.lastIndexOf('.') + 1)
+        return dollar > 0 ? className.substring(0, dollar) : className
+    }
+
+    /**
+     * Returns the super class and interfaces of this class.
+     */
+    Set<String> getSuperTypes() {
+        Set<String> superTypes = new HashSet<String>(interfaceNames)
+        if (superClassName != null) {
+            superTypes.add(superClassName)
+        }
+        return superTypes
+    }
+
+    static ClassFileInfo read(File classFile) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(classFile)))
+        try {
+            return read(input)
+        } finally {
+            input.close()
+        }
+    }
+
+    static ClassFileInfo read(DataInputStream input) throws IOException {
+        if ((input.readInt() & 0xFFFFFFFFL) != 0xCAFEBABEL) {
+            throw new IOException("Not a class file")
+        }
+        input.readUnsignedShort() // minor version
+        input.readUnsignedShort() // major version
+
+        int constantPoolCount = input.readUnsignedShort()
+        String[] utf8Entries = new String[constantPoolCount]
+        int[] classEntries = new int[constantPoolCount]
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = input.readUnsignedByte()
+            switch (tag) {
+                case 1: // Utf8
+                    utf8Entries[i] = input.readUTF()
+                    break
+                case 7: // Class
+                    classEntries[i] = input.readUnsignedShort()
+                    break
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    input.readUnsignedShort()
+                    break
+                case 15: // MethodHandle
+                    input.readUnsignedByte()
+                    input.readUnsignedShort()
+                    break
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    input.readInt()
+                    break
+                case 5: // Long
+                case 6: // Double
+                    input.readLong()
+                    i++ // eight byte constants take two entries
+                    break
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag)
+            }
+        }
+
+        ClassFileInfo info = new ClassFileInfo()
+        info.accessFlags = input.readUnsignedShort()
+        info.className = toBinaryName(utf8Entries[classEntries[input.readUnsignedShort()]])
+        int superIndex = input.readUnsignedShort()
+        if (superIndex != 0) {
+            info.superClassName = toBinaryName(utf8Entries[classEntries[superIndex]])
+        }
+        int interfacesCount = input.readUnsignedShort()
+        for (int i = 0; i < interfacesCount; i++) {
+            info.interfaceNames.add(toBinaryName(utf8Entries[classEntries[input.readUnsignedShort()]]))
+        }
+
+        List<String> members = new ArrayList<String>()
+        int fieldsCount = input.readUnsignedShort()
+        for (int i = 0; i < fieldsCount; i++) {
+            int access = input.readUnsignedShort()
+            members.add("field " + access + " " + utf8Entries[input.readUnsignedShort()] + " " + utf8Entries[input.readUnsignedShort()])
+            int attributesCount = input.readUnsignedShort()
+            for (int j = 0; j < attributesCount; j++) {
+                String attributeName = utf8Entries[input.readUnsignedShort()]
+                int length = input.readInt()
+                if ("ConstantValue".equals(attributeName) && (access & (ACC_STATIC | ACC_FINAL)) == (ACC_STATIC | ACC_FINAL)
+                        && (access & ACC_PRIVATE) == 0) {
+                    info.hasInlinableConstants = true
+                }
+                skipFully(input, length)
+            }
+        }
+
+        int methodsCount = input.readUnsignedShort()
+        for (int i = 0; i < methodsCount; i++) {
+            int access = input.readUnsignedShort()
+            members.add("method " + access + " " + utf8Entries[input.readUnsignedShort()] + " " + utf8Entries[input.readUnsignedShort()])
+            skipAttributes(input)
+        }
+        Collections.sort(members)
+        info.structure = info.accessFlags + " " + info.superClassName + " " + info.interfaceNames + " " + members
+
+        int attributesCount = input.readUnsignedShort()
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8Entries[input.readUnsignedShort()]
+            int length = input.readInt()
+            if ("SourceFile".equals(attributeName)) {
+                info.sourceFileName = utf8Entries[input.readUnsignedShort()]
+            } else {
+                skipFully(input, length)
+            }
+        }
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            if (classEntries[i] != 0) {
+                String name = utf8Entries[classEntries[i]]
+                if (name.startsWith('[')) {
+                    addDescriptorClasses(name, info.referencedClasses)
+                } else {
+                    info.referencedClasses.add(toBinaryName(name))
+                }
+            } else if (utf8Entries[i] != null && utf8Entries[i].indexOf(';') > 0) {
+                // descriptors and signatures of fields, methods and annotations
+                addDescriptorClasses(utf8Entries[i], info.referencedClasses)
+            }
+        }
+        info.referencedClasses.remove(info.className)
+        return info
+    }
+
+    private static void addDescriptorClasses(String descriptor, Set<String> classes) {
+        Matcher matcher = DESCRIPTOR_CLASS_PATTERN.matcher(descriptor)
+        while (matcher.find()) {
+            classes.add(toBinaryName(matcher.group(1)))
+        }
+    }
+
+    private static void skipAttributes(DataInputStream input) throws IOException {
+        int attributesCount = input.readUnsignedShort()
+        for (int i = 0; i < attributesCount; i++) {
+            input.readUnsignedShort() // name
+            skipFully(input, input.readInt())
+        }
+    }
+
+    private static void skipFully(DataInputStream input, int length) throws IOException {
+        int remaining = length
+        while (remaining > 0) {
+            int skipped = input.skipBytes(remaining)
+            if (skipped <= 0) {
+                throw new EOFException()
+            }
+            remaining -= skipped
+        }
+    }
+
+    private static String toBinaryName(String internalName) {
+        return internalName.replace('/', '.')
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * (C) Copyright IBM Corporation 2019, 2024.
+ * (C) Copyright IBM Corporation 2019, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,48 +19,53 @@ import io.openliberty.tools.common.CommonLoggerI
 
 import org.gradle.api.Project
 import org.gradle.api.logging.LogLevel
+import org.gradle.api.logging.Logger
 
 public class CommonLogger implements CommonLoggerI {
 
-    private Project project
+    private Logger logger
 
     public CommonLogger(Project project) {
-        this.project = project
+        this(project.getLogger())
+    }
+
+    public CommonLogger(Logger logger) {
+        this.logger = logger
     }
 
     @Override
     public void debug(String msg) {
-        project.getLogger().debug(msg)
+        logger.debug(msg)
     }
 
     @Override
     public void debug(String msg, Throwable e) {
-        project.getLogger().debug(msg, (Throwable) e)
+        logger.debug(msg, (Throwable) e)
     }
 
     @Override
     public void debug(Throwable e) {
-        project.getLogger().debug("Exception received: "+e.getMessage(), (Throwable) e)
+        logger.debug("Exception received: "+e.getMessage(), (Throwable) e)
     }
 
     @Override
     public void warn(String msg) {
-        project.getLogger().warn(msg)
+        logger.warn(msg)
     }
 
     @Override
     public void info(String msg) {
-        project.getLogger().info(msg)
+        logger.info(msg)
     }
 
     @Override
     public void error(String msg) {
-        project.getLogger().error(msg)
+        logger.error(msg)
     }
 
     @Override
     public boolean isDebugEnabled() {
-        return project.getLogger().isEnabled(LogLevel.DEBUG)
+        return logger.isEnabled(LogLevel.DEBUG)
     }
 
 }
\ No newline at end of file
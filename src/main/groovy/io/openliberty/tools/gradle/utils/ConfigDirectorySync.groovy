@@ -0,0 +1,316 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+
+/**
+ * Keeps a server directory in sync with a source configuration directory without rewriting files
+ * that did not change, so that the modification times seen by the Liberty configuration monitor
+ * only change for files that were actually updated.
+ *
+ * A manifest under the build directory records the content hash and size and modification time
+ * of every file copied by a previous sync, and of its copy in the server directory. A file is
+ * copied again only when its content differs from the copy in the server directory, and a file
+ * that was copied by a previous sync and has since been removed from the source is deleted.
+ * Every file is written to a temporary file first and then moved into place.
+ */
+class ConfigDirectorySync {
+
+    private static final String TARGET_DIR_KEY = "#targetDir"
+    private static final String TEMP_PREFIX = ".liberty-sync-"
+
+    private final File manifestFile
+    private final Logger logger
+
+    ConfigDirectorySync(File manifestFile, Logger logger) {
+        this.manifestFile = manifestFile
+        this.logger = logger
+    }
+
+    /**
+     * Copies the new and changed files of the source directory into the target directory and deletes
+     * the files that were copied by a previous sync but no longer exist in the source directory.
+     *
+     * @param sourceDir the configuration directory
+     * @param targetDir the server directory
+     * @param filter files and directories to sync, or null to sync everything. Files that are not
+     *               accepted are neither copied nor deleted.
+     * @return the number of files that were copied or deleted
+     */
+    int sync(File sourceDir, File targetDir, FileFilter filter) throws IOException {
+        Properties previous = loadManifest(targetDir)
+        Properties current = new Properties()
+        current.setProperty(TARGET_DIR_KEY, targetDir.getCanonicalPath())
+
+        int copied = 0
+        int unchanged = 0
+        Map<String, File> sourceFiles = new TreeMap<String, File>()
+        collectFiles(sourceDir, "", filter, targetDir, sourceFiles)
+        for (Map.Entry<String, File> entry : sourceFiles.entrySet()) {
+            File source = entry.getValue()
+            File target = new File(targetDir, entry.getKey())
+            FileState recorded = FileState.parse(previous.getProperty(entry.getKey()))
+            FileState state = syncFile(source, target, recorded)
+            if (state.copied) {
+                copied++
+            } else {
+                unchanged++
+            }
+            current.setProperty(entry.getKey(), state.toString())
+        }
+
+        int deleted = 0
+        for (String path : previous.stringPropertyNames()) {
+            if (TARGET_DIR_KEY.equals(path) || current.containsKey(path)) {
+                continue
+            }
+            File source = new File(sourceDir, path)
+            File target = new File(targetDir, path)
+            if (!source.exists() && target.isFile()) {
+                if (target.delete()) {
+                    logger.debug("Deleted " + target + " since it was removed from " + sourceDir)
+                    deleted++
+                } else {
+                    logger.warn("Could not delete " + target + " after it was removed from " + sourceDir)
+                }
+            }
+        }
+
+        saveManifest(current)
+        logger.info("Synchronized " + sourceDir + " to " + targetDir + ": " + copied + " copied, " + deleted + " deleted, " + unchanged + " unchanged.")
+        return copied + deleted
+    }
+
+    private void collectFiles(File dir, String prefix, FileFilter filter, File targetDir, Map<String, File> files) {
+        File[] children = dir.listFiles()
+        if (children == null) {
+            return
+        }
+        for (File child : children) {
+            if (filter != null && !filter.accept(child)) {
+                continue
+            }
+            String path = prefix + child.getName()
+            if (child.isDirectory()) {
+                // keep empty directories, like a full copy does
+                new File(targetDir, path).mkdirs()
+                collectFiles(child, path + "/", filter, targetDir, files)
+            } else {
+                files.put(path, child)
+            }
+        }
+    }
+
+    private FileState syncFile(File source, File target, FileState recorded) throws IOException {
+        FileState state = new FileState()
+        state.sourceModified = source.lastModified()
+        state.sourceLength = source.length()
+        boolean sourceUnchanged = recorded != null && recorded.sourceModified == state.sourceModified && recorded.sourceLength == state.sourceLength
+        if (sourceUnchanged && target.isFile() && recorded.targetModified == target.lastModified() && recorded.targetLength == target.length()) {
+            // neither file was touched since the last sync
+            return recorded
+        }
+
+        state.hash = sourceUnchanged ? recorded.hash : hash(source)
+        if (!target.isFile() || target.length() != state.sourceLength || !state.hash.equals(hash(target))) {
+            copyAtomically(source, target)
+            state.copied = true
+            logger.debug("Copied " + source + " to " + target)
+        }
+        state.targetModified = target.lastModified()
+        state.targetLength = target.length()
+        return state
+    }
+
+    private Properties loadManifest(File targetDir) {
+        Properties manifest = new Properties()
+        if (manifestFile.isFile()) {
+            try {
+                InputStream input = new FileInputStream(manifestFile)
+                try {
+                    manifest.load(input)
+                } finally {
+                    input.close()
+                }
+            } catch (IOException e) {
+                logger.debug("Could not read " + manifestFile + ", all files will be compared.", e)
+                manifest.clear()
+            }
+        }
+        if (!targetDir.getCanonicalPath().equals(manifest.getProperty(TARGET_DIR_KEY))) {
+            // the manifest was written for another server directory
+            manifest.clear()
+        }
+        return manifest
+    }
+
+    private void saveManifest(Properties manifest) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        manifest.store(output, "Liberty configuration directory sync manifest")
+        writeIfChanged(manifestFile, output.toByteArray())
+    }
+
+    /**
+     * Writes the content to the file through a temporary file in the same directory, unless the
+     * file already has exactly this content.
+     *
+     * @param file the file to write
+     * @param content the new content of the file
+     * @return true if the file was written, false if it was unchanged
+     */
+    static boolean writeIfChanged(File file, byte[] content) throws IOException {
+        if (file.isFile() && file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content)) {
+            return false
+        }
+        File parent = file.getAbsoluteFile().getParentFile()
+        parent.mkdirs()
+        Path temp = Files.createTempFile(parent.toPath(), TEMP_PREFIX, ".tmp")
+        try {
+            Files.write(temp, content)
+            moveAtomically(temp, file.toPath())
+        } finally {
+            Files.deleteIfExists(temp)
+        }
+        return true
+    }
+
+    /**
+     * Moves the new version of a file into place through a temporary file in the same directory,
+     * unless the file already has exactly the same content as the new version, which is deleted
+     * either way.
+     *
+     * @param newFile the new version of the file
+     * @param file the file to replace
+     * @return true if the file was replaced, false if it was unchanged
+     */
+    static boolean replaceIfChanged(File newFile, File file) throws IOException {
+        try {
+            if (file.isFile() && file.length() == newFile.length() && Arrays.equals(Files.readAllBytes(file.toPath()), Files.readAllBytes(newFile.toPath()))) {
+                return false
+            }
+            File parent = file.getAbsoluteFile().getParentFile()
+            parent.mkdirs()
+            Path temp = Files.createTempFile(parent.toPath(), TEMP_PREFIX, ".tmp")
+            try {
+                Files.copy(newFile.toPath(), temp, StandardCopyOption.REPLACE_EXISTING)
+                moveAtomically(temp, file.toPath())
+            } finally {
+                Files.deleteIfExists(temp)
+            }
+            return true
+        } finally {
+            newFile.delete()
+        }
+    }
+
+    /**
+     * Copies a file through a temporary file in the same directory as the target, unless the target
+     * already has the same content hash as the source. Unlike {@link #replaceIfChanged(File, File)}
+     * the source is kept, and large files such as application archives are not read into memory.
+     *
+     * @param source the file to copy
+     * @param target the file to replace
+     * @return true if the file was copied, false if it was unchanged
+     */
+    static boolean copyIfChanged(File source, File target) throws IOException {
+        if (target.isFile() && target.length() == source.length() && hash(target).equals(hash(source))) {
+            return false
+        }
+        copyAtomically(source, target)
+        return true
+    }
+
+    private static void copyAtomically(File source, File target) throws IOException {
+        File parent = target.getParentFile()
+        parent.mkdirs()
+        Path temp = Files.createTempFile(parent.toPath(), TEMP_PREFIX, ".tmp")
+        try {
+            // keep the modification time of the source, like a full directory copy does
+            Files.copy(source.toPath(), temp, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES)
+            moveAtomically(temp, target.toPath())
+        } finally {
+            Files.deleteIfExists(temp)
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING)
+        }
+    }
+
+    private static String hash(File file) throws IOException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256")
+        InputStream input = new BufferedInputStream(new FileInputStream(file))
+        try {
+            byte[] buffer = new byte[8192]
+            int read
+            while ((read = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, read)
+            }
+        } finally {
+            input.close()
+        }
+        return digest.digest().encodeHex().toString()
+    }
+
+    /**
+     * Manifest entry of a synced file, stored as hash:sourceModified:sourceLength:targetModified:targetLength.
+     */
+    private static class FileState {
+        String hash
+        long sourceModified
+        long sourceLength
+        long targetModified
+        long targetLength
+        boolean copied = false
+
+        static FileState parse(String value) {
+            if (value == null) {
+                return null
+            }
+            String[] parts = value.split(":")
+            if (parts.length != 5) {
+                return null
+            }
+            try {
+                FileState state = new FileState()
+                state.hash = parts[0]
+                state.sourceModified = Long.parseLong(parts[1])
+                state.sourceLength = Long.parseLong(parts[2])
+                state.targetModified = Long.parseLong(parts[3])
+                state.targetLength = Long.parseLong(parts[4])
+                return state
+            } catch (NumberFormatException e) {
+                return null
+            }
+        }
+
+        @Override
+        String toString() {
+            return hash + ":" + sourceModified + ":" + sourceLength + ":" + targetModified + ":" + targetLength
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.Timespan
+
+/**
+ * Flight recorder event for one phase of a dev mode cycle, emitted by {@link DevCycleTimer}.
+ */
+@Name("io.openliberty.tools.gradle.DevCyclePhase")
+@Label("Liberty Dev Mode Phase")
+@Category(["Liberty", "Dev Mode"])
+@Description("Time spent in one phase of a dev mode cycle, from a file change to the application being available again")
+class DevCycleEvent extends Event {
+
+    @Label("Trigger")
+    String trigger
+
+    @Label("Phase")
+    String phase
+
+    @Label("Duration")
+    @Timespan(Timespan.MILLISECONDS)
+    long durationMillis
+
+    static void emit(String trigger, String phase, long durationMillis) {
+        DevCycleEvent event = new DevCycleEvent()
+        if (event.isEnabled()) {
+            event.trigger = trigger
+            event.phase = phase
+            event.durationMillis = durationMillis
+            event.commit()
+        }
+    }
+}
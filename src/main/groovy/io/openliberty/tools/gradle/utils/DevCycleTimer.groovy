@@ -0,0 +1,224 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import org.gradle.api.logging.Logger
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+
+/**
+ * Times each dev mode cycle, from a file change until the application is available again, split
+ * into phases. Finished cycles are appended to a rolling JSON file and emitted as flight recorder
+ * events.
+ *
+ * A cycle ends when the application started or updated message is written to messages.log, which
+ * is followed by the tailer that the server tasks share, when no such message arrives within the
+ * timeout after the last phase, or when the next cycle starts.
+ */
+class DevCycleTimer implements Closeable {
+
+    public static final String DETECT = "detect"
+    public static final String DEBOUNCE = "debounce"
+    public static final String COMPILE = "compile"
+    public static final String DEPLOY = "deploy"
+    public static final String FEATURES = "features"
+    public static final String RESTART = "restart"
+    public static final String APP_STARTED = "appStarted"
+    public static final String TOTAL = "total"
+
+    static final List<String> PHASES = [DETECT, DEBOUNCE, COMPILE, DEPLOY, FEATURES, RESTART, APP_STARTED]
+
+    // CWWKZ0001I: application started, CWWKZ0003I: application updated
+    private static final List<String> APP_STARTED_MESSAGES = ['CWWKZ0001I', 'CWWKZ0003I']
+
+    static final int MAX_CYCLES = 500
+
+    private final File timingsFile
+    private final MessagesLogTailer messagesLogTailer
+    private final Closure lineListener = { String line -> lineLogged(line) }
+    private final long appStartTimeoutMillis
+    private final Logger logger
+
+    private final List<Map<String, Object>> cycles = new ArrayList<Map<String, Object>>()
+    private Cycle current = null
+
+    DevCycleTimer(File timingsFile, MessagesLogTailer messagesLogTailer, long appStartTimeoutMillis, Logger logger) {
+        this.timingsFile = timingsFile
+        this.messagesLogTailer = messagesLogTailer
+        this.appStartTimeoutMillis = appStartTimeoutMillis
+        this.logger = logger
+        loadCycles()
+        messagesLogTailer.addListener(lineListener)
+    }
+
+    /**
+     * Ends the current cycle and starts a new one.
+     *
+     * @param trigger what started the cycle, for example "source change"
+     * @param firstChangeMillis time the first changed file was modified, or 0 if unknown
+     * @param debounceMillis time spent waiting for the changes to settle
+     */
+    synchronized void startCycle(String trigger, long firstChangeMillis, long debounceMillis) {
+        endCycle()
+        current = new Cycle(trigger)
+        if (firstChangeMillis > 0) {
+            // time until dev mode noticed the change, not counting the wait for the changes to settle
+            record(DETECT, Math.max(0, current.startMillis - firstChangeMillis - debounceMillis))
+        }
+        if (debounceMillis > 0) {
+            record(DEBOUNCE, debounceMillis)
+        }
+    }
+
+    /**
+     * Adds time to a phase of the current cycle. A phase that runs outside of any cycle, for
+     * example a server restart requested from the console, starts a cycle of its own.
+     */
+    synchronized void record(String phase, long millis) {
+        if (current == null) {
+            current = new Cycle(phase)
+        }
+        Long previous = current.phases.get(phase)
+        current.phases.put(phase, (previous == null ? 0L : previous) + millis)
+        current.lastPhaseEndMillis = System.currentTimeMillis()
+    }
+
+    /**
+     * Finishes the current cycle, if any, and saves its timings.
+     */
+    synchronized void endCycle() {
+        if (current == null) {
+            return
+        }
+        Cycle cycle = current
+        current = null
+
+        long total = 0
+        for (Long millis : cycle.phases.values()) {
+            total += millis
+        }
+        Map<String, Object> record = new LinkedHashMap<String, Object>()
+        record.put("start", cycle.startMillis)
+        record.put("trigger", cycle.trigger)
+        record.put("phases", new LinkedHashMap<String, Long>(cycle.phases))
+        record.put(TOTAL, total)
+        cycles.add(record)
+        while (cycles.size() > MAX_CYCLES) {
+            cycles.remove(0)
+        }
+        logger.debug("Dev mode cycle for " + cycle.trigger + " took " + total + " ms " + cycle.phases)
+
+        saveCycles()
+        for (Map.Entry<String, Long> phase : cycle.phases.entrySet()) {
+            DevCycleEvent.emit(cycle.trigger, phase.getKey(), phase.getValue())
+        }
+        DevCycleEvent.emit(cycle.trigger, TOTAL, total)
+    }
+
+    /**
+     * Returns the median and 95th percentile of each phase over the saved cycles, one line per phase.
+     */
+    synchronized String getSummary() {
+        Map<String, List<Long>> samples = new LinkedHashMap<String, List<Long>>()
+        for (String phase : PHASES + [TOTAL]) {
+            samples.put(phase, new ArrayList<Long>())
+        }
+        for (Map<String, Object> cycle : cycles) {
+            Map<String, Object> phases = (Map<String, Object>) cycle.get("phases")
+            for (Map.Entry<String, Object> phase : phases.entrySet()) {
+                samples.get(phase.getKey())?.add(((Number) phase.getValue()).longValue())
+            }
+            samples.get(TOTAL).add(((Number) cycle.get(TOTAL)).longValue())
+        }
+
+        StringBuilder summary = new StringBuilder("Dev mode cycle timings over the last " + cycles.size() + " cycles (" + timingsFile + "):")
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            List<Long> values = entry.getValue()
+            if (!values.isEmpty()) {
+                Collections.sort(values)
+                summary.append(String.format("%n    %-10s count=%d p50=%d ms p95=%d ms", entry.getKey(), values.size(),
+                        percentile(values, 50), percentile(values, 95)))
+            }
+        }
+        return summary.toString()
+    }
+
+    @Override
+    void close() {
+        messagesLogTailer.removeListener(lineListener)
+        endCycle()
+    }
+
+    // nearest rank percentile of sorted values
+    static long percentile(List<Long> sortedValues, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0d * sortedValues.size())
+        return sortedValues.get(Math.max(0, rank - 1))
+    }
+
+    // called by the tailer with each new line of messages.log
+    private synchronized void lineLogged(String line) {
+        if (current == null || current.lastPhaseEndMillis == 0) {
+            return
+        }
+        long sinceLastPhase = System.currentTimeMillis() - current.lastPhaseEndMillis
+        if (sinceLastPhase > appStartTimeoutMillis) {
+            endCycle()
+        } else if (APP_STARTED_MESSAGES.any { line.contains(it) }) {
+            record(APP_STARTED, sinceLastPhase)
+            endCycle()
+        }
+    }
+
+    private void loadCycles() {
+        if (!timingsFile.isFile()) {
+            return
+        }
+        try {
+            Object saved = new JsonSlurper().parse(timingsFile, StandardCharsets.UTF_8.name())
+            if (saved instanceof Map && saved.get("cycles") instanceof List) {
+                cycles.addAll((List<Map<String, Object>>) saved.get("cycles"))
+            }
+        } catch (Exception e) {
+            logger.debug("Ignoring unreadable dev mode timings file " + timingsFile + ": " + e.getMessage())
+        }
+    }
+
+    private void saveCycles() {
+        try {
+            timingsFile.getParentFile().mkdirs()
+            File tempFile = new File(timingsFile.getParentFile(), timingsFile.getName() + ".tmp")
+            tempFile.setText(JsonOutput.prettyPrint(JsonOutput.toJson([cycles: cycles])), StandardCharsets.UTF_8.name())
+            Files.move(tempFile.toPath(), timingsFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        } catch (IOException e) {
+            logger.debug("Could not write dev mode timings file " + timingsFile + ": " + e.getMessage())
+        }
+    }
+
+    private static class Cycle {
+        final String trigger
+        final long startMillis = System.currentTimeMillis()
+        final Map<String, Long> phases = new LinkedHashMap<String, Long>()
+        long lastPhaseEndMillis = 0
+
+        Cycle(String trigger) {
+            this.trigger = trigger
+        }
+    }
+}
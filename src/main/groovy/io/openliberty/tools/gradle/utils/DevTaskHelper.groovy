@@ -104,6 +104,23 @@ public class DevTaskHelper {
         return allDependentProjects;
     }
 
+    /**
+     * Get the projects that depend on the changed project, directly or transitively, out of the given projects
+     *
+     * @param changedProject project that changed
+     * @param upstreamProjectsByProject every project of the dev mode session mapped to all of its upstream projects
+     * @return downstream projects of the changed project
+     */
+    public static Set<Project> getDownstreamProjects(Project changedProject, Map<Project, Set<Project>> upstreamProjectsByProject) {
+        Set<Project> downstreamProjects = new LinkedHashSet<Project>()
+        for (Map.Entry<Project, Set<Project>> entry : upstreamProjectsByProject.entrySet()) {
+            if (entry.getValue().contains(changedProject)) {
+                downstreamProjects.add(entry.getKey())
+            }
+        }
+        return downstreamProjects
+    }
+
     /**
      * get web app source directories
      * @param project
@@ -185,4 +202,25 @@ public class DevTaskHelper {
         }
         parentBuildFiles.put(parentBuildGradle, childBuildFiles)
     }
+
+    /**
+     * Get the last modified time and length of every file under the given directories
+     *
+     * @param dirs directories to scan, directories that do not exist are ignored
+     * @param extension only include files with this extension, or null to include all files
+     * @return map of each file to a string describing its current state
+     */
+    public static Map<File, String> getFileStates(Collection<File> dirs, String extension) {
+        Map<File, String> states = new HashMap<File, String>()
+        for (File dir : dirs) {
+            if (dir != null && dir.isDirectory()) {
+                dir.eachFileRecurse { File file ->
+                    if (file.isFile() && (extension == null || file.getName().endsWith(extension))) {
+                        states.put(file, file.lastModified() + ":" + file.length())
+                    }
+                }
+            }
+        }
+        return states
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import io.openliberty.tools.common.plugins.util.ServerFeatureUtil
+import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms
+import org.gradle.api.logging.Logger
+
+/**
+ * Persists the features and platforms resolved from a server configuration, so that they are not
+ * resolved again from server.xml, its includes and configDropins while none of those files changed.
+ *
+ * An entry is keyed by the server directory, the server.xml file, the Liberty directory variables
+ * and the excluded files passed to the resolution. It is reused as long as the modification time
+ * and size of every file the configuration is read from are the same as when it was resolved.
+ * Configurations whose files cannot be tracked are resolved every time.
+ */
+class FeatureResolutionCache {
+
+    private static final int VERSION = 1
+    private static final int MAX_ENTRIES = 32
+
+    private final File cacheFile
+    private final Logger logger
+
+    private Map<String, Map> entries = null
+
+    FeatureResolutionCache(File cacheFile, Logger logger) {
+        this.cacheFile = cacheFile
+        this.logger = logger
+    }
+
+    /**
+     * Returns the features and platforms of the server in the passed directory, as returned by
+     * {@link ServerFeatureUtil#getServerFeatures(File, Map)}.
+     */
+    FeaturesPlatforms getServerFeatures(ServerFeatureUtil servUtil, File serverDirectory, Map<String, File> libDirPropFiles) {
+        File serverXmlFile = new File(serverDirectory, "server.xml")
+        return resolveServerFeatures(serverDirectory, serverXmlFile, libDirPropFiles, null, true) {
+            servUtil.getServerFeatures(serverDirectory, libDirPropFiles)
+        }
+    }
+
+    /**
+     * Returns the features and platforms of the passed server.xml file, as returned by
+     * {@link ServerFeatureUtil#getServerFeatures(File, File, Map, Set)}. The passed lower case setting
+     * must be the one the ServerFeatureUtil is currently using.
+     */
+    FeaturesPlatforms getServerFeatures(ServerFeatureUtil servUtil, File configDirectory, File serverXmlFile, Map<String, File> libDirPropFiles,
+            Set<String> excludedFiles, boolean lowerCaseFeatures) {
+        File serverXml = serverXmlFile != null ? serverXmlFile : new File(configDirectory, "server.xml")
+        return resolveServerFeatures(configDirectory, serverXml, libDirPropFiles, excludedFiles, lowerCaseFeatures) {
+            servUtil.getServerFeatures(configDirectory, serverXmlFile, libDirPropFiles, excludedFiles)
+        }
+    }
+
+    private FeaturesPlatforms resolveServerFeatures(File serverDirectory, File serverXmlFile, Map<String, File> libDirPropFiles,
+            Set<String> excludedFiles, boolean lowerCaseFeatures, Closure<FeaturesPlatforms> resolve) {
+        String key = getKey(serverDirectory, serverXmlFile, libDirPropFiles, excludedFiles, lowerCaseFeatures)
+        synchronized (this) {
+            Map entry = getEntries().get(key)
+            if (entry != null && isCurrent(entry.files as Map<String, String>)) {
+                logger.debug("Reusing the features resolved from " + serverXmlFile + " in " + cacheFile)
+                return toFeaturesPlatforms(entry)
+            }
+        }
+
+        // the states are read first, so that a file changed while resolving makes the entry out of date
+        Map<File, String> fileStates = ServerConfigFingerprint.getConfigFileStates(serverXmlFile, libDirPropFiles?.get("wlp.install.dir"),
+                libDirPropFiles?.get("wlp.user.dir"), serverDirectory, libDirPropFiles?.get("server.output.dir"))
+        FeaturesPlatforms result = resolve.call()
+        if (fileStates != null) {
+            Map<String, String> files = new LinkedHashMap<String, String>()
+            for (Map.Entry<File, String> fileState : fileStates.entrySet()) {
+                files.put(fileState.getKey().getPath(), fileState.getValue())
+            }
+            Map entry = [files: files, resolved: result != null,
+                    features: result == null ? [] : new ArrayList<String>(result.getFeatures()),
+                    platforms: result == null ? [] : new ArrayList<String>(result.getPlatforms())]
+            synchronized (this) {
+                Map<String, Map> current = getEntries()
+                current.remove(key)
+                current.put(key, entry)
+                while (current.size() > MAX_ENTRIES) {
+                    current.remove(current.keySet().iterator().next())
+                }
+                save()
+            }
+        }
+        // callers may modify the returned sets, so they never get the ones that are cached
+        return result == null ? null : new FeaturesPlatforms(new HashSet<String>(result.getFeatures()), new HashSet<String>(result.getPlatforms()))
+    }
+
+    private static String getKey(File serverDirectory, File serverXmlFile, Map<String, File> libDirPropFiles, Set<String> excludedFiles, boolean lowerCaseFeatures) {
+        StringBuilder key = new StringBuilder()
+        key.append(serverDirectory.getCanonicalPath()).append('|').append(serverXmlFile.getCanonicalPath())
+        if (libDirPropFiles != null) {
+            for (String name : new TreeSet<String>(libDirPropFiles.keySet())) {
+                key.append('|').append(name).append('=').append(libDirPropFiles.get(name)?.getCanonicalPath())
+            }
+        }
+        if (excludedFiles != null) {
+            key.append("|excludes=").append(new TreeSet<String>(excludedFiles).join(','))
+        }
+        key.append(lowerCaseFeatures ? "|lowercase" : "|originalcase")
+        return key.toString()
+    }
+
+    private static boolean isCurrent(Map<String, String> files) {
+        if (files == null) {
+            return false
+        }
+        Map<File, String> fileStates = new LinkedHashMap<File, String>()
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            fileStates.put(new File(file.getKey()), file.getValue())
+        }
+        return ServerConfigFingerprint.isCurrent(fileStates)
+    }
+
+    private static FeaturesPlatforms toFeaturesPlatforms(Map entry) {
+        if (!entry.resolved) {
+            return null
+        }
+        return new FeaturesPlatforms(new HashSet<String>(entry.features as List<String>), new HashSet<String>(entry.platforms as List<String>))
+    }
+
+    private Map<String, Map> getEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<String, Map>()
+            if (cacheFile.isFile()) {
+                try {
+                    Map content = new JsonSlurper().parse(cacheFile) as Map
+                    if (content.version == VERSION && content.entries instanceof Map) {
+                        for (Map.Entry entry : (content.entries as Map).entrySet()) {
+                            if (isValidEntry(entry.getValue())) {
+                                entries.put(entry.getKey() as String, entry.getValue() as Map)
+                            } else {
+                                logger.debug("Ignoring an invalid entry of the feature resolution cache " + cacheFile)
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.debug("Ignoring the unreadable feature resolution cache " + cacheFile + ": " + e.getMessage())
+                }
+            }
+        }
+        return entries
+    }
+
+    private static boolean isValidEntry(Object entry) {
+        if (!(entry instanceof Map)) {
+            return false
+        }
+        Map map = entry as Map
+        return map.files instanceof Map && map.resolved instanceof Boolean && map.features instanceof List && map.platforms instanceof List
+    }
+
+    private void save() {
+        try {
+            cacheFile.getParentFile().mkdirs()
+            String content = JsonOutput.prettyPrint(JsonOutput.toJson([version: VERSION, entries: entries]))
+            ConfigDirectorySync.writeIfChanged(cacheFile, content.getBytes("UTF-8"))
+        } catch (IOException e) {
+            logger.debug("Could not write the feature resolution cache " + cacheFile + ": " + e.getMessage())
+        }
+    }
+}
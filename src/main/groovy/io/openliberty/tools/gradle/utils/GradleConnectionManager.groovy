@@ -0,0 +1,190 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+import org.gradle.tooling.BuildAction
+import org.gradle.tooling.BuildActionFailureException
+import org.gradle.tooling.BuildCancelledException
+import org.gradle.tooling.BuildException
+import org.gradle.tooling.BuildLauncher
+import org.gradle.tooling.GradleConnectionException
+import org.gradle.tooling.GradleConnector
+import org.gradle.tooling.ProjectConnection
+import org.gradle.tooling.TestExecutionException
+import org.gradle.tooling.TestLauncher
+
+/**
+ * Keeps a single Tooling API connection open for the lifetime of a dev mode session so that
+ * the child builds launched for compile, deploy, test and feature actions reuse a warm daemon
+ * instead of paying for connection setup on every change.
+ */
+class GradleConnectionManager implements Closeable {
+
+    private final File rootDir
+    private final File gradleUserHomeDir
+    private final Logger logger
+
+    private ProjectConnection connection = null
+    private boolean closed = false
+
+    GradleConnectionManager(File rootDir, File gradleUserHomeDir, Logger logger) {
+        this.rootDir = rootDir
+        this.gradleUserHomeDir = gradleUserHomeDir
+        this.logger = logger
+    }
+
+    /**
+     * Returns the session connection, opening a new one if there is none or the previous one was
+     * found to be broken.
+     *
+     * @return an open ProjectConnection
+     */
+    synchronized ProjectConnection getConnection() {
+        if (closed) {
+            throw new IllegalStateException("The Gradle connection for " + rootDir + " has already been closed.")
+        }
+        if (connection == null) {
+            logger.debug("Opening Gradle connection for " + rootDir + " with Gradle user home " + gradleUserHomeDir)
+            connection = connect(rootDir, gradleUserHomeDir)
+        }
+        return connection
+    }
+
+    /**
+     * Creates a new BuildLauncher from the session connection. If the connection can no longer
+     * create builds it is discarded and a new connection is opened.
+     *
+     * @return a new BuildLauncher
+     */
+    synchronized BuildLauncher newBuild() {
+        try {
+            return getConnection().newBuild()
+        } catch (IllegalStateException | GradleConnectionException e) {
+            if (closed) {
+                throw e
+            }
+            logger.debug("The Gradle connection is no longer usable, reconnecting.", e)
+            invalidate()
+            return getConnection().newBuild()
+        }
+    }
+
+    /**
+     * Creates a new TestLauncher from the session connection, reconnecting like {@link #newBuild()}.
+     *
+     * @return a new TestLauncher
+     */
+    synchronized TestLauncher newTestLauncher() {
+        try {
+            return getConnection().newTestLauncher()
+        } catch (IllegalStateException | GradleConnectionException e) {
+            if (closed) {
+                throw e
+            }
+            logger.debug("The Gradle connection is no longer usable, reconnecting.", e)
+            invalidate()
+            return getConnection().newTestLauncher()
+        }
+    }
+
+    /**
+     * Runs the passed BuildLauncher. Build failures are passed through to the caller unchanged, while
+     * failures to talk to the daemon cause the connection to be discarded so that the next build
+     * starts with a fresh one.
+     *
+     * @param buildLauncher launcher created by {@link #newBuild()}
+     */
+    void run(BuildLauncher buildLauncher) {
+        try {
+            buildLauncher.run()
+        } catch (BuildException | BuildCancelledException e) {
+            throw e
+        } catch (GradleConnectionException | IllegalStateException e) {
+            logger.debug("Lost the Gradle connection while running a build, it will be reopened for the next build.", e)
+            invalidate()
+            throw e
+        }
+    }
+
+    /**
+     * Runs the passed TestLauncher, with the same error handling as {@link #run(BuildLauncher)}. Test
+     * failures are passed through to the caller.
+     *
+     * @param testLauncher launcher created by {@link #newTestLauncher()}
+     */
+    void run(TestLauncher testLauncher) {
+        try {
+            testLauncher.run()
+        } catch (BuildException | BuildCancelledException | TestExecutionException e) {
+            throw e
+        } catch (GradleConnectionException | IllegalStateException e) {
+            logger.debug("Lost the Gradle connection while running tests, it will be reopened for the next build.", e)
+            invalidate()
+            throw e
+        }
+    }
+
+    /**
+     * Runs a Tooling API action on the session connection, with the same error handling as
+     * {@link #run(BuildLauncher)}.
+     *
+     * @param action the action to run in the Gradle daemon
+     * @return the result of the action
+     */
+    public <T> T run(BuildAction<T> action) {
+        try {
+            return getConnection().action(action).run()
+        } catch (BuildException | BuildCancelledException | BuildActionFailureException e) {
+            throw e
+        } catch (GradleConnectionException | IllegalStateException e) {
+            logger.debug("Lost the Gradle connection while running a build action, it will be reopened for the next build.", e)
+            invalidate()
+            throw e
+        }
+    }
+
+    /**
+     * Discards the current connection. The next call to {@link #getConnection()} opens a new one.
+     */
+    synchronized void invalidate() {
+        closeConnection()
+    }
+
+    @Override
+    synchronized void close() {
+        closed = true
+        closeConnection()
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close()
+            } catch (Exception e) {
+                logger.debug("Error closing Gradle connection: " + e.getMessage())
+            }
+            connection = null
+        }
+    }
+
+    static ProjectConnection connect(File rootDir, File gradleUserHomeDir) {
+        return GradleConnector.newConnector()
+                .forProjectDirectory(rootDir)
+                .useGradleUserHomeDir(gradleUserHomeDir)
+                .connect()
+    }
+}
@@ -0,0 +1,589 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaCompiler
+import javax.tools.JavaFileObject
+import javax.tools.StandardJavaFileManager
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+
+/**
+ * Compiles the Java sources of one source set inside the dev mode JVM. Only the source files that
+ * changed since the last compilation are compiled, together with the source files of the classes that
+ * depend on them. The dependencies between classes are read from the constant pools of the compiled
+ * class files.
+ *
+ * Whenever a change cannot be handled safely, {@link #compile()} returns false and the caller is
+ * expected to run the Gradle compile task instead and then call {@link #index()} again.
+ */
+class IncrementalJavaCompiler implements Closeable {
+
+    private final String name
+    private final List<File> sourceDirs
+    private final List<File> resourceDirs
+    private final File classesDir
+    private final Logger logger
+
+    private List<File> classpath = new ArrayList<File>()
+    private List<File> upstreamClassesDirs = new ArrayList<File>()
+    private List<String> options = new ArrayList<String>()
+    private String disabledReason = null
+
+    private File hotSwapDir = null
+    private JdwpClassRedefiner classRedefiner = null
+
+    private JavaCompiler javaCompiler = null
+    private StandardJavaFileManager fileManager = null
+
+    private boolean indexed = false
+    private Map<File, String> sourceStates = new HashMap<File, String>()
+    private Map<File, String> resourceStates = new HashMap<File, String>()
+    private Map<File, String> upstreamClassStates = new HashMap<File, String>()
+    private Map<String, ClassFileInfo> classes = new HashMap<String, ClassFileInfo>()
+    private Map<File, Set<String>> sourceToClasses = new HashMap<File, Set<String>>()
+    private Map<String, File> classToSource = new HashMap<String, File>()
+    private Map<String, Set<String>> dependents = new HashMap<String, Set<String>>()
+
+    IncrementalJavaCompiler(String name, List<File> sourceDirs, List<File> resourceDirs, File classesDir, Logger logger) {
+        this.name = name
+        this.sourceDirs = sourceDirs
+        this.resourceDirs = resourceDirs
+        this.classesDir = classesDir
+        this.logger = logger
+    }
+
+    void setClasspath(Collection<File> classpath) {
+        this.classpath = new ArrayList<File>(classpath)
+    }
+
+    /**
+     * Sets class directories on the classpath that are compiled in the same dev mode session, for
+     * example the main classes for the test source set. Classes that reference a changed class in
+     * these directories are recompiled as well.
+     */
+    void setUpstreamClassesDirs(Collection<File> upstreamClassesDirs) {
+        this.upstreamClassesDirs = new ArrayList<File>(upstreamClassesDirs)
+    }
+
+    void setOptions(List<String> options) {
+        this.options = new ArrayList<String>(options)
+    }
+
+    /**
+     * Redefines classes whose method bodies are the only change in the running server instead of writing
+     * them to the output directory, which would make the server restart the application. The hot swapped
+     * class files are kept in the passed directory until {@link #flushHotSwappedClasses()} is called.
+     *
+     * @param hotSwapDir work directory for the hot swapped classes
+     * @param classRedefiner redefines the classes in the server JVM
+     */
+    void enableHotSwap(File hotSwapDir, JdwpClassRedefiner classRedefiner) {
+        this.hotSwapDir = hotSwapDir
+        this.classRedefiner = classRedefiner
+    }
+
+    /**
+     * Writes the hot swapped class files to the output directory. Must be called before anything else
+     * reads the output directory or restarts the application, so it does not load the previous classes.
+     */
+    void flushHotSwappedClasses() {
+        if (hotSwapDir == null) {
+            return
+        }
+        File pendingDir = new File(hotSwapDir, "pending")
+        if (pendingDir.isDirectory()) {
+            try {
+                int count = moveClasses(pendingDir, classesDir)
+                if (count > 0) {
+                    logger.debug("Wrote " + count + " hot swapped class file(s) of the " + name + " source set to " + classesDir)
+                }
+            } catch (IOException e) {
+                logger.warn("Could not write the hot swapped classes to " + classesDir + ": " + e.getMessage())
+            }
+        }
+    }
+
+    /**
+     * Permanently turns off in-process compilation for this source set.
+     *
+     * @param reason logged at debug level the next time a compilation falls back to Gradle
+     */
+    void disable(String reason) {
+        if (disabledReason == null) {
+            logger.debug("In-process compilation of the " + name + " source set is disabled: " + reason)
+            disabledReason = reason
+        }
+        flushHotSwappedClasses()
+        invalidate()
+    }
+
+    boolean isDisabled() {
+        return disabledReason != null
+    }
+
+    /**
+     * Drops the class index so the next {@link #compile()} call falls back to Gradle.
+     */
+    void invalidate() {
+        indexed = false
+        sourceStates.clear()
+        resourceStates.clear()
+        upstreamClassStates.clear()
+        classes.clear()
+        sourceToClasses.clear()
+        classToSource.clear()
+        dependents.clear()
+    }
+
+    /**
+     * Records the current state of the source and resource files and reads the class files in the
+     * output directory. Must be called after the Gradle compile task has successfully run.
+     */
+    void index() {
+        if (isDisabled()) {
+            return
+        }
+        invalidate()
+        if (hotSwapDir != null) {
+            // the Gradle compile task has written newer versions of any hot swapped classes
+            new File(hotSwapDir, "pending").deleteDir()
+        }
+        long start = System.currentTimeMillis()
+        try {
+            sourceStates = DevTaskHelper.getFileStates(sourceDirs, '.java')
+            resourceStates = DevTaskHelper.getFileStates(resourceDirs, null)
+            upstreamClassStates = DevTaskHelper.getFileStates(upstreamClassesDirs, '.class')
+            Map<String, File> sourcesByRelativePath = new HashMap<String, File>()
+            for (File sourceFile : sourceStates.keySet()) {
+                sourcesByRelativePath.put(relativeSourcePath(sourceFile), sourceFile)
+            }
+            if (classesDir.isDirectory()) {
+                classesDir.eachFileRecurse { File file ->
+                    if (file.isFile() && file.getName().endsWith('.class')) {
+                        ClassFileInfo info = ClassFileInfo.read(file)
+                        File sourceFile = info.getSourceRelativePath() == null ? null : sourcesByRelativePath.get(info.getSourceRelativePath())
+                        addClass(info, sourceFile)
+                    }
+                }
+            }
+            indexed = true
+            logger.debug("Indexed " + classes.size() + " classes of the " + name + " source set in " + (System.currentTimeMillis() - start) + " ms")
+        } catch (IOException e) {
+            logger.debug("Could not index the classes of the " + name + " source set, in-process compilation will not be used.", e)
+            invalidate()
+        }
+    }
+
+    /**
+     * Compiles the source files that changed since the last call to {@link #index()} or {@link #compile()}.
+     *
+     * @return true if the changes were compiled, or there was nothing to compile. false if the caller
+     * must run the Gradle compile task instead.
+     */
+    boolean compile() {
+        if (isDisabled() || !indexed) {
+            return false
+        }
+        long start = System.currentTimeMillis()
+
+        Map<File, String> currentResourceStates = DevTaskHelper.getFileStates(resourceDirs, null)
+        if (!currentResourceStates.equals(resourceStates)) {
+            return fallBack("resources have changed and need to be processed")
+        }
+
+        Map<File, String> currentSourceStates = DevTaskHelper.getFileStates(sourceDirs, '.java')
+        Set<File> changedSources = getChangedFiles(sourceStates, currentSourceStates)
+        Set<File> removedSources = new HashSet<File>(sourceStates.keySet())
+        removedSources.removeAll(currentSourceStates.keySet())
+
+        Map<File, String> currentUpstreamClassStates = DevTaskHelper.getFileStates(upstreamClassesDirs, '.class')
+        Set<File> changedUpstreamClasses = getChangedFiles(upstreamClassStates, currentUpstreamClassStates)
+        changedUpstreamClasses.addAll(upstreamClassStates.keySet().findAll { !currentUpstreamClassStates.containsKey(it) })
+
+        if (changedSources.isEmpty() && removedSources.isEmpty() && changedUpstreamClasses.isEmpty()) {
+            logger.debug("No Java source changes found for the " + name + " source set.")
+            return true
+        }
+
+        Set<File> modifiedSources = new HashSet<File>(changedSources)
+        modifiedSources.addAll(removedSources)
+        Set<String> modifiedClasses = new HashSet<String>()
+        for (File classFile : changedUpstreamClasses) {
+            if (classFile.isFile()) {
+                try {
+                    ClassFileInfo info = ClassFileInfo.read(classFile)
+                    if (info.hasInlinableConstants) {
+                        return fallBack(info.className + " declares constants that may be inlined in other classes")
+                    }
+                    modifiedClasses.add(info.className)
+                } catch (IOException e) {
+                    return fallBack("could not read " + classFile + ": " + e.getMessage())
+                }
+            } else {
+                modifiedClasses.add(upstreamClassNameOf(classFile))
+            }
+        }
+        for (File sourceFile : modifiedSources) {
+            if (sourceFile.getName().equals('module-info.java')) {
+                return fallBack("the module descriptor changed")
+            }
+            Set<String> classNames = sourceToClasses.get(sourceFile)
+            if (classNames != null) {
+                for (String className : classNames) {
+                    if (classes.get(className).hasInlinableConstants) {
+                        return fallBack(className + " declares constants that may be inlined in other classes")
+                    }
+                }
+                modifiedClasses.addAll(classNames)
+            }
+        }
+
+        Set<File> sourcesToCompile = new HashSet<File>(changedSources)
+        for (String className : getAffectedClasses(modifiedClasses)) {
+            File sourceFile = classToSource.get(className)
+            if (sourceFile == null) {
+                return fallBack("the source file of " + className + " is unknown")
+            }
+            if (!removedSources.contains(sourceFile)) {
+                sourcesToCompile.add(sourceFile)
+            }
+        }
+
+        Set<File> staleSources = new HashSet<File>(sourcesToCompile)
+        staleSources.addAll(removedSources)
+        Set<String> staleClasses = new HashSet<String>()
+        for (File sourceFile : staleSources) {
+            Set<String> classNames = sourceToClasses.get(sourceFile)
+            if (classNames != null) {
+                staleClasses.addAll(classNames)
+            }
+        }
+
+        if (hotSwapDir != null && removedSources.isEmpty() && !sourcesToCompile.isEmpty()) {
+            // compile outside of the output directory first, the classes only go there if they cannot be hot swapped
+            File compileDir = new File(hotSwapDir, "compile")
+            compileDir.deleteDir()
+            if (!runCompiler(sourcesToCompile, compileDir)) {
+                return false
+            }
+            if (hotSwap(compileDir, sourcesToCompile, staleClasses)) {
+                sourceStates = currentSourceStates
+                upstreamClassStates = currentUpstreamClassStates
+                logger.debug("Compiled and hot swapped " + sourcesToCompile.size() + " source file(s) of the " + name + " source set in " +
+                        (System.currentTimeMillis() - start) + " ms: " + sourcesToCompile)
+                return true
+            }
+            flushHotSwappedClasses()
+            deleteClassFiles(staleClasses)
+            try {
+                moveClasses(compileDir, classesDir)
+            } catch (IOException e) {
+                return fallBack("could not write the compiled classes: " + e.getMessage())
+            }
+        } else {
+            // remove the stale class files so that deleted nested or secondary classes do not linger in the output
+            deleteClassFiles(staleClasses)
+            if (!sourcesToCompile.isEmpty() && !runCompiler(sourcesToCompile, classesDir)) {
+                return false
+            }
+        }
+
+        try {
+            for (File sourceFile : staleSources) {
+                removeClasses(sourceFile)
+            }
+            for (File sourceFile : sourcesToCompile) {
+                if (indexOutputOf(sourceFile) == 0 && !sourceFile.getName().equals('package-info.java')) {
+                    // for example a source file whose package does not match its directory
+                    return fallBack("no classes were found for " + sourceFile)
+                }
+            }
+        } catch (IOException e) {
+            return fallBack("could not read the compiled classes: " + e.getMessage())
+        }
+        sourceStates = currentSourceStates
+        upstreamClassStates = currentUpstreamClassStates
+        logger.debug("Compiled " + sourcesToCompile.size() + " source file(s) of the " + name + " source set in-process in " +
+                (System.currentTimeMillis() - start) + " ms: " + sourcesToCompile)
+        return true
+    }
+
+    @Override
+    void close() {
+        flushHotSwappedClasses()
+        invalidate()
+        if (fileManager != null) {
+            try {
+                fileManager.close()
+            } catch (IOException e) {
+                logger.debug("Error closing the Java file manager: " + e.getMessage())
+            }
+            fileManager = null
+        }
+    }
+
+    private boolean runCompiler(Set<File> sourcesToCompile, File outputDir) {
+        if (javaCompiler == null) {
+            javaCompiler = ToolProvider.getSystemJavaCompiler()
+            if (javaCompiler == null) {
+                disable("no Java compiler is available in the JVM running Gradle")
+                return false
+            }
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>()
+        boolean success
+        try {
+            if (fileManager == null) {
+                fileManager = javaCompiler.getStandardFileManager(null, null, null)
+            }
+            List<File> compileClasspath = new ArrayList<File>()
+            compileClasspath.add(classesDir)
+            compileClasspath.addAll(classpath)
+            outputDir.mkdirs()
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDir))
+            fileManager.setLocation(StandardLocation.CLASS_PATH, compileClasspath)
+            fileManager.setLocation(StandardLocation.SOURCE_PATH, Collections.<File>emptyList())
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourcesToCompile)
+            success = javaCompiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call()
+        } catch (Exception e) {
+            // unsupported compiler options or an internal compiler error
+            return fallBack("the compiler failed: " + e.getMessage())
+        }
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            logger.debug(diagnostic.toString())
+        }
+        if (!success) {
+            // let the Gradle compile task report the errors
+            return fallBack("compilation errors were found")
+        }
+        return true
+    }
+
+    private boolean fallBack(String reason) {
+        logger.debug("Falling back to Gradle to compile the " + name + " source set because " + reason + ".")
+        flushHotSwappedClasses()
+        invalidate()
+        return false
+    }
+
+    /**
+     * Redefines the compiled classes in the server JVM if only their method bodies changed, and keeps
+     * the class files aside so that the server does not restart the application.
+     */
+    private boolean hotSwap(File compileDir, Set<File> compiledSources, Set<String> previousClasses) {
+        Map<String, ClassFileInfo> compiledClasses = new HashMap<String, ClassFileInfo>()
+        Map<String, File> compiledFiles = new HashMap<String, File>()
+        try {
+            compileDir.eachFileRecurse { File file ->
+                if (file.isFile() && file.getName().endsWith('.class')) {
+                    ClassFileInfo info = ClassFileInfo.read(file)
+                    compiledClasses.put(info.className, info)
+                    compiledFiles.put(info.className, file)
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read the compiled classes for hot swap: " + e.getMessage())
+            return false
+        }
+        if (!compiledClasses.keySet().equals(previousClasses)) {
+            logger.debug("Classes were added or removed, they cannot be hot swapped.")
+            return false
+        }
+        Map<String, byte[]> classBytes = new HashMap<String, byte[]>()
+        for (ClassFileInfo info : compiledClasses.values()) {
+            ClassFileInfo previous = classes.get(info.className)
+            if (previous == null || !previous.structure.equals(info.structure)) {
+                logger.debug("The fields, methods or super types of " + info.className + " changed, it cannot be hot swapped.")
+                return false
+            }
+        }
+        try {
+            for (Map.Entry<String, File> entry : compiledFiles.entrySet()) {
+                classBytes.put(entry.getKey(), Files.readAllBytes(entry.getValue().toPath()))
+            }
+            if (!classRedefiner.redefine(classBytes)) {
+                return false
+            }
+            moveClasses(compileDir, new File(hotSwapDir, "pending"))
+        } catch (IOException e) {
+            logger.debug("Could not hot swap the compiled classes: " + e.getMessage())
+            return false
+        }
+        Map<String, File> sources = new HashMap<String, File>()
+        for (String className : compiledClasses.keySet()) {
+            sources.put(className, classToSource.get(className))
+        }
+        for (File sourceFile : compiledSources) {
+            removeClasses(sourceFile)
+        }
+        for (ClassFileInfo info : compiledClasses.values()) {
+            addClass(info, sources.get(info.className))
+        }
+        logger.lifecycle("Hot swapped " + compiledClasses.size() + " class(es) into the running server without restarting the application.")
+        return true
+    }
+
+    private void deleteClassFiles(Set<String> classNames) {
+        for (String className : classNames) {
+            new File(classesDir, className.replace('.', '/') + '.class').delete()
+        }
+    }
+
+    // moves every file of the source directory to the same relative path in the target directory
+    private static int moveClasses(File sourceDir, File targetDir) throws IOException {
+        int count = 0
+        if (sourceDir.isDirectory()) {
+            sourceDir.eachFileRecurse { File file ->
+                if (file.isFile()) {
+                    File target = new File(targetDir, sourceDir.toPath().relativize(file.toPath()).toString())
+                    target.getParentFile().mkdirs()
+                    Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING)
+                    count++
+                }
+            }
+            sourceDir.deleteDir()
+        }
+        return count
+    }
+
+    /**
+     * Returns the classes that have to be recompiled because they reference one of the modified classes.
+     * Subclasses of an affected class are followed further since inherited members are part of their API.
+     */
+    private Set<String> getAffectedClasses(Set<String> modifiedClasses) {
+        Set<String> affected = new HashSet<String>()
+        Deque<String> queue = new ArrayDeque<String>(modifiedClasses)
+        while (!queue.isEmpty()) {
+            String className = queue.poll()
+            Set<String> classDependents = dependents.get(className)
+            if (classDependents == null) {
+                continue
+            }
+            for (String dependent : classDependents) {
+                if (!modifiedClasses.contains(dependent) && affected.add(dependent)
+                        && classes.get(dependent).getSuperTypes().contains(className)) {
+                    queue.add(dependent)
+                }
+            }
+        }
+        return affected
+    }
+
+    private int indexOutputOf(File sourceFile) throws IOException {
+        String relativePath = relativeSourcePath(sourceFile)
+        File packageDir = new File(classesDir, relativePath).getParentFile()
+        File[] classFiles = packageDir.listFiles()
+        if (classFiles == null) {
+            return 0
+        }
+        int count = 0
+        String sourceFileName = sourceFile.getName()
+        for (File classFile : classFiles) {
+            if (classFile.getName().endsWith('.class') && !classes.containsKey(classNameOf(classFile))) {
+                ClassFileInfo info = ClassFileInfo.read(classFile)
+                if (sourceFileName.equals(info.sourceFileName)) {
+                    addClass(info, sourceFile)
+                    count++
+                }
+            }
+        }
+        return count
+    }
+
+    private String classNameOf(File classFile) {
+        return classNameOf(classesDir, classFile)
+    }
+
+    private String upstreamClassNameOf(File classFile) {
+        for (File dir : upstreamClassesDirs) {
+            if (classFile.toPath().startsWith(dir.toPath())) {
+                return classNameOf(dir, classFile)
+            }
+        }
+        return classFile.getName()
+    }
+
+    private static String classNameOf(File dir, File classFile) {
+        String path = dir.toPath().relativize(classFile.toPath()).toString()
+        return path.substring(0, path.length() - '.class'.length()).replace(File.separatorChar, '.' as char)
+    }
+
+    private static Set<File> getChangedFiles(Map<File, String> previousStates, Map<File, String> currentStates) {
+        Set<File> changedFiles = new HashSet<File>()
+        for (Map.Entry<File, String> entry : currentStates.entrySet()) {
+            if (!entry.getValue().equals(previousStates.get(entry.getKey()))) {
+                changedFiles.add(entry.getKey())
+            }
+        }
+        return changedFiles
+    }
+
+    private void addClass(ClassFileInfo info, File sourceFile) {
+        classes.put(info.className, info)
+        if (sourceFile != null) {
+            Set<String> classNames = sourceToClasses.get(sourceFile)
+            if (classNames == null) {
+                classNames = new HashSet<String>()
+                sourceToClasses.put(sourceFile, classNames)
+            }
+            classNames.add(info.className)
+            classToSource.put(info.className, sourceFile)
+        }
+        for (String referencedClass : info.referencedClasses) {
+            Set<String> classDependents = dependents.get(referencedClass)
+            if (classDependents == null) {
+                classDependents = new HashSet<String>()
+                dependents.put(referencedClass, classDependents)
+            }
+            classDependents.add(info.className)
+        }
+    }
+
+    private void removeClasses(File sourceFile) {
+        Set<String> classNames = sourceToClasses.remove(sourceFile)
+        if (classNames == null) {
+            return
+        }
+        for (String className : classNames) {
+            classToSource.remove(className)
+            ClassFileInfo info = classes.remove(className)
+            if (info != null) {
+                for (String referencedClass : info.referencedClasses) {
+                    Set<String> classDependents = dependents.get(referencedClass)
+                    if (classDependents != null) {
+                        classDependents.remove(className)
+                    }
+                }
+            }
+        }
+    }
+
+    private String relativeSourcePath(File sourceFile) {
+        for (File sourceDir : sourceDirs) {
+            if (sourceFile.toPath().startsWith(sourceDir.toPath())) {
+                return sourceDir.toPath().relativize(sourceFile.toPath()).toString().replace(File.separatorChar, '/' as char)
+            }
+        }
+        return sourceFile.getName()
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * Replaces classes in a running JVM through the Java Debug Wire Protocol, using the debug port that
+ * dev mode opens for the Liberty server. A connection is only held for the duration of one call so
+ * that a debugger can still be attached to the server in between.
+ */
+class JdwpClassRedefiner {
+
+    private static final String HANDSHAKE = "JDWP-Handshake"
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000
+    private static final int READ_TIMEOUT_MILLIS = 30000
+
+    private static final int HEADER_LENGTH = 11
+    private static final int REPLY_FLAG = 0x80
+
+    // VirtualMachine command set and commands
+    private static final int VIRTUAL_MACHINE = 1
+    private static final int CLASSES_BY_SIGNATURE = 2
+    private static final int DISPOSE = 6
+    private static final int ID_SIZES = 7
+    private static final int REDEFINE_CLASSES = 18
+
+    private final String host
+    private final int port
+    private final Logger logger
+
+    private int nextPacketId = 1
+
+    JdwpClassRedefiner(String host, int port, Logger logger) {
+        this.host = host
+        this.port = port
+        this.logger = logger
+    }
+
+    /**
+     * Replaces the classes in every class loader of the debugged JVM that has loaded them.
+     *
+     * @param classBytes new class file bytes by binary class name
+     * @return true if all classes were replaced, false if one of them is not loaded yet, the JVM
+     * refused the new definitions, or the debug port could not be reached
+     */
+    synchronized boolean redefine(Map<String, byte[]> classBytes) {
+        Socket socket = new Socket()
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS)
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS)
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))
+
+            output.write(HANDSHAKE.getBytes(StandardCharsets.US_ASCII))
+            output.flush()
+            byte[] handshake = new byte[HANDSHAKE.length()]
+            input.readFully(handshake)
+            if (!HANDSHAKE.equals(new String(handshake, StandardCharsets.US_ASCII))) {
+                logger.debug("Unexpected JDWP handshake from " + host + ":" + port)
+                return false
+            }
+
+            DataInputStream idSizes = command(output, input, ID_SIZES, new byte[0])
+            idSizes.readInt() // field ID size
+            idSizes.readInt() // method ID size
+            idSizes.readInt() // object ID size
+            int referenceTypeIdSize = idSizes.readInt()
+
+            ByteArrayOutputStream redefineBytes = new ByteArrayOutputStream()
+            DataOutputStream redefineData = new DataOutputStream(redefineBytes)
+            int count = 0
+            for (Map.Entry<String, byte[]> entry : classBytes.entrySet()) {
+                List<byte[]> typeIds = getLoadedTypeIds(output, input, entry.getKey(), referenceTypeIdSize)
+                if (typeIds.isEmpty()) {
+                    // the class would be loaded later from the stale class file in the output directory
+                    logger.debug(entry.getKey() + " is not loaded in the server JVM and cannot be redefined.")
+                    return false
+                }
+                for (byte[] typeId : typeIds) {
+                    redefineData.write(typeId)
+                    redefineData.writeInt(entry.getValue().length)
+                    redefineData.write(entry.getValue())
+                    count++
+                }
+            }
+            ByteArrayOutputStream requestBytes = new ByteArrayOutputStream()
+            DataOutputStream request = new DataOutputStream(requestBytes)
+            request.writeInt(count)
+            request.write(redefineBytes.toByteArray())
+            command(output, input, REDEFINE_CLASSES, requestBytes.toByteArray())
+
+            command(output, input, DISPOSE, new byte[0])
+            return true
+        } catch (JdwpErrorException e) {
+            logger.debug("The server JVM did not accept the new class definitions, JDWP error " + e.errorCode + ".")
+            return false
+        } catch (IOException e) {
+            logger.debug("Could not connect to the server JVM debug port " + host + ":" + port + ": " + e.getMessage())
+            return false
+        } finally {
+            try {
+                socket.close()
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private List<byte[]> getLoadedTypeIds(DataOutputStream output, DataInputStream input, String className, int referenceTypeIdSize) throws IOException {
+        ByteArrayOutputStream requestBytes = new ByteArrayOutputStream()
+        DataOutputStream request = new DataOutputStream(requestBytes)
+        byte[] signature = ("L" + className.replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8)
+        request.writeInt(signature.length)
+        request.write(signature)
+
+        DataInputStream reply = command(output, input, CLASSES_BY_SIGNATURE, requestBytes.toByteArray())
+        int classes = reply.readInt()
+        List<byte[]> typeIds = new ArrayList<byte[]>()
+        for (int i = 0; i < classes; i++) {
+            reply.readUnsignedByte() // type tag
+            byte[] typeId = new byte[referenceTypeIdSize]
+            reply.readFully(typeId)
+            reply.readInt() // class status
+            typeIds.add(typeId)
+        }
+        return typeIds
+    }
+
+    // sends a command of the VirtualMachine command set and returns the data of its reply
+    private DataInputStream command(DataOutputStream output, DataInputStream input, int command, byte[] data) throws IOException {
+        int id = nextPacketId++
+        output.writeInt(HEADER_LENGTH + data.length)
+        output.writeInt(id)
+        output.writeByte(0)
+        output.writeByte(VIRTUAL_MACHINE)
+        output.writeByte(command)
+        output.write(data)
+        output.flush()
+
+        while (true) {
+            int length = input.readInt()
+            int packetId = input.readInt()
+            int flags = input.readUnsignedByte()
+            // replies carry an error code, commands sent by the JVM such as events carry a command set and command
+            int errorCode = input.readUnsignedShort()
+            byte[] packetData = new byte[length - HEADER_LENGTH]
+            input.readFully(packetData)
+            if ((flags & REPLY_FLAG) != 0 && packetId == id) {
+                if (errorCode != 0) {
+                    throw new JdwpErrorException(errorCode)
+                }
+                return new DataInputStream(new ByteArrayInputStream(packetData))
+            }
+        }
+    }
+
+    private static class JdwpErrorException extends IOException {
+        final int errorCode
+
+        JdwpErrorException(int errorCode) {
+            super("JDWP error " + errorCode)
+            this.errorCode = errorCode
+        }
+    }
+}
@@ -20,7 +20,9 @@ import io.openliberty.tools.common.plugins.config.LooseConfigData
 import org.apache.commons.io.FilenameUtils
 import org.gradle.api.Project
 import org.gradle.api.Task
-import org.gradle.api.artifacts.ProjectDependency
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier
 import org.gradle.api.logging.Logger
 import org.gradle.plugins.ear.Ear
 import org.w3c.dom.Element
@@ -125,79 +127,49 @@ public class LooseEarApplication extends LooseApplication {
         }
     }
 
-    /**
-     * Recursively collect all project dependencies (including transitive)
-     * @param project The project to collect dependencies from
-     * @param collected The set to add dependencies to
-     */
-    private void collectProjectDependenciesRecursively(Project project, Set<Project> collected) {
-        // Add the project itself
-        collected.add(project)
-        
-        // Recursively collect dependencies from compileClasspath
-        if (project.configurations.findByName('compileClasspath') != null) {
-            project.configurations.compileClasspath.allDependencies.each { dep ->
-                if (dep instanceof ProjectDependency) {
-                    Project depProj = project.rootProject.findProject(dep.path)
-                    if (depProj != null && !collected.contains(depProj)) {
-                        collectProjectDependenciesRecursively(depProj, collected)
-                    }
-                }
-            }
-        }
-        
-        // Recursively collect dependencies from runtimeClasspath
-        if (project.configurations.findByName('runtimeClasspath') != null) {
-            project.configurations.runtimeClasspath.allDependencies.each { dep ->
-                if (dep instanceof ProjectDependency) {
-                    Project depProj = project.rootProject.findProject(dep.path)
-                    if (depProj != null && !collected.contains(depProj)) {
-                        collectProjectDependenciesRecursively(depProj, collected)
-                    }
-                }
-            }
-        }
-    }
-    
     private void addDependencyClassDirectories(Element moduleArchive, Project proj) {
         try {
-            Set<Project> projectDependencies = new HashSet<Project>();
-            
-            // Collect all project dependencies (including transitive) recursively
-            collectProjectDependenciesRecursively(proj, projectDependencies)
-            // Remove the project itself - we only want dependencies
-            projectDependencies.remove(proj)
-            
-            logger.debug("Found ${projectDependencies.size()} project dependencies (including transitive) for ${proj.name}")
-            
-            // Process each project dependency
-            projectDependencies.each { dependencyProject ->
-                if (!dependencyProject.hasProperty('sourceSets')) { // Not a Java project
-                    logger.debug("Skipping ${dependencyProject.name} - no sourceSets found (not a Java project)")
-                    return
+            // the project dependencies, including transitive ones, and their outputs are resolved from the
+            // classes and resources variants they publish, instead of walking the dependency projects
+            Set<ComponentIdentifier> dependencyComponents = new HashSet<ComponentIdentifier>()
+            for (String configurationName : ['compileClasspath', 'runtimeClasspath']) {
+                Configuration configuration = proj.configurations.findByName(configurationName)
+                if (configuration == null) {
+                    continue
                 }
-                
-                logger.debug("Adding dependency ${dependencyProject.name} class directories to ${proj.name}")
-                
-                // Add all class directories
-                dependencyProject.sourceSets.main.output.classesDirs.files.each { File classesDirectory ->
-                    if (classesDirectory.exists()) {
-                        logger.debug("Adding class dir: ${classesDirectory}")
-                        config.addDir(moduleArchive, classesDirectory, "/")
+                ProjectModuleOutputs moduleOutputs = ProjectModuleOutputs.resolve(configuration, proj.objects, logger)
+                for (ComponentIdentifier component : moduleOutputs.getComponents()) {
+                    if (((ProjectComponentIdentifier) component).getProjectPath() == proj.getPath() || !dependencyComponents.add(component)) {
+                        continue
+                    }
+                    if (!moduleOutputs.hasOutputs(component)) { // Not a Java project
+                        logger.debug("Skipping ${component.getDisplayName()} - no classes and resources variants found (not a Java project)")
+                        continue
+                    }
+
+                    logger.debug("Adding dependency ${component.getDisplayName()} class directories to ${proj.name}")
+
+                    // Add all class directories
+                    moduleOutputs.getClassesDirs(component).each { File classesDirectory ->
+                        if (classesDirectory.exists()) {
+                            logger.debug("Adding class dir: ${classesDirectory}")
+                            config.addDir(moduleArchive, classesDirectory, "/")
+                        } else {
+                            logger.debug("Skipping non-existent class dir: ${classesDirectory}")
+                        }
+                    }
+
+                    // Add resource directory
+                    File resourcesDirectory = moduleOutputs.getResourcesDir(component)
+                    if (resourcesDirectory.exists()) {
+                        logger.debug("Adding resource dir: ${resourcesDirectory}")
+                        config.addDir(moduleArchive, resourcesDirectory, "/")
                     } else {
-                        logger.debug("Skipping non-existent class dir: ${classesDirectory}")
+                        logger.debug("No resources dir or doesn't exist: ${resourcesDirectory}")
                     }
                 }
-                
-                // Add resource directory
-                def resourcesDirectory = dependencyProject.sourceSets.main.output.resourcesDir
-                if (resourcesDirectory?.exists()) {
-                    logger.debug("Adding resource dir: ${resourcesDirectory}")
-                    config.addDir(moduleArchive, resourcesDirectory, "/")
-                } else {
-                    logger.debug("No resources dir or doesn't exist: ${resourcesDirectory}")
-                }
             }
+            logger.debug("Found ${dependencyComponents.size()} project dependencies (including transitive) for ${proj.name}")
         } catch (Exception e) {
             logger.warn("Could not add dependency class directories for ${proj.name}: ${e.message}", e)
         }
@@ -0,0 +1,344 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.StandardOpenOption
+import java.nio.file.attribute.BasicFileAttributes
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+
+/**
+ * Follows a Liberty messages.log file and matches its new lines against the messages that tasks
+ * wait for. Only the bytes appended since the previous read are read, so any number of waits share
+ * a single pass over the log.
+ *
+ * Lines with the application started, application stopped and server ready message codes, and any
+ * other message code that was waited for, are kept so that a later wait also finds messages that were
+ * logged before it started, like a scan of the whole file would. When Liberty rolls the log over to a
+ * messages_&lt;timestamp&gt;.log file, the rest of the rolled over file is read and the new log is followed
+ * from its start.
+ *
+ * Listeners are passed every line that is logged after they were added. While there are listeners, a
+ * daemon thread reads the new lines of the log.
+ */
+class MessagesLogTailer {
+
+    public static final String APP_STARTED_MESSAGE_CODE = "CWWKZ0001I"
+    public static final String APP_STOPPED_MESSAGE_CODE = "CWWKZ0009I"
+    public static final String SERVER_READY_MESSAGE_CODE = "CWWKF0011I"
+
+    private static final long POLL_INTERVAL_MILLIS = 100
+    private static final int READ_BUFFER_SIZE = 64 * 1024
+    private static final Pattern MESSAGE_CODE_PATTERN = Pattern.compile("^([A-Z]{5}\\d{4}[IAWE])")
+
+    private final File logFile
+    private final Set<String> trackedMessageCodes = new HashSet<String>([APP_STARTED_MESSAGE_CODE, APP_STOPPED_MESSAGE_CODE, SERVER_READY_MESSAGE_CODE])
+    private final List<String> trackedLines = new ArrayList<String>()
+    private final List<Waiter> waiters = new ArrayList<Waiter>()
+    private final List<Closure> listeners = new ArrayList<Closure>()
+
+    private long position = 0
+    private Object fileKey = null
+    private long creationTime = 0
+    private ByteArrayOutputStream partialLine = new ByteArrayOutputStream()
+    private Thread follower = null
+
+    MessagesLogTailer(File logFile) {
+        this.logFile = logFile
+    }
+
+    File getLogFile() {
+        return logFile
+    }
+
+    /**
+     * Waits until a line of the log matches the regular expression.
+     *
+     * @param regex regular expression that is searched for in each line
+     * @param timeoutMillis maximum time to wait
+     * @return the matching line, or null if no line matched before the timeout
+     */
+    String waitForMessage(String regex, long timeoutMillis) {
+        Waiter waiter = waitFor([regex], timeoutMillis).get(0)
+        return waiter.line
+    }
+
+    /**
+     * Waits until every regular expression matched a line of the log, or the timeout expires. The timeout
+     * applies to the whole wait.
+     *
+     * @param regexes regular expressions that are searched for in each line
+     * @param timeoutMillis maximum time to wait for all of them
+     * @return the time in milliseconds after which each regular expression was matched, regular expressions
+     *         that were not matched before the timeout are left out
+     */
+    Map<String, Long> waitForMessages(Collection<String> regexes, long timeoutMillis) {
+        Map<String, Long> found = new LinkedHashMap<String, Long>()
+        for (Waiter waiter : waitFor(regexes, timeoutMillis)) {
+            if (waiter.line != null) {
+                found.put(waiter.regex, waiter.foundMillis)
+            }
+        }
+        return found
+    }
+
+    private List<Waiter> waitFor(Collection<String> regexes, long timeoutMillis) {
+        long startTime = System.currentTimeMillis()
+        long endTime = startTime + timeoutMillis
+        List<Waiter> pending = new ArrayList<Waiter>()
+        for (String regex : regexes) {
+            pending.add(register(regex, startTime))
+        }
+        try {
+            while (true) {
+                poll()
+                if (pending.every { Waiter waiter -> waiter.line != null }) {
+                    break
+                }
+                long now = System.currentTimeMillis()
+                if (now >= endTime) {
+                    break
+                }
+                Thread.sleep(Math.min(POLL_INTERVAL_MILLIS, endTime - now))
+            }
+        } finally {
+            synchronized (this) {
+                waiters.removeAll(pending)
+            }
+        }
+        return pending
+    }
+
+    /**
+     * Adds a listener that is called with each line logged from now on. The listener is called by the
+     * thread that reads the log while it holds the lock of this tailer, so it must not wait for messages.
+     *
+     * @param listener closure that takes the line
+     */
+    synchronized void addListener(Closure listener) {
+        // the lines logged so far are read first, so they are not passed to the new listener
+        poll()
+        listeners.add(listener)
+        if (follower == null) {
+            follower = new Thread({ follow() } as Runnable, "liberty-messages-log-tailer")
+            follower.setDaemon(true)
+            follower.start()
+        }
+    }
+
+    /**
+     * Removes a listener. The thread that reads the log stops when the last listener is removed.
+     */
+    synchronized void removeListener(Closure listener) {
+        listeners.remove(listener)
+    }
+
+    private void follow() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    if (listeners.isEmpty()) {
+                        follower = null
+                        return
+                    }
+                    poll()
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS)
+            }
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                follower = null
+            }
+        }
+    }
+
+    private synchronized Waiter register(String regex, long startTime) {
+        Waiter waiter = new Waiter(regex, startTime)
+        Matcher codeMatcher = MESSAGE_CODE_PATTERN.matcher(regex)
+        String messageCode = codeMatcher.find() ? codeMatcher.group(1) : null
+        if (messageCode != null && trackedMessageCodes.contains(messageCode)) {
+            for (String line : trackedLines) {
+                if (waiter.offer(line)) {
+                    return waiter
+                }
+            }
+        } else {
+            // the lines read so far were not kept for this message, so they are read again once
+            scanReadLines(waiter, messageCode)
+            if (messageCode != null) {
+                trackedMessageCodes.add(messageCode)
+            }
+        }
+        if (waiter.line == null) {
+            waiters.add(waiter)
+        }
+        return waiter
+    }
+
+    /**
+     * Reads the lines appended to the log since the previous call and passes them to the waiters.
+     */
+    synchronized void poll() {
+        if (!logFile.exists()) {
+            // the log does not exist yet, or is being rolled over
+            return
+        }
+        BasicFileAttributes attributes
+        try {
+            attributes = Files.readAttributes(logFile.toPath(), BasicFileAttributes)
+        } catch (IOException e) {
+            return
+        }
+        Object currentFileKey = attributes.fileKey()
+        long currentCreationTime = attributes.creationTime().toMillis()
+        boolean replaced = position > 0 && (currentFileKey != null ? !currentFileKey.equals(fileKey) : currentCreationTime != creationTime)
+        if (replaced || attributes.size() < position) {
+            readRolledOverLog()
+            position = 0
+            partialLine.reset()
+            trackedLines.clear()
+        }
+        fileKey = currentFileKey
+        creationTime = currentCreationTime
+        if (attributes.size() > position) {
+            position = readLines(logFile, position, attributes.size(), partialLine) { String line -> dispatch(line, true) }
+        }
+    }
+
+    // reads the rest of the log file that was renamed to messages_<timestamp>.log by a roll over
+    private void readRolledOverLog() {
+        String baseName = logFile.getName().replaceFirst(/\.log$/, '')
+        File[] rolledOverLogs = logFile.getParentFile().listFiles({ File dir, String name ->
+            name.startsWith(baseName + '_') && name.endsWith('.log')
+        } as FilenameFilter)
+        if (rolledOverLogs == null || rolledOverLogs.length == 0) {
+            return
+        }
+        File rolledOverLog = null
+        if (fileKey != null) {
+            rolledOverLog = rolledOverLogs.find { File file ->
+                fileKey.equals(Files.readAttributes(file.toPath(), BasicFileAttributes).fileKey())
+            }
+        } else {
+            rolledOverLog = rolledOverLogs.max { File file -> file.lastModified() }
+        }
+        if (rolledOverLog != null && rolledOverLog.length() > position) {
+            readLines(rolledOverLog, position, rolledOverLog.length(), partialLine) { String line -> dispatch(line, false) }
+        }
+        if (partialLine.size() > 0) {
+            dispatch(new String(partialLine.toByteArray(), StandardCharsets.UTF_8), false)
+        }
+    }
+
+    // passes the complete lines between the start and end positions to the consumer, the bytes of an incomplete
+    // last line are left in the partial line buffer, returns the position after the last byte read
+    private static long readLines(File file, long start, long end, ByteArrayOutputStream partial, Closure consumer) {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)
+        try {
+            long current = start
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE)
+            if (end - current < READ_BUFFER_SIZE) {
+                buffer.limit((int) Math.max(end - current, 0))
+            }
+            int read
+            while (buffer.hasRemaining() && (read = channel.read(buffer, current)) > 0) {
+                current += read
+                byte[] bytes = buffer.array()
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == (byte) '\n') {
+                        byte[] lineBytes = partial.toByteArray()
+                        partial.reset()
+                        int length = lineBytes.length
+                        if (length > 0 && lineBytes[length - 1] == (byte) '\r') {
+                            length--
+                        }
+                        consumer.call(new String(lineBytes, 0, length, StandardCharsets.UTF_8))
+                    } else {
+                        partial.write(bytes[i])
+                    }
+                }
+                buffer.clear()
+                if (end - current < READ_BUFFER_SIZE) {
+                    buffer.limit((int) Math.max(end - current, 0))
+                }
+            }
+            return current
+        } finally {
+            channel.close()
+        }
+    }
+
+    private void dispatch(String line, boolean keepTrackedLines) {
+        if (keepTrackedLines && isTracked(line)) {
+            trackedLines.add(line)
+        }
+        for (Waiter waiter : waiters) {
+            waiter.offer(line)
+        }
+        for (Closure listener : new ArrayList<Closure>(listeners)) {
+            listener.call(line)
+        }
+    }
+
+    private boolean isTracked(String line) {
+        for (String messageCode : trackedMessageCodes) {
+            if (line.contains(messageCode)) {
+                return true
+            }
+        }
+        return false
+    }
+
+    // matches the waiter against the lines of the current log up to the read position, and keeps the
+    // lines with the new message code
+    private void scanReadLines(Waiter waiter, String messageCode) {
+        if (position == 0 || !logFile.exists()) {
+            return
+        }
+        readLines(logFile, 0, position, new ByteArrayOutputStream()) { String line ->
+            if (messageCode != null && line.contains(messageCode) && !isTracked(line)) {
+                trackedLines.add(line)
+            }
+            waiter.offer(line)
+        }
+    }
+
+    private static class Waiter {
+        final String regex
+        final Pattern pattern
+        final long startTime
+        volatile String line = null
+        volatile long foundMillis = -1
+
+        Waiter(String regex, long startTime) {
+            this.regex = regex
+            this.pattern = Pattern.compile(regex)
+            this.startTime = startTime
+        }
+
+        boolean offer(String candidate) {
+            if (line == null && pattern.matcher(candidate).find()) {
+                foundMillis = System.currentTimeMillis() - startTime
+                line = candidate
+            }
+            return line != null
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.artifacts.ArtifactView
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier
+import org.gradle.api.artifacts.result.ResolvedArtifactResult
+import org.gradle.api.attributes.AttributeContainer
+import org.gradle.api.attributes.LibraryElements
+import org.gradle.api.logging.Logger
+import org.gradle.api.model.ObjectFactory
+
+/**
+ * Class and resource directories of the projects in a resolved configuration, keyed by the component
+ * identifier of each project. The archives are mapped from the artifacts of the configuration itself,
+ * and the directories are taken from the classes and resources variants that the java plugin publishes
+ * for each project, so the projects that produce them are never accessed directly. The variants are
+ * only resolved when the configuration contains a project archive.
+ */
+class ProjectModuleOutputs {
+
+    private final Map<File, ComponentIdentifier> archiveComponents = new HashMap<File, ComponentIdentifier>()
+    private final Map<ComponentIdentifier, List<File>> classesDirs = new HashMap<ComponentIdentifier, List<File>>()
+    private final Map<ComponentIdentifier, File> resourcesDirs = new HashMap<ComponentIdentifier, File>()
+
+    /**
+     * Resolves the outputs of the project dependencies of a configuration. Projects that do not publish
+     * classes and resources variants are left out.
+     *
+     * @param configuration resolvable configuration of the consuming project, for example runtimeClasspath
+     * @param objects object factory of the consuming project
+     * @param logger logger for resolution problems
+     * @return the outputs of the project dependencies
+     */
+    static ProjectModuleOutputs resolve(Configuration configuration, ObjectFactory objects, Logger logger) {
+        long start = System.currentTimeMillis()
+        ProjectModuleOutputs outputs = new ProjectModuleOutputs()
+        try {
+            // the archives are the artifacts that the configuration already resolved for the classpath
+            for (ResolvedArtifactResult artifact : getProjectArtifacts(configuration, null, objects)) {
+                outputs.archiveComponents.put(artifact.getFile().getCanonicalFile(), artifact.getId().getComponentIdentifier())
+            }
+            if (outputs.archiveComponents.isEmpty()) {
+                return outputs
+            }
+            for (ResolvedArtifactResult artifact : getProjectArtifacts(configuration, LibraryElements.CLASSES, objects)) {
+                ComponentIdentifier component = artifact.getId().getComponentIdentifier()
+                if (!outputs.classesDirs.containsKey(component)) {
+                    outputs.classesDirs.put(component, new ArrayList<File>())
+                }
+                outputs.classesDirs.get(component).add(artifact.getFile())
+            }
+            for (ResolvedArtifactResult artifact : getProjectArtifacts(configuration, LibraryElements.RESOURCES, objects)) {
+                outputs.resourcesDirs.put(artifact.getId().getComponentIdentifier(), artifact.getFile())
+            }
+        } catch (Exception e) {
+            logger.debug("Could not resolve the project outputs of configuration " + configuration.getName() + ": " + e.getMessage())
+        }
+        logger.debug("Resolved the outputs of " + outputs.archiveComponents.size() + " projects of configuration " + configuration.getName() + " in " + (System.currentTimeMillis() - start) + " ms.")
+        return outputs
+    }
+
+    /**
+     * Returns the component of the project that produced an archive of the configuration, or null if
+     * the archive does not come from a project.
+     */
+    ComponentIdentifier getComponent(File archive) {
+        return archiveComponents.get(archive.getCanonicalFile())
+    }
+
+    /**
+     * Returns the components of the projects whose archives are in the configuration.
+     */
+    Set<ComponentIdentifier> getComponents() {
+        return new LinkedHashSet<ComponentIdentifier>(archiveComponents.values())
+    }
+
+    /**
+     * Returns whether both the classes and the resources variants of the project were resolved.
+     */
+    boolean hasOutputs(ComponentIdentifier component) {
+        return classesDirs.containsKey(component) && resourcesDirs.containsKey(component)
+    }
+
+    List<File> getClassesDirs(ComponentIdentifier component) {
+        List<File> dirs = classesDirs.get(component)
+        return dirs == null ? Collections.<File>emptyList() : dirs
+    }
+
+    /**
+     * Returns the resources directory of the project, or null if it was not resolved.
+     */
+    File getResourcesDir(ComponentIdentifier component) {
+        return resourcesDirs.get(component)
+    }
+
+    private static Set<ResolvedArtifactResult> getProjectArtifacts(Configuration configuration, String libraryElements, ObjectFactory objects) {
+        ArtifactView view = configuration.getIncoming().artifactView { ArtifactView.ViewConfiguration viewConfiguration ->
+            viewConfiguration.setLenient(true)
+            viewConfiguration.componentFilter { ComponentIdentifier id -> id instanceof ProjectComponentIdentifier }
+            if (libraryElements != null) {
+                viewConfiguration.attributes { AttributeContainer attributes ->
+                    attributes.attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, objects.named(LibraryElements, libraryElements))
+                }
+            }
+        }
+        return view.getArtifacts().getArtifacts()
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+import org.gradle.api.logging.Logging
+import org.w3c.dom.Element
+import org.w3c.dom.NodeList
+
+import javax.xml.parsers.DocumentBuilder
+import javax.xml.parsers.DocumentBuilderFactory
+
+/**
+ * Finds the files a server configuration is read from, so that results derived from the
+ * configuration can be reused until one of them changes. Those are the server.xml file, the files
+ * it includes, the files in configDropins, and the bootstrap.properties and server.env files that
+ * define variables.
+ */
+class ServerConfigFingerprint {
+
+    private static final String DIRECTORY_STATE_PREFIX = "dir:"
+    private static final Logger LOGGER = Logging.getLogger(ServerConfigFingerprint)
+
+    /**
+     * Returns the modification time and size of every file the server configuration is read from,
+     * or null if an include location cannot be resolved to a file.
+     */
+    static Map<File, String> getConfigFileStates(File serverXML, File installDir, File userDir, File serverDir, File outputDir) {
+        Map<String, String> variables = new HashMap<String, String>()
+        variables.put('wlp.install.dir', installDir?.getPath())
+        variables.put('wlp.user.dir', userDir?.getPath())
+        variables.put('server.config.dir', serverDir?.getPath())
+        variables.put('server.output.dir', outputDir?.getPath())
+        if (userDir != null) {
+            variables.put('shared.app.dir', new File(userDir, 'shared/apps').getPath())
+            variables.put('shared.config.dir', new File(userDir, 'shared/config').getPath())
+            variables.put('shared.resource.dir', new File(userDir, 'shared/resources').getPath())
+        }
+
+        Map<File, String> states = new LinkedHashMap<File, String>()
+        // files that define variables used by the configuration
+        addFileState(new File(serverDir, 'bootstrap.properties'), states)
+        addFileState(new File(serverDir, 'server.env'), states)
+        if (installDir != null) {
+            addFileState(new File(installDir, 'etc/server.env'), states)
+        }
+        if (userDir != null) {
+            addFileState(new File(userDir, 'shared/server.env'), states)
+        }
+
+        DocumentBuilder builder = newDocumentBuilder()
+        if (!addConfigFile(serverXML.getCanonicalFile(), serverDir, variables, builder, states)) {
+            return null
+        }
+        for (String dropinsDir : ['configDropins/defaults', 'configDropins/overrides']) {
+            File dir = new File(serverDir, dropinsDir)
+            for (File file : addDirectoryState(dir, states)) {
+                if (!addConfigFile(file.getCanonicalFile(), serverDir, variables, builder, states)) {
+                    return null
+                }
+            }
+        }
+        return states
+    }
+
+    private static boolean addConfigFile(File file, File serverDir, Map<String, String> variables, DocumentBuilder builder, Map<File, String> states) {
+        if (states.containsKey(file)) {
+            return true
+        }
+        addFileState(file, states)
+        if (!file.isFile()) {
+            return true
+        }
+
+        NodeList includes
+        try {
+            includes = builder.parse(file).getElementsByTagName('include')
+        } catch (Exception e) {
+            LOGGER.debug("Could not read the includes of " + file + ", the configuration files cannot be tracked: " + e.getMessage())
+            return false
+        }
+        for (int i = 0; i < includes.getLength(); i++) {
+            String location = resolveVariables(((Element) includes.item(i)).getAttribute('location'), variables)
+            if (location == null || location.isEmpty() || location.contains('${') || location.contains('://')) {
+                LOGGER.debug("The include location " + location + " in " + file + " cannot be resolved, the configuration files cannot be tracked.")
+                return false
+            }
+            List<File> candidates = new ArrayList<File>()
+            File includeFile = new File(location)
+            if (includeFile.isAbsolute()) {
+                candidates.add(includeFile)
+            } else {
+                // relative locations are resolved against the including file, then the server directory
+                candidates.add(new File(file.getParentFile(), location))
+                candidates.add(new File(serverDir, location))
+            }
+            for (File candidate : candidates) {
+                File canonicalCandidate = candidate.getCanonicalFile()
+                if (location.endsWith('/') || location.endsWith('\\') || canonicalCandidate.isDirectory()) {
+                    for (File dirFile : addDirectoryState(canonicalCandidate, states)) {
+                        if (!addConfigFile(dirFile.getCanonicalFile(), serverDir, variables, builder, states)) {
+                            return false
+                        }
+                    }
+                } else if (!addConfigFile(canonicalCandidate, serverDir, variables, builder, states)) {
+                    return false
+                }
+            }
+        }
+        return true
+    }
+
+    /**
+     * Returns whether none of the files changed since their states were returned by
+     * {@link #getConfigFileStates}.
+     */
+    static boolean isCurrent(Map<File, String> fileStates) {
+        for (Map.Entry<File, String> entry : fileStates.entrySet()) {
+            String state = entry.getValue().startsWith(DIRECTORY_STATE_PREFIX) ? getDirectoryState(listXmlFiles(entry.getKey())) : getFileState(entry.getKey())
+            if (!state.equals(entry.getValue())) {
+                return false
+            }
+        }
+        return true
+    }
+
+    // records the XML files of the directory, so that added and removed files are detected, and returns them
+    private static List<File> addDirectoryState(File dir, Map<File, String> states) {
+        List<File> xmlFiles = listXmlFiles(dir)
+        states.put(dir, getDirectoryState(xmlFiles))
+        return xmlFiles
+    }
+
+    private static List<File> listXmlFiles(File dir) {
+        File[] files = dir.listFiles({ File file -> file.isFile() && file.getName().toLowerCase().endsWith('.xml') } as FileFilter)
+        return files == null ? new ArrayList<File>() : Arrays.asList(files).sort { File file -> file.getName() }
+    }
+
+    private static String getDirectoryState(List<File> xmlFiles) {
+        return DIRECTORY_STATE_PREFIX + xmlFiles.collect { File file -> file.getName() }.join('/')
+    }
+
+    private static void addFileState(File file, Map<File, String> states) {
+        states.put(file, getFileState(file))
+    }
+
+    private static String getFileState(File file) {
+        return file.isFile() ? file.lastModified() + ":" + file.length() : "missing"
+    }
+
+    private static String resolveVariables(String location, Map<String, String> variables) {
+        String resolved = location
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            if (variable.getValue() != null) {
+                resolved = resolved.replace('${' + variable.getKey() + '}', variable.getValue())
+            }
+        }
+        return resolved
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance()
+        factory.setNamespaceAware(false)
+        factory.setValidating(false)
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false)
+        factory.setExpandEntityReferences(false)
+        return factory.newDocumentBuilder()
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import groovy.json.JsonOutput
+import groovy.xml.XmlParser
+import org.gradle.api.logging.Logger
+
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+
+/**
+ * Status of a Liberty server, determined without starting a JVM to run the server script. The
+ * server is running if the process recorded in its PID file is a live Liberty server process, or, if
+ * the server was not started by the server script, if its workarea files are locked. The status is
+ * not determined when the PID file exists but cannot be read.
+ *
+ * The HTTP and HTTPS ports of the default HTTP endpoint can also be probed. The ports are read from
+ * server.xml and the files in configDropins, and their variables are resolved from the variable
+ * elements of those files and from bootstrap.properties. Included configuration files are not read.
+ */
+class ServerStatus {
+
+    private static final int DEFAULT_HTTP_PORT = 9080
+    private static final int DEFAULT_HTTPS_PORT = 9443
+    private static final int PORT_PROBE_TIMEOUT_MS = 200
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile('\\$\\{([^}]+)\\}')
+
+    String serverName
+
+    boolean running = false
+
+    /** Whether the status could be determined without running the server script */
+    boolean determined = true
+
+    /** Process id of the server, or null if it is not known */
+    Long pid
+
+    /** Time since the server process started, or null if it is not known */
+    Long uptimeMillis
+
+    /** Configured ports of the default HTTP endpoint, empty unless the ports were probed */
+    List<Port> ports = new ArrayList<Port>()
+
+    /** Time taken to determine the status */
+    long checkMillis
+
+    /**
+     * Determines the status of a server.
+     *
+     * @param serverDir The server configuration directory, which contains server.xml
+     * @param serverOutputDir The output directory of the server, which contains the workarea
+     * @param probePorts Whether to check if the configured HTTP and HTTPS ports accept connections
+     * @param logger The logger to use for output
+     */
+    static ServerStatus check(File serverDir, File serverOutputDir, boolean probePorts, Logger logger) {
+        long start = System.currentTimeMillis()
+        ServerStatus status = new ServerStatus()
+        status.serverName = serverDir.getName()
+
+        Long pid = ServerUtils.readServerPid(serverOutputDir, logger)
+        if (pid != null) {
+            status.running = ServerUtils.isServerRunning(pid, logger)
+            if (status.running) {
+                status.pid = pid
+                Long startMillis = ServerUtils.getProcessStartMillis(pid)
+                if (startMillis != null) {
+                    status.uptimeMillis = System.currentTimeMillis() - startMillis
+                }
+            } else {
+                logger.debug("The server process " + pid + " recorded in the PID file is not running.")
+            }
+        } else if (ServerUtils.getServerPidFile(serverOutputDir).isFile()) {
+            // the PID file could not be read, so only the server script can tell
+            status.determined = false
+        } else {
+            // the server was not started by the server script, for example by server run
+            status.running = ServerUtils.areResourcesLocked(new File(serverOutputDir, "workarea"), logger)
+        }
+
+        if (probePorts) {
+            status.ports = getConfiguredPorts(serverDir, logger)
+            if (status.running) {
+                status.probePorts()
+            }
+        }
+        status.checkMillis = System.currentTimeMillis() - start
+        return status
+    }
+
+    /**
+     * Checks whether the configured ports accept connections.
+     */
+    void probePorts() {
+        for (Port port : ports) {
+            port.open = isPortOpen(port.host, port.port)
+        }
+    }
+
+    String toJson() {
+        Map<String, Object> content = new LinkedHashMap<String, Object>()
+        content.put('serverName', serverName)
+        content.put('running', running)
+        content.put('determined', determined)
+        content.put('pid', pid)
+        content.put('uptimeMillis', uptimeMillis)
+        content.put('ports', ports.collect { Port port -> [name: port.name, host: port.host, port: port.port, open: port.open] })
+        content.put('checkMillis', checkMillis)
+        return JsonOutput.prettyPrint(JsonOutput.toJson(content))
+    }
+
+    /**
+     * Returns the HTTP and HTTPS ports of the default HTTP endpoint. Ports that are disabled with -1
+     * or whose variables cannot be resolved are not returned.
+     */
+    static List<Port> getConfiguredPorts(File serverDir, Logger logger) {
+        List<File> configFiles = new ArrayList<File>()
+        configFiles.addAll(listXmlFiles(new File(serverDir, "configDropins/defaults")))
+        configFiles.add(new File(serverDir, "server.xml"))
+        configFiles.addAll(listXmlFiles(new File(serverDir, "configDropins/overrides")))
+
+        Properties defaultValues = new Properties()
+        Properties values = new Properties()
+        Map<String, String> endpoint = [httpPort: String.valueOf(DEFAULT_HTTP_PORT), httpsPort: String.valueOf(DEFAULT_HTTPS_PORT), host: 'localhost']
+        for (File configFile : configFiles) {
+            if (!configFile.isFile()) {
+                continue
+            }
+            try {
+                Node root = new XmlParser().parse(configFile)
+                for (Node variable : root.children().findAll { it instanceof Node && it.name() == 'variable' }) {
+                    if (variable.attribute('value') != null) {
+                        values.setProperty(variable.attribute('name').toString(), variable.attribute('value').toString())
+                    }
+                    if (variable.attribute('defaultValue') != null) {
+                        defaultValues.setProperty(variable.attribute('name').toString(), variable.attribute('defaultValue').toString())
+                    }
+                }
+                for (Node httpEndpoint : root.children().findAll { it instanceof Node && it.name() == 'httpEndpoint' }) {
+                    if (httpEndpoint.attribute('id') == null || httpEndpoint.attribute('id') == 'defaultHttpEndpoint') {
+                        ['httpPort', 'httpsPort', 'host'].each { String name ->
+                            if (httpEndpoint.attribute(name) != null) {
+                                endpoint.put(name, httpEndpoint.attribute(name).toString())
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Could not read the HTTP endpoint from " + configFile + ": " + e.getMessage())
+            }
+        }
+
+        // values in server.xml take precedence over bootstrap.properties, which take precedence over default values
+        Properties variables = new Properties()
+        variables.putAll(defaultValues)
+        File bootstrapFile = new File(serverDir, "bootstrap.properties")
+        if (bootstrapFile.isFile()) {
+            bootstrapFile.withInputStream { InputStream input -> variables.load(input) }
+        }
+        variables.putAll(values)
+
+        String host = resolveVariables(endpoint.get('host'), variables)
+        if (host == null || host == '*' || host == '0.0.0.0' || host == '::') {
+            host = 'localhost'
+        }
+        List<Port> ports = new ArrayList<Port>()
+        ['http': 'httpPort', 'https': 'httpsPort'].each { String name, String attribute ->
+            String value = resolveVariables(endpoint.get(attribute), variables)
+            try {
+                int port = Integer.parseInt(value.trim())
+                if (port > 0) {
+                    ports.add(new Port(name: name, host: host, port: port))
+                }
+            } catch (Exception e) {
+                logger.debug("Could not resolve the " + attribute + " of the default HTTP endpoint: " + endpoint.get(attribute))
+            }
+        }
+        return ports
+    }
+
+    // returns null if a variable cannot be resolved
+    private static String resolveVariables(String value, Properties variables) {
+        String resolved = value
+        for (int i = 0; resolved != null && i < 10; i++) {
+            Matcher matcher = VARIABLE_PATTERN.matcher(resolved)
+            if (!matcher.find()) {
+                return resolved
+            }
+            String name = matcher.group(1)
+            String variable = variables.getProperty(name)
+            if (variable == null && name.startsWith('env.')) {
+                variable = System.getenv(name.substring(4))
+            }
+            if (variable == null) {
+                return null
+            }
+            resolved = resolved.substring(0, matcher.start()) + variable + resolved.substring(matcher.end())
+        }
+        return resolved
+    }
+
+    private static List<File> listXmlFiles(File dir) {
+        File[] files = dir.listFiles({ File file -> file.isFile() && file.getName().endsWith('.xml') } as FileFilter)
+        if (files == null) {
+            return []
+        }
+        // configDropins files are applied in alphabetical order
+        return files.sort { File file -> file.getName() } as List<File>
+    }
+
+    private static boolean isPortOpen(String host, int port) {
+        Socket socket = new Socket()
+        try {
+            socket.connect(new InetSocketAddress(host, port), PORT_PROBE_TIMEOUT_MS)
+            return true
+        } catch (IOException e) {
+            return false
+        } finally {
+            try {
+                socket.close()
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    static class Port {
+        /** http or https */
+        String name
+        String host
+        int port
+        /** Whether the port accepts connections, or null if it was not probed */
+        Boolean open
+    }
+}
@@ -15,130 +15,172 @@
  */
 package io.openliberty.tools.gradle.utils
 
-import org.gradle.api.Project
 import org.gradle.api.logging.Logger
-import java.nio.file.Files
-import java.nio.file.Path
-import java.nio.file.Paths
+import java.nio.channels.FileChannel
+import java.nio.channels.FileLock
+import java.nio.channels.OverlappingFileLockException
+import java.nio.file.NoSuchFileException
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ExecutionException
 import java.util.concurrent.TimeUnit
-import io.openliberty.tools.common.plugins.util.OSUtil
-import io.openliberty.tools.gradle.utils.ProcessUtils
+import java.util.concurrent.TimeoutException
 
 /**
  * Utility class for Liberty server operations
  */
 class ServerUtils {
 
+    // the maximum time to wait for the server JVM to exit and release its locks
+    private static final long STOP_VERIFICATION_TIMEOUT_MS = 11500
+    private static final long LOCK_POLL_INTERVAL_MS = 50
+
+    // files that the server holds locked while it runs, relative to the workarea directory
+    private static final List<String> WORKAREA_LOCK_FILES = [".sLock", "org.eclipse.osgi/.manager/.fileTableLock"]
+
+    /**
+     * Reads the process id of the server from the PID file that the server script writes to the
+     * .pid directory of the output directory.
+     *
+     * @param serverOutputDir The output directory of the server
+     * @param logger The logger to use for output
+     * @return the process id, or null if the server was not started by the server script
+     */
+    static Long readServerPid(File serverOutputDir, Logger logger) {
+        File pidFile = getServerPidFile(serverOutputDir)
+        if (!pidFile.isFile()) {
+            return null
+        }
+        try {
+            return Long.valueOf(pidFile.text.trim())
+        } catch (Exception e) {
+            logger.debug("Could not read the server process id from " + pidFile + ": " + e.getMessage())
+            return null
+        }
+    }
+
     /**
-     * Verifies that the server is fully stopped and all resources are released.
+     * Returns the PID file that the server script writes when it starts the server.
+     *
+     * @param serverOutputDir The output directory of the server
+     */
+    static File getServerPidFile(File serverOutputDir) {
+        return new File(serverOutputDir.getParentFile(), ".pid/" + serverOutputDir.getName() + ".pid")
+    }
+
+    /**
+     * Verifies that the server is fully stopped and all resources are released. Returns as soon as
+     * the server process has exited and the workarea locks can be acquired.
      * 
-     * @param serverDir The server directory
+     * @param serverOutputDir The output directory of the server, which contains the workarea
+     * @param serverPid The process id of the server read before it was stopped, or null if unknown
      * @param logger The logger to use for output
      * @return true if the server is fully stopped, false otherwise
      */
-    static boolean verifyServerFullyStopped(File serverDir, Logger logger) {
+    static boolean verifyServerFullyStopped(File serverOutputDir, Long serverPid, Logger logger) {
         logger.debug('Verifying Liberty server is fully stopped and resources are released...')
         
-        // Define verification parameters
-        int maxAttempts = 5
-        long initialWaitMs = 500
-        long maxWaitMs = 4000
-        long waitMs = initialWaitMs
-        long totalWaitTime = 0
-        
-        // Check for server process
-        File workarea = new File(serverDir, "workarea")
-        
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-            boolean serverRunning = isServerRunning(serverDir, logger)
-            boolean resourcesLocked = areResourcesLocked(workarea, logger)
-            
-            if (!serverRunning && !resourcesLocked) {
-                logger.debug("Server verified as fully stopped after ${totalWaitTime}ms")
-                return true
-            }
-            
-            if (serverRunning) {
-                logger.debug("Server process still running (attempt ${attempt}/${maxAttempts}), waiting ${waitMs}ms...")
-            } else if (resourcesLocked) {
-                logger.debug("Server resources still locked (attempt ${attempt}/${maxAttempts}), waiting ${waitMs}ms...")
-            }
+        long startTime = System.currentTimeMillis()
+        long endTime = startTime + STOP_VERIFICATION_TIMEOUT_MS
+        File workarea = new File(serverOutputDir, "workarea")
 
-            // The maximum number of attempts is 5
-            // The maximum wait time per attempt is 4000ms
-            // Attempt 1: 500ms, Attempt 2: 1000ms, Attempt 3: 2000ms, Attempt 4: 4000ms, Attempt 5: 4000ms
-            // The total maximum wait time is 11,500ms (11.5 seconds)
-            try {
-                Thread.sleep(waitMs)
-                totalWaitTime += waitMs
-                // Exponential backoff with cap
-                waitMs = Math.min(waitMs * 2, maxWaitMs)
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt()
-                logger.warn("Interrupted while waiting for server to stop")
+        try {
+            if (serverPid != null && !waitForProcessExit(serverPid, endTime, logger)) {
+                logger.warn("Server stop verification timed out after ${System.currentTimeMillis() - startTime}ms, the server process ${serverPid} is still running")
                 return false
             }
+            while (areResourcesLocked(workarea, logger)) {
+                long now = System.currentTimeMillis()
+                if (now >= endTime) {
+                    logger.warn("Server stop verification timed out after ${now - startTime}ms")
+                    logger.warn("Some resources may still be locked, which could cause issues with subsequent tasks")
+
+                    // Try to identify locked resources for debugging
+                    identifyLockedResources(workarea, logger)
+                    return false
+                }
+                Thread.sleep(Math.min(LOCK_POLL_INTERVAL_MS, endTime - now))
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt()
+            logger.warn("Interrupted while waiting for server to stop")
+            return false
         }
-        
-        // If we get here, we've exceeded max attempts
-        logger.warn("Server stop verification timed out after ${maxAttempts} attempts (${totalWaitTime}ms)")
-        logger.warn("Some resources may still be locked, which could cause issues with subsequent tasks")
-        
-        // Try to identify locked resources for debugging
-        identifyLockedResources(workarea, logger)
-        
-        return false
+
+        logger.debug("Server verified as fully stopped after ${System.currentTimeMillis() - startTime}ms")
+        return true
     }
     
     /**
-     * Checks if the Liberty server process is still running.
+     * Checks if the Liberty server process is still running. A live process that is not a Liberty server
+     * means that the PID file is stale and its process id was reused, so the server is not running.
      * 
-     * @param serverDir The server directory
+     * @param serverPid The process id of the server
      * @param logger The logger to use for output
      * @return true if the server is running, false otherwise
      */
-    static boolean isServerRunning(File serverDir, Logger logger) {
-        // Check for server process using OS-specific commands
-        String serverName = serverDir.getName()
-        boolean isRunning = false
-        Process process = null
-        
+    static boolean isServerRunning(long serverPid, Logger logger) {
+        Optional<ProcessHandle> processHandle = ProcessHandle.of(serverPid)
+        if (!processHandle.isPresent()) {
+            return false
+        }
+        if (!isLibertyCommandLine(processHandle.get())) {
+            logger.debug("The process " + serverPid + " is not a Liberty server, the PID file is stale.")
+            return false
+        }
+        return processHandle.get().isAlive()
+    }
+
+    /**
+     * Returns the start time of a running process.
+     *
+     * @param pid The process id
+     * @return the start time in milliseconds since the epoch, or null if it is not known
+     */
+    static Long getProcessStartMillis(long pid) {
+        Optional<ProcessHandle> processHandle = ProcessHandle.of(pid)
+        if (!processHandle.isPresent()) {
+            return null
+        }
+        Optional<java.time.Instant> startInstant = processHandle.get().info().startInstant()
+        return startInstant.isPresent() ? startInstant.get().toEpochMilli() : null
+    }
+
+    // waits on the process exit, and returns false if the process is still running at the end time
+    private static boolean waitForProcessExit(long serverPid, long endTime, Logger logger) throws InterruptedException {
+        Optional<ProcessHandle> processHandle = ProcessHandle.of(serverPid)
+        if (!processHandle.isPresent()) {
+            // the process has already exited
+            return true
+        }
+        if (processHandle.get().pid() == ProcessHandle.current().pid()) {
+            // an embedded server runs in this JVM
+            return true
+        }
         try {
-            if (OSUtil.isWindows()) {
-                String command = "tasklist /FI \"IMAGENAME eq java.exe\" /FO CSV"
-                process = Runtime.getRuntime().exec(command)
-                try (BufferedReader reader = ProcessUtils.createProcessReader(process)) {
-                    String line
-                    while ((line = reader.readLine()) != null) {
-                        if (line.toLowerCase().contains(serverName.toLowerCase())) {
-                            isRunning = true
-                            break
-                        }
-                    }
-                }
-                process.waitFor(5, TimeUnit.SECONDS)
-            } else {
-                // Unix-based systems (Linux, macOS)
-                String command = "ps -ef | grep " + serverName + " | grep -v grep"
-                process = Runtime.getRuntime().exec(new String[]{"sh", "-c", command})
-                try (BufferedReader reader = ProcessUtils.createProcessReader(process)) {
-                    isRunning = reader.readLine() != null
-                }
-                process.waitFor(5, TimeUnit.SECONDS)
-            }
-        } catch (Exception e) {
-            logger.debug("Error checking if server is running: " + e.getMessage())
-        } finally {
-            if (process != null) {
-                ProcessUtils.drainAndCloseProcessStream(process, true, logger)
-            }
+            processHandle.get().onExit().get(Math.max(endTime - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS)
+            return true
+        } catch (TimeoutException e) {
+            return false
+        } catch (ExecutionException e) {
+            logger.debug("Error waiting for the server process to exit: " + e.getMessage())
+            return !processHandle.get().isAlive()
         }
-        
-        return isRunning
+    }
+
+    // guards against a process id that was reused by another process, Liberty servers run bin/tools/ws-server.jar,
+    // a process whose command line and arguments cannot be read, as on Windows, is taken to be the server
+    private static boolean isLibertyCommandLine(ProcessHandle processHandle) {
+        ProcessHandle.Info info = processHandle.info()
+        Optional<String> commandLine = info.commandLine()
+        if (commandLine.isPresent()) {
+            return commandLine.get().contains("ws-server")
+        }
+        Optional<String[]> arguments = info.arguments()
+        return !arguments.isPresent() || arguments.get().any { String argument -> argument.contains("ws-server") }
     }
     
     /**
-     * Checks if resources in the workarea directory are locked.
+     * Checks if the files that the server locks in the workarea directory are still locked.
      * 
      * @param workarea The workarea directory
      * @param logger The logger to use for output
@@ -148,41 +190,35 @@ class ServerUtils {
         if (!workarea.exists()) {
             return false
         }
-        
-        // Try to access potentially locked files
-        try {
-            // Check if we can delete and recreate a test file in the workarea
-            File testFile = new File(workarea, ".liberty_plugin_lock_test")
-            if (testFile.exists()) {
-                if (!testFile.delete()) {
-                    return true // Can't delete, likely locked
-                }
-            }
-            
-            // Try to create the test file
-            if (!testFile.createNewFile()) {
-                return true // Can't create, likely locked
+        for (String lockFileName : WORKAREA_LOCK_FILES) {
+            File lockFile = new File(workarea, lockFileName)
+            if (lockFile.isFile() && isLocked(lockFile, logger)) {
+                return true
             }
-            
-            // Clean up
-            testFile.delete()
-            
-            // Check if we can access the OSGi directories which are commonly locked
-            File osgiDir = new File(workarea, "org.eclipse.osgi")
-            if (osgiDir.exists()) {
-                File[] osgiFiles = osgiDir.listFiles()
-                if (osgiFiles != null) {
-                    for (File file : osgiFiles) {
-                        if (!file.canWrite()) {
-                            return true // Can't write, likely locked
-                        }
-                    }
+        }
+        return false
+    }
+
+    private static boolean isLocked(File lockFile, Logger logger) {
+        try {
+            FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.WRITE)
+            try {
+                FileLock lock = channel.tryLock()
+                if (lock == null) {
+                    return true
                 }
+                lock.release()
+                return false
+            } finally {
+                channel.close()
             }
-            
-            return false // No locks detected
+        } catch (OverlappingFileLockException e) {
+            // the lock is held by this JVM, for example by an embedded server
+            return true
+        } catch (NoSuchFileException e) {
+            return false
         } catch (Exception e) {
-            logger.debug("Error checking for locked resources: " + e.getMessage())
+            logger.debug("Error checking the lock of " + lockFile + ": " + e.getMessage())
             return true // Assume locked if we encounter an error
         }
     }
@@ -249,13 +285,18 @@ class ServerUtils {
      * Force cleanup of server resources when normal stop verification fails.
      * 
      * @param serverDir The server directory
+     * @param serverPid The process id of the server, or null if unknown
      * @param logger The logger to use for output
      */
-    static void forceCleanupServerResources(File serverDir, Logger logger) {
+    static void forceCleanupServerResources(File serverDir, Long serverPid, Logger logger) {
         logger.lifecycle("Performing forced cleanup of Liberty server resources...")
         
-        // 1. Force kill any lingering server processes
-        forceKillServerProcesses(serverDir.getName(), logger)
+        // 1. Force kill the server process if it is still running
+        if (serverPid != null) {
+            forceKillServerProcess(serverPid, logger)
+        } else {
+            logger.debug("The server process id is not known, no process is killed.")
+        }
         
         // 2. Force release of file locks by using JVM's System.gc()
         logger.debug("Requesting garbage collection to help release file locks...")
@@ -279,92 +320,24 @@ class ServerUtils {
     }
     
     /**
-     * Force kill any lingering server processes.
+     * Force kill the server process. Only the process recorded in the server PID file is killed, so other
+     * JVMs on the same host are never affected.
      * 
-     * @param serverName The name of the server
+     * @param serverPid The process id of the server
      * @param logger The logger to use for output
      */
-    static void forceKillServerProcesses(String serverName, Logger logger) {
-        logger.lifecycle("Force killing any lingering Liberty server processes...")
-        
-        Process findProcess = null
+    static void forceKillServerProcess(long serverPid, Logger logger) {
+        logger.lifecycle("Force killing the Liberty server process ${serverPid}...")
 
+        Optional<ProcessHandle> processHandle = ProcessHandle.of(serverPid)
+        if (!processHandle.isPresent() || processHandle.get().pid() == ProcessHandle.current().pid() || !isLibertyCommandLine(processHandle.get())) {
+            return
+        }
+        processHandle.get().destroyForcibly()
         try {
-            if (OSUtil.isWindows()) {
-                // Windows - use taskkill with /F (force) flag
-                String findCmd = "tasklist /FI \"IMAGENAME eq java.exe\" /FO CSV"
-                findProcess = Runtime.getRuntime().exec(findCmd)
-                List<String> pidsToKill = new ArrayList<>()
-
-                try (BufferedReader reader = ProcessUtils.createProcessReader(findProcess)) {
-                    String line
-                    while ((line = reader.readLine()) != null) {
-                        if (line.toLowerCase().contains(serverName.toLowerCase())) {
-                            // Extract PID from CSV format
-                            String[] parts = line.split(",")
-                            if (parts.length >= 2) {
-                                String pid = parts[1].replaceAll("\"", "").trim()
-                                pidsToKill.add(pid)
-                            }
-                        }
-                    }
-                }
-                findProcess.waitFor(5, TimeUnit.SECONDS)
-
-                // Kill each process
-                for (String pid : pidsToKill) {
-                    logger.debug("Killing process with PID: ${pid}")
-                    Process killProcess = null
-                    try {
-                        killProcess = Runtime.getRuntime().exec("taskkill /F /PID " + pid)
-                        killProcess.waitFor(5, TimeUnit.SECONDS)
-                    } finally {
-                        // Drain and close both streams
-                        ProcessUtils.drainAndCloseProcessStream(killProcess, false, logger)
-                        ProcessUtils.drainAndCloseProcessStream(killProcess, true, logger)
-                    }
-                }
-
-            } else {
-                // Unix-based systems (Linux, macOS)
-                String findCmd = "ps -ef | grep " + serverName + " | grep -v grep"
-                findProcess = Runtime.getRuntime().exec(new String[]{"sh", "-c", findCmd})
-                List<String> pidsToKill = new ArrayList<>()
-
-                try (BufferedReader reader = ProcessUtils.createProcessReader(findProcess)) {
-                    String line
-                    while ((line = reader.readLine()) != null) {
-                        String[] parts = line.trim().split("\\s+")
-                        if (parts.length >= 2) {
-                            pidsToKill.add(parts[1])
-                        }
-                    }
-                }
-
-                // Kill each process
-                for (String pid : pidsToKill) {
-                    logger.debug("Killing process with PID: ${pid}")
-                    Process killProcess = null
-                    try {
-                        killProcess = Runtime.getRuntime().exec(new String[]{"sh", "-c", "kill -9 " + pid})
-                        killProcess.waitFor(5, TimeUnit.SECONDS)
-                    } finally {
-                        // Drain and close both streams
-                        ProcessUtils.drainAndCloseProcessStream(killProcess, false, logger)
-                        ProcessUtils.drainAndCloseProcessStream(killProcess, true, logger)
-                    }
-                }
-            }
-
-            // Wait a bit for processes to be killed
-            Thread.sleep(1000)
-
+            processHandle.get().onExit().get(5, TimeUnit.SECONDS)
         } catch (Exception e) {
-            logger.warn("Error during force kill: " + e.getMessage())
-        } finally {
-            if (findProcess != null) {
-                ProcessUtils.drainAndCloseProcessStream(findProcess, true, logger)
-            }
+            logger.debug("The server process did not exit after it was killed: " + e.getMessage())
         }
     }
 
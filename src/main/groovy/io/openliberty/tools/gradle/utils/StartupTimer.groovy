@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+/**
+ * Times the child builds that bring up the server when dev mode starts. Startup is a sequence of
+ * steps, each running one build, and the duration of every step is logged once the application is
+ * deployed so that the slowest steps can be found.
+ */
+class StartupTimer {
+
+    private final Logger logger
+    private final Map<String, Long> steps = new LinkedHashMap<String, Long>()
+
+    StartupTimer(Logger logger) {
+        this.logger = logger
+    }
+
+    /**
+     * Runs and times a single step.
+     *
+     * @param name name of the step, used in the summary
+     * @param step the step to run
+     */
+    void run(String name, Closure step) {
+        long start = System.currentTimeMillis()
+        try {
+            logger.debug("Starting dev mode startup step " + name)
+            step.call()
+        } finally {
+            long duration = System.currentTimeMillis() - start
+            steps.put(name, duration)
+            logger.debug("Dev mode startup step " + name + " took " + duration + " ms")
+        }
+    }
+
+    /**
+     * Returns the steps with their durations, for example "install and compile 41.2 s, deploy 3.1 s".
+     */
+    String getStepDurations() {
+        List<String> path = new ArrayList<String>()
+        for (Map.Entry<String, Long> entry : steps.entrySet()) {
+            path.add(entry.getKey() + " " + formatMillis(entry.getValue()))
+        }
+        return path.join(", ")
+    }
+
+    /**
+     * Returns the total time spent in the steps.
+     */
+    long getTotalMillis() {
+        long total = 0
+        for (Long duration : steps.values()) {
+            total += duration
+        }
+        return total
+    }
+
+    /**
+     * Logs the total time and the time of each step.
+     */
+    void logSummary() {
+        logger.lifecycle("Dev mode startup builds took " + formatMillis(getTotalMillis()) + ": " + getStepDurations() + ".")
+    }
+
+    private static String formatMillis(long millis) {
+        return String.format("%.1f s", millis / 1000.0d)
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+
+/**
+ * Selects the test classes affected by the changes made since the previous test run, using the
+ * class references in the constant pools of the compiled main and test classes.
+ *
+ * A test class is affected when one of its classes changed, when it references a main class that
+ * changed or that depends on a changed class, or when it references no main classes at all, as is
+ * the case for tests that only call the application over HTTP. Class files are only parsed again
+ * when they change.
+ */
+class TestImpactAnalyzer {
+
+    private static final String CLASS_EXTENSION = ".class"
+
+    private final Collection<File> mainDirs
+    private final Collection<File> testDirs
+    private final Logger logger
+
+    private Map<File, String> mainStates = null
+    private Map<File, String> testStates = null
+    private Map<File, String> previousMainStates = null
+    private Map<File, String> previousTestStates = null
+    private final Map<File, ClassFileInfo> mainClasses = new HashMap<File, ClassFileInfo>()
+    private final Map<File, ClassFileInfo> testClasses = new HashMap<File, ClassFileInfo>()
+
+    /**
+     * @param mainDirs main class and resource output directories
+     * @param testDirs test class and resource output directories
+     */
+    TestImpactAnalyzer(Collection<File> mainDirs, Collection<File> testDirs, Logger logger) {
+        this.mainDirs = new ArrayList<File>(mainDirs)
+        this.testDirs = new ArrayList<File>(testDirs)
+        this.logger = logger
+    }
+
+    /**
+     * Returns the binary names of the top level test classes affected by the changes since the previous
+     * call, or null if the full test suite should run. The full suite runs on the first call, when
+     * nothing changed since the previous call, and when a resource or unreadable class changed.
+     */
+    synchronized Set<String> getAffectedTests() {
+        Map<File, String> newMainStates = DevTaskHelper.getFileStates(mainDirs, null)
+        Map<File, String> newTestStates = DevTaskHelper.getFileStates(testDirs, null)
+        boolean firstRun = mainStates == null
+        Set<File> changedMainFiles = getChangedFiles(mainStates, newMainStates)
+        Set<File> changedTestFiles = getChangedFiles(testStates, newTestStates)
+        previousMainStates = mainStates
+        previousTestStates = testStates
+        mainStates = newMainStates
+        testStates = newTestStates
+
+        // class names of deleted main classes are only known from the previous parse
+        Set<String> changedMainClasses = new HashSet<String>()
+        for (File file : changedMainFiles) {
+            ClassFileInfo previous = mainClasses.get(file)
+            if (previous != null) {
+                changedMainClasses.add(previous.className)
+            }
+        }
+        boolean readable = update(mainClasses, changedMainFiles, newMainStates) & update(testClasses, changedTestFiles, newTestStates)
+
+        if (firstRun || (changedMainFiles.isEmpty() && changedTestFiles.isEmpty())) {
+            return null
+        }
+        if (!readable || (changedMainFiles + changedTestFiles).any { !it.getName().endsWith(CLASS_EXTENSION) }) {
+            logger.debug("Running all tests since resources or unreadable classes changed.")
+            return null
+        }
+        for (File file : changedMainFiles) {
+            ClassFileInfo info = mainClasses.get(file)
+            if (info != null) {
+                changedMainClasses.add(info.className)
+            }
+        }
+
+        Set<String> affectedMainClasses = getDependentClasses(changedMainClasses)
+        Set<String> allMainClasses = new HashSet<String>()
+        for (ClassFileInfo info : mainClasses.values()) {
+            allMainClasses.add(info.className)
+        }
+
+        Set<String> changedTestClasses = new HashSet<String>()
+        for (File file : changedTestFiles) {
+            ClassFileInfo info = testClasses.get(file)
+            if (info != null) {
+                changedTestClasses.add(info.className)
+            }
+        }
+
+        // group the test classes by their top level class, since that is what the test filter selects
+        Map<String, ClassFileInfo> testClassesByName = new HashMap<String, ClassFileInfo>()
+        Map<String, List<ClassFileInfo>> testClassesByTopLevelName = new TreeMap<String, List<ClassFileInfo>>()
+        for (ClassFileInfo info : testClasses.values()) {
+            testClassesByName.put(info.className, info)
+            List<ClassFileInfo> group = testClassesByTopLevelName.get(info.getTopLevelClassName())
+            if (group == null) {
+                group = new ArrayList<ClassFileInfo>()
+                testClassesByTopLevelName.put(info.getTopLevelClassName(), group)
+            }
+            group.add(info)
+        }
+
+        Set<String> affectedTests = new TreeSet<String>()
+        for (Map.Entry<String, List<ClassFileInfo>> entry : testClassesByTopLevelName.entrySet()) {
+            ClassFileInfo topLevel = testClassesByName.get(entry.getKey())
+            if (topLevel == null || !topLevel.isConcrete()) {
+                continue
+            }
+            // include the classes inherited from abstract base test classes
+            Set<String> testClassNames = new HashSet<String>()
+            Set<String> references = new HashSet<String>()
+            Deque<ClassFileInfo> pending = new ArrayDeque<ClassFileInfo>(entry.getValue())
+            while (!pending.isEmpty()) {
+                ClassFileInfo info = pending.pop()
+                if (testClassNames.add(info.className)) {
+                    references.addAll(info.referencedClasses)
+                    for (String superType : info.getSuperTypes()) {
+                        ClassFileInfo superInfo = testClassesByName.get(superType)
+                        if (superInfo != null) {
+                            pending.push(superInfo)
+                        }
+                    }
+                }
+            }
+            if (!testClassNames.disjoint(changedTestClasses) || !references.disjoint(affectedMainClasses)
+                    || references.disjoint(allMainClasses)) {
+                affectedTests.add(entry.getKey())
+            }
+        }
+        logger.debug("Changed main classes " + changedMainClasses + " and test classes " + changedTestClasses + " affect tests " + affectedTests)
+        return affectedTests
+    }
+
+    /**
+     * Undoes the last call to {@link #getAffectedTests()} when its tests did not run to completion, so
+     * that its changes are included in the next call.
+     */
+    synchronized void revert() {
+        mainStates = previousMainStates
+        testStates = previousTestStates
+    }
+
+    /**
+     * Forgets the recorded class states, so that the next call to {@link #getAffectedTests()} runs
+     * the full test suite.
+     */
+    synchronized void invalidate() {
+        mainStates = null
+        testStates = null
+    }
+
+    // returns the changed classes and every main class that depends on them directly or indirectly
+    private Set<String> getDependentClasses(Set<String> changedClasses) {
+        Map<String, Set<String>> dependentsByClass = new HashMap<String, Set<String>>()
+        for (ClassFileInfo info : mainClasses.values()) {
+            for (String referencedClass : info.referencedClasses) {
+                Set<String> dependents = dependentsByClass.get(referencedClass)
+                if (dependents == null) {
+                    dependents = new HashSet<String>()
+                    dependentsByClass.put(referencedClass, dependents)
+                }
+                dependents.add(info.className)
+            }
+        }
+        Set<String> affected = new HashSet<String>(changedClasses)
+        Deque<String> pending = new ArrayDeque<String>(changedClasses)
+        while (!pending.isEmpty()) {
+            Set<String> dependents = dependentsByClass.get(pending.pop())
+            if (dependents != null) {
+                for (String dependent : dependents) {
+                    if (affected.add(dependent)) {
+                        pending.push(dependent)
+                    }
+                }
+            }
+        }
+        return affected
+    }
+
+    // parses the changed class files, returns false if one of them could not be read
+    private boolean update(Map<File, ClassFileInfo> classes, Set<File> changedFiles, Map<File, String> states) {
+        boolean readable = true
+        for (File file : changedFiles) {
+            classes.remove(file)
+        }
+        for (File file : states.keySet()) {
+            if (file.getName().endsWith(CLASS_EXTENSION) && !classes.containsKey(file)) {
+                try {
+                    classes.put(file, ClassFileInfo.read(file))
+                } catch (IOException e) {
+                    logger.debug("Could not read class file " + file + ": " + e.getMessage())
+                    readable = false
+                }
+            }
+        }
+        return readable
+    }
+
+    private static Set<File> getChangedFiles(Map<File, String> oldStates, Map<File, String> newStates) {
+        Set<File> changed = new HashSet<File>()
+        if (oldStates == null) {
+            return changed
+        }
+        for (Map.Entry<File, String> entry : newStates.entrySet()) {
+            if (!entry.getValue().equals(oldStates.get(entry.getKey()))) {
+                changed.add(entry.getKey())
+            }
+        }
+        for (File file : oldStates.keySet()) {
+            if (!newStates.containsKey(file)) {
+                changed.add(file)
+            }
+        }
+        return changed
+    }
+}
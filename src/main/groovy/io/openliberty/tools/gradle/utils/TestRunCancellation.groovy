@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import org.gradle.api.logging.Logger
+import org.gradle.tooling.BuildCancelledException
+import org.gradle.tooling.CancellationToken
+import org.gradle.tooling.CancellationTokenSource
+import org.gradle.tooling.GradleConnector
+
+/**
+ * Tracks the dev mode test run in progress, so that a new change can cancel it when its results
+ * are out of date. The changes whose tests were selected for a cancelled run are given back to the
+ * test impact analyzer, so that the next run tests them.
+ */
+class TestRunCancellation {
+
+    private final Logger logger
+
+    // only set while tests are running
+    private CancellationTokenSource current = null
+
+    TestRunCancellation(Logger logger) {
+        this.logger = logger
+    }
+
+    /**
+     * Runs the tests with a new cancellation token.
+     *
+     * @param testImpactAnalyzer analyzer that selected the tests to run, or null if there is none
+     * @param tests closure that runs the tests, it is passed the {@link CancellationToken} of the run
+     * @return false if the run was cancelled
+     */
+    boolean run(TestImpactAnalyzer testImpactAnalyzer, Closure tests) {
+        CancellationTokenSource cancellation = start()
+        try {
+            tests.call(cancellation.token())
+            return true
+        } catch (BuildCancelledException e) {
+            logger.debug('The test run was cancelled', e)
+            if (testImpactAnalyzer != null) {
+                // the changes of the cancelled run still need to be tested
+                testImpactAnalyzer.revert()
+            }
+            return false
+        } finally {
+            end(cancellation)
+        }
+    }
+
+    /**
+     * Cancels the test run in progress.
+     *
+     * @return true if a test run was in progress
+     */
+    synchronized boolean cancel() {
+        if (current == null) {
+            return false
+        }
+        current.cancel()
+        current = null
+        return true
+    }
+
+    private synchronized CancellationTokenSource start() {
+        current = GradleConnector.newCancellationTokenSource()
+        return current
+    }
+
+    private synchronized void end(CancellationTokenSource cancellation) {
+        if (current == cancellation) {
+            current = null
+        }
+    }
+}
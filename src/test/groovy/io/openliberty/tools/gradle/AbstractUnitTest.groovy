@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+/**
+ * Base class of the unit tests that run the plugin utilities against files in a temporary directory, without a Gradle build.
+ */
+abstract class AbstractUnitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    File getTestDir() {
+        return temporaryFolder.getRoot()
+    }
+
+    /**
+     * Writes a file and moves its modification time forward, so that a change is detected even on file systems
+     * with a coarse timestamp resolution.
+     */
+    static File writeFile(File file, String content) {
+        long previousModified = file.isFile() ? file.lastModified() : 0
+        file.getParentFile().mkdirs()
+        file.text = content
+        if (file.lastModified() <= previousModified) {
+            file.setLastModified(previousModified + 2000)
+        }
+        return file
+    }
+}
@@ -1,6 +1,10 @@
 package io.openliberty.tools.gradle
 
 import static org.junit.Assert.*
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+import static org.gradle.testkit.runner.TaskOutcome.UP_TO_DATE
+
+import org.gradle.testkit.runner.BuildResult
 
 import org.junit.AfterClass
 import org.junit.BeforeClass
@@ -42,6 +46,23 @@ class InstallFeature_single extends AbstractIntegrationTest{
         }
     }
 
+    @Test
+    public void test_installFeature_single_upToDate() {
+        copyBuildFiles(buildFilename, buildDir)
+        def file = new File(buildDir, "build/wlp/lib/features/com.ibm.websphere.appserver.mongodb-2.0.mf")
+        runTasks(buildDir, 'installFeature')
+
+        // nothing changed since the last run
+        BuildResult result = runTasksResult(buildDir, 'installFeature')
+        assertEquals(UP_TO_DATE, result.task(":installFeature").getOutcome())
+
+        // the feature was removed from the installation, so it is installed again
+        file.delete()
+        result = runTasksResult(buildDir, 'installFeature')
+        assertEquals(SUCCESS, result.task(":installFeature").getOutcome())
+        assert file.exists() : "com.ibm.websphere.appserver.mongodb-2.0.mf is not installed"
+    }
+
     @Test
     public void test_uninstallFeature_single() {
         try {
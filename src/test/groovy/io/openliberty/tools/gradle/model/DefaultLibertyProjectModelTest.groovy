@@ -0,0 +1,100 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+import io.openliberty.tools.gradle.extensions.LibertyExtension
+
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Before
+import org.junit.Test
+
+class DefaultLibertyProjectModelTest extends AbstractUnitTest {
+
+    Project rootProject
+    Project appProject
+    Project libProject
+
+    @Before
+    void setup() {
+        rootProject = ProjectBuilder.builder().withProjectDir(testDir).withName('root').build()
+        libProject = ProjectBuilder.builder().withParent(rootProject).withName('lib').build()
+        libProject.pluginManager.apply('java-library')
+        libProject.dependencies.add('api', 'org.apache.commons:commons-lang3:3.17.0')
+
+        appProject = ProjectBuilder.builder().withParent(rootProject).withName('app').build()
+        appProject.pluginManager.apply('war')
+        appProject.extensions.create('liberty', LibertyExtension)
+        appProject.dependencies.add('implementation', appProject.dependencies.project(path: ':lib'))
+        appProject.dependencies.add('providedCompile', 'jakarta.platform:jakarta.jakartaee-api:10.0.0')
+        appProject.liberty.server.name = 'appServer'
+        appProject.liberty.server.jvmOptions = ['-Xmx512m']
+    }
+
+    @Test
+    void test_create() {
+        DefaultLibertyProjectModel model = DefaultLibertyProjectModel.create(appProject)
+        assertEquals(':app', model.getProjectPath())
+        assertEquals([':app', ':lib'] as Set, model.getProjectValues().keySet())
+
+        Map<String, Object> appValues = model.getProjectValues().get(':app')
+        assertEquals('appServer', appValues.get('server.name'))
+        assertEquals(['-Xmx512m'], appValues.get('server.jvmOptions'))
+        assertEquals('the default config directory is used', new File(appProject.projectDir, 'src/main/liberty/config').getAbsolutePath(),
+                appValues.get('server.configDirectory'))
+        assertEquals(['project :lib'], appValues.get('dependencies.implementation'))
+        assertEquals(['jakarta.platform:jakarta.jakartaee-api:10.0.0'], appValues.get('dependencies.providedCompile'))
+
+        Map<String, Object> libValues = model.getProjectValues().get(':lib')
+        assertFalse('a project without the Liberty plugin only has its dependencies', libValues.containsKey('server.name'))
+        assertEquals(['org.apache.commons:commons-lang3:3.17.0'], libValues.get('dependencies.api'))
+    }
+
+    @Test
+    void test_createValuesComparable() {
+        Map<String, Object> values = DefaultLibertyProjectModel.createValues(appProject)
+        appProject.liberty.server.jvmOptions = ["-Xmx${512}m"]
+        assertEquals('a GString is compared as a string', values, DefaultLibertyProjectModel.createValues(appProject))
+
+        appProject.liberty.server.bootstrapProperties = ['http.port': 9080]
+        assertEquals(['server.bootstrapProperties'] as Set,
+                DefaultLibertyProjectModel.getChangedKeys(values, DefaultLibertyProjectModel.createValues(appProject)))
+    }
+
+    @Test
+    void test_getChangedKeys() {
+        Map<String, Object> oldValues = ['server.name': 'defaultServer', 'server.jvmOptions': ['-Xmx512m'], 'server.stripVersion': false] as Map<String, Object>
+        assertEquals([] as Set, DefaultLibertyProjectModel.getChangedKeys(oldValues, new TreeMap<String, Object>(oldValues)))
+
+        Map<String, Object> newValues = new TreeMap<String, Object>(oldValues)
+        newValues.put('server.jvmOptions', ['-Xmx1g'])
+        newValues.remove('server.stripVersion')
+        newValues.put('dependencies.api', [])
+        assertEquals(['dependencies.api', 'server.jvmOptions', 'server.stripVersion'] as Set,
+                DefaultLibertyProjectModel.getChangedKeys(oldValues, newValues))
+    }
+
+    @Test
+    void test_getChangedKeysOfAddedOrRemovedProject() {
+        Map<String, Object> values = ['dependencies.implementation': ['project :lib']] as Map<String, Object>
+        assertEquals(['dependencies.implementation'] as Set, DefaultLibertyProjectModel.getChangedKeys(null, values))
+        assertEquals(['dependencies.implementation'] as Set, DefaultLibertyProjectModel.getChangedKeys(values, null))
+        assertEquals([] as Set, DefaultLibertyProjectModel.getChangedKeys(null, null))
+    }
+}
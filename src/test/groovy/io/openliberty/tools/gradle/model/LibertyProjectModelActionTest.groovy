@@ -0,0 +1,86 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.model
+
+import static org.junit.Assert.*
+
+import org.gradle.tooling.BuildController
+import org.gradle.tooling.model.DomainObjectSet
+import org.gradle.tooling.model.gradle.BasicGradleProject
+import org.gradle.tooling.model.gradle.GradleBuild
+import org.junit.Test
+
+class LibertyProjectModelActionTest {
+
+    @Test
+    void test_execute() {
+        HashMap<String, Map<String, Object>> projectValues = new HashMap<String, Map<String, Object>>()
+        projectValues.put(':ear', ['server.name': 'defaultServer'] as Map<String, Object>)
+        projectValues.put(':war', ['dependencies.implementation': []] as Map<String, Object>)
+        List<String> requestedPaths = new ArrayList<String>()
+        BuildController controller = createController([':', ':war', ':ear']) { BasicGradleProject project ->
+            requestedPaths.add(project.getPath())
+            return new DefaultLibertyProjectModel(project.getPath(), projectValues)
+        }
+
+        HashMap<String, Map<String, Object>> result = new LibertyProjectModelAction(':ear').execute(controller)
+        assertEquals('only the model of the requested project is built', [':ear'], requestedPaths)
+        assertEquals(projectValues, result)
+        assertNotSame('the values are copied to a serializable map', projectValues, result)
+    }
+
+    @Test
+    void test_executeUnknownProject() {
+        BuildController controller = createController([':', ':war']) { BasicGradleProject project ->
+            fail('no model is built for ' + project.getPath())
+        }
+        try {
+            new LibertyProjectModelAction(':ear').execute(controller)
+            fail('an unknown project is reported')
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(':ear'))
+        }
+    }
+
+    @Test
+    void test_serializable() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { ObjectOutputStream output ->
+            output.writeObject(new LibertyProjectModelAction(':ear'))
+        }
+        LibertyProjectModelAction action = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject() as LibertyProjectModelAction
+        BuildController controller = createController([':ear']) { BasicGradleProject project ->
+            return new DefaultLibertyProjectModel(project.getPath(), new HashMap<String, Map<String, Object>>())
+        }
+        assertNotNull('the project path is kept when the action is sent to the Gradle daemon', action.execute(controller))
+    }
+
+    // a build controller for a build with the given project paths that builds the Liberty model with the closure
+    private static BuildController createController(List<String> projectPaths, Closure<LibertyProjectModel> createModel) {
+        List<BasicGradleProject> projects = projectPaths.collect { String path ->
+            [getPath: { path }] as BasicGradleProject
+        }
+        DomainObjectSet<BasicGradleProject> projectSet = [iterator: { projects.iterator() }, getAll: { projects }] as DomainObjectSet<BasicGradleProject>
+        GradleBuild build = [getProjects: { projectSet }] as GradleBuild
+        return [
+                getBuildModel: { build },
+                getModel: { Object target, Class modelType ->
+                    assertEquals(LibertyProjectModel, modelType)
+                    return createModel.call(target)
+                }
+        ] as BuildController
+    }
+}
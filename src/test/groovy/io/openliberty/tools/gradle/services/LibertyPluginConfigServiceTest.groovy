@@ -0,0 +1,154 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.services
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+import io.openliberty.tools.gradle.tasks.AbstractLibertyTask
+
+import org.gradle.api.Project
+import org.gradle.api.Task
+import org.gradle.api.tasks.TaskAction
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Before
+import org.junit.Test
+
+class LibertyPluginConfigServiceTest extends AbstractUnitTest {
+
+    static final String CONFIG = '''<?xml version="1.0" encoding="UTF-8"?>
+<liberty-plugin-config version="2.0">
+  <serverName>defaultServer</serverName>
+</liberty-plugin-config>
+'''
+
+    Project project
+    LibertyPluginConfigService service
+    File configFile
+
+    @Before
+    void setup() {
+        project = ProjectBuilder.builder().withProjectDir(testDir).build()
+        service = LibertyPluginConfigService.register(project.getGradle()).get()
+        configFile = new File(testDir, 'build/' + LibertyPluginConfigService.FILE_NAME)
+    }
+
+    @Test
+    void test_register() {
+        assertSame(service, LibertyPluginConfigService.register(project.getGradle()).get())
+    }
+
+    @Test
+    void test_read() {
+        assertFalse(service.exists(configFile))
+        assertNull(service.read(configFile))
+        assertNull(service.getContent(configFile))
+
+        writeFile(configFile, CONFIG)
+        assertTrue(service.exists(configFile))
+        Node root = service.read(configFile)
+        assertEquals('defaultServer', root.serverName[0].text())
+        assertSame('the document is parsed once', root, service.read(configFile))
+    }
+
+    @Test
+    void test_changedOnDisk() {
+        writeFile(configFile, CONFIG)
+        Node root = service.read(configFile)
+
+        writeFile(configFile, CONFIG.replace('defaultServer', 'otherServer'))
+        Node changed = service.read(configFile)
+        assertNotSame('the file was written by another build', root, changed)
+        assertEquals('otherServer', changed.serverName[0].text())
+
+        configFile.delete()
+        assertFalse(service.exists(configFile))
+    }
+
+    @Test
+    void test_update() {
+        writeFile(configFile, CONFIG)
+        long lastModified = configFile.lastModified()
+        service.update(configFile) { Node root ->
+            root.serverName[0].value = 'otherServer'
+        }
+        assertEquals('the change is not written before a flush', CONFIG, configFile.text)
+        assertTrue(service.getContent(configFile).contains('<serverName>otherServer</serverName>'))
+        assertEquals('a changed document is not parsed again', 'otherServer', service.read(configFile).serverName[0].text())
+
+        service.flush(configFile)
+        assertTrue(configFile.text.contains('<serverName>otherServer</serverName>'))
+        Node root = service.read(configFile)
+        assertSame('the written file is not parsed again', root, service.read(configFile))
+
+        // a document that is not changed is not written
+        configFile.setLastModified(lastModified)
+        service.flush(configFile)
+        service.update(configFile) { Node node -> }
+        service.flush(configFile)
+        assertEquals('the content is the same, so the file is not written', lastModified, configFile.lastModified())
+    }
+
+    @Test
+    void test_updateMissingDocument() {
+        try {
+            service.update(configFile) { Node root -> }
+            fail('A FileNotFoundException was expected')
+        } catch (FileNotFoundException e) {
+            assertEquals(configFile.toString(), e.getMessage())
+        }
+    }
+
+    @Test
+    void test_create() {
+        service.create(configFile, CONFIG)
+        assertTrue(service.exists(configFile))
+        assertFalse(configFile.exists())
+        assertEquals('defaultServer', service.read(configFile).serverName[0].text())
+
+        service.flush(configFile)
+        assertTrue(configFile.isFile())
+        assertEquals(service.getContent(configFile), configFile.text)
+    }
+
+    @Test
+    void test_close() {
+        service.create(configFile, CONFIG)
+        service.close()
+        assertTrue('the changes of a failed task are written at the end of the build', configFile.isFile())
+        assertTrue(configFile.text.contains('<serverName>defaultServer</serverName>'))
+    }
+
+    @Test
+    void test_writtenWhenTaskFinishes() {
+        writeFile(configFile, CONFIG)
+        UpdatePluginConfigTask task = project.getTasks().register('updatePluginConfig', UpdatePluginConfigTask).get()
+        for (def action : task.getActions()) {
+            assertEquals('the change is not written while the task runs', CONFIG, configFile.text)
+            action.execute((Task) task)
+        }
+        assertTrue(configFile.text.contains('<serverName>updatedServer</serverName>'))
+    }
+
+    static class UpdatePluginConfigTask extends AbstractLibertyTask {
+        @TaskAction
+        void update() {
+            getPluginConfig().update(getPluginConfigFile()) { Node root ->
+                root.serverName[0].value = 'updatedServer'
+            }
+        }
+    }
+}
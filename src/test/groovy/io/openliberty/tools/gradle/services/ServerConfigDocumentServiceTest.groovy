@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.services
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.common.plugins.config.ServerConfigDocument
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Before
+import org.junit.Test
+
+class ServerConfigDocumentServiceTest extends AbstractUnitTest {
+
+    ServerConfigDocumentService service
+    File installDir
+    File userDir
+    File serverDir
+    File outputDir
+    File serverXML
+    File include
+
+    @Before
+    void setup() {
+        service = ServerConfigDocumentService.register(ProjectBuilder.builder().withProjectDir(testDir).build().getGradle()).get()
+        installDir = new File(testDir, 'wlp')
+        userDir = new File(installDir, 'usr')
+        serverDir = new File(userDir, 'servers/defaultServer')
+        outputDir = serverDir
+        include = writeFile(new File(serverDir, 'apps.xml'), '<server/>')
+        serverXML = writeFile(new File(serverDir, 'server.xml'), '''
+            <server>
+                <include location="${server.config.dir}/apps.xml"/>
+                <application location="app.war" name="app"/>
+                <webApplication location="other.war"/>
+            </server>''')
+    }
+
+    @Test
+    void test_reused() {
+        ServerConfigDocument document = getDocument()
+        assertSame(document, getDocument())
+        assertNotSame('the output directory is part of the key', document, service.getDocument(serverXML, installDir, userDir, serverDir, new File(testDir, 'output')))
+    }
+
+    @Test
+    void test_queriesDoNotChangeDocument() {
+        ServerConfigDocument document = getDocument()
+        Set<String> names = new HashSet<String>(document.getNames())
+        Set<String> locations = new HashSet<String>(document.getLocations())
+        Set<String> namelessLocations = new HashSet<String>(document.getNamelessLocations())
+
+        // the queries that the tasks run on the shared document
+        assertEquals('app', document.findNameForLocation('app.war'))
+        assertEquals('other', document.findNameForLocation('other.war'))
+        assertFalse(document.getSpringBootAppNodeLocation().isPresent())
+        Set<String> appNames = new HashSet<String>(document.getNames())
+        appNames += document.getNamelessLocations()
+
+        ServerConfigDocument reused = getDocument()
+        assertSame(document, reused)
+        assertEquals(['app'] as Set, reused.getNames())
+        assertEquals(names, reused.getNames())
+        assertEquals(locations, reused.getLocations())
+        assertEquals(namelessLocations, reused.getNamelessLocations())
+    }
+
+    @Test
+    void test_serverXmlChanged() {
+        ServerConfigDocument document = getDocument()
+        writeFile(serverXML, '<server><application location="changed.war" name="changed"/></server>')
+        ServerConfigDocument changed = getDocument()
+        assertNotSame(document, changed)
+        assertEquals(['changed'] as Set, changed.getNames())
+    }
+
+    @Test
+    void test_includeModified() {
+        ServerConfigDocument document = getDocument()
+        long lastModified = include.lastModified()
+        writeFile(include, include.text)
+        assertNotEquals('only the modification time changed', lastModified, include.lastModified())
+        assertNotSame(document, getDocument())
+    }
+
+    @Test
+    void test_includeResized() {
+        ServerConfigDocument document = getDocument()
+        long lastModified = include.lastModified()
+        include.text = '<server></server>'
+        include.setLastModified(lastModified)
+        assertNotSame('only the size changed', document, getDocument())
+    }
+
+    @Test
+    void test_invalidate() {
+        ServerConfigDocument document = getDocument()
+        service.invalidate(new File(serverDir, '../defaultServer/server.xml'))
+        assertNotSame(document, getDocument())
+    }
+
+    @Test
+    void test_unresolvedInclude() {
+        writeFile(serverXML, '<server><include location="${undefined.dir}/apps.xml"/></server>')
+        assertNotSame('a document with an include that cannot be resolved is not cached', getDocument(), getDocument())
+    }
+
+    @Test
+    void test_evictionLimit() {
+        ServerConfigDocument first = getDocument()
+        ServerConfigDocument second = getDocument(new File(testDir, 'output/1'))
+        for (int i = 2; i < ServerConfigDocumentService.MAX_CACHED_DOCUMENTS; i++) {
+            getDocument(new File(testDir, 'output/' + i))
+        }
+        assertSame('the cache is full but nothing was removed yet', first, getDocument())
+
+        // the least recently used document is removed
+        getDocument(new File(testDir, 'output/' + ServerConfigDocumentService.MAX_CACHED_DOCUMENTS))
+        assertSame(first, getDocument())
+        assertNotSame(second, getDocument(new File(testDir, 'output/1')))
+    }
+
+    private ServerConfigDocument getDocument(File outputDir = this.outputDir) {
+        return service.getDocument(serverXML, installDir, userDir, serverDir, outputDir)
+    }
+}
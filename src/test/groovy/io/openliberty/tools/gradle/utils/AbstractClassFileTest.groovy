@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import javax.tools.JavaCompiler
+import javax.tools.ToolProvider
+
+import org.junit.Before
+
+/**
+ * Base class of the unit tests that work on class files compiled from Java sources written by the test.
+ */
+abstract class AbstractClassFileTest extends AbstractUnitTest {
+
+    File sourceDir
+
+    File classesDir
+
+    @Before
+    void createClassesDirs() {
+        sourceDir = new File(testDir, 'src/main/java')
+        classesDir = new File(testDir, 'build/classes/java/main')
+        sourceDir.mkdirs()
+        classesDir.mkdirs()
+    }
+
+    File writeSource(String relativePath, String content, File dir = sourceDir) {
+        return writeFile(new File(dir, relativePath), content)
+    }
+
+    /**
+     * Compiles every source file to the classes directory, like the Gradle compile task does.
+     */
+    void compileAll(List<String> options = []) {
+        List<File> sources = new ArrayList<File>()
+        sourceDir.eachFileRecurse { File file ->
+            if (file.getName().endsWith('.java')) {
+                sources.add(file)
+            }
+        }
+        compile(sources, classesDir, options)
+    }
+
+    static void compile(Collection<File> sources, File outputDir, List<String> options = []) {
+        outputDir.mkdirs()
+        List<String> arguments = ['-d', outputDir.getPath()] + options
+        for (File source : sources) {
+            arguments.add(source.getPath())
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler()
+        assert compiler != null : 'The tests must run on a JDK'
+        assert compiler.run(null, null, null, arguments as String[]) == 0 : 'The test sources did not compile'
+    }
+
+    File classFile(String className) {
+        return new File(classesDir, className.replace('.', '/') + '.class')
+    }
+
+    // marks every class file as older, so that the files written by a later compilation can be told apart
+    void ageClassFiles(File dir = classesDir) {
+        dir.eachFileRecurse { File file ->
+            if (file.isFile()) {
+                file.setLastModified(file.lastModified() - 60000)
+            }
+        }
+    }
+
+    // returns the classes whose class files were written after the last call to ageClassFiles()
+    Set<String> getRewrittenClasses() {
+        long since = System.currentTimeMillis() - 30000
+        Set<String> rewritten = new TreeSet<String>()
+        classesDir.eachFileRecurse { File file ->
+            if (file.isFile() && file.getName().endsWith('.class') && file.lastModified() >= since) {
+                String path = classesDir.toPath().relativize(file.toPath()).toString()
+                rewritten.add(path.substring(0, path.length() - '.class'.length()).replace(File.separatorChar, '.' as char))
+            }
+        }
+        return rewritten
+    }
+
+    static boolean isJavaVersionAtLeast(int version) {
+        String specification = System.getProperty('java.specification.version')
+        int major = Integer.parseInt(specification.startsWith('1.') ? specification.substring(2) : specification)
+        return major >= version
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class ChangeCoalescerTest extends AbstractUnitTest {
+
+    File mainDir
+    File testSourceDir
+    File resourcesDir
+    ChangeCoalescer coalescer
+
+    @Before
+    void setup() {
+        mainDir = new File(testDir, 'src/main/java')
+        testSourceDir = new File(testDir, 'src/test/java')
+        resourcesDir = new File(testDir, 'src/main/resources')
+        writeFile(new File(mainDir, 'com/example/App.java'), 'class App {}')
+        writeFile(new File(mainDir, 'com/example/Util.java'), 'class Util {}')
+        writeFile(new File(testSourceDir, 'com/example/AppTest.java'), 'class AppTest {}')
+        writeFile(new File(resourcesDir, 'app.properties'), 'a=1')
+        coalescer = newCoalescer(100, 2000)
+    }
+
+    @After
+    void tearDown() {
+        coalescer.close()
+    }
+
+    @Test
+    void test_noChanges() {
+        ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+        assertEquals(0, batch.getTotalChangeCount())
+        assertFalse(batch.hasChanges(ChangeCoalescer.MAIN_SOURCES))
+        assertEquals(0, batch.firstChangeMillis)
+        assertTrue('only the initial quiet window is waited', batch.waitedMillis < 1000)
+    }
+
+    @Test
+    void test_coalescing() {
+        File app = writeFile(new File(mainDir, 'com/example/App.java'), 'class App { int a; }')
+        writeFile(new File(mainDir, 'com/example/Util.java'), 'class Util { int b; }')
+        writeFile(new File(mainDir, 'com/example/other/New.java'), 'class New {}')
+        new File(mainDir, 'com/example/Util.java').delete()
+        writeFile(new File(resourcesDir, 'app.properties'), 'a=2')
+
+        ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+        assertEquals('one change per file', 3, batch.changeCounts.get(ChangeCoalescer.MAIN_SOURCES))
+        assertEquals(1, batch.changeCounts.get(ChangeCoalescer.RESOURCES))
+        assertEquals(0, batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES))
+        assertEquals(4, batch.getTotalChangeCount())
+        assertTrue(batch.hasChanges(ChangeCoalescer.MAIN_SOURCES))
+        assertFalse(batch.hasChanges(ChangeCoalescer.TEST_SOURCES))
+        assertEquals('the earliest modification time of the changed files', app.lastModified(), batch.firstChangeMillis)
+
+        coalescer.commit(batch, ChangeCoalescer.MAIN_SOURCES)
+        batch = coalescer.awaitQuiet()
+        assertEquals(0, batch.changeCounts.get(ChangeCoalescer.MAIN_SOURCES))
+        assertEquals('the resources were not committed', 1, batch.changeCounts.get(ChangeCoalescer.RESOURCES))
+    }
+
+    @Test
+    void test_quietWindowDoubles() {
+        // the changes are 30, 60 and 150 ms apart, so they are only seen together if the quiet window
+        // grows from 50 ms to 100, 200 and 400 ms
+        File first = new File(mainDir, 'com/example/First.java')
+        File second = new File(mainDir, 'com/example/Second.java')
+        File third = new File(mainDir, 'com/example/Third.java')
+        long start = System.currentTimeMillis()
+        Thread writer = new Thread({
+            sleepUntil(start + 30)
+            first.text = 'class First {}'
+            sleepUntil(start + 90)
+            second.text = 'class Second {}'
+            sleepUntil(start + 240)
+            third.text = 'class Third {}'
+        } as Runnable)
+        writer.start()
+
+        ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+        writer.join()
+        assertEquals('all changes are in one batch', 3, batch.changeCounts.get(ChangeCoalescer.MAIN_SOURCES))
+        assertTrue('the window after the third change is 400 ms', batch.waitedMillis >= 600)
+        assertTrue('the wait never exceeds the maximum window of 2 s', batch.waitedMillis < 3000)
+    }
+
+    @Test
+    void test_maxWindow() {
+        coalescer.close()
+        coalescer = newCoalescer(50, 500)
+        File file = new File(mainDir, 'com/example/Generated.java')
+        boolean[] writing = [true]
+        Thread writer = new Thread({
+            for (int i = 0; writing[0]; i++) {
+                file.text = 'class Generated { int i' + i + '; }'
+                Thread.sleep(20)
+            }
+        } as Runnable)
+        writer.start()
+        try {
+            Thread.sleep(50)
+            ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+            assertTrue('the wait stops at the maximum window', batch.waitedMillis >= 450 && batch.waitedMillis < 1500)
+            assertEquals(1, batch.changeCounts.get(ChangeCoalescer.MAIN_SOURCES))
+        } finally {
+            writing[0] = false
+            writer.join()
+        }
+    }
+
+    @Test
+    void test_invalidatedBaseline() {
+        coalescer.invalidate(ChangeCoalescer.MAIN_SOURCES, ChangeCoalescer.TEST_SOURCES)
+        assertFalse('a change set without a baseline is not reported as changed', coalescer.hasChanges(ChangeCoalescer.TEST_SOURCES))
+
+        ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+        assertEquals(-1, batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES))
+        assertTrue('the sources have never been processed', batch.hasChanges(ChangeCoalescer.TEST_SOURCES))
+        // dev mode only compiles the tests with a main compile cycle when the count is positive
+        assertFalse(batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES) > 0)
+        assertEquals('sources without a baseline are not counted', 0, batch.getTotalChangeCount())
+
+        coalescer.commit(batch, ChangeCoalescer.MAIN_SOURCES, ChangeCoalescer.TEST_SOURCES)
+        writeFile(new File(testSourceDir, 'com/example/AppTest.java'), 'class AppTest { int a; }')
+        batch = coalescer.awaitQuiet()
+        assertEquals(1, batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES))
+        assertTrue(batch.changeCounts.get(ChangeCoalescer.TEST_SOURCES) > 0)
+    }
+
+    @Test
+    void test_resourceChangeOnItsOwn() {
+        File resource = writeFile(new File(resourcesDir, 'app.properties'), 'a=2')
+        assertTrue(coalescer.isWatched(ChangeCoalescer.RESOURCES, resource))
+        assertFalse('no Java changes are pending', coalescer.isResourceChangeCoalesced(resource))
+
+        coalescer.commitResourceChange(resource)
+        assertTrue(coalescer.isCommitted(ChangeCoalescer.RESOURCES, resource))
+        assertEquals('the copied resource is not processed again', 0, coalescer.awaitQuiet().changeCounts.get(ChangeCoalescer.RESOURCES))
+
+        File other = writeFile(new File(testDir, 'src/main/other/other.properties'), 'b=1')
+        assertFalse(coalescer.isResourceChangeCoalesced(other))
+        coalescer.commitResourceChange(other)
+        assertFalse(coalescer.isCommitted(ChangeCoalescer.RESOURCES, other))
+    }
+
+    @Test
+    void test_resourceChangeWithJavaChanges() {
+        writeFile(new File(mainDir, 'com/example/App.java'), 'class App { int a; }')
+        File resource = writeFile(new File(resourcesDir, 'app.properties'), 'a=2')
+        assertTrue('the resource is copied by the compile cycle of the Java changes', coalescer.isResourceChangeCoalesced(resource))
+
+        ChangeCoalescer.Batch batch = coalescer.awaitQuiet()
+        assertTrue(batch.hasChanges(ChangeCoalescer.RESOURCES))
+        coalescer.commit(batch, ChangeCoalescer.MAIN_SOURCES, ChangeCoalescer.RESOURCES, ChangeCoalescer.WEB_RESOURCES)
+        assertTrue('the compile cycle already copied the resource', coalescer.isResourceChangeCoalesced(resource))
+
+        writeFile(resource, 'a=3')
+        assertFalse('a later change is copied on its own', coalescer.isResourceChangeCoalesced(resource))
+
+        File deleted = new File(resourcesDir, 'app.properties')
+        deleted.delete()
+        assertFalse(coalescer.isResourceChangeCoalesced(deleted))
+        coalescer.commitResourceChange(deleted)
+        assertTrue('the deletion was processed', coalescer.isCommitted(ChangeCoalescer.RESOURCES, deleted))
+    }
+
+    private ChangeCoalescer newCoalescer(long minWindowMillis, long maxWindowMillis) {
+        ChangeCoalescer changeCoalescer = new ChangeCoalescer(minWindowMillis, maxWindowMillis, Logging.getLogger(ChangeCoalescerTest))
+        changeCoalescer.watch(ChangeCoalescer.MAIN_SOURCES, [mainDir])
+        changeCoalescer.watch(ChangeCoalescer.TEST_SOURCES, [testSourceDir])
+        changeCoalescer.watch(ChangeCoalescer.RESOURCES, [resourcesDir])
+        changeCoalescer.watch(ChangeCoalescer.WEB_RESOURCES, [new File(testDir, 'src/main/webapp')])
+        return changeCoalescer
+    }
+
+    private static void sleepUntil(long time) {
+        long wait = time - System.currentTimeMillis()
+        if (wait > 0) {
+            Thread.sleep(wait)
+        }
+    }
+}
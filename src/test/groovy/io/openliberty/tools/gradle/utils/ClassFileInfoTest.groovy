@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import org.junit.Assume
+import org.junit.Test
+
+class ClassFileInfoTest extends AbstractClassFileTest {
+
+    @Test
+    void test_nestedClasses() {
+        writeSource('com/example/Outer.java', '''
+            package com.example;
+            public class Outer {
+                public static class Nested extends java.util.ArrayList<String> implements Runnable {
+                    public void run() {}
+                }
+                class Inner {
+                    Nested nested;
+                }
+                Object anonymous() {
+                    return new Object() {};
+                }
+            }
+            ''')
+        compileAll()
+
+        ClassFileInfo outer = ClassFileInfo.read(classFile('com.example.Outer'))
+        assertEquals('com.example.Outer', outer.className)
+        assertEquals('Outer.java', outer.sourceFileName)
+        assertEquals('com/example/Outer.java', outer.getSourceRelativePath())
+        assertEquals('java.lang.Object', outer.superClassName)
+        assertTrue(outer.referencedClasses.contains('com.example.Outer$Nested'))
+        assertTrue(outer.referencedClasses.contains('com.example.Outer$Inner'))
+        assertFalse('a class must not reference itself', outer.referencedClasses.contains('com.example.Outer'))
+
+        ClassFileInfo nested = ClassFileInfo.read(classFile('com.example.Outer$Nested'))
+        assertEquals('com.example.Outer$Nested', nested.className)
+        assertEquals('com.example.Outer', nested.getTopLevelClassName())
+        assertEquals('com/example/Outer.java', nested.getSourceRelativePath())
+        assertEquals('java.util.ArrayList', nested.superClassName)
+        assertEquals(['java.lang.Runnable'] as Set, nested.interfaceNames)
+        assertEquals(['java.util.ArrayList', 'java.lang.Runnable'] as Set, nested.getSuperTypes())
+        assertTrue(nested.isConcrete())
+
+        ClassFileInfo inner = ClassFileInfo.read(classFile('com.example.Outer$Inner'))
+        assertTrue('the field type is referenced', inner.referencedClasses.contains('com.example.Outer$Nested'))
+
+        ClassFileInfo anonymous = ClassFileInfo.read(classFile('com.example.Outer$1'))
+        assertEquals('com.example.Outer', anonymous.getTopLevelClassName())
+    }
+
+    @Test
+    void test_interfaceAndAbstractClass() {
+        writeSource('com/example/Shape.java', '''
+            package com.example;
+            public interface Shape {
+                double area();
+            }
+            ''')
+        writeSource('com/example/AbstractShape.java', '''
+            package com.example;
+            public abstract class AbstractShape implements Shape {
+            }
+            ''')
+        compileAll()
+
+        assertFalse(ClassFileInfo.read(classFile('com.example.Shape')).isConcrete())
+        ClassFileInfo abstractShape = ClassFileInfo.read(classFile('com.example.AbstractShape'))
+        assertFalse(abstractShape.isConcrete())
+        assertEquals(['com.example.Shape'] as Set, abstractShape.interfaceNames)
+    }
+
+    @Test
+    void test_methodHandlesAndInvokeDynamic() {
+        writeSource('com/example/Formatter.java', '''
+            package com.example;
+            public class Formatter {
+                public static String format(Object value) {
+                    return "[" + value + "]";
+                }
+            }
+            ''')
+        writeSource('com/example/Printer.java', '''
+            package com.example;
+            import java.util.List;
+            import java.util.function.Function;
+            import java.util.function.Supplier;
+            public class Printer {
+                public List<String> print(List<Object> values, long count, double scale) {
+                    Function<Object, String> format = Formatter::format;
+                    Supplier<java.util.UUID> ids = () -> java.util.UUID.randomUUID();
+                    String label = "count " + count + " scale " + scale + ids.get();
+                    return values.stream().map(format).collect(java.util.stream.Collectors.toList());
+                }
+            }
+            ''')
+        compileAll()
+
+        // the constant pool has MethodHandle, MethodType, InvokeDynamic, Long and Double entries
+        ClassFileInfo printer = ClassFileInfo.read(classFile('com.example.Printer'))
+        assertEquals('com.example.Printer', printer.className)
+        assertTrue('the method reference target is referenced', printer.referencedClasses.contains('com.example.Formatter'))
+        assertTrue(printer.referencedClasses.contains('java.lang.invoke.LambdaMetafactory'))
+        assertTrue('classes used in the lambda body are referenced', printer.referencedClasses.contains('java.util.UUID'))
+        assertTrue('generic signatures are read', printer.referencedClasses.contains('java.util.function.Function'))
+        assertTrue(printer.referencedClasses.contains('java.util.List'))
+        assertEquals('Printer.java', printer.sourceFileName)
+    }
+
+    @Test
+    void test_record() {
+        Assume.assumeTrue('Records require Java 16', isJavaVersionAtLeast(16))
+        writeSource('com/example/Point.java', '''
+            package com.example;
+            public record Point(int x, int y, java.util.Optional<Formatter> label) {
+                public static Point origin() {
+                    return new Point(0, 0, java.util.Optional.empty());
+                }
+            }
+            ''')
+        writeSource('com/example/Formatter.java', '''
+            package com.example;
+            public class Formatter {
+            }
+            ''')
+        compileAll()
+
+        // equals, hashCode and toString of a record are bootstrapped through invokedynamic
+        ClassFileInfo point = ClassFileInfo.read(classFile('com.example.Point'))
+        assertEquals('com.example.Point', point.className)
+        assertEquals('java.lang.Record', point.superClassName)
+        assertTrue(point.referencedClasses.contains('java.lang.runtime.ObjectMethods'))
+        assertTrue('the component signature is read', point.referencedClasses.contains('com.example.Formatter'))
+        assertTrue(point.isConcrete())
+        assertFalse(point.hasInlinableConstants)
+        assertEquals('com/example/Point.java', point.getSourceRelativePath())
+    }
+
+    @Test
+    void test_inlinableConstants() {
+        writeSource('com/example/Constants.java', '''
+            package com.example;
+            public class Constants {
+                public static final String NAME = "name";
+            }
+            ''')
+        writeSource('com/example/PrivateConstants.java', '''
+            package com.example;
+            public class PrivateConstants {
+                private static final int LIMIT = 10;
+                public static final Object LOCK = new Object();
+                public final long instanceValue = 5L;
+            }
+            ''')
+        compileAll()
+
+        assertTrue(ClassFileInfo.read(classFile('com.example.Constants')).hasInlinableConstants)
+        assertFalse(ClassFileInfo.read(classFile('com.example.PrivateConstants')).hasInlinableConstants)
+    }
+
+    @Test
+    void test_structure() {
+        String source = '''
+            package com.example;
+            public class Greeter {
+                private String greeting = "Hello";
+                public String greet(String name) {
+                    return %s;
+                }
+            }
+            '''
+        writeSource('com/example/Greeter.java', String.format(source, 'greeting + " " + name'))
+        compileAll()
+        String structure = ClassFileInfo.read(classFile('com.example.Greeter')).structure
+
+        writeSource('com/example/Greeter.java', String.format(source, 'name + "!"'))
+        compileAll()
+        assertEquals('a changed method body keeps the structure', structure, ClassFileInfo.read(classFile('com.example.Greeter')).structure)
+
+        writeSource('com/example/Greeter.java', String.format(source.replace('public String greet', 'public Object greet'), 'name'))
+        compileAll()
+        assertNotEquals('a changed method signature changes the structure', structure, ClassFileInfo.read(classFile('com.example.Greeter')).structure)
+    }
+
+    @Test
+    void test_notAClassFile() {
+        File file = new File(testDir, 'Invalid.class')
+        file.text = 'not a class'
+        try {
+            ClassFileInfo.read(file)
+            fail('An IOException was expected')
+        } catch (IOException e) {
+            assertEquals('Not a class file', e.getMessage())
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import java.nio.file.Files
+import java.nio.file.attribute.BasicFileAttributes
+
+import org.gradle.api.logging.Logging
+import org.junit.Before
+import org.junit.Test
+
+class ConfigDirectorySyncTest extends AbstractUnitTest {
+
+    File configDir
+    File serverDir
+    ConfigDirectorySync sync
+
+    @Before
+    void setup() {
+        configDir = new File(testDir, 'src/main/liberty/config')
+        serverDir = new File(testDir, 'build/wlp/usr/servers/defaultServer')
+        configDir.mkdirs()
+        serverDir.mkdirs()
+        new File(configDir, 'server.xml').text = '<server/>'
+        new File(configDir, 'bootstrap.properties').text = 'http.port=9080'
+        new File(configDir, 'configDropins/overrides').mkdirs()
+        new File(configDir, 'configDropins/overrides/ports.xml').text = '<server><httpEndpoint id="defaultHttpEndpoint"/></server>'
+        sync = new ConfigDirectorySync(new File(testDir, 'build/liberty-config-sync.properties'), Logging.getLogger(ConfigDirectorySyncTest))
+    }
+
+    @Test
+    void test_initialSync() {
+        assertEquals(3, sync.sync(configDir, serverDir, null))
+        assertEquals('<server/>', new File(serverDir, 'server.xml').text)
+        assertEquals('http.port=9080', new File(serverDir, 'bootstrap.properties').text)
+        assertTrue(new File(serverDir, 'configDropins/overrides/ports.xml').isFile())
+        assertEquals('the modification time of the source is kept', new File(configDir, 'server.xml').lastModified(), new File(serverDir, 'server.xml').lastModified())
+        assertTrue(new File(testDir, 'build/liberty-config-sync.properties').isFile())
+    }
+
+    @Test
+    void test_unchangedFileUntouched() {
+        sync.sync(configDir, serverDir, null)
+        File serverXml = new File(serverDir, 'server.xml')
+        Object fileKey = fileKeyOf(serverXml)
+        long modified = serverXml.lastModified()
+
+        assertEquals('nothing changed', 0, sync.sync(configDir, serverDir, null))
+
+        // a source that was touched but has the same content is not copied either
+        File sourceServerXml = new File(configDir, 'server.xml')
+        sourceServerXml.setLastModified(sourceServerXml.lastModified() + 5000)
+        assertEquals(0, sync.sync(configDir, serverDir, null))
+        assertEquals(fileKey, fileKeyOf(serverXml))
+        assertEquals(modified, serverXml.lastModified())
+    }
+
+    @Test
+    void test_changedFileReplaced() {
+        sync.sync(configDir, serverDir, null)
+        File bootstrap = new File(serverDir, 'bootstrap.properties')
+        Object serverXmlKey = fileKeyOf(new File(serverDir, 'server.xml'))
+
+        writeFile(new File(configDir, 'bootstrap.properties'), 'http.port=9081')
+        assertEquals(1, sync.sync(configDir, serverDir, null))
+        assertEquals('http.port=9081', bootstrap.text)
+        assertEquals('the other files are not rewritten', serverXmlKey, fileKeyOf(new File(serverDir, 'server.xml')))
+
+        // a file changed in the server directory is restored from the source
+        bootstrap.text = 'http.port=12345'
+        assertEquals(1, sync.sync(configDir, serverDir, null))
+        assertEquals('http.port=9081', bootstrap.text)
+    }
+
+    @Test
+    void test_staleFileRemoved() {
+        sync.sync(configDir, serverDir, null)
+        assertTrue(new File(configDir, 'configDropins/overrides/ports.xml').delete())
+
+        assertEquals(1, sync.sync(configDir, serverDir, null))
+        assertFalse(new File(serverDir, 'configDropins/overrides/ports.xml').exists())
+        assertTrue(new File(serverDir, 'server.xml').isFile())
+
+        assertEquals('the removal is recorded', 0, sync.sync(configDir, serverDir, null))
+    }
+
+    @Test
+    void test_userFileKept() {
+        sync.sync(configDir, serverDir, null)
+        File userFile = new File(serverDir, 'configDropins/overrides/user.xml')
+        userFile.text = '<server/>'
+        File serverEnv = new File(serverDir, 'server.env')
+        serverEnv.text = 'WLP_LOGGING_CONSOLE_LOGLEVEL=INFO'
+
+        assertTrue(new File(configDir, 'bootstrap.properties').delete())
+        assertEquals(1, sync.sync(configDir, serverDir, null))
+        assertTrue('files that were not copied by a sync are kept', userFile.isFile())
+        assertTrue(serverEnv.isFile())
+        assertFalse(new File(serverDir, 'bootstrap.properties').exists())
+    }
+
+    @Test
+    void test_filteredFilesIgnored() {
+        FileFilter noDropins = { File file -> !file.getName().equals('configDropins') } as FileFilter
+        assertEquals(2, sync.sync(configDir, serverDir, noDropins))
+        assertFalse(new File(serverDir, 'configDropins').exists())
+
+        sync.sync(configDir, serverDir, null)
+        assertEquals('files that are not accepted are not deleted', 0, sync.sync(configDir, serverDir, noDropins))
+        assertTrue(new File(serverDir, 'configDropins/overrides/ports.xml').isFile())
+    }
+
+    @Test
+    void test_otherServerDirectory() {
+        sync.sync(configDir, serverDir, null)
+        File otherServerDir = new File(testDir, 'build/wlp/usr/servers/otherServer')
+        assertEquals('the manifest of another server directory is not used', 3, sync.sync(configDir, otherServerDir, null))
+    }
+
+    @Test
+    void test_corruptManifest() {
+        sync.sync(configDir, serverDir, null)
+        new File(testDir, 'build/liberty-config-sync.properties').text = '#targetDir=' + serverDir.getCanonicalPath() + '\nserver.xml=not:a:state\n'
+        Object fileKey = fileKeyOf(new File(serverDir, 'server.xml'))
+
+        assertEquals('the files are compared by content', 0, sync.sync(configDir, serverDir, null))
+        assertEquals(fileKey, fileKeyOf(new File(serverDir, 'server.xml')))
+    }
+
+    @Test
+    void test_atomicReplace() {
+        sync.sync(configDir, serverDir, null)
+        File serverXml = new File(serverDir, 'server.xml')
+        Object fileKey = fileKeyOf(serverXml)
+
+        writeFile(new File(configDir, 'server.xml'), '<server><featureManager/></server>')
+        assertEquals(1, sync.sync(configDir, serverDir, null))
+        assertEquals('<server><featureManager/></server>', serverXml.text)
+        if (fileKey != null) {
+            assertNotEquals('the file is replaced by a move, not written in place', fileKey, fileKeyOf(serverXml))
+        }
+        assertNoTempFiles(serverDir)
+    }
+
+    @Test
+    void test_writeIfChanged() {
+        File file = new File(testDir, 'build/generated/server.env')
+        assertTrue(ConfigDirectorySync.writeIfChanged(file, 'A=1'.getBytes('UTF-8')))
+        Object fileKey = fileKeyOf(file)
+        assertFalse(ConfigDirectorySync.writeIfChanged(file, 'A=1'.getBytes('UTF-8')))
+        assertEquals(fileKey, fileKeyOf(file))
+        assertTrue(ConfigDirectorySync.writeIfChanged(file, 'A=2'.getBytes('UTF-8')))
+        assertEquals('A=2', file.text)
+        assertNoTempFiles(file.getParentFile())
+    }
+
+    @Test
+    void test_replaceIfChanged() {
+        File file = new File(testDir, 'build/generated/jvm.options')
+        File newFile = new File(testDir, 'jvm.options.new')
+        newFile.text = '-Xmx1g'
+        assertTrue(ConfigDirectorySync.replaceIfChanged(newFile, file))
+        assertFalse('the new version is deleted', newFile.exists())
+
+        newFile.text = '-Xmx1g'
+        assertFalse(ConfigDirectorySync.replaceIfChanged(newFile, file))
+        assertFalse(newFile.exists())
+        assertEquals('-Xmx1g', file.text)
+    }
+
+    @Test
+    void test_copyIfChanged() {
+        File source = new File(configDir, 'server.xml')
+        File target = new File(serverDir, 'apps/server.xml')
+        assertTrue(ConfigDirectorySync.copyIfChanged(source, target))
+        assertFalse(ConfigDirectorySync.copyIfChanged(source, target))
+        assertTrue('the source is kept', source.isFile())
+
+        writeFile(source, '<server description="changed"/>')
+        assertTrue(ConfigDirectorySync.copyIfChanged(source, target))
+        assertEquals('<server description="changed"/>', target.text)
+    }
+
+    private static Object fileKeyOf(File file) {
+        return Files.readAttributes(file.toPath(), BasicFileAttributes).fileKey()
+    }
+
+    private static void assertNoTempFiles(File dir) {
+        dir.eachFileRecurse { File file ->
+            assertFalse('temporary file left behind: ' + file, file.getName().startsWith('.liberty-sync-'))
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class DevCycleTimerTest extends AbstractUnitTest {
+
+    static final String APP_UPDATED = '[10/18/26 10:00:00:000 UTC] 0000002a com.ibm.ws.app.manager.AppMessageHelper A CWWKZ0003I: The application demo updated in 0.512 seconds.'
+
+    File logFile
+    File timingsFile
+    DevCycleTimer timer
+
+    @Before
+    void setup() {
+        logFile = new File(testDir, 'wlp/usr/servers/defaultServer/logs/messages.log')
+        writeFile(logFile, '')
+        timingsFile = new File(testDir, 'build/liberty-dev-timings.json')
+        timer = newTimer(30000)
+    }
+
+    @After
+    void tearDown() {
+        timer.close()
+    }
+
+    @Test
+    void test_percentile() {
+        assertEquals(7, DevCycleTimer.percentile([7L], 50))
+        assertEquals(7, DevCycleTimer.percentile([7L], 95))
+
+        List<Long> values = (1L..20L).toList()
+        assertEquals('nearest rank', 10, DevCycleTimer.percentile(values, 50))
+        assertEquals(19, DevCycleTimer.percentile(values, 95))
+        assertEquals(20, DevCycleTimer.percentile(values, 100))
+        assertEquals('the lowest value for a rank of zero', 1, DevCycleTimer.percentile(values, 0))
+
+        assertEquals(2, DevCycleTimer.percentile([1L, 2L, 3L], 50))
+        assertEquals(3, DevCycleTimer.percentile([1L, 2L, 3L], 95))
+    }
+
+    @Test
+    void test_cyclePhases() {
+        timer.startCycle('source change', System.currentTimeMillis() - 1000, 200)
+        timer.record(DevCycleTimer.COMPILE, 300)
+        timer.record(DevCycleTimer.COMPILE, 50)
+        timer.record(DevCycleTimer.DEPLOY, 100)
+        timer.endCycle()
+
+        List<Map> cycles = readCycles()
+        assertEquals(1, cycles.size())
+        Map cycle = cycles.get(0)
+        assertEquals('source change', cycle.trigger)
+        Map phases = cycle.phases as Map
+        assertEquals(200, phases.debounce)
+        assertTrue('the time until the change was noticed excludes the debounce', (phases.detect as long) >= 800 && (phases.detect as long) < 5000)
+        assertEquals('the time of a repeated phase is added', 350, phases.compile)
+        assertEquals(100, phases.deploy)
+        long total = 0
+        phases.values().each { total += it as long }
+        assertEquals(total, cycle.total)
+    }
+
+    @Test
+    void test_phaseOutsideCycle() {
+        timer.record(DevCycleTimer.RESTART, 2000)
+        timer.endCycle()
+        timer.endCycle()
+        List<Map> cycles = readCycles()
+        assertEquals(1, cycles.size())
+        assertEquals('the phase starts a cycle of its own', DevCycleTimer.RESTART, cycles.get(0).trigger)
+    }
+
+    @Test
+    void test_appStarted() {
+        timer.startCycle('source change', 0, 0)
+        timer.record(DevCycleTimer.COMPILE, 300)
+        logFile << APP_UPDATED + '\n'
+        waitForCycles(1)
+        Map phases = readCycles().get(0).phases as Map
+        assertEquals([DevCycleTimer.COMPILE, DevCycleTimer.APP_STARTED], phases.keySet().toList())
+    }
+
+    @Test
+    void test_appStartTimeout() {
+        timer.close()
+        timer = newTimer(100)
+        timer.startCycle('source change', 0, 0)
+        timer.record(DevCycleTimer.COMPILE, 300)
+        Thread.sleep(300)
+        logFile << APP_UPDATED + '\n'
+        waitForCycles(1)
+        assertFalse('an application start after the timeout is not part of the cycle', (readCycles().get(0).phases as Map).containsKey(DevCycleTimer.APP_STARTED))
+    }
+
+    @Test
+    void test_rollingTimingsFile() {
+        List<Map> saved = new ArrayList<Map>()
+        for (int i = 0; i < DevCycleTimer.MAX_CYCLES; i++) {
+            saved.add([start: i, trigger: 'cycle' + i, phases: [compile: i], total: i])
+        }
+        writeFile(timingsFile, JsonOutput.toJson([cycles: saved]))
+
+        timer.close()
+        timer = newTimer(30000)
+        timer.startCycle('new cycle 1', 0, 0)
+        timer.startCycle('new cycle 2', 0, 0)
+        timer.endCycle()
+
+        List<Map> cycles = readCycles()
+        assertEquals('only the last cycles are kept', DevCycleTimer.MAX_CYCLES, cycles.size())
+        assertEquals('the oldest cycles are dropped', 'cycle2', cycles.get(0).trigger)
+        assertEquals('new cycle 1', cycles.get(cycles.size() - 2).trigger)
+        assertEquals('new cycle 2', cycles.get(cycles.size() - 1).trigger)
+        assertFalse(new File(timingsFile.getParentFile(), timingsFile.getName() + '.tmp').exists())
+    }
+
+    @Test
+    void test_unreadableTimingsFile() {
+        writeFile(timingsFile, '{"cycles": [')
+        timer.close()
+        timer = newTimer(30000)
+        timer.record(DevCycleTimer.COMPILE, 10)
+        timer.endCycle()
+        assertEquals('the unreadable file is replaced', 1, readCycles().size())
+    }
+
+    @Test
+    void test_summary() {
+        for (long millis = 1; millis <= 20; millis++) {
+            timer.record(DevCycleTimer.COMPILE, millis * 10)
+            timer.endCycle()
+        }
+        timer.record(DevCycleTimer.RESTART, 5000)
+        timer.endCycle()
+
+        String summary = timer.getSummary()
+        assertTrue(summary, summary.startsWith('Dev mode cycle timings over the last 21 cycles'))
+        assertTrue(summary, summary.contains('compile    count=20 p50=100 ms p95=190 ms'))
+        assertTrue(summary, summary.contains('restart    count=1 p50=5000 ms p95=5000 ms'))
+        assertTrue(summary, summary.contains('total      count=21 p50=110 ms p95=200 ms'))
+        assertFalse('phases without samples are left out', summary.contains(DevCycleTimer.DEPLOY))
+    }
+
+    private DevCycleTimer newTimer(long appStartTimeoutMillis) {
+        return new DevCycleTimer(timingsFile, new MessagesLogTailer(logFile), appStartTimeoutMillis, Logging.getLogger(DevCycleTimerTest))
+    }
+
+    private List<Map> readCycles() {
+        return (new JsonSlurper().parse(timingsFile) as Map).cycles as List<Map>
+    }
+
+    private void waitForCycles(int count) {
+        long end = System.currentTimeMillis() + 10000
+        while ((!timingsFile.isFile() || readCycles().size() < count) && System.currentTimeMillis() < end) {
+            Thread.sleep(50)
+        }
+        assertEquals(count, readCycles().size())
+    }
+}
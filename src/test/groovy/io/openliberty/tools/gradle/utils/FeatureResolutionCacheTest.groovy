@@ -0,0 +1,213 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import io.openliberty.tools.common.plugins.util.ServerFeatureUtil
+import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import org.gradle.api.logging.Logging
+import org.junit.Before
+import org.junit.Test
+
+class FeatureResolutionCacheTest extends AbstractUnitTest {
+
+    File serverDir
+    File cacheFile
+    Map<String, File> libDirPropFiles
+    CountingServerFeatureUtil servUtil
+
+    @Before
+    void setup() {
+        File installDir = new File(testDir, 'wlp')
+        serverDir = new File(installDir, 'usr/servers/defaultServer')
+        writeFile(new File(serverDir, 'server.xml'), '''
+            <server>
+                <include location="${server.config.dir}/includes/features.xml"/>
+            </server>
+            ''')
+        writeFile(new File(serverDir, 'includes/features.xml'), '<server><featureManager><feature>servlet-6.0</feature></featureManager></server>')
+        writeFile(new File(serverDir, 'bootstrap.properties'), 'http.port=9080')
+        cacheFile = new File(testDir, 'build/liberty-feature-cache.json')
+        libDirPropFiles = ['wlp.install.dir': installDir, 'wlp.user.dir': new File(installDir, 'usr'), 'server.config.dir': serverDir,
+                'server.output.dir': serverDir]
+        servUtil = new CountingServerFeatureUtil()
+    }
+
+    @Test
+    void test_reuse() {
+        FeatureResolutionCache cache = newCache()
+        assertEquals(['feature1'] as Set, resolve(cache))
+        assertEquals(['feature1'] as Set, resolve(cache))
+        assertEquals('the cache file is read by a new cache', ['feature1'] as Set, resolve(newCache()))
+        assertEquals(1, servUtil.resolutions)
+    }
+
+    @Test
+    void test_returnedSetsAreCopies() {
+        FeatureResolutionCache cache = newCache()
+        resolve(cache).add('modified')
+        resolve(cache).clear()
+        assertEquals('callers cannot modify the cached features', ['feature1'] as Set, resolve(cache))
+        assertEquals(1, servUtil.resolutions)
+    }
+
+    @Test
+    void test_includeChanged() {
+        FeatureResolutionCache cache = newCache()
+        resolve(cache)
+        writeFile(new File(serverDir, 'includes/features.xml'), '<server><featureManager><feature>restfulWS-3.1</feature></featureManager></server>')
+        assertEquals('the features are resolved again after an include changed', ['feature2'] as Set, resolve(cache))
+        assertEquals(['feature2'] as Set, resolve(newCache()))
+    }
+
+    @Test
+    void test_variablesChanged() {
+        FeatureResolutionCache cache = newCache()
+        resolve(cache)
+        writeFile(new File(serverDir, 'bootstrap.properties'), 'http.port=9080\nfeature.dir=includes')
+        assertEquals('the features are resolved again after bootstrap.properties changed', ['feature2'] as Set, resolve(cache))
+
+        writeFile(new File(serverDir, 'server.env'), 'FEATURE=jsonb-3.0')
+        assertEquals('the features are resolved again after server.env was created', ['feature3'] as Set, resolve(cache))
+    }
+
+    @Test
+    void test_differentVariableValues() {
+        FeatureResolutionCache cache = newCache()
+        resolve(cache)
+        libDirPropFiles.put('server.output.dir', new File(testDir, 'output'))
+        assertEquals('other directory variables are cached separately', ['feature2'] as Set, resolve(cache))
+        assertEquals(['feature2'] as Set, resolve(cache))
+    }
+
+    @Test
+    void test_corruptCacheFile() {
+        resolve(newCache())
+        cacheFile.text = '{"version": 1, "entries": {'
+        assertEquals('an unreadable cache file is ignored', ['feature2'] as Set, resolve(newCache()))
+        assertEquals('the cache file is written again', ['feature2'] as Set, resolve(newCache()))
+
+        Map content = new JsonSlurper().parse(cacheFile) as Map
+        for (Map entry : (content.entries as Map<String, Map>).values()) {
+            entry.files = 'not a map'
+        }
+        cacheFile.text = JsonOutput.toJson(content)
+        assertEquals('an entry with unexpected content is ignored', ['feature3'] as Set, resolve(newCache()))
+
+        cacheFile.text = '{"version": 0, "entries": {}}'
+        assertEquals('a cache file of another version is ignored', ['feature4'] as Set, resolve(newCache()))
+
+        cacheFile.text = '[]'
+        assertEquals(['feature5'] as Set, resolve(newCache()))
+        assertEquals(5, servUtil.resolutions)
+    }
+
+    @Test
+    void test_untrackableConfiguration() {
+        writeFile(new File(serverDir, 'server.xml'), '<server><include location="${custom.dir}/features.xml"/></server>')
+        FeatureResolutionCache cache = newCache()
+        assertEquals(['feature1'] as Set, resolve(cache))
+        assertEquals('a configuration that cannot be tracked is resolved every time', ['feature2'] as Set, resolve(cache))
+    }
+
+    @Test
+    void test_unresolvedFeatures() {
+        servUtil.unresolved = true
+        FeatureResolutionCache cache = newCache()
+        assertNull(cache.getServerFeatures(servUtil, serverDir, libDirPropFiles))
+        assertNull('a failed resolution is cached too', cache.getServerFeatures(servUtil, serverDir, libDirPropFiles))
+        assertEquals(1, servUtil.resolutions)
+    }
+
+    @Test
+    void test_excludedFilesAndCase() {
+        FeatureResolutionCache cache = newCache()
+        File serverXml = new File(serverDir, 'server.xml')
+        assertEquals(['feature1'] as Set, cache.getServerFeatures(servUtil, serverDir, serverXml, libDirPropFiles, ['a.xml'] as Set, true).getFeatures())
+        assertEquals(['feature1'] as Set, cache.getServerFeatures(servUtil, serverDir, serverXml, libDirPropFiles, ['a.xml'] as Set, true).getFeatures())
+        assertEquals(['feature2'] as Set, cache.getServerFeatures(servUtil, serverDir, serverXml, libDirPropFiles, ['b.xml'] as Set, true).getFeatures())
+        assertEquals(['feature3'] as Set, cache.getServerFeatures(servUtil, serverDir, serverXml, libDirPropFiles, ['a.xml'] as Set, false).getFeatures())
+    }
+
+    private FeatureResolutionCache newCache() {
+        return new FeatureResolutionCache(cacheFile, Logging.getLogger(FeatureResolutionCacheTest))
+    }
+
+    private Set<String> resolve(FeatureResolutionCache cache) {
+        return cache.getServerFeatures(servUtil, serverDir, libDirPropFiles).getFeatures()
+    }
+
+    // returns a different feature for each resolution, so that cached results can be told apart
+    static class CountingServerFeatureUtil extends ServerFeatureUtil {
+
+        int resolutions = 0
+
+        boolean unresolved = false
+
+        @Override
+        FeaturesPlatforms getServerFeatures(File serverDirectory, Map<String, File> libDirPropFiles) {
+            return resolveNext()
+        }
+
+        @Override
+        FeaturesPlatforms getServerFeatures(File serverDirectory, File serverXmlFile, Map<String, File> libDirPropFiles, Set<String> dropinsFilesToIgnore) {
+            return resolveNext()
+        }
+
+        private FeaturesPlatforms resolveNext() {
+            resolutions++
+            return unresolved ? null : new FeaturesPlatforms(['feature' + resolutions] as Set, ['platform' + resolutions] as Set)
+        }
+
+        @Override
+        void error(String msg) {
+        }
+
+        @Override
+        void error(String msg, Throwable throwable) {
+        }
+
+        @Override
+        boolean isDebugEnabled() {
+            return false
+        }
+
+        @Override
+        void debug(String msg) {
+        }
+
+        @Override
+        void debug(String msg, Throwable throwable) {
+        }
+
+        @Override
+        void debug(Throwable throwable) {
+        }
+
+        @Override
+        void warn(String msg) {
+        }
+
+        @Override
+        void info(String msg) {
+        }
+    }
+}
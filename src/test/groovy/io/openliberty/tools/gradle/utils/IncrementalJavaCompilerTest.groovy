@@ -0,0 +1,224 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class IncrementalJavaCompilerTest extends AbstractClassFileTest {
+
+    File resourceDir
+    IncrementalJavaCompiler compiler
+
+    @Before
+    void setup() {
+        resourceDir = new File(testDir, 'src/main/resources')
+        resourceDir.mkdirs()
+        writeSource('com/example/Base.java', '''
+            package com.example;
+            public abstract class Base {
+                public String name() {
+                    return "base";
+                }
+            }
+            ''')
+        writeSource('com/example/Service.java', '''
+            package com.example;
+            public class Service extends Base {
+                public static class Result {
+                    public String value;
+                }
+                public Result call() {
+                    Result result = new Result();
+                    result.value = name();
+                    return result;
+                }
+            }
+            ''')
+        writeSource('com/example/Client.java', '''
+            package com.example;
+            public class Client {
+                public String run() {
+                    return new Service().call().value;
+                }
+            }
+            ''')
+        writeSource('com/example/Unrelated.java', '''
+            package com.example;
+            public class Unrelated {
+            }
+            ''')
+        compileAll()
+        compiler = new IncrementalJavaCompiler('main', [sourceDir], [resourceDir], classesDir, Logging.getLogger(IncrementalJavaCompilerTest))
+    }
+
+    @After
+    void tearDown() {
+        compiler.close()
+    }
+
+    @Test
+    void test_compileAndIndexRoundTrip() {
+        compiler.index()
+        assertTrue('nothing changed', compiler.compile())
+
+        ageClassFiles()
+        writeSource('com/example/Client.java', '''
+            package com.example;
+            public class Client {
+                public String run() {
+                    return "client " + new Service().call().value;
+                }
+            }
+            ''')
+        assertTrue(compiler.compile())
+        assertEquals(['com.example.Client'] as Set, getRewrittenClasses())
+
+        // the index was updated by the compilation, so the next change is compiled in-process too
+        ageClassFiles()
+        writeSource('com/example/Service.java', '''
+            package com.example;
+            public class Service extends Base {
+                public static class Result {
+                    public String value;
+                    public int length;
+                }
+                public Result call() {
+                    Result result = new Result();
+                    result.value = name();
+                    result.length = result.value.length();
+                    return result;
+                }
+            }
+            ''')
+        assertTrue(compiler.compile())
+        assertEquals('the classes of the changed source and of the classes that reference them are compiled',
+                ['com.example.Client', 'com.example.Service', 'com.example.Service$Result'] as Set, getRewrittenClasses())
+
+        ageClassFiles()
+        assertTrue('the compiled changes were recorded', compiler.compile())
+        assertTrue(getRewrittenClasses().isEmpty())
+    }
+
+    @Test
+    void test_compileSuperClassChange() {
+        compiler.index()
+        ageClassFiles()
+        writeSource('com/example/Base.java', '''
+            package com.example;
+            public abstract class Base {
+                public String name() {
+                    return "changed";
+                }
+            }
+            ''')
+        assertTrue(compiler.compile())
+        // Client only references Service, but it sees the members that Service inherits from Base
+        assertEquals('the dependents of a subclass are compiled as well',
+                ['com.example.Base', 'com.example.Client', 'com.example.Service', 'com.example.Service$Result'] as Set, getRewrittenClasses())
+    }
+
+    @Test
+    void test_removedSource() {
+        writeSource('com/example/Extra.java', '''
+            package com.example;
+            public class Extra {
+                public static class Nested {
+                }
+            }
+            ''')
+        compileAll()
+        compiler.index()
+
+        assertTrue(new File(sourceDir, 'com/example/Extra.java').delete())
+        assertTrue(compiler.compile())
+        assertFalse(classFile('com.example.Extra').exists())
+        assertFalse('nested classes of a removed source are deleted', classFile('com.example.Extra$Nested').exists())
+        assertTrue(classFile('com.example.Client').exists())
+    }
+
+    @Test
+    void test_fallBackWithoutIndex() {
+        assertFalse('the first compilation is done by Gradle', compiler.compile())
+
+        compiler.index()
+        compiler.invalidate()
+        assertFalse(compiler.compile())
+    }
+
+    @Test
+    void test_fallBackOnCompileError() {
+        compiler.index()
+        writeSource('com/example/Client.java', '''
+            package com.example;
+            public class Client {
+                public String run() {
+                    return missing();
+                }
+            }
+            ''')
+        assertFalse('Gradle reports the compile errors', compiler.compile())
+
+        writeSource('com/example/Client.java', '''
+            package com.example;
+            public class Client {
+            }
+            ''')
+        assertFalse('the index was dropped, so Gradle compiles until the next index', compiler.compile())
+        compileAll()
+        compiler.index()
+        assertTrue(compiler.compile())
+    }
+
+    @Test
+    void test_fallBackOnResourceChange() {
+        compiler.index()
+        new File(resourceDir, 'app.properties').text = 'key=value'
+        assertFalse('resources are processed by Gradle', compiler.compile())
+    }
+
+    @Test
+    void test_fallBackOnInlinableConstant() {
+        writeSource('com/example/Constants.java', '''
+            package com.example;
+            public class Constants {
+                public static final int LIMIT = 10;
+            }
+            ''')
+        compileAll()
+        compiler.index()
+
+        writeSource('com/example/Constants.java', '''
+            package com.example;
+            public class Constants {
+                public static final int LIMIT = 20;
+            }
+            ''')
+        assertFalse('javac inlines the constant, so the classes that use it cannot be found from the class files', compiler.compile())
+    }
+
+    @Test
+    void test_disable() {
+        compiler.disable('test')
+        assertTrue(compiler.isDisabled())
+        compiler.index()
+        assertFalse(compiler.compile())
+    }
+}
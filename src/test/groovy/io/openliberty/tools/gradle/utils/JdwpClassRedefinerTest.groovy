@@ -0,0 +1,182 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+
+class JdwpClassRedefinerTest extends AbstractClassFileTest {
+
+    static final Pattern LISTENING_PATTERN = Pattern.compile('Listening for transport dt_socket at address: (\\d+)')
+
+    File newClassesDir
+    Process process
+    LinkedBlockingQueue<String> output = new LinkedBlockingQueue<String>()
+    JdwpClassRedefiner redefiner
+
+    @Before
+    void startDebuggedJvm() {
+        newClassesDir = new File(testDir, 'build/classes/java/new')
+        writeSource('com/example/Greeter.java', '''
+            package com.example;
+            public class Greeter {
+                public static String greet() {
+                    return "v1";
+                }
+            }
+            ''')
+        writeSource('com/example/Main.java', '''
+            package com.example;
+            public class Main {
+                public static void main(String[] args) throws Exception {
+                    while (true) {
+                        System.out.println("greeting " + Greeter.greet());
+                        Thread.sleep(50);
+                    }
+                }
+            }
+            ''')
+        writeSource('com/example/Unused.java', '''
+            package com.example;
+            public class Unused {
+            }
+            ''')
+        compileAll()
+
+        // the agent listens on the same port again after a connection is closed, as with the fixed debug port of
+        // a dev mode server, a random port would be replaced by another random port
+        int port = getFreePort()
+        String java = new File(System.getProperty('java.home'), 'bin/java').getPath()
+        process = new ProcessBuilder(java, '-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=127.0.0.1:' + port, '-cp', classesDir.getPath(), 'com.example.Main')
+                .redirectErrorStream(true).start()
+        Thread reader = new Thread({
+            try {
+                process.getInputStream().newReader().eachLine { String line -> output.add(line) }
+            } catch (IOException e) {
+                // the JVM was stopped
+            }
+        } as Runnable)
+        reader.setDaemon(true)
+        reader.start()
+
+        String line = output.poll(30, TimeUnit.SECONDS)
+        Matcher matcher = line == null ? null : LISTENING_PATTERN.matcher(line)
+        assertTrue('The JVM did not open its debug port: ' + line, matcher != null && matcher.find())
+        assertEquals(port, Integer.parseInt(matcher.group(1)))
+        redefiner = new JdwpClassRedefiner('127.0.0.1', port, Logging.getLogger(JdwpClassRedefinerTest))
+        assertTrue(waitForOutput('greeting v1'))
+    }
+
+    @After
+    void stopDebuggedJvm() {
+        if (process != null) {
+            process.destroyForcibly()
+        }
+    }
+
+    @Test
+    void test_redefine() {
+        compileGreeter('return "v2";')
+        assertTrue(redefiner.redefine(['com.example.Greeter': newClassFile('com.example.Greeter').bytes]))
+        assertTrue('the running JVM calls the new method body', waitForOutput('greeting v2'))
+
+        // the connection is closed after each call, so the port accepts the next one
+        compileGreeter('return "v3";')
+        waitForListening()
+        assertTrue(redefiner.redefine(['com.example.Greeter': newClassFile('com.example.Greeter').bytes]))
+        assertTrue(waitForOutput('greeting v3'))
+    }
+
+    @Test
+    void test_classNotLoaded() {
+        compileGreeter('return "v2";')
+        assertFalse(redefiner.redefine([
+            'com.example.Greeter': newClassFile('com.example.Greeter').bytes,
+            'com.example.Unused': classFile('com.example.Unused').bytes]))
+        Thread.sleep(200)
+        output.clear()
+        assertTrue('no class is replaced when one of them cannot be', waitForOutput('greeting v1'))
+    }
+
+    @Test
+    void test_schemaChange() {
+        compileGreeter('return "v2";', 'public static String other() { return "other"; }')
+        assertFalse('a method cannot be added', redefiner.redefine(['com.example.Greeter': newClassFile('com.example.Greeter').bytes]))
+
+        // the JVM is still usable for a later method body change
+        compileGreeter('return "v3";')
+        waitForListening()
+        assertTrue(redefiner.redefine(['com.example.Greeter': newClassFile('com.example.Greeter').bytes]))
+        assertTrue(waitForOutput('greeting v3'))
+    }
+
+    @Test
+    void test_portNotReachable() {
+        JdwpClassRedefiner unreachable = new JdwpClassRedefiner('127.0.0.1', getFreePort(), Logging.getLogger(JdwpClassRedefinerTest))
+        assertFalse(unreachable.redefine(['com.example.Greeter': classFile('com.example.Greeter').bytes]))
+    }
+
+    private void compileGreeter(String body, String otherMethods = '') {
+        File source = writeSource('com/example/Greeter.java', """
+            package com.example;
+            public class Greeter {
+                public static String greet() {
+                    ${body}
+                }
+                ${otherMethods}
+            }
+            """, new File(testDir, 'src/new/java'))
+        compile([source], newClassesDir)
+    }
+
+    private File newClassFile(String className) {
+        return new File(newClassesDir, className.replace('.', '/') + '.class')
+    }
+
+    private static int getFreePort() {
+        ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getByName('127.0.0.1'))
+        try {
+            return serverSocket.getLocalPort()
+        } finally {
+            serverSocket.close()
+        }
+    }
+
+    // the agent starts listening again shortly after the previous connection is closed
+    private static void waitForListening() {
+        Thread.sleep(500)
+    }
+
+    private boolean waitForOutput(String expected) {
+        long end = System.currentTimeMillis() + 30000
+        while (System.currentTimeMillis() < end) {
+            String line = output.poll(end - System.currentTimeMillis(), TimeUnit.MILLISECONDS)
+            if (expected.equals(line)) {
+                return true
+            }
+        }
+        return false
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class MessagesLogTailerTest extends AbstractUnitTest {
+
+    static final String APP_STARTED = '[10/18/26 10:00:00:000 UTC] 0000002a com.ibm.ws.app.manager.AppMessageHelper A CWWKZ0001I: Application demo started in 1.234 seconds.'
+    static final String SERVER_READY = '[10/18/26 10:00:00:000 UTC] 00000020 com.ibm.ws.kernel.feature.internal.FeatureManager A CWWKF0011I: The defaultServer server is ready to run a smarter planet.'
+    static final String OTHER = '[10/18/26 10:00:00:000 UTC] 00000001 com.ibm.ws.kernel.launch.internal.FrameworkManager A CWWKE0001I: The server defaultServer has been launched.'
+
+    File logsDir
+    File logFile
+    MessagesLogTailer tailer
+    ExecutorService executor
+
+    @Before
+    void setup() {
+        logsDir = temporaryFolder.newFolder('logs')
+        logFile = new File(logsDir, 'messages.log')
+        tailer = new MessagesLogTailer(logFile)
+        executor = Executors.newCachedThreadPool()
+    }
+
+    @After
+    void tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    void test_messageLoggedDuringWait() {
+        logFile.text = OTHER + '\n'
+        Future<String> found = waitInBackground('CWWKZ0001I:.*demo', 10000)
+        Thread.sleep(300)
+        logFile << APP_STARTED + '\n'
+        assertEquals(APP_STARTED, found.get(10, TimeUnit.SECONDS))
+    }
+
+    @Test
+    void test_messageLoggedBeforeWait() {
+        logFile.text = APP_STARTED + '\n' + OTHER + '\n'
+        tailer.poll()
+        assertEquals('lines with the application started code are kept', APP_STARTED, tailer.waitForMessage('CWWKZ0001I:.*demo', 0))
+        assertEquals('the lines read so far are read again for other messages', OTHER, tailer.waitForMessage('CWWKE0001I', 0))
+        assertNull(tailer.waitForMessage('CWWKZ0003I', 200))
+    }
+
+    @Test
+    void test_missingLog() {
+        assertNull(tailer.waitForMessage('CWWKF0011I', 200))
+        logFile.text = SERVER_READY + '\n'
+        assertEquals(SERVER_READY, tailer.waitForMessage('CWWKF0011I', 1000))
+    }
+
+    @Test
+    void test_partialLastLine() {
+        String firstPart = APP_STARTED.substring(0, APP_STARTED.indexOf('demo') + 2)
+        logFile.text = OTHER + '\n' + firstPart
+        assertNull('a line is only matched once it is complete', tailer.waitForMessage('CWWKZ0001I', 300))
+
+        logFile << APP_STARTED.substring(firstPart.length()) + '\r\n'
+        assertEquals(APP_STARTED, tailer.waitForMessage('CWWKZ0001I', 1000))
+    }
+
+    @Test
+    void test_rolloverDuringWait() {
+        logFile.text = OTHER + '\n'
+        tailer.poll()
+        Future<String> appStarted = waitInBackground('CWWKZ0001I', 10000)
+        Future<String> serverReady = waitInBackground('CWWKF0011I', 10000)
+        Thread.sleep(300)
+
+        // the line logged to the old log after the last read is still found after the roll over
+        logFile << APP_STARTED + '\n'
+        assertTrue(logFile.renameTo(new File(logsDir, 'messages_26.10.18_10.00.00.0.log')))
+        logFile.text = SERVER_READY + '\n'
+
+        assertEquals(APP_STARTED, appStarted.get(10, TimeUnit.SECONDS))
+        assertEquals('the new log is read from its start', SERVER_READY, serverReady.get(10, TimeUnit.SECONDS))
+    }
+
+    @Test
+    void test_truncateDuringWait() {
+        logFile.text = (OTHER + '\n') * 20 + APP_STARTED + '\n'
+        tailer.poll()
+        Future<String> serverReady = waitInBackground('CWWKF0011I', 10000)
+        Thread.sleep(300)
+
+        new FileOutputStream(logFile).close()
+        Thread.sleep(300)
+        logFile << SERVER_READY + '\n'
+
+        assertEquals(SERVER_READY, serverReady.get(10, TimeUnit.SECONDS))
+        assertNull('the lines kept from the truncated log are dropped', tailer.waitForMessage('CWWKZ0001I', 0))
+    }
+
+    @Test
+    void test_concurrentReaders() {
+        logFile.text = ''
+        List<Future<String>> waits = new ArrayList<Future<String>>()
+        for (int i = 0; i < 8; i++) {
+            waits.add(waitInBackground('CWWKZ0001I: Application app' + i + ' started', 10000))
+        }
+        Future<Map<String, Long>> allStarted = executor.submit({
+            tailer.waitForMessages(['CWWKZ0001I: Application app0 ', 'CWWKZ0001I: Application app7 '], 10000)
+        } as Callable<Map<String, Long>>)
+        Thread.sleep(300)
+
+        for (int i = 0; i < 8; i++) {
+            logFile << '[10/18/26 10:00:00:000 UTC] 0000002a A CWWKZ0001I: Application app' + i + ' started in 0.5 seconds.\n'
+            Thread.sleep(20)
+        }
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(waits.get(i).get(10, TimeUnit.SECONDS).contains('app' + i + ' started'))
+        }
+        assertEquals(['CWWKZ0001I: Application app0 ', 'CWWKZ0001I: Application app7 '] as Set, allStarted.get(10, TimeUnit.SECONDS).keySet())
+    }
+
+    @Test
+    void test_waitForMessagesTimeout() {
+        logFile.text = SERVER_READY + '\n'
+        long start = System.currentTimeMillis()
+        Map<String, Long> found = tailer.waitForMessages(['CWWKF0011I', 'CWWKZ0001I'], 500)
+        assertTrue('the timeout applies to the whole wait', System.currentTimeMillis() - start < 5000)
+        assertEquals(['CWWKF0011I'] as Set, found.keySet())
+    }
+
+    @Test
+    void test_listener() {
+        logFile.text = APP_STARTED + '\n'
+        List<String> lines = Collections.synchronizedList(new ArrayList<String>())
+        Closure listener = { String line -> lines.add(line) }
+        tailer.addListener(listener)
+
+        logFile << SERVER_READY + '\n'
+        long end = System.currentTimeMillis() + 10000
+        while (lines.isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(50)
+        }
+        assertEquals('only the lines logged after the listener was added are passed', [SERVER_READY], lines)
+
+        tailer.removeListener(listener)
+        Thread.sleep(300)
+        logFile << OTHER + '\n'
+        Thread.sleep(300)
+        assertEquals([SERVER_READY], lines)
+    }
+
+    private Future<String> waitInBackground(String regex, long timeoutMillis) {
+        return executor.submit({ tailer.waitForMessage(regex, timeoutMillis) } as Callable<String>)
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import org.junit.Before
+import org.junit.Test
+
+class ServerConfigFingerprintTest extends AbstractUnitTest {
+
+    File installDir
+    File userDir
+    File serverDir
+    File serverXml
+
+    @Before
+    void setup() {
+        installDir = new File(testDir, 'wlp')
+        userDir = new File(installDir, 'usr')
+        serverDir = new File(userDir, 'servers/defaultServer')
+        serverDir.mkdirs()
+        serverXml = new File(serverDir, 'server.xml')
+        writeFile(serverXml, '''
+            <server>
+                <include location="includes/features.xml"/>
+                <include location="${shared.config.dir}/datasource.xml" optional="true"/>
+                <featureManager>
+                    <feature>servlet-6.0</feature>
+                </featureManager>
+            </server>
+            ''')
+        writeFile(new File(serverDir, 'includes/features.xml'), '''
+            <server>
+                <include location="nested.xml"/>
+            </server>
+            ''')
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server/>')
+        writeFile(new File(serverDir, 'bootstrap.properties'), 'http.port=9080')
+    }
+
+    @Test
+    void test_configFiles() {
+        Map<File, String> states = getStates()
+        assertNotNull(states)
+        assertTrue(states.containsKey(serverXml.getCanonicalFile()))
+        assertTrue(states.containsKey(new File(serverDir, 'includes/features.xml').getCanonicalFile()))
+        assertTrue('includes are resolved against the including file', states.containsKey(new File(serverDir, 'includes/nested.xml').getCanonicalFile()))
+        assertEquals('a missing optional include is tracked', 'missing', states.get(new File(userDir, 'shared/config/datasource.xml').getCanonicalFile()))
+        assertTrue(states.containsKey(new File(serverDir, 'bootstrap.properties')))
+        assertTrue(states.containsKey(new File(serverDir, 'server.env')))
+        assertTrue(states.containsKey(new File(serverDir, 'configDropins/overrides')))
+        assertTrue(ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_includeChanged() {
+        Map<File, String> states = getStates()
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server><feature>jsonb-3.0</feature></server>')
+        assertFalse('a change of a nested include is detected', ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_optionalIncludeCreated() {
+        Map<File, String> states = getStates()
+        writeFile(new File(userDir, 'shared/config/datasource.xml'), '<server/>')
+        assertFalse(ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_variablesChanged() {
+        Map<File, String> states = getStates()
+        writeFile(new File(serverDir, 'bootstrap.properties'), 'http.port=9081')
+        assertFalse('a change of bootstrap.properties is detected', ServerConfigFingerprint.isCurrent(states))
+
+        states = getStates()
+        writeFile(new File(serverDir, 'server.env'), 'HTTP_PORT=9082')
+        assertFalse('a new server.env is detected', ServerConfigFingerprint.isCurrent(states))
+
+        states = getStates()
+        writeFile(new File(userDir, 'shared/server.env'), 'HTTPS_PORT=9443')
+        assertFalse('a change of the shared server.env is detected', ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_configDropins() {
+        Map<File, String> states = getStates()
+        writeFile(new File(serverDir, 'configDropins/overrides/ports.xml'), '<server/>')
+        assertFalse('an added configDropins file is detected', ServerConfigFingerprint.isCurrent(states))
+
+        states = getStates()
+        assertTrue(states.containsKey(new File(serverDir, 'configDropins/overrides/ports.xml').getCanonicalFile()))
+        assertTrue(new File(serverDir, 'configDropins/overrides/ports.xml').delete())
+        assertFalse('a removed configDropins file is detected', ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_directoryInclude() {
+        writeFile(new File(serverDir, 'includes/features.xml'), '''
+            <server>
+                <include location="${server.config.dir}/fragments/"/>
+            </server>
+            ''')
+        writeFile(new File(serverDir, 'fragments/a.xml'), '<server/>')
+        Map<File, String> states = getStates()
+        assertTrue(states.containsKey(new File(serverDir, 'fragments/a.xml').getCanonicalFile()))
+
+        writeFile(new File(serverDir, 'fragments/b.xml'), '<server/>')
+        assertFalse('a file added to an included directory is detected', ServerConfigFingerprint.isCurrent(states))
+    }
+
+    @Test
+    void test_untrackableIncludes() {
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server><include location="${custom.dir}/app.xml"/></server>')
+        assertNull('an include with an unknown variable cannot be tracked', getStates())
+
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server><include location="https://example.com/app.xml"/></server>')
+        assertNull('a remote include cannot be tracked', getStates())
+
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server><unclosed></server>')
+        assertNull('an unreadable include cannot be tracked', getStates())
+    }
+
+    @Test
+    void test_includeCycle() {
+        writeFile(new File(serverDir, 'includes/nested.xml'), '<server><include location="features.xml"/></server>')
+        assertNotNull('files are only read once', getStates())
+    }
+
+    private Map<File, String> getStates() {
+        return ServerConfigFingerprint.getConfigFileStates(serverXml, installDir, userDir, serverDir, serverDir)
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import groovy.json.JsonSlurper
+import io.openliberty.tools.common.plugins.util.OSUtil
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import java.nio.channels.FileChannel
+import java.nio.channels.FileLock
+import java.nio.file.StandardOpenOption
+
+import org.gradle.api.logging.Logger
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Assume
+import org.junit.Before
+import org.junit.Test
+
+class ServerStatusTest extends AbstractUnitTest {
+
+    static final Logger LOGGER = Logging.getLogger(ServerStatusTest)
+
+    File serverDir
+    File outputDir
+    Process process
+
+    @Before
+    void setup() {
+        serverDir = new File(testDir, 'wlp/usr/servers/defaultServer')
+        outputDir = new File(testDir, 'output/defaultServer')
+        writeFile(new File(serverDir, 'server.xml'), '<server/>')
+    }
+
+    @After
+    void destroyProcess() {
+        if (process != null) {
+            process.destroyForcibly()
+        }
+    }
+
+    @Test
+    void test_notStarted() {
+        ServerStatus status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+        assertEquals('defaultServer', status.serverName)
+        assertFalse(status.running)
+        assertTrue(status.determined)
+        assertNull(status.pid)
+        assertTrue(status.ports.isEmpty())
+    }
+
+    @Test
+    void test_pidFile() {
+        Assume.assumeFalse(OSUtil.isWindows())
+        process = new ProcessBuilder('sh', '-c', 'sleep 60; true', 'ws-server').start()
+        writeFile(ServerUtils.getServerPidFile(outputDir), String.valueOf(process.pid()))
+
+        ServerStatus status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+        assertTrue(status.running)
+        assertTrue(status.determined)
+        assertEquals(process.pid(), status.pid)
+        assertNotNull(status.uptimeMillis)
+        assertTrue(status.uptimeMillis >= 0)
+
+        process.destroyForcibly().waitFor()
+        status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+        assertFalse('the process of the PID file exited', status.running)
+        assertTrue(status.determined)
+        assertNull(status.pid)
+    }
+
+    @Test
+    void test_stalePidFile() {
+        Assume.assumeFalse(OSUtil.isWindows())
+        process = new ProcessBuilder('sh', '-c', 'sleep 60; true', 'other').start()
+        writeFile(ServerUtils.getServerPidFile(outputDir), String.valueOf(process.pid()))
+
+        ServerStatus status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+        assertFalse('the process id was reused by a process that is not a server', status.running)
+        assertTrue(status.determined)
+    }
+
+    @Test
+    void test_unreadablePidFile() {
+        writeFile(ServerUtils.getServerPidFile(outputDir), 'not a pid')
+        ServerStatus status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+        assertFalse('only the server script can tell', status.determined)
+        assertFalse(status.running)
+    }
+
+    @Test
+    void test_lockFile() {
+        File lockFile = writeFile(new File(outputDir, 'workarea/org.eclipse.osgi/.manager/.fileTableLock'), '')
+        FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.WRITE)
+        try {
+            FileLock lock = channel.lock()
+            ServerStatus status = ServerStatus.check(serverDir, outputDir, false, LOGGER)
+            assertTrue('a server that was not started by the server script holds the workarea locks', status.running)
+            assertTrue(status.determined)
+            assertNull(status.pid)
+            lock.release()
+        } finally {
+            channel.close()
+        }
+        assertFalse(ServerStatus.check(serverDir, outputDir, false, LOGGER).running)
+    }
+
+    @Test
+    void test_defaultPorts() {
+        List<ServerStatus.Port> ports = ServerStatus.getConfiguredPorts(serverDir, LOGGER)
+        assertEquals(['http:localhost:9080', 'https:localhost:9443'], describe(ports))
+    }
+
+    @Test
+    void test_portVariables() {
+        writeFile(new File(serverDir, 'server.xml'), '''
+            <server>
+                <variable name="default.http.port" defaultValue="9081"/>
+                <variable name="default.https.port" defaultValue="9444"/>
+                <variable name="host.name" value="${bind.host}"/>
+                <httpEndpoint id="defaultHttpEndpoint" host="${host.name}" httpPort="${default.http.port}" httpsPort="${default.https.port}"/>
+                <httpEndpoint id="otherEndpoint" httpPort="7000"/>
+            </server>''')
+        writeFile(new File(serverDir, 'bootstrap.properties'), 'default.http.port=9082\nbind.host=127.0.0.1\n')
+        assertEquals('bootstrap.properties takes precedence over default values', ['http:127.0.0.1:9082', 'https:127.0.0.1:9444'], describe(ServerStatus.getConfiguredPorts(serverDir, LOGGER)))
+
+        writeFile(new File(serverDir, 'configDropins/overrides/ports.xml'), '''
+            <server>
+                <variable name="default.https.port" value="-1"/>
+                <httpEndpoint id="defaultHttpEndpoint" host="*"/>
+            </server>''')
+        assertEquals('a disabled port is left out', ['http:localhost:9082'], describe(ServerStatus.getConfiguredPorts(serverDir, LOGGER)))
+    }
+
+    @Test
+    void test_configDropinsOrder() {
+        writeFile(new File(serverDir, 'server.xml'), '''
+            <server>
+                <httpEndpoint id="defaultHttpEndpoint" httpPort="9100"/>
+            </server>''')
+        writeFile(new File(serverDir, 'configDropins/defaults/ports.xml'), '''
+            <server>
+                <httpEndpoint id="defaultHttpEndpoint" httpPort="9000" httpsPort="9001"/>
+            </server>''')
+        writeFile(new File(serverDir, 'configDropins/overrides/a.xml'), '''
+            <server>
+                <httpEndpoint httpsPort="9200"/>
+            </server>''')
+        writeFile(new File(serverDir, 'configDropins/overrides/b.xml'), '''
+            <server>
+                <httpEndpoint httpsPort="9300"/>
+            </server>''')
+        writeFile(new File(serverDir, 'configDropins/overrides/notes.txt'), '<server><httpEndpoint httpPort="1"/></server>')
+        assertEquals(['http:localhost:9100', 'https:localhost:9300'], describe(ServerStatus.getConfiguredPorts(serverDir, LOGGER)))
+    }
+
+    @Test
+    void test_unresolvedPorts() {
+        writeFile(new File(serverDir, 'server.xml'), '''
+            <server>
+                <include location="ports.xml"/>
+                <httpEndpoint id="defaultHttpEndpoint" httpPort="${undefined.port}" httpsPort="${env.LIBERTY_STATUS_TEST_UNDEFINED}"/>
+            </server>''')
+        writeFile(new File(serverDir, 'ports.xml'), '''
+            <server>
+                <variable name="undefined.port" value="9080"/>
+            </server>''')
+        assertTrue('included files are not read', ServerStatus.getConfiguredPorts(serverDir, LOGGER).isEmpty())
+
+        writeFile(new File(serverDir, 'server.xml'), '<server><httpEndpoint')
+        assertEquals('an unreadable file is skipped', ['http:localhost:9080', 'https:localhost:9443'], describe(ServerStatus.getConfiguredPorts(serverDir, LOGGER)))
+    }
+
+    @Test
+    void test_probePorts() {
+        ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getByName('127.0.0.1'))
+        try {
+            writeFile(new File(serverDir, 'server.xml'), """
+                <server>
+                    <httpEndpoint id="defaultHttpEndpoint" host="127.0.0.1" httpPort="${serverSocket.getLocalPort()}" httpsPort="-1"/>
+                </server>""")
+            ServerStatus status = ServerStatus.check(serverDir, outputDir, true, LOGGER)
+            assertFalse(status.running)
+            assertEquals(1, status.ports.size())
+            assertNull('the ports of a stopped server are not probed', status.ports.get(0).open)
+
+            status.probePorts()
+            assertTrue(status.ports.get(0).open)
+        } finally {
+            serverSocket.close()
+        }
+    }
+
+    @Test
+    void test_toJson() {
+        ServerStatus status = new ServerStatus(serverName: 'defaultServer', running: true, pid: 1234L, uptimeMillis: 5000L, checkMillis: 3)
+        status.ports.add(new ServerStatus.Port(name: 'http', host: 'localhost', port: 9080, open: true))
+
+        // the content of liberty-status.json
+        Map json = new JsonSlurper().parseText(status.toJson()) as Map
+        assertEquals(['serverName', 'running', 'determined', 'pid', 'uptimeMillis', 'ports', 'checkMillis'], json.keySet().toList())
+        assertEquals('defaultServer', json.serverName)
+        assertEquals(true, json.running)
+        assertEquals(true, json.determined)
+        assertEquals(1234, json.pid)
+        assertEquals(5000, json.uptimeMillis)
+        assertEquals([[name: 'http', host: 'localhost', port: 9080, open: true]], json.ports)
+        assertEquals(3, json.checkMillis)
+
+        json = new JsonSlurper().parseText(new ServerStatus(serverName: 'defaultServer').toJson()) as Map
+        assertTrue(json.containsKey('pid'))
+        assertNull(json.pid)
+        assertEquals([], json.ports)
+    }
+
+    private static List<String> describe(List<ServerStatus.Port> ports) {
+        return ports.collect { ServerStatus.Port port -> port.name + ':' + port.host + ':' + port.port }
+    }
+}
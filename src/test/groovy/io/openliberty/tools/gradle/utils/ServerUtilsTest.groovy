@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import io.openliberty.tools.common.plugins.util.OSUtil
+import io.openliberty.tools.gradle.AbstractUnitTest
+
+import java.nio.channels.FileChannel
+import java.nio.channels.FileLock
+import java.nio.file.StandardOpenOption
+
+import org.gradle.api.logging.Logger
+import org.gradle.api.logging.Logging
+import org.junit.After
+import org.junit.Assume
+import org.junit.Test
+
+class ServerUtilsTest extends AbstractUnitTest {
+
+    static final Logger LOGGER = Logging.getLogger(ServerUtilsTest)
+
+    List<Process> processes = new ArrayList<Process>()
+
+    @After
+    void destroyProcesses() {
+        for (Process process : processes) {
+            process.destroyForcibly()
+        }
+    }
+
+    @Test
+    void test_readServerPid() {
+        File outputDir = new File(testDir, 'servers/defaultServer')
+        assertEquals(new File(testDir, 'servers/.pid/defaultServer.pid'), ServerUtils.getServerPidFile(outputDir))
+        assertNull(ServerUtils.readServerPid(outputDir, LOGGER))
+
+        writeFile(ServerUtils.getServerPidFile(outputDir), '1234\n')
+        assertEquals(1234L, ServerUtils.readServerPid(outputDir, LOGGER))
+
+        writeFile(ServerUtils.getServerPidFile(outputDir), 'not a pid')
+        assertNull(ServerUtils.readServerPid(outputDir, LOGGER))
+    }
+
+    @Test
+    void test_isServerRunning() {
+        Assume.assumeFalse(OSUtil.isWindows())
+        Process server = start('ws-server')
+        Process other = start('other')
+
+        assertTrue(ServerUtils.isServerRunning(server.pid(), LOGGER))
+        assertFalse('a reused process id is not a server', ServerUtils.isServerRunning(other.pid(), LOGGER))
+        assertNotNull(ServerUtils.getProcessStartMillis(server.pid()))
+
+        server.destroyForcibly().waitFor()
+        assertFalse(ServerUtils.isServerRunning(server.pid(), LOGGER))
+        assertNull(ServerUtils.getProcessStartMillis(server.pid()))
+    }
+
+    @Test
+    void test_verifyServerFullyStopped() {
+        Assume.assumeFalse(OSUtil.isWindows())
+        File outputDir = new File(testDir, 'servers/defaultServer')
+        File lockFile = writeFile(new File(outputDir, 'workarea/.sLock'), '')
+        Process server = start('ws-server')
+
+        new Thread({
+            Thread.sleep(300)
+            server.destroy()
+        } as Runnable).start()
+        long startTime = System.currentTimeMillis()
+        assertTrue(ServerUtils.verifyServerFullyStopped(outputDir, server.pid(), LOGGER))
+        assertFalse(server.isAlive())
+        assertTrue('returns when the process exits', System.currentTimeMillis() - startTime < 5000)
+
+        FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.WRITE)
+        try {
+            FileLock lock = channel.lock()
+            assertTrue('a lock held by this JVM is found', ServerUtils.areResourcesLocked(new File(outputDir, 'workarea'), LOGGER))
+            lock.release()
+        } finally {
+            channel.close()
+        }
+        assertFalse(ServerUtils.areResourcesLocked(new File(outputDir, 'workarea'), LOGGER))
+        assertTrue(ServerUtils.verifyServerFullyStopped(outputDir, null, LOGGER))
+    }
+
+    @Test
+    void test_forceKillServerProcess() {
+        Assume.assumeFalse(OSUtil.isWindows())
+        Process server = start('ws-server')
+        Process other = start('other')
+
+        ServerUtils.forceKillServerProcess(server.pid(), LOGGER)
+        assertFalse(server.isAlive())
+
+        ServerUtils.forceKillServerProcess(other.pid(), LOGGER)
+        assertTrue('only a Liberty server is killed', other.isAlive())
+
+        ServerUtils.forceKillServerProcess(ProcessHandle.current().pid(), LOGGER)
+    }
+
+    // starts a shell whose command line contains the marker, the second command keeps the shell from running sleep in its place
+    private Process start(String marker) {
+        Process process = new ProcessBuilder('sh', '-c', 'sleep 60; true', marker).start()
+        processes.add(process)
+        return process
+    }
+}
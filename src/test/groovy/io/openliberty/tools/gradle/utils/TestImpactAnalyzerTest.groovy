@@ -0,0 +1,352 @@
+/*
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.gradle.utils
+
+import static org.junit.Assert.*
+
+import org.gradle.api.logging.Logging
+import org.gradle.tooling.BuildCancelledException
+import org.gradle.tooling.CancellationToken
+import org.junit.Before
+import org.junit.Test
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class TestImpactAnalyzerTest extends AbstractClassFileTest {
+
+    File testSourceDir
+    File testClassesDir
+    File resourcesDir
+    TestImpactAnalyzer analyzer
+
+    @Before
+    void setup() {
+        testSourceDir = new File(testDir, 'src/test/java')
+        testClassesDir = new File(testDir, 'build/classes/java/test')
+        resourcesDir = new File(testDir, 'build/resources/main')
+        resourcesDir.mkdirs()
+
+        // Controller -> Service -> Repository, Util is used by nothing
+        writeRepository('return "entity";')
+        writeSource('com/example/Service.java', '''
+            package com.example;
+            public class Service {
+                public String find() {
+                    return new Repository().load();
+                }
+            }
+            ''')
+        writeSource('com/example/Controller.java', '''
+            package com.example;
+            public class Controller {
+                public String get() {
+                    return new Service().find();
+                }
+            }
+            ''')
+        writeSource('com/example/Util.java', '''
+            package com.example;
+            public class Util {
+                public static String trim(String value) {
+                    return value.trim();
+                }
+            }
+            ''')
+        compileAll()
+
+        writeTestSource('com/example/ControllerTest.java', '''
+            package com.example;
+            public class ControllerTest {
+                public void testGet() {
+                    new Controller().get();
+                }
+            }
+            ''')
+        writeTestSource('com/example/UtilTest.java', '''
+            package com.example;
+            public class UtilTest {
+                public void testTrim() {
+                    Util.trim(" a ");
+                }
+                public static class Nested {
+                }
+            }
+            ''')
+        writeAbstractServiceTest('new Service().find();')
+        writeTestSource('com/example/ServiceIT.java', '''
+            package com.example;
+            public class ServiceIT extends AbstractServiceTest {
+                public void testEndpoint() {
+                    check();
+                }
+            }
+            ''')
+        writeTestSource('com/example/EndpointIT.java', '''
+            package com.example;
+            public class EndpointIT {
+                public void testEndpoint() throws Exception {
+                    new java.net.URL("http://localhost:9080/demo").openConnection();
+                }
+            }
+            ''')
+        compileTests(allTestSources())
+
+        ageClassFiles(classesDir)
+        ageClassFiles(testClassesDir)
+        analyzer = new TestImpactAnalyzer([classesDir, resourcesDir], [testClassesDir], Logging.getLogger(TestImpactAnalyzerTest))
+    }
+
+    @Test
+    void test_fullSuite() {
+        assertNull('the first run runs all tests', analyzer.getAffectedTests())
+        assertNull('a run without changes runs all tests', analyzer.getAffectedTests())
+
+        analyzer.invalidate()
+        writeRepository('return "changed";')
+        compileMain('com/example/Repository.java')
+        assertNull('an invalidated analyzer runs all tests', analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_transitiveDependents() {
+        analyzer.getAffectedTests()
+        writeRepository('return "changed";')
+        compileMain('com/example/Repository.java')
+
+        assertEquals('tests of the classes that depend on the changed class through other classes are run',
+                ['com.example.ControllerTest', 'com.example.EndpointIT', 'com.example.ServiceIT'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_unrelatedMainChange() {
+        analyzer.getAffectedTests()
+        writeSource('com/example/Util.java', '''
+            package com.example;
+            public class Util {
+                public static String trim(String value) {
+                    return value.toLowerCase().trim();
+                }
+            }
+            ''')
+        compileMain('com/example/Util.java')
+
+        assertEquals(['com.example.EndpointIT', 'com.example.UtilTest'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_deletedMainClass() {
+        analyzer.getAffectedTests()
+        assertTrue(classFile('com.example.Util').delete())
+
+        assertEquals(['com.example.EndpointIT', 'com.example.UtilTest'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_abstractTestBase() {
+        analyzer.getAffectedTests()
+        writeAbstractServiceTest('new Service().find().length();')
+        compileTests([new File(testSourceDir, 'com/example/AbstractServiceTest.java')])
+
+        assertEquals('the abstract base is not run itself, the tests that extend it are',
+                ['com.example.EndpointIT', 'com.example.ServiceIT'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_inheritedReferences() {
+        analyzer.getAffectedTests()
+        writeSource('com/example/Service.java', '''
+            package com.example;
+            public class Service {
+                public String find() {
+                    return new Repository().load().toUpperCase();
+                }
+            }
+            ''')
+        compileMain('com/example/Service.java')
+
+        // ServiceIT only references Service through its abstract base class
+        assertTrue(analyzer.getAffectedTests().contains('com.example.ServiceIT'))
+    }
+
+    @Test
+    void test_nestedTestClassChange() {
+        analyzer.getAffectedTests()
+        writeTestSource('com/example/UtilTest.java', '''
+            package com.example;
+            public class UtilTest {
+                public void testTrim() {
+                    Util.trim(" a ");
+                }
+                public static class Nested {
+                    int changed;
+                }
+            }
+            ''')
+        compileTests([new File(testSourceDir, 'com/example/UtilTest.java')])
+
+        assertEquals('the top level class of a changed nested class is run',
+                ['com.example.EndpointIT', 'com.example.UtilTest'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_noMainReferencesAlwaysRun() {
+        analyzer.getAffectedTests()
+        writeTestSource('com/example/ControllerTest.java', '''
+            package com.example;
+            public class ControllerTest {
+                public void testGet() {
+                    new Controller().get().isEmpty();
+                }
+            }
+            ''')
+        compileTests([new File(testSourceDir, 'com/example/ControllerTest.java')])
+
+        assertEquals('tests that reference no main classes, like HTTP tests, run after every change',
+                ['com.example.ControllerTest', 'com.example.EndpointIT'] as Set, analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_resourceChange() {
+        analyzer.getAffectedTests()
+        new File(resourcesDir, 'META-INF').mkdirs()
+        new File(resourcesDir, 'META-INF/microprofile-config.properties').text = 'greeting=hello'
+
+        assertNull('all tests run when a resource changed', analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_revertAfterInterruptedRun() {
+        analyzer.getAffectedTests()
+        writeRepository('return "changed";')
+        compileMain('com/example/Repository.java')
+        Set<String> affectedTests = analyzer.getAffectedTests()
+        assertEquals(['com.example.ControllerTest', 'com.example.EndpointIT', 'com.example.ServiceIT'] as Set, affectedTests)
+
+        // the tests were interrupted, so the next run must include the same changes
+        analyzer.revert()
+        assertEquals(affectedTests, analyzer.getAffectedTests())
+
+        // a run without an interruption records the changes
+        assertNull(analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_revertKeepsNewerChanges() {
+        analyzer.getAffectedTests()
+        writeRepository('return "changed";')
+        compileMain('com/example/Repository.java')
+        analyzer.getAffectedTests()
+        analyzer.revert()
+
+        writeTestSource('com/example/UtilTest.java', '''
+            package com.example;
+            public class UtilTest {
+                public void testTrim() {
+                    Util.trim(" b ");
+                }
+                public static class Nested {
+                }
+            }
+            ''')
+        compileTests([new File(testSourceDir, 'com/example/UtilTest.java')])
+
+        assertEquals(['com.example.ControllerTest', 'com.example.EndpointIT', 'com.example.ServiceIT', 'com.example.UtilTest'] as Set,
+                analyzer.getAffectedTests())
+    }
+
+    @Test
+    void test_cancelledRun() {
+        TestRunCancellation cancellation = new TestRunCancellation(Logging.getLogger(TestImpactAnalyzerTest))
+        assertFalse('no run is in progress', cancellation.cancel())
+
+        analyzer.getAffectedTests()
+        writeRepository('return "changed";')
+        compileMain('com/example/Repository.java')
+        Set<String> affectedTests = analyzer.getAffectedTests()
+        assertEquals(['com.example.ControllerTest', 'com.example.EndpointIT', 'com.example.ServiceIT'] as Set, affectedTests)
+
+        // the run waits like the test launcher until it is cancelled by the next change
+        CountDownLatch running = new CountDownLatch(1)
+        boolean[] completed = new boolean[1]
+        Thread run = new Thread({
+            completed[0] = cancellation.run(analyzer) { CancellationToken token ->
+                running.countDown()
+                long end = System.currentTimeMillis() + 10000
+                while (!token.isCancellationRequested() && System.currentTimeMillis() < end) {
+                    Thread.sleep(10)
+                }
+                if (token.isCancellationRequested()) {
+                    throw new BuildCancelledException('Build cancelled.')
+                }
+            }
+        } as Runnable)
+        run.start()
+        assertTrue(running.await(10, TimeUnit.SECONDS))
+        assertTrue(cancellation.cancel())
+        run.join(10000)
+        assertFalse(completed[0])
+        assertFalse('the run has ended', cancellation.cancel())
+
+        assertEquals('the next run tests the changes of the cancelled run', affectedTests, analyzer.getAffectedTests())
+        assertTrue(cancellation.run(analyzer) { CancellationToken token -> })
+        assertNull('a run without a cancellation records the changes', analyzer.getAffectedTests())
+    }
+
+    private void writeRepository(String body) {
+        writeSource('com/example/Repository.java', """
+            package com.example;
+            public class Repository {
+                public String load() {
+                    ${body}
+                }
+            }
+            """.toString())
+    }
+
+    private void writeAbstractServiceTest(String body) {
+        writeTestSource('com/example/AbstractServiceTest.java', """
+            package com.example;
+            public abstract class AbstractServiceTest {
+                protected void check() {
+                    ${body}
+                }
+            }
+            """.toString())
+    }
+
+    private File writeTestSource(String relativePath, String content) {
+        return writeSource(relativePath, content, testSourceDir)
+    }
+
+    private List<File> allTestSources() {
+        List<File> sources = new ArrayList<File>()
+        testSourceDir.eachFileRecurse { File file ->
+            if (file.getName().endsWith('.java')) {
+                sources.add(file)
+            }
+        }
+        return sources
+    }
+
+    private void compileMain(String relativePath) {
+        compile([new File(sourceDir, relativePath)], classesDir, ['-cp', classesDir.getPath()])
+    }
+
+    private void compileTests(List<File> sources) {
+        compile(sources, testClassesDir, ['-cp', classesDir.getPath() + File.pathSeparator + testClassesDir.getPath()])
+    }
+}